@@ -0,0 +1,71 @@
+package org.telegram.bot.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.domain.model.request.*;
+import org.telegram.bot.enums.RequestSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copying of request by copy constructors compared with the former copying by serialization to JSON and back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BotRequestCopyBenchmark {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private BotRequest botRequest;
+
+    @Setup
+    public void setup() {
+        Chat chat = new Chat().setChatId(-1L).setName("chat").setAccessLevel(1);
+        User user = new User().setUserId(1L).setUsername("username").setAccessLevel(1).setLang("en");
+        LocalDateTime dateTime = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+        Message repliedMessage = new Message()
+                .setChat(chat)
+                .setUser(user)
+                .setMessageId(1)
+                .setText("replied text")
+                .setDateTime(dateTime)
+                .setMessageKind(MessageKind.COMMON)
+                .setMessageContentType(MessageContentType.TEXT);
+        Message message = new Message()
+                .setChat(chat)
+                .setUser(user)
+                .setMessageId(2)
+                .setReplyToMessage(repliedMessage)
+                .setText("text of message")
+                .setDateTime(dateTime)
+                .setMessageKind(MessageKind.COMMON)
+                .setMessageContentType(MessageContentType.PHOTO)
+                .setAttachments(List.of(new Attachment()
+                        .setMimeType("image/jpeg")
+                        .setFileUniqueId("fileUniqueId")
+                        .setFileId("fileId")
+                        .setName("photo.jpg")
+                        .setSize(1024L)));
+
+        botRequest = new BotRequest().setMessage(message).setSource(RequestSource.TELEGRAM);
+    }
+
+    @Benchmark
+    public BotRequest copyConstructor() {
+        return new BotRequest(botRequest);
+    }
+
+    @Benchmark
+    public BotRequest jsonRoundTrip() throws JsonProcessingException {
+        return objectMapper.readValue(objectMapper.writeValueAsString(botRequest), BotRequest.class);
+    }
+
+}
@@ -3,14 +3,12 @@ package org.telegram.bot;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.telegram.bot.commands.Command;
 import org.telegram.bot.config.PropertiesConfig;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.CommandProperties;
-import org.telegram.bot.domain.entities.CommandWaiting;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.domain.model.response.FileResponse;
@@ -35,21 +33,20 @@ import org.telegram.telegrambots.meta.generics.TelegramClient;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
 
 @RequiredArgsConstructor
 @Component
 @Slf4j
 public class Bot implements SpringLongPollingBot, LongPollingSingleThreadUpdateConsumer {
 
-    private final ApplicationContext context;
     private final BotStats botStats;
     private final PropertiesConfig propertiesConfig;
     private final RequestMapper requestMapper;
     private final CommandPropertiesService commandPropertiesService;
     private final UserService userService;
     private final UserStatsService userStatsService;
-    private final CommandWaitingService commandWaitingService;
-    private final DisableCommandService disableCommandService;
+    private final CommandRoutingService commandRoutingService;
     @Lazy
     private final LogService logService;
     private final Parser parser;
@@ -129,7 +126,7 @@ public class Bot implements SpringLongPollingBot, LongPollingSingleThreadUpdateC
         }
 
         CommandProperties commandProperties = getCommandProperties(chat, user, botRequest.getMessage().getText());
-        if (commandProperties == null || disableCommandService.get(chat, commandProperties) != null) {
+        if (commandProperties == null || commandRoutingService.isDisabled(chat, commandProperties)) {
             return;
         }
 
@@ -156,9 +153,9 @@ public class Bot implements SpringLongPollingBot, LongPollingSingleThreadUpdateC
 
 
     private CommandProperties getCommandProperties(Chat chat, org.telegram.bot.domain.entities.User user, String textOfMessage) {
-        CommandWaiting commandWaiting = commandWaitingService.get(chat, user);
-        if (commandWaiting != null) {
-            return commandPropertiesService.getCommand(commandWaiting.getCommandName());
+        String waitingCommandName = commandRoutingService.getWaitingCommandName(chat, user);
+        if (waitingCommandName != null) {
+            return commandPropertiesService.getCommand(waitingCommandName);
         } else if (textOfMessage != null) {
             return commandPropertiesService.findCommandInText(textOfMessage, this.getBotUsername());
         } else {
@@ -168,7 +165,7 @@ public class Bot implements SpringLongPollingBot, LongPollingSingleThreadUpdateC
 
     private Command getCommand(CommandProperties commandProperties) {
         try {
-            return (Command) context.getBean(commandProperties.getClassName());
+            return commandRoutingService.getCommandBean(commandProperties);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -186,6 +183,16 @@ public class Bot implements SpringLongPollingBot, LongPollingSingleThreadUpdateC
         parser.executeAsync(textResponse);
     }
 
+    /**
+     * Send messages to many chats at once.
+     *
+     * @param name name of broadcast.
+     * @param textResponses messages to send.
+     */
+    public void broadcast(String name, List<TextResponse> textResponses) {
+        parser.broadcastAsync(name, textResponses);
+    }
+
     public void sendDocument(FileResponse fileResponse) {
         parser.executeAsync(fileResponse);
     }
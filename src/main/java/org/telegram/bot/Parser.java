@@ -1,32 +1,52 @@
 package org.telegram.bot;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.telegram.bot.commands.Command;
 import org.telegram.bot.commands.MessageAnalyzer;
+import org.telegram.bot.config.dispatch.DispatchProperties;
+import org.telegram.bot.domain.entities.Broadcast;
+import org.telegram.bot.domain.entities.BroadcastMessage;
 import org.telegram.bot.domain.entities.CommandProperties;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.domain.model.response.BotResponse;
+import org.telegram.bot.domain.model.response.File;
+import org.telegram.bot.domain.model.response.FileResponse;
+import org.telegram.bot.domain.model.response.ResponseSettings;
 import org.telegram.bot.domain.model.response.TextResponse;
 import org.telegram.bot.enums.AccessLevel;
 import org.telegram.bot.exception.BotException;
 import org.telegram.bot.mapper.telegram.response.ResponseTelegramMapper;
 import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.BroadcastService;
 import org.telegram.bot.services.CommandPropertiesService;
+import org.telegram.bot.services.InternationalizationService;
+import org.telegram.bot.services.LanguageResolver;
+import org.telegram.bot.services.TemporaryFileManager;
 import org.telegram.bot.services.UserService;
+import org.telegram.bot.services.executors.ChatDispatchExecutor;
 import org.telegram.bot.services.executors.email.EmailExecutor;
 import org.telegram.bot.services.executors.telegram.TelegramMethodExecutor;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 
 import jakarta.validation.constraints.NotEmpty;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Component
@@ -41,15 +61,29 @@ public class Parser {
     private final List<MessageAnalyzer> messageAnalyzerList;
     private final CommandPropertiesService commandPropertiesService;
     private final UserService userService;
+    private final ChatDispatchExecutor chatDispatchExecutor;
+    private final DispatchProperties dispatchProperties;
+    private final LanguageResolver languageResolver;
+    private final InternationalizationService internationalizationService;
+    private final BroadcastService broadcastService;
+
+    private static final int BROADCAST_PROGRESS_BATCH_SIZE = 10;
 
     private final Map<String, TelegramMethodExecutor> methodExecutorMap = new ConcurrentHashMap<>();
+    private ExecutorService analyzerExecutorService;
+    private final ExecutorService broadcastExecutorService = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("broadcast-", 0).factory());
+    private volatile boolean broadcastsStopped = false;
 
-    @Async
     public void parseAsync(BotRequest botRequest, Command command) {
         if (botRequest == null) {
             return;
         }
 
+        chatDispatchExecutor.execute(getChatId(botRequest), () -> parse(botRequest, command));
+    }
+
+    private void parse(BotRequest botRequest, Command command) {
+        long startNanos = System.nanoTime();
         List<BotResponse> responseList = new ArrayList<>(1);
         try {
             responseList.addAll(command.parse(botRequest));
@@ -59,39 +93,117 @@ public class Parser {
                 responseList.add(botResponse);
             }
         } finally {
-            responseTelegramMapper.toTelegramMethod(responseList)
-                    .forEach(method -> getExecutor(method.getMethod()).executeMethod(method, botRequest));
+            try {
+                responseTelegramMapper.toTelegramMethod(responseList).forEach(method -> executeMethod(method, botRequest));
 
-            emailExecutor.execute(responseList, botRequest);
+                emailExecutor.execute(responseList, botRequest);
+            } finally {
+                releaseFiles(responseList);
+            }
 
             botStats.incrementCommandsProcessed();
+            botStats.recordCommandLatency(command.getClass().getSimpleName(), System.nanoTime() - startNanos);
         }
     }
 
-    @Async
     public void analyzeMessageAsync(BotRequest botRequest, AccessLevel userAccessLevel) {
-        messageAnalyzerList.forEach(messageAnalyzer -> {
-            CommandProperties analyzerCommandProperties = commandPropertiesService.getCommand(messageAnalyzer.getClass());
-            if (analyzerCommandProperties == null
-                    || userService.isUserHaveAccessForCommand(userAccessLevel.getValue(), analyzerCommandProperties.getAccessLevel())) {
+        chatDispatchExecutor.execute(getChatId(botRequest), () -> analyzeMessage(botRequest, userAccessLevel));
+    }
 
-                List<BotResponse> botResponses = new ArrayList<>(1);
+    /**
+     * Run suitable analyzers concurrently and wait for them until the deadline.
+     * Analyzers that missed the deadline keep running, and their responses are queued to the lane of the chat when done.
+     */
+    private void analyzeMessage(BotRequest botRequest, AccessLevel userAccessLevel) {
+        Message message = botRequest.getMessage();
+
+        Map<MessageAnalyzer, AnalyzerTask> analyzerTasks = new LinkedHashMap<>();
+        for (MessageAnalyzer messageAnalyzer : messageAnalyzerList) {
+            if (messageAnalyzer.isSuitable(message) && isUserHaveAccessForAnalyzer(messageAnalyzer, userAccessLevel)) {
+                AtomicBoolean claimed = new AtomicBoolean();
+                Future<?> future = getAnalyzerExecutorService().submit(() -> analyzeMessage(botRequest, messageAnalyzer, claimed));
+                analyzerTasks.put(messageAnalyzer, new AnalyzerTask(future, claimed));
+            }
+        }
+
+        if (analyzerTasks.isEmpty()) {
+            return;
+        }
+
+        // analyzers are bounded by their own executor, so the lane does not hold in-flight permit while waiting for them
+        boolean permitReleased = chatDispatchExecutor.releasePermit();
+        try {
+            awaitAnalyzers(analyzerTasks);
+        } finally {
+            if (permitReleased) {
+                chatDispatchExecutor.reacquirePermit();
+            }
+        }
+    }
+
+    private void awaitAnalyzers(Map<MessageAnalyzer, AnalyzerTask> analyzerTasks) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(dispatchProperties.getAnalyzerTimeoutMillis());
+        analyzerTasks.forEach((messageAnalyzer, analyzerTask) -> {
+            try {
                 try {
-                    botResponses = messageAnalyzer.analyze(botRequest);
-                } catch (Exception e) {
-                    BotResponse botResponse = handleException(botRequest, e);
-                    if (botResponse != null) {
-                        botResponses.add(botResponse);
+                    analyzerTask.future().get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (analyzerTask.claimed().compareAndSet(false, true)) {
+                        log.warn("Analyzer {} exceeded timeout, its responses will be sent when done", messageAnalyzer.getClass().getSimpleName());
+                    } else {
+                        // responses are being sent, wait for them to keep order of the chat
+                        analyzerTask.future().get();
                     }
                 }
-
-                if (botResponses != null && !botResponses.isEmpty()) {
-                    this.executeAsync(botRequest, botResponses);
-                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                analyzerTask.future().cancel(true);
+            } catch (ExecutionException e) {
+                log.error("Unexpected error of analyzer: ", e);
+            } catch (CancellationException e) {
+                log.debug("Analyzer {} is cancelled", messageAnalyzer.getClass().getSimpleName());
             }
         });
     }
 
+    private boolean isUserHaveAccessForAnalyzer(MessageAnalyzer messageAnalyzer, AccessLevel userAccessLevel) {
+        CommandProperties analyzerCommandProperties = commandPropertiesService.getCommand(messageAnalyzer.getClass());
+        return analyzerCommandProperties == null
+                || userService.isUserHaveAccessForCommand(userAccessLevel.getValue(), analyzerCommandProperties.getAccessLevel());
+    }
+
+    private void analyzeMessage(BotRequest botRequest, MessageAnalyzer messageAnalyzer, AtomicBoolean claimed) {
+        List<BotResponse> botResponses = new ArrayList<>(1);
+        try {
+            botResponses = messageAnalyzer.analyze(botRequest);
+        } catch (Exception e) {
+            BotResponse botResponse = handleException(botRequest, e);
+            if (botResponse != null) {
+                botResponses.add(botResponse);
+            }
+        }
+
+        if (botResponses == null || botResponses.isEmpty()) {
+            return;
+        }
+
+        if (claimed.compareAndSet(false, true)) {
+            this.execute(botRequest, botResponses);
+        } else {
+            // the lane has stopped waiting for this analyzer, so the responses go after tasks of the chat queued meanwhile
+            executeAsync(botRequest, botResponses);
+        }
+    }
+
+    private synchronized ExecutorService getAnalyzerExecutorService() {
+        if (analyzerExecutorService == null) {
+            analyzerExecutorService = Executors.newFixedThreadPool(
+                    dispatchProperties.getMaxInFlight(), Thread.ofVirtual().name("analyzer-", 0).factory());
+        }
+
+        return analyzerExecutorService;
+    }
+
     private TextResponse handleException(BotRequest botRequest, Throwable e) {
         BotException botException;
         if (e instanceof BotException be1) {
@@ -112,30 +224,178 @@ public class Parser {
                 .setText(botException.getMessage());
     }
 
-    @Async
     public void executeAsync(BotRequest botRequest, @NotEmpty List<BotResponse> responseList) {
-        responseTelegramMapper.toTelegramMethod(responseList)
-                .forEach(method -> getExecutor(method.getMethod()).executeMethod(method, botRequest));
+        if (!chatDispatchExecutor.execute(getChatId(botRequest), () -> execute(botRequest, responseList))) {
+            releaseFiles(responseList);
+        }
+    }
 
-        emailExecutor.execute(responseList, botRequest);
+    private void execute(BotRequest botRequest, List<BotResponse> responseList) {
+        try {
+            responseTelegramMapper.toTelegramMethod(responseList).forEach(method -> executeMethod(method, botRequest));
+
+            emailExecutor.execute(responseList, botRequest);
+        } finally {
+            releaseFiles(responseList);
+        }
 
         botStats.incrementCommandsProcessed();
     }
 
-    @Async
     public void executeAsync(BotResponse response) {
         if (response == null) {
             return;
         }
 
-        PartialBotApiMethod<?> method = responseTelegramMapper.toTelegramMethod(response);
-        getExecutor(method.getMethod()).executeMethod(method);
+        if (!chatDispatchExecutor.execute(response.getChatId(), () -> execute(response))) {
+            releaseFiles(List.of(response));
+        }
+    }
 
-        emailExecutor.execute(response);
+    private void execute(BotResponse response) {
+        try {
+            PartialBotApiMethod<?> method = responseTelegramMapper.toTelegramMethod(response);
+            getExecutor(method.getMethod()).executeMethod(method);
+            botStats.incrementSentMethods(method.getMethod());
+
+            emailExecutor.execute(response);
+        } finally {
+            releaseFiles(List.of(response));
+        }
 
         botStats.incrementCommandsProcessed();
     }
 
+    /**
+     * Release temporary disk files of sent responses, so they can be deleted by cleanup.
+     */
+    private void releaseFiles(List<BotResponse> responseList) {
+        responseList
+                .stream()
+                .filter(FileResponse.class::isInstance)
+                .flatMap(response -> ((FileResponse) response).getFiles().stream())
+                .map(File::getFileHandle)
+                .filter(Objects::nonNull)
+                .forEach(TemporaryFileManager.FileHandle::close);
+    }
+
+    /**
+     * Send messages to many chats. Languages of chats are resolved by one request and every distinct text
+     * is rendered once per language. Rendered messages are saved before sending, so unfinished broadcast
+     * is continued after restart. Settings of the first response are used for all messages.
+     *
+     * @param name name of broadcast.
+     * @param responses messages to send.
+     */
+    public void broadcastAsync(String name, List<TextResponse> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+
+        broadcastExecutorService.execute(() -> broadcast(name, responses));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeBroadcasts() {
+        broadcastService.getAll().forEach(broadcast -> broadcastExecutorService.execute(() -> {
+            log.info("Resuming broadcast {}: {} of {} messages were sent", broadcast.getName(), broadcast.getSent(), broadcast.getTotal());
+            sendBroadcast(broadcast, broadcastService.getMessages(broadcast));
+        }));
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        broadcastsStopped = true;
+        broadcastExecutorService.shutdown();
+        if (analyzerExecutorService != null) {
+            analyzerExecutorService.shutdownNow();
+        }
+    }
+
+    private void broadcast(String name, List<TextResponse> responses) {
+        Set<Long> chatIds = responses.stream().map(TextResponse::getChatId).collect(Collectors.toSet());
+        Map<Long, String> chatLanguages = languageResolver.getChatLanguageCodes(chatIds);
+
+        Map<RenderedTextKey, String> renderedTexts = new HashMap<>();
+        List<BroadcastMessage> broadcastMessages = responses
+                .stream()
+                .map(response -> new BroadcastMessage()
+                        .setChatId(response.getChatId())
+                        .setText(renderedTexts.computeIfAbsent(
+                                new RenderedTextKey(response.getText(), chatLanguages.get(response.getChatId())),
+                                key -> internationalizationService.internationalize(key.text(), key.lang()))))
+                .toList();
+
+        ResponseSettings responseSettings = responses.getFirst().getResponseSettings();
+        Broadcast broadcast = new Broadcast()
+                .setName(name)
+                .setDateTime(LocalDateTime.now());
+        if (responseSettings != null) {
+            broadcast
+                    .setFormattingStyle(responseSettings.getFormattingStyle())
+                    .setWebPagePreview(responseSettings.getWebPagePreview())
+                    .setNotification(responseSettings.getNotification());
+        }
+
+        broadcast = broadcastService.create(broadcast, broadcastMessages);
+        log.info("Broadcast {}: {} messages to {} chats, {} texts rendered", name, broadcastMessages.size(), chatIds.size(), renderedTexts.size());
+
+        sendBroadcast(broadcast, broadcastMessages);
+    }
+
+    private void sendBroadcast(Broadcast broadcast, List<BroadcastMessage> broadcastMessages) {
+        ResponseSettings responseSettings = new ResponseSettings()
+                .setFormattingStyle(broadcast.getFormattingStyle())
+                .setWebPagePreview(broadcast.getWebPagePreview())
+                .setNotification(broadcast.getNotification());
+
+        List<BroadcastMessage> sentMessages = new ArrayList<>(BROADCAST_PROGRESS_BATCH_SIZE);
+        for (BroadcastMessage broadcastMessage : broadcastMessages) {
+            if (broadcastsStopped) {
+                log.info("Broadcast {} is stopped and will be continued after restart", broadcast.getName());
+                if (!sentMessages.isEmpty()) {
+                    broadcastService.markSent(broadcast, sentMessages);
+                }
+                return;
+            }
+
+            try {
+                PartialBotApiMethod<?> method = responseTelegramMapper.toTelegramMethod(new TextResponse()
+                        .setChatId(broadcastMessage.getChatId())
+                        .setText(broadcastMessage.getText())
+                        .setResponseSettings(responseSettings));
+                getExecutor(method.getMethod()).executeInternationalizedMethod(method);
+                botStats.incrementSentMethods(method.getMethod());
+            } catch (Exception e) {
+                botStats.incrementErrors(broadcastMessage, e, "Failed to send message of broadcast");
+                log.error("Failed to send message of broadcast {} to chat {}", broadcast.getName(), broadcastMessage.getChatId(), e);
+            }
+
+            sentMessages.add(broadcastMessage);
+            if (sentMessages.size() >= BROADCAST_PROGRESS_BATCH_SIZE) {
+                broadcastService.markSent(broadcast, sentMessages);
+                sentMessages = new ArrayList<>(BROADCAST_PROGRESS_BATCH_SIZE);
+            }
+        }
+
+        broadcastService.remove(broadcast);
+        log.info("Broadcast {} finished: {} messages sent", broadcast.getName(), broadcast.getSent() + sentMessages.size());
+    }
+
+    private Long getChatId(BotRequest botRequest) {
+        Message message = botRequest.getMessage();
+        if (message == null || message.getChat() == null) {
+            return null;
+        }
+
+        return message.getChatId();
+    }
+
+    private void executeMethod(PartialBotApiMethod<?> method, BotRequest botRequest) {
+        getExecutor(method.getMethod()).executeMethod(method, botRequest);
+        botStats.incrementSentMethods(method.getMethod());
+    }
+
     private TelegramMethodExecutor getExecutor(String methodName) {
         return methodExecutorMap.computeIfAbsent(methodName, key -> telegramMethodExecutors
                 .stream()
@@ -144,4 +404,14 @@ public class Parser {
                 .orElseThrow(() -> new IllegalArgumentException("Missing executor for " + methodName)));
     }
 
+    private record RenderedTextKey(String text, String lang) {
+    }
+
+    /**
+     * Running analyzer. The flag is set by the analyzer before sending of responses or by the lane on timeout,
+     * so exactly one of them wins: either the lane waits for sending, or the analyzer queues its responses to the lane.
+     */
+    private record AnalyzerTask(Future<?> future, AtomicBoolean claimed) {
+    }
+
 }
@@ -16,7 +16,6 @@ import org.telegram.bot.enums.FormattingStyle;
 import org.telegram.bot.exception.BotException;
 import org.telegram.bot.services.AliasService;
 import org.telegram.bot.services.SpeechService;
-import org.telegram.bot.utils.ObjectCopier;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,7 +28,6 @@ public class Alias implements Command, MessageAnalyzer {
     public static final int MAX_COMMANDS_IN_ALIAS = 5;
 
     private final Bot bot;
-    private final ObjectCopier objectCopier;
     private final AliasService aliasService;
     private final SpeechService speechService;
 
@@ -97,6 +95,11 @@ public class Alias implements Command, MessageAnalyzer {
         return alias.getName() + " — <code>" + alias.getValue() + "</code>";
     }
 
+    @Override
+    public boolean isSuitable(Message message) {
+        return message.hasText();
+    }
+
     @Override
     public List<BotResponse> analyze(BotRequest request) {
         Message message = request.getMessage();
@@ -155,11 +158,7 @@ public class Alias implements Command, MessageAnalyzer {
     }
 
     private List<BotResponse> processRequest(BotRequest botRequest, String messageText) {
-        BotRequest newBotRequest = objectCopier.copyObject(botRequest, BotRequest.class);
-        if (newBotRequest == null) {
-            log.error("Failed to get a copy of request");
-            return returnResponse();
-        }
+        BotRequest newBotRequest = new BotRequest(botRequest);
         newBotRequest.getMessage().setText(messageText);
 
         bot.processRequestWithoutAnalyze(newBotRequest);
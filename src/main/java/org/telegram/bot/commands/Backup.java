@@ -7,7 +7,12 @@ import org.telegram.bot.Bot;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.domain.model.response.*;
-import org.telegram.bot.repositories.DbBackuper;
+import org.telegram.bot.enums.BotSpeechTag;
+import org.telegram.bot.exception.BotException;
+import org.telegram.bot.exception.backup.BackupException;
+import org.telegram.bot.services.SpeechService;
+import org.telegram.bot.services.backup.BackupService;
+import org.telegram.bot.services.backup.BackupSnapshot;
 
 import java.util.List;
 
@@ -17,7 +22,8 @@ import java.util.List;
 public class Backup implements Command {
 
     private final Bot bot;
-    private final DbBackuper dbBackuper;
+    private final BackupService backupService;
+    private final SpeechService speechService;
 
     @Override
     public List<BotResponse> parse(BotRequest request) {
@@ -31,8 +37,17 @@ public class Backup implements Command {
             return returnResponse();
         }
 
+        BackupSnapshot backupSnapshot;
+        try {
+            backupSnapshot = backupService.createFullBackup();
+        } catch (BackupException e) {
+            log.error(e.getMessage());
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
+        }
+
         return returnResponse(new FileResponse(message)
-                .addFile(new File(FileType.FILE, dbBackuper.getDbBackup()))
+                .setText(backupSnapshot.getDescription())
+                .addFile(new File(FileType.FILE, backupSnapshot.file()))
                 .setResponseSettings(new ResponseSettings()
                         .setNotification(false)));
     }
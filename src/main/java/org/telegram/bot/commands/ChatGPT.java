@@ -5,9 +5,6 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.knuddels.jtokkit.Encodings;
-import com.knuddels.jtokkit.api.Encoding;
-import com.knuddels.jtokkit.api.EncodingType;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import lombok.Data;
@@ -19,6 +16,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -37,13 +35,19 @@ import org.telegram.bot.domain.model.response.*;
 import org.telegram.bot.enums.BotSpeechTag;
 import org.telegram.bot.enums.ChatGPTRole;
 import org.telegram.bot.enums.FormattingStyle;
+import org.telegram.bot.enums.RequestSource;
 import org.telegram.bot.exception.BotException;
 import org.telegram.bot.services.*;
+import org.telegram.bot.services.executors.StreamingResponseExecutor;
+import org.telegram.bot.utils.EventStreamUtils;
 import org.telegram.bot.utils.TextUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import static org.telegram.bot.utils.TextUtils.containsStartWith;
 import static org.telegram.bot.utils.TextUtils.getStartsWith;
@@ -60,8 +64,10 @@ public class ChatGPT implements Command {
     @Value("${chatGptApiUrl:#{null}}")
     private String chatGptApiUrl;
 
+    @Value("${chatGptStreaming:true}")
+    private boolean chatGptStreaming;
+
     private final Set<String> imageCommands = new HashSet<>();
-    private final Encoding encoding = Encodings.newDefaultEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
 
     private final Bot bot;
     private final PropertiesConfig propertiesConfig;
@@ -73,6 +79,8 @@ public class ChatGPT implements Command {
     private final ObjectMapper objectMapper;
     private final RestTemplate defaultRestTemplate;
     private final BotStats botStats;
+    private final ConversationContext conversationContext;
+    private final StreamingResponseExecutor streamingResponseExecutor;
 
     @PostConstruct
     private void postConstruct() {
@@ -104,7 +112,16 @@ public class ChatGPT implements Command {
                 response = getImageResponse(commandArgument, lowerTextMessage, token);
             } else {
                 bot.sendTyping(chatId);
-                response = getTextResponse(message, commandArgument, token);
+                if (isStreaming(request)) {
+                    streamingResponseExecutor.execute(request, responseStream -> {
+                        Response textResponse = getTextResponse(message, commandArgument, token,
+                                partialResponse -> responseStream.update(buildPartialResponseText(partialResponse)));
+                        responseStream.complete(buildResponseText(textResponse), FormattingStyle.MARKDOWN);
+                    });
+                    return returnResponse();
+                }
+
+                response = getTextResponse(message, commandArgument, token, null);
             }
         } else {
             bot.sendTyping(chatId);
@@ -125,6 +142,19 @@ public class ChatGPT implements Command {
                 .setResponseSettings(FormattingStyle.MARKDOWN));
     }
 
+    private boolean isStreaming(BotRequest request) {
+        return chatGptStreaming && RequestSource.TELEGRAM.equals(request.getSource());
+    }
+
+    private String buildPartialResponseText(Response response) {
+        String model = response.getModel();
+        if (model != null && !model.isEmpty()) {
+            return RESPONSE_CAPTION + " (" + model + "):\n" + response.getResponseText();
+        }
+
+        return RESPONSE_CAPTION + ":\n" + response.getResponseText();
+    }
+
     private String buildResponseText(Response response) {
         String responseText = response.getResponseText();
 
@@ -165,7 +195,10 @@ public class ChatGPT implements Command {
         return new Response(responseText, imageUrl.get(), createImageResponse.getModel());
     }
 
-    private Response getTextResponse(org.telegram.bot.domain.model.request.Message message, String commandArgument, String token) {
+    private Response getTextResponse(org.telegram.bot.domain.model.request.Message message,
+                                     String commandArgument,
+                                     String token,
+                                     @Nullable Consumer<Response> partialResponseConsumer) {
         Chat chat = message.getChat();
         User user = message.getUser();
 
@@ -182,9 +215,13 @@ public class ChatGPT implements Command {
         String model = getModel(chatGPTSettings);
         String prompt = getPrompt(chatGPTSettings);
 
-        ChatResponse response = getResponse(
-                buildRequest(messagesHistory, commandArgument, user.getUsername(), model, prompt),
-                token);
+        ChatRequest chatRequest = buildRequest(messagesHistory, commandArgument, user.getUsername(), model, prompt);
+        ChatResponse response;
+        if (partialResponseConsumer == null) {
+            response = getResponse(chatRequest, token);
+        } else {
+            response = getStreamingResponse(chatRequest.setStream(true), token, partialResponseConsumer);
+        }
         String responseText = getResponseText(response);
         String responseModel = response.getModel();
 
@@ -203,26 +240,16 @@ public class ChatGPT implements Command {
             return messagesHistory;
         }
 
-        int currentTokens = countTokens(messagesHistory, newText);
-        while (currentTokens > chatGPTTokensSize && !messagesHistory.isEmpty()) {
-            messagesHistory = chatGPTMessageService.update(messagesHistory, 2);
-            currentTokens = countTokens(messagesHistory, newText);
-        }
+        ConversationContext.TrimResult<ChatGPTMessage> trimResult = conversationContext.trim(messagesHistory, newText, chatGPTTokensSize);
+        chatGPTMessageService.delete(trimResult.removed());
 
-        if (messagesHistory.isEmpty() && currentTokens > chatGPTTokensSize) {
+        if (trimResult.tokens() > chatGPTTokensSize) {
             throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.TOO_BIG_REQUEST));
         }
 
         return messagesHistory;
     }
 
-    private int countTokens(List<ChatGPTMessage> messagesHistory, String newText) {
-        List<String> content = messagesHistory.stream().map(ChatGPTMessage::getContent).collect(Collectors.toList());
-        content.add(newText);
-
-        return encoding.countTokens(String.join("", content));
-    }
-
     @NotNull
     private String getModel(ChatGPTSettings chatGPTSettings) {
         if (chatGPTSettings != null) {
@@ -297,16 +324,66 @@ public class ChatGPT implements Command {
         return getResponse(request, url, token, ChatResponse.class);
     }
 
-    private <T> T getResponse(Object request, String url, String token, Class<T> dataType) {
-        String json;
+    private ChatResponse getStreamingResponse(ChatRequest request, String token, Consumer<Response> partialResponseConsumer) {
+        String url = chatGptApiUrl + "chat/completions";
+        String json = toJson(request);
+
+        ChatResponse response;
         try {
-            json = objectMapper.writeValueAsString(request);
-        } catch (JsonProcessingException e) {
-            botStats.incrementErrors(request, e, "object serialization error");
-            log.error("Failed to send request to ChatGPT API: {}", e.getMessage());
-            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
+            response = defaultRestTemplate.execute(
+                    url,
+                    HttpMethod.POST,
+                    httpRequest -> {
+                        HttpHeaders headers = httpRequest.getHeaders();
+                        headers.setContentType(MediaType.APPLICATION_JSON);
+                        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                        headers.setBearerAuth(token);
+                        httpRequest.getBody().write(json.getBytes(StandardCharsets.UTF_8));
+                    },
+                    httpResponse -> readStream(httpResponse.getBody(), partialResponseConsumer));
+        } catch (Exception e) {
+            throw toBotException(request, e);
+        }
+
+        if (response == null) {
+            log.error("Empty response from ChatGPT API");
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
         }
 
+        return response;
+    }
+
+    private ChatResponse readStream(InputStream inputStream, Consumer<Response> partialResponseConsumer) throws IOException {
+        StringBuilder buf = new StringBuilder();
+        ChatResponse response = new ChatResponse();
+
+        EventStreamUtils.readData(inputStream, data -> {
+            ChatResponse chunk = objectMapper.readValue(data, ChatResponse.class);
+            if (response.getModel() == null) {
+                response.setModel(chunk.getModel());
+            }
+
+            String content = Optional.ofNullable(chunk.getChoices())
+                    .filter(choices -> !choices.isEmpty())
+                    .map(List::getFirst)
+                    .map(Choice::getDelta)
+                    .map(Message::getContent)
+                    .orElse(null);
+            if (content != null && !content.isEmpty()) {
+                buf.append(content);
+                partialResponseConsumer.accept(new Response(buf.toString(), response.getModel()));
+            }
+        });
+
+        Choice choice = new Choice();
+        choice.setMessage(new Message().setRole(ChatGPTRole.ASSISTANT.getName()).setContent(buf.toString()));
+
+        return response.setChoices(List.of(choice));
+    }
+
+    private <T> T getResponse(Object request, String url, String token, Class<T> dataType) {
+        String json = toJson(request);
+
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setBearerAuth(token);
@@ -314,7 +391,31 @@ public class ChatGPT implements Command {
         ResponseEntity<T> responseEntity;
         try {
             responseEntity = defaultRestTemplate.postForEntity(url, new HttpEntity<>(json, headers), dataType);
-        } catch (HttpClientErrorException hce) {
+        } catch (Exception e) {
+            throw toBotException(request, e);
+        }
+
+        T response = responseEntity.getBody();
+        if (response == null) {
+            log.error("Empty response from ChatGPT API");
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
+        }
+
+        return response;
+    }
+
+    private String toJson(Object request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            botStats.incrementErrors(request, e, "object serialization error");
+            log.error("Failed to send request to ChatGPT API: {}", e.getMessage());
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
+        }
+    }
+
+    private BotException toBotException(Object request, Exception exception) {
+        if (exception instanceof HttpClientErrorException hce) {
             String jsonError = hce.getResponseBodyAsString();
 
             ErrorResponse errorResponse;
@@ -322,26 +423,18 @@ public class ChatGPT implements Command {
                 errorResponse = objectMapper.readValue(jsonError, ErrorResponse.class);
             } catch (JsonProcessingException e) {
                 log.error("Failed to map {} to Error", jsonError);
-                throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
+                return new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
             }
 
-            throw new BotException("${command.chatgpt.apiresponse}: " + errorResponse.getError().getMessage());
-        } catch (RestClientException e) {
-            log.error("Error from chatgpt: ", e);
-            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
-        } catch (Exception e) {
-            log.error("Unknown error while trying to get response from chatgpt");
-            botStats.incrementErrors(request, e, "Unknown error while trying to get response from chatgpt");
-            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
-        }
-
-        T response = responseEntity.getBody();
-        if (response == null) {
-            log.error("Empty response from ChatGPT API");
-            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
+            return new BotException("${command.chatgpt.apiresponse}: " + errorResponse.getError().getMessage());
+        } else if (exception instanceof RestClientException) {
+            log.error("Error from chatgpt: ", exception);
+            return new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
         }
 
-        return response;
+        log.error("Unknown error while trying to get response from chatgpt");
+        botStats.incrementErrors(request, exception, "Unknown error while trying to get response from chatgpt");
+        return new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
     }
 
     @Getter
@@ -405,6 +498,9 @@ public class ChatGPT implements Command {
         private String model;
         private List<Message> messages;
         private Float temperature;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean stream;
     }
 
     @Data
@@ -433,6 +529,7 @@ public class ChatGPT implements Command {
     @Data
     public static class Choice {
         private Message message;
+        private Message delta;
 
         @JsonProperty("finish_reason")
         private String finishReason;
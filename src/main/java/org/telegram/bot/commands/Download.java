@@ -190,6 +190,11 @@ public class Download implements Command, MessageAnalyzer {
         return fileName;
     }
 
+    @Override
+    public boolean isSuitable(Message message) {
+        return message.hasText() && MediaPlatform.getByUrl(message.getText()) != null;
+    }
+
     @Override
     public List<BotResponse> analyze(BotRequest request) {
         Message message = request.getMessage();
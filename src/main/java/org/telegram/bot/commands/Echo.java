@@ -14,11 +14,10 @@ import org.telegram.bot.domain.model.response.TextResponse;
 import org.telegram.bot.enums.BotSpeechTag;
 import org.telegram.bot.services.*;
 import org.telegram.bot.utils.MathUtils;
-import org.telegram.bot.utils.ObjectCopier;
 import org.telegram.bot.utils.TextUtils;
 
 import java.util.*;
-import java.util.Set;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -29,13 +28,13 @@ import java.util.stream.Collectors;
 public class Echo implements Command, MessageAnalyzer {
 
     private final Bot bot;
-    private final ObjectCopier objectCopier;
     private final SpeechService speechService;
     private final TalkerWordService talkerWordService;
     private final TalkerPhraseService talkerPhraseService;
     private final CommandPropertiesService commandPropertiesService;
     private final TalkerDegreeService talkerDegreeService;
     private final TalkerUserSettingsService talkerUserSettingsService;
+    private final TalkerIndex talkerIndex;
 
     private static final Pattern WORDS_PATTERN = Pattern.compile("[а-яА-Я]{3,}", Pattern.UNICODE_CHARACTER_CLASS);
     private static final Pattern PHRASES_PATTERN = Pattern.compile("([^.!?),]+[.!?]?)", Pattern.UNICODE_CHARACTER_CLASS);
@@ -61,6 +60,11 @@ public class Echo implements Command, MessageAnalyzer {
                 .setText(responseText));
     }
 
+    @Override
+    public boolean isSuitable(Message message) {
+        return message.hasText() && !message.isCallback();
+    }
+
     @Override
     public List<BotResponse> analyze(BotRequest request) {
         Message message = request.getMessage();
@@ -98,7 +102,7 @@ public class Echo implements Command, MessageAnalyzer {
 
         if (sendMessage) {
             String commandName = commandPropertiesService.getCommand(this.getClass()).getCommandName();
-            BotRequest newRequest = objectCopier.copyObject(request, BotRequest.class);
+            BotRequest newRequest = new BotRequest(request);
             newRequest.getMessage().setText(commandName + " " + textMessage);
 
             return this.parse(newRequest);
@@ -117,13 +121,7 @@ public class Echo implements Command, MessageAnalyzer {
             return null;
         }
 
-        return getReply(talkerWordService.get(getWordsFromText(text), chatId)
-                .stream()
-                .map(TalkerWord::getPhrases)
-                .flatMap(Collection::stream)
-                .filter(talkerPhrase -> chatId.equals(talkerPhrase.getChat().getChatId()))
-                .filter(talkerPhrase -> talkerPhrase.getPhrase().contains("?"))
-                .collect(Collectors.toSet()));
+        return getReply(getWordsFromText(text), chatId, phrase -> phrase.contains("?"));
     }
 
     private String getReplyForText(String text, Long chatId) {
@@ -131,25 +129,36 @@ public class Echo implements Command, MessageAnalyzer {
             return null;
         }
 
-        return getReply(talkerWordService.get(getWordsFromText(text), chatId)
-                .stream()
-                .map(TalkerWord::getPhrases)
-                .flatMap(Collection::stream)
-                .filter(talkerPhrase -> chatId.equals(talkerPhrase.getChat().getChatId()))
-                .collect(Collectors.toSet()));
+        return getReply(getWordsFromText(text), chatId, phrase -> true);
     }
 
-    private String getReply(Set<TalkerPhrase> talkerPhraseSet) {
+    private String getReply(List<String> words, Long chatId, Predicate<String> phraseFilter) {
+        if (talkerIndex.isReady()) {
+            return getReply(talkerIndex.ratePhrases(chatId, words, phraseFilter));
+        }
+
+        // rated the same way as by TalkerIndex: count of distinct words linked with phrase
+        Map<Long, Set<String>> phraseWords = new HashMap<>();
+        Map<Long, String> phrases = new HashMap<>();
+        for (TalkerWord talkerWord : talkerWordService.get(words, chatId)) {
+            String word = talkerWord.getWord().toLowerCase(Locale.ROOT);
+            talkerWord.getPhrases()
+                    .stream()
+                    .filter(talkerPhrase -> chatId.equals(talkerPhrase.getChat().getChatId()))
+                    .filter(talkerPhrase -> phraseFilter.test(talkerPhrase.getPhrase()))
+                    .forEach(talkerPhrase -> {
+                        phraseWords.computeIfAbsent(talkerPhrase.getId(), id -> new HashSet<>()).add(word);
+                        phrases.put(talkerPhrase.getId(), talkerPhrase.getPhrase());
+                    });
+        }
+
         Map<String, Integer> phrasesRating = new HashMap<>();
-        talkerPhraseSet.forEach(talkerPhrase -> {
-            String phrase = talkerPhrase.getPhrase();
-            if (phrasesRating.containsKey(phrase)) {
-                phrasesRating.put(phrase, phrasesRating.get(phrase) + 1);
-            } else {
-                phrasesRating.put(phrase, 1);
-            }
-        });
+        phraseWords.forEach((phraseId, linkedWords) -> phrasesRating.merge(phrases.get(phraseId), linkedWords.size(), Math::max));
+
+        return getReply(phrasesRating);
+    }
 
+    private String getReply(Map<String, Integer> phrasesRating) {
         String selectedPhrase = null;
         Integer maxValue = phrasesRating.values().stream().max(Integer::compareTo).orElse(null);
         if (maxValue != null) {
@@ -201,10 +210,8 @@ public class Echo implements Command, MessageAnalyzer {
                         .collect(Collectors.toSet()),
                 chat);
 
-        talkerWordService.save(words
-                .stream()
-                .map(word -> new TalkerWord().setWord(word).setPhrases(new HashSet<>(storedTalkerPhraseList)))
-                .collect(Collectors.toSet()));
+        talkerWordService.save(words, storedTalkerPhraseList);
+        talkerIndex.add(chat.getChatId(), words, storedTalkerPhraseList);
     }
 
     private List<String> getWordsFromText(String text) {
@@ -72,9 +72,13 @@ public class Errors implements Command {
             log.debug("Request to get list of errors");
 
             StringBuilder buf = new StringBuilder("<b>${command.errors.errorsscaption}:</b>\n");
-            errorService.getAll().forEach(error ->
-                    buf.append(DateUtils.formatDateTime(error.getDateTime())).append(" — ").append(error.getComment())
-                            .append(" /errors_").append(error.getId()).append("\n"));
+            errorService.getAll().forEach(error -> {
+                buf.append(DateUtils.formatDateTime(error.getDateTime())).append(" — ").append(error.getComment());
+                if (error.getOccurrences() != null && error.getOccurrences() > 1) {
+                    buf.append(" (x").append(error.getOccurrences()).append(")");
+                }
+                buf.append(" /errors_").append(error.getId()).append("\n");
+            });
             buf.append("\n${command.errors.errorsclear} — /errors" + CLEAR_ERRORS_COMMAND);
 
             responseText = buf.toString();
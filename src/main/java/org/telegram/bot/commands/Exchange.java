@@ -5,6 +5,7 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,20 +31,22 @@ import org.telegram.bot.exception.BotException;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.CommandPropertiesService;
 import org.telegram.bot.services.SpeechService;
+import org.telegram.bot.services.metrics.CacheMetricsRegistry;
 import org.telegram.bot.utils.NetworkUtils;
+import org.telegram.bot.utils.ResponseCache;
 
 import java.awt.*;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.text.SimpleDateFormat;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -65,6 +68,7 @@ public class Exchange implements Command {
     private static final Pattern VALUTE_TO_RUB_PATTERN = Pattern.compile("^(\\d+[.,]*\\d*)\\s?([a-zA-Zа-яА-Я]+)$");
     private static final Pattern RUB_TO_VALUTE_PATTERN = Pattern.compile("^(\\d+[.,]*\\d*)\\s?([a-zA-Zа-яА-Я]+)\\.?\\s?([a-zA-Zа-яА-Я]+)$");
     private static final Pattern MONTHS_COUNT_PATTERN = Pattern.compile("^(\\d+)$");
+    private static final int MAX_CACHED_VAL_CURS = 100;
 
     private final Bot bot;
     private final SpeechService speechService;
@@ -73,7 +77,15 @@ public class Exchange implements Command {
     private final NetworkUtils networkUtils;
     private final XmlMapper xmlMapper;
     private final Clock clock;
-    private final Map<LocalDate, ValCurs> valCursDataMap = new ConcurrentHashMap<>();
+    private final CacheMetricsRegistry cacheMetricsRegistry;
+
+    private final ResponseCache<LocalDate, ValCurs> valCursCache =
+            new ResponseCache<>("exchange_val_curs", MAX_CACHED_VAL_CURS, Duration.ofDays(1), Duration.ZERO);
+
+    @PostConstruct
+    private void postConstruct() {
+        cacheMetricsRegistry.register(valCursCache);
+    }
 
     @Override
     public List<BotResponse> parse(BotRequest request) {
@@ -432,30 +444,16 @@ public class Exchange implements Command {
     }
 
     /**
-     * Getting exchange rates data.
+     * Getting exchange rates data. Data is cached only if it is published for requested date.
      *
      * @param date exchange date.
      * @return list with data of exchange rates.
      */
     private ValCurs getValCursData(LocalDate date) {
-        if (valCursDataMap.containsKey(date)) {
-            return valCursDataMap.get(date);
-        }
-
-        LocalDate expiredDate = LocalDate.now(clock).minusDays(2);
-        for (LocalDate key: valCursDataMap.keySet()) {
-            if (key.isBefore(expiredDate)) {
-                valCursDataMap.remove(key);
-            }
-        }
-
-        ValCurs valCurs = getValCursDataFromApi(date);
-
-        if (LocalDate.parse(valCurs.getDate(), dateFormatter).isEqual(date)) {
-            valCursDataMap.put(date, valCurs);
-        }
-
-        return valCurs;
+        return valCursCache.get(
+                date,
+                this::getValCursDataFromApi,
+                valCurs -> LocalDate.parse(valCurs.getDate(), dateFormatter).isEqual(date));
     }
 
     /**
@@ -10,6 +10,7 @@ import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.CommandWaiting;
 import org.telegram.bot.domain.entities.File;
 import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.domain.model.FilesUsage;
 import org.telegram.bot.domain.model.request.Attachment;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.request.Message;
@@ -59,6 +60,8 @@ public class Files implements Command {
     private static final String CALLBACK_OPEN_FILE_COMMAND = CALLBACK_COMMAND + OPEN_FILE_COMMAND;
     private static final String MAKE_DIR_COMMAND = "m";
     private static final String CALLBACK_MAKE_DIR_COMMAND = CALLBACK_COMMAND + MAKE_DIR_COMMAND;
+    private static final String SEARCH_COMMAND = "f";
+    private static final String CALLBACK_SEARCH_COMMAND = CALLBACK_COMMAND + SEARCH_COMMAND;
 
     private static final Long ROOT_DIR_ID = 0L;
 
@@ -111,6 +114,9 @@ public class Files implements Command {
         } else if (textMessage.startsWith(MAKE_DIR_COMMAND)) {
             bot.sendTyping(message.getChatId());
             return makeDirByCallback(message, chat, user, textMessage);
+        } else if (textMessage.startsWith(SEARCH_COMMAND)) {
+            bot.sendTyping(message.getChatId());
+            return searchByCallback(message, chat, user, textMessage);
         }
 
         log.error("Unexpected callback request {}", textMessage);
@@ -130,6 +136,9 @@ public class Files implements Command {
         } else if (textMessage.startsWith(MAKE_DIR_COMMAND)) {
             commandWaitingService.remove(commandWaiting);
             return makeDir(message, chat, user, textMessage);
+        } else if (textMessage.startsWith(SEARCH_COMMAND)) {
+            commandWaitingService.remove(commandWaiting);
+            return search(message, chat, textMessage);
         } else {
             throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.WRONG_INPUT));
         }
@@ -176,7 +185,14 @@ public class Files implements Command {
             throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.WRONG_INPUT));
         }
 
-        fileService.save(mapToFile(message.getAttachments().getFirst(), chat, user, parent));
+        Attachment attachment = message.getAttachments().getFirst();
+        FilesUsage filesUsage = fileService.getUsage(chat);
+        if (attachment.getSize() != null && filesUsage.isExceededWith(attachment.getSize())) {
+            commandWaitingService.remove(commandWaiting);
+            throw new BotException("${command.files.quotaexceeded}: " + formatFileSize(filesUsage.quota()));
+        }
+
+        fileService.save(mapToFile(attachment, chat, user, parent));
 
         return new TextResponse(message)
                 .setText(speechService.getRandomMessageByTag(BotSpeechTag.SAVED))
@@ -219,6 +235,37 @@ public class Files implements Command {
                 .setText("${command.files.commandwaitingfolderstart}");
     }
 
+    private EditResponse searchByCallback(Message message, Chat chat, User user, String textCommand) {
+        commandWaitingService.add(chat, user, Files.class, CALLBACK_COMMAND + textCommand);
+        return new EditResponse(message)
+                .setText("${command.files.commandwaitingsearchstart}");
+    }
+
+    private TextResponse search(Message message, Chat chat, String textCommand) {
+        String name = textCommand.substring(SEARCH_COMMAND.length()).trim();
+        if (name.isEmpty()) {
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.WRONG_INPUT));
+        }
+
+        Page<File> fileList = fileService.search(chat, name, 0);
+
+        List<List<KeyboardButton>> rows = fileList
+                .stream()
+                .map(file -> List.of(new KeyboardButton()
+                        .setName(TextUtils.cutIfLongerThan(EmojiMimeType.getEmojiByType(file.getType()) + file.getName(), 30))
+                        .setCallback(CALLBACK_SELECT_FILE_COMMAND + file.getId())))
+                .collect(Collectors.toList());
+        rows.add(List.of(new KeyboardButton()
+                .setName(Emoji.BACK.getSymbol() + "${command.files.button.up}")
+                .setCallback(CALLBACK_SELECT_FILE_COMMAND + ROOT_DIR_ID)));
+
+        return new TextResponse(message)
+                .setText("${command.files.search.caption}: <b>" + name + "</b>\n" +
+                        "${command.files.search.found}: " + fileList.getTotalElements())
+                .setKeyboard(new Keyboard(rows))
+                .setResponseSettings(FormattingStyle.HTML);
+    }
+
     private TextResponse addFileByCallback(Message message, Chat chat, User user, String textCommand) {
         commandWaitingService.add(chat, user, Files.class, CALLBACK_COMMAND + textCommand);
         return new TextResponse(message)
@@ -341,15 +388,21 @@ public class Files implements Command {
 
         Keyboard keyboard = new Keyboard(addingMainRows(dirContent, directory));
 
+        String caption = "${command.files.folder.caption}: <b>" + directory.getName() + "</b>\n";
+        if (directory.getId().equals(ROOT_DIR_ID)) {
+            FilesUsage filesUsage = fileService.getUsage(chat);
+            caption = caption + "${command.files.usage}: " + formatFileSize(filesUsage.size()) + " / " + formatFileSize(filesUsage.quota()) + "\n";
+        }
+
         if (newMessage) {
             return new TextResponse(message)
-                    .setText("${command.files.folder.caption}: <b>" + directory.getName() + "</b>\n")
+                    .setText(caption)
                     .setKeyboard(keyboard)
                     .setResponseSettings(FormattingStyle.HTML);
         }
 
         return new EditResponse(message)
-                .setText("${command.files.folder.caption}: <b>" + directory.getName() + "</b>\n")
+                .setText(caption)
                 .setKeyboard(keyboard)
                 .setResponseSettings(FormattingStyle.HTML);
     }
@@ -369,6 +422,10 @@ public class Files implements Command {
                 .setName(Emoji.UPDATE.getSymbol() + "${command.files.button.reload}")
                 .setCallback(CALLBACK_SELECT_FILE_COMMAND + parent.getId()));
 
+        managingRow.add(new KeyboardButton()
+                .setName(Emoji.MAGNIFYING_GLASS.getSymbol() + "${command.files.button.search}")
+                .setCallback(CALLBACK_SEARCH_COMMAND));
+
         if (!parent.getId().equals(ROOT_DIR_ID)) {
             managingRow.add(new KeyboardButton()
                     .setName(Emoji.BACK.getSymbol() + "${command.files.button.up}")
@@ -1,12 +1,15 @@
 package org.telegram.bot.commands;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -14,6 +17,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.telegram.bot.Bot;
+import org.telegram.bot.config.PropertiesConfig;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.GigaChatMessage;
 import org.telegram.bot.domain.entities.User;
@@ -22,6 +26,7 @@ import org.telegram.bot.domain.model.response.*;
 import org.telegram.bot.enums.BotSpeechTag;
 import org.telegram.bot.enums.FormattingStyle;
 import org.telegram.bot.enums.GigaChatRole;
+import org.telegram.bot.enums.RequestSource;
 import org.telegram.bot.enums.SberScope;
 import org.telegram.bot.exception.BotException;
 import org.telegram.bot.exception.GettingSberAccessTokenException;
@@ -29,11 +34,20 @@ import org.telegram.bot.providers.sber.SberApiProvider;
 import org.telegram.bot.providers.sber.SberTokenProvider;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.CommandWaitingService;
+import org.telegram.bot.services.ConversationContext;
 import org.telegram.bot.services.GigaChatMessageService;
 import org.telegram.bot.services.SpeechService;
+import org.telegram.bot.services.executors.StreamingResponseExecutor;
+import org.telegram.bot.utils.EventStreamUtils;
 import org.telegram.bot.utils.TextUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -50,6 +64,9 @@ public class GigaChat implements SberApiProvider, Command {
     private static final Pattern IMAGE_TAG_PATTERN = Pattern.compile("<img\\ssrc=\"([^\"]+)(?=\")");
     private static final String RESPONSE_CAPTION = "GigaChat";
 
+    @Value("${gigaChatStreaming:true}")
+    private boolean gigaChatStreaming;
+
     private final Bot bot;
     private final SberTokenProvider sberTokenProvider;
     private final SpeechService speechService;
@@ -58,6 +75,9 @@ public class GigaChat implements SberApiProvider, Command {
     private final ObjectMapper objectMapper;
     private final RestTemplate sberRestTemplate;
     private final BotStats botStats;
+    private final PropertiesConfig propertiesConfig;
+    private final ConversationContext conversationContext;
+    private final StreamingResponseExecutor streamingResponseExecutor;
 
     @Override
     public SberScope getScope() {
@@ -84,31 +104,24 @@ public class GigaChat implements SberApiProvider, Command {
         byte[] image = null;
         String model;
         if (commandArgument != null) {
-            Chat chat = message.getChat();
-            User user = message.getUser();
-            List<GigaChatMessage> messagesHistory;
-
-            if (chatId < 0) {
-                messagesHistory = gigaChatMessageService.getMessages(chat);
-            } else {
-                messagesHistory = gigaChatMessageService.getMessages(user);
-            }
-
-            ChatResponse response = getResponse(buildRequest(messagesHistory, commandArgument), token);
-            model = response.getModel();
-            responseText = toResponseText(response);
-
-            image = getImage(responseText, token);
-            if (image != null) {
-                bot.sendUploadPhoto(chatId);
-                responseText = TextUtils.cutHtmlTags(responseText);
+            if (isStreaming(request)) {
+                streamingResponseExecutor.execute(request, responseStream -> {
+                    Answer answer = getAnswer(message, commandArgument, token, (partialModel, partialText) ->
+                            responseStream.update(RESPONSE_CAPTION + " (" + partialModel + "):\n" + TextUtils.cutHtmlTags(partialText)));
+                    responseStream.complete("*" + RESPONSE_CAPTION + "* (" + answer.model() + "):\n" + answer.text(), FormattingStyle.MARKDOWN);
+
+                    if (answer.image() != null) {
+                        bot.sendDocument(new FileResponse(message).addFile(new File(FileType.IMAGE, answer.image(), "image")));
+                    }
+                });
+
+                return returnResponse();
             }
 
-            messagesHistory.addAll(
-                    List.of(
-                            new GigaChatMessage().setChat(chat).setUser(user).setRole(GigaChatRole.USER).setContent(commandArgument),
-                            new GigaChatMessage().setChat(chat).setUser(user).setRole(GigaChatRole.ASSISTANT).setContent(responseText)));
-            gigaChatMessageService.update(messagesHistory);
+            Answer answer = getAnswer(message, commandArgument, token, null);
+            model = answer.model();
+            responseText = answer.text();
+            image = answer.image();
         } else {
             log.debug("Empty request. Turning on command waiting");
             commandWaitingService.add(message, this.getClass());
@@ -128,6 +141,64 @@ public class GigaChat implements SberApiProvider, Command {
                 .setResponseSettings(FormattingStyle.MARKDOWN));
     }
 
+    private boolean isStreaming(BotRequest request) {
+        return gigaChatStreaming && RequestSource.TELEGRAM.equals(request.getSource());
+    }
+
+    private Answer getAnswer(org.telegram.bot.domain.model.request.Message message,
+                             String commandArgument,
+                             String token,
+                             @Nullable BiConsumer<String, String> partialAnswerConsumer) {
+        Long chatId = message.getChatId();
+        Chat chat = message.getChat();
+        User user = message.getUser();
+        List<GigaChatMessage> messagesHistory;
+
+        if (chatId < 0) {
+            messagesHistory = gigaChatMessageService.getMessages(chat);
+        } else {
+            messagesHistory = gigaChatMessageService.getMessages(user);
+        }
+
+        reduceToTokensSize(messagesHistory, commandArgument);
+        ChatRequest chatRequest = buildRequest(messagesHistory, commandArgument);
+        ChatResponse response;
+        if (partialAnswerConsumer == null) {
+            response = getResponse(chatRequest, token);
+        } else {
+            response = getStreamingResponse(chatRequest.setStream(true), token, partialAnswerConsumer);
+        }
+        String responseText = toResponseText(response);
+
+        byte[] image = getImage(responseText, token);
+        if (image != null) {
+            bot.sendUploadPhoto(chatId);
+            responseText = TextUtils.cutHtmlTags(responseText);
+        }
+
+        messagesHistory.addAll(
+                List.of(
+                        new GigaChatMessage().setChat(chat).setUser(user).setRole(GigaChatRole.USER).setContent(commandArgument),
+                        new GigaChatMessage().setChat(chat).setUser(user).setRole(GigaChatRole.ASSISTANT).setContent(responseText)));
+        gigaChatMessageService.update(messagesHistory);
+
+        return new Answer(response.getModel(), responseText, image);
+    }
+
+    private void reduceToTokensSize(List<GigaChatMessage> messagesHistory, String newText) {
+        Integer tokensSize = propertiesConfig.getGigaChatTokensSize();
+        if (tokensSize == 0) {
+            return;
+        }
+
+        ConversationContext.TrimResult<GigaChatMessage> trimResult = conversationContext.trim(messagesHistory, newText, tokensSize);
+        gigaChatMessageService.delete(trimResult.removed());
+
+        if (trimResult.tokens() > tokensSize) {
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.TOO_BIG_REQUEST));
+        }
+    }
+
     private ChatRequest buildRequest(List<GigaChatMessage> gigaChatMessages, String text) {
         List<Message> requestMessages = gigaChatMessages
                 .stream()
@@ -180,7 +251,81 @@ public class GigaChat implements SberApiProvider, Command {
         ResponseEntity<ChatResponse> responseEntity;
         try {
             responseEntity = sberRestTemplate.postForEntity(url, new HttpEntity<>(json, headers), ChatResponse.class);
-        } catch (HttpClientErrorException hce) {
+        } catch (RestClientException e) {
+            throw toBotException(e);
+        }
+
+        ChatResponse response = responseEntity.getBody();
+        if (response == null) {
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
+        }
+
+        return response;
+    }
+
+    private synchronized ChatResponse getStreamingResponse(ChatRequest request, String token, BiConsumer<String, String> partialAnswerConsumer) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            botStats.incrementErrors(request, e, "object serialization error");
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
+        }
+
+        ChatResponse response;
+        try {
+            response = sberRestTemplate.execute(
+                    GIGA_CHAT_API_URL + COMPLETIONS_PATH,
+                    HttpMethod.POST,
+                    httpRequest -> {
+                        HttpHeaders headers = httpRequest.getHeaders();
+                        headers.setContentType(MediaType.APPLICATION_JSON);
+                        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                        headers.setBearerAuth(token);
+                        httpRequest.getBody().write(json.getBytes(StandardCharsets.UTF_8));
+                    },
+                    httpResponse -> readStream(httpResponse.getBody(), partialAnswerConsumer));
+        } catch (RestClientException e) {
+            throw toBotException(e);
+        }
+
+        if (response == null) {
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
+        }
+
+        return response;
+    }
+
+    private ChatResponse readStream(InputStream inputStream, BiConsumer<String, String> partialAnswerConsumer) throws IOException {
+        StringBuilder buf = new StringBuilder();
+        ChatResponse response = new ChatResponse();
+
+        EventStreamUtils.readData(inputStream, data -> {
+            ChatResponse chunk = objectMapper.readValue(data, ChatResponse.class);
+            if (response.getModel() == null) {
+                response.setModel(chunk.getModel());
+            }
+
+            String content = Optional.ofNullable(chunk.getChoices())
+                    .filter(choices -> !choices.isEmpty())
+                    .map(List::getFirst)
+                    .map(Choice::getDelta)
+                    .map(Message::getContent)
+                    .orElse(null);
+            if (content != null && !content.isEmpty()) {
+                buf.append(content);
+                partialAnswerConsumer.accept(response.getModel(), buf.toString());
+            }
+        });
+
+        Choice choice = new Choice();
+        choice.setMessage(new Message().setRole(GigaChatRole.ASSISTANT.getName()).setContent(buf.toString()));
+
+        return response.setChoices(List.of(choice));
+    }
+
+    private BotException toBotException(RestClientException exception) {
+        if (exception instanceof HttpClientErrorException hce) {
             String jsonError = hce.getResponseBodyAsString();
 
             ErrorResponse errorResponse;
@@ -188,21 +333,14 @@ public class GigaChat implements SberApiProvider, Command {
                 errorResponse = objectMapper.readValue(jsonError, ErrorResponse.class);
             } catch (JsonProcessingException e) {
                 log.error("Failed to map {} to Error", jsonError);
-                throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
+                return new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
             }
 
-            throw new BotException("Ответ от GigaChat: " + errorResponse.getError().getMessage());
-        } catch (RestClientException e) {
-            log.error("Error from gigachat: ", e);
-            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
-        }
-
-        ChatResponse response = responseEntity.getBody();
-        if (response == null) {
-            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
+            return new BotException("Ответ от GigaChat: " + errorResponse.getError().getMessage());
         }
 
-        return response;
+        log.error("Error from gigachat: ", exception);
+        return new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
     }
 
     private synchronized byte[] getFile(String token, String fileId) {
@@ -242,6 +380,9 @@ public class GigaChat implements SberApiProvider, Command {
         return response;
     }
 
+    private record Answer(String model, String text, byte[] image) {
+    }
+
     @Data
     @Accessors(chain = true)
     public static class ErrorResponse {
@@ -263,6 +404,9 @@ public class GigaChat implements SberApiProvider, Command {
         private String model;
         private List<Message> messages;
         private Float temperature;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean stream;
     }
 
     @Data
@@ -291,6 +435,7 @@ public class GigaChat implements SberApiProvider, Command {
     @Data
     public static class Choice {
         private Message message;
+        private Message delta;
 
         @JsonProperty("finish_reason")
         private String finishReason;
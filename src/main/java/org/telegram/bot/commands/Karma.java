@@ -21,7 +21,6 @@ import org.telegram.bot.services.CommandPropertiesService;
 import org.telegram.bot.services.SpeechService;
 import org.telegram.bot.services.UserService;
 import org.telegram.bot.services.UserStatsService;
-import org.telegram.bot.utils.ObjectCopier;
 import org.telegram.bot.utils.TelegramUtils;
 
 import java.util.Arrays;
@@ -37,7 +36,6 @@ import static org.telegram.bot.utils.TextUtils.startsWithElementInList;
 public class Karma implements Command, MessageAnalyzer {
 
     private final Bot bot;
-    private final ObjectCopier objectCopier;
     private final CommandPropertiesService commandPropertiesService;
     private final SpeechService speechService;
     private final UserService userService;
@@ -121,24 +119,8 @@ public class Karma implements Command, MessageAnalyzer {
         log.debug("Request to change karma {} of user {} ", value, anotherUser);
         Chat chat = new Chat().setChatId(message.getChatId());
         UserStats anotherUserStats = userStatsService.get(chat, anotherUser);
-        anotherUserStats.setNumberOfKarma(anotherUserStats.getNumberOfKarma() + value)
-                .setNumberOfKarmaPerDay(anotherUserStats.getNumberOfKarmaPerDay() + value)
-                .setNumberOfAllKarma(anotherUserStats.getNumberOfAllKarma() + value);
-
         User user = new User().setUserId(message.getUser().getUserId());
-        UserStats userStats = userStatsService.get(chat, user);
-        if (value > 0) {
-            userStats.setNumberOfGoodness(userStats.getNumberOfGoodness() + 1)
-                    .setNumberOfGoodnessPerDay(userStats.getNumberOfGoodnessPerDay() + 1)
-                    .setNumberOfAllGoodness(userStats.getNumberOfAllGoodness() + 1);
-        } else {
-            userStats.setNumberOfWickedness(userStats.getNumberOfWickedness() + 1)
-                    .setNumberOfWickednessPerDay(userStats.getNumberOfWickednessPerDay() + 1)
-                    .setNumberOfAllWickedness(userStats.getNumberOfAllWickedness() + 1);
-        }
-
-        userStatsService.save(Arrays.asList(anotherUserStats, userStats));
-
+        userStatsService.changeKarma(chat, user, anotherUser, value);
 
         StringBuilder buf = new StringBuilder("${command.karma.userskarma} <b>" + getHtmlLinkToUser(anotherUser) + "</b> ");
         if (value < 0) {
@@ -146,11 +128,16 @@ public class Karma implements Command, MessageAnalyzer {
         } else {
             buf.append("${command.karma.increased} ").append(Emoji.THUMBS_UP.getSymbol());
         }
-        buf.append(" ${command.karma.changedto} <b>").append(anotherUserStats.getNumberOfKarma()).append("</b>");
+        buf.append(" ${command.karma.changedto} <b>").append(anotherUserStats.getNumberOfKarma() + value).append("</b>");
 
         return buf.toString();
     }
 
+    @Override
+    public boolean isSuitable(Message message) {
+        return message.hasText() && message.hasReplyToMessage();
+    }
+
     @Override
     public List<BotResponse> analyze(BotRequest request) {
         Message message = request.getMessage();
@@ -170,10 +157,7 @@ public class Karma implements Command, MessageAnalyzer {
             CommandProperties commandProperties = commandPropertiesService.getCommand(this.getClass());
             AccessLevel userAccessLevel = userService.getCurrentAccessLevel(message.getUser().getUserId(), message.getChatId());
             if (userService.isUserHaveAccessForCommand(userAccessLevel.getValue(), commandProperties.getAccessLevel())) {
-                BotRequest newRequest = objectCopier.copyObject(request, BotRequest.class);
-                if (newRequest == null) {
-                    return returnResponse();
-                }
+                BotRequest newRequest = new BotRequest(request);
                 newRequest.getMessage().setText(commandProperties.getCommandName() + " " + message.getReplyToMessage().getUser().getUserId() + " " + value);
                 return this.parse(newRequest);
             }
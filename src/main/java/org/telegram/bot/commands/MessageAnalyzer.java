@@ -1,10 +1,21 @@
 package org.telegram.bot.commands;
 
 import org.telegram.bot.domain.model.request.BotRequest;
+import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.domain.model.response.BotResponse;
 
 import java.util.List;
 
 public interface MessageAnalyzer {
     List<BotResponse> analyze(BotRequest request);
+
+    /**
+     * Cheap check of the message (content type, reply, url, etc.) before analyzing.
+     *
+     * @param message received message.
+     * @return false if the message certainly will not be analyzed, and analyzer should not be invoked.
+     */
+    default boolean isSuitable(Message message) {
+        return true;
+    }
 }
@@ -90,6 +90,11 @@ public class Qr implements Command, MessageAnalyzer {
         return os.toByteArray();
     }
 
+    @Override
+    public boolean isSuitable(Message message) {
+        return message.hasAttachment() && MessageContentType.PHOTO.equals(message.getMessageContentType());
+    }
+
     @Override
     public List<BotResponse> analyze(BotRequest request) {
         Message message = request.getMessage();
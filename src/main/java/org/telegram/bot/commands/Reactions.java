@@ -310,6 +310,11 @@ public class Reactions implements Command, MessageAnalyzer {
         return TextUtils.getHtmlLinkToMessage(chatId, message.getMessageId(), messageText) + " (" + count + ")\n";
     }
 
+    @Override
+    public boolean isSuitable(Message message) {
+        return !shouldNotBeAnalyzed(message) && (message.hasReplyToMessage() || message.hasReactions());
+    }
+
     @Override
     public List<BotResponse> analyze(BotRequest request) {
         Message message = request.getMessage();
@@ -14,7 +14,6 @@ import org.telegram.bot.domain.model.response.BotResponse;
 import org.telegram.bot.services.LastCommandService;
 import org.telegram.bot.services.UserService;
 import org.telegram.bot.services.UserStatsService;
-import org.telegram.bot.utils.ObjectCopier;
 
 import java.util.List;
 
@@ -24,12 +23,16 @@ import java.util.List;
 public class Repeat implements Command, MessageAnalyzer {
 
     private final ApplicationContext context;
-    private final ObjectCopier objectCopier;
 
     private final UserService userService;
     private final UserStatsService userStatsService;
     private final LastCommandService lastCommandService;
 
+    @Override
+    public boolean isSuitable(Message message) {
+        return message.hasText() && message.getText().equals(".");
+    }
+
     @Override
     public List<BotResponse> analyze(BotRequest request) {
         Message message = request.getMessage();
@@ -44,11 +47,7 @@ public class Repeat implements Command, MessageAnalyzer {
                 log.debug("Request to repeat Command {}", commandProperties);
 
                 if (userService.isUserHaveAccessForCommand(userService.getCurrentAccessLevel(user.getUserId(), chat.getChatId()).getValue(), commandProperties.getAccessLevel())) {
-                    BotRequest newRequest = objectCopier.copyObject(request, BotRequest.class);
-                    if (newRequest == null) {
-                        return returnResponse();
-                    }
-
+                    BotRequest newRequest = new BotRequest(request);
                     newRequest.getMessage().setText(commandProperties.getCommandName());
                     userStatsService.incrementUserStatsCommands(chat, user);
                     return ((Command) context.getBean(commandProperties.getClassName())).parse(newRequest);
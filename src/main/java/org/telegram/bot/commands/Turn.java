@@ -14,7 +14,6 @@ import org.telegram.bot.services.CommandPropertiesService;
 import org.telegram.bot.services.InternationalizationService;
 import org.telegram.bot.services.LanguageResolver;
 import org.telegram.bot.services.SpeechService;
-import org.telegram.bot.utils.ObjectCopier;
 import org.telegram.bot.utils.TextUtils;
 
 import jakarta.annotation.PostConstruct;
@@ -33,7 +32,6 @@ import static org.telegram.bot.utils.TextUtils.deleteWordsInText;
 public class Turn implements Command, MessageAnalyzer {
 
     private final Bot bot;
-    private final ObjectCopier objectCopier;
     private final SpeechService speechService;
     private final CommandPropertiesService commandPropertiesService;
     private final LanguageResolver languageResolver;
@@ -110,6 +108,11 @@ public class Turn implements Command, MessageAnalyzer {
         return buf.toString();
     }
 
+    @Override
+    public boolean isSuitable(Message message) {
+        return message.hasText();
+    }
+
     @Override
     public List<BotResponse> analyze(BotRequest request) {
         String textMessage = request.getMessage().getText();
@@ -126,11 +129,7 @@ public class Turn implements Command, MessageAnalyzer {
             Matcher matcher = UNTURNED_WORD_SYMPTOM.matcher(textMessage);
             if (matcher.find()) {
                 String commandName = commandPropertiesService.getCommand(this.getClass()).getCommandName();
-                BotRequest newRequest = objectCopier.copyObject(request, BotRequest.class);
-
-                if (newRequest == null) {
-                    return returnResponse();
-                }
+                BotRequest newRequest = new BotRequest(request);
                 newRequest.getMessage().setText(commandName + " " + textMessage);
                 return this.parse(newRequest);
             }
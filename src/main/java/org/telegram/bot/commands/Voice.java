@@ -21,7 +21,6 @@ import org.telegram.bot.providers.sber.SaluteSpeechSynthesizer;
 import org.telegram.bot.providers.sber.SpeechParser;
 import org.telegram.bot.providers.sber.SpeechSynthesizer;
 import org.telegram.bot.services.*;
-import org.telegram.bot.utils.ObjectCopier;
 import org.telegram.bot.utils.TextUtils;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
@@ -44,7 +43,6 @@ public class Voice implements Command, MessageAnalyzer {
     private final LanguageResolver languageResolver;
     private final BotStats botStats;
     private final Bot bot;
-    private final ObjectCopier objectCopier;
 
     @Override
     public List<BotResponse> parse(BotRequest request) {
@@ -103,6 +101,11 @@ public class Voice implements Command, MessageAnalyzer {
                 .addFile(new File(FileType.VOICE, voice, "voice")));
     }
 
+    @Override
+    public boolean isSuitable(Message message) {
+        return message.hasAttachment() && MessageContentType.VOICE.equals(message.getMessageContentType());
+    }
+
     @Override
     public List<BotResponse> analyze(BotRequest request) {
         Message message = request.getMessage();
@@ -160,14 +163,12 @@ public class Voice implements Command, MessageAnalyzer {
 
         CommandProperties commandProperties = commandPropertiesService.findCommandInText(command, bot.getBotUsername());
         if (commandProperties != null) {
-            BotRequest newBotRequest = objectCopier.copyObject(botRequest, BotRequest.class);
-            if (newBotRequest != null) {
-                newBotRequest.getMessage()
-                        .setMessageKind(MessageKind.COMMON)
-                        .setMessageContentType(MessageContentType.TEXT)
-                        .setText(command);
-                bot.processRequestWithoutAnalyze(newBotRequest);
-            }
+            BotRequest newBotRequest = new BotRequest(botRequest);
+            newBotRequest.getMessage()
+                    .setMessageKind(MessageKind.COMMON)
+                    .setMessageContentType(MessageContentType.TEXT)
+                    .setText(command);
+            bot.processRequestWithoutAnalyze(newBotRequest);
         }
     }
 
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
@@ -28,13 +29,20 @@ import org.telegram.bot.enums.Emoji;
 import org.telegram.bot.enums.FormattingStyle;
 import org.telegram.bot.exception.BotException;
 import org.telegram.bot.services.*;
+import org.telegram.bot.services.metrics.CacheMetricsRegistry;
+import org.telegram.bot.utils.ResponseCache;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import static org.telegram.bot.utils.DateUtils.*;
@@ -56,6 +64,7 @@ public class Weather implements Command {
     private static final int HOURLY_FORECAST_MIN_LENGTH_OF_TEMP = 2;
     private static final int HOURLY_FORECAST_HOURS_OF_FORECAST_COUNT = 8;
     private static final int DAILY_FORECAST_MINIMUM_REQUIRED_SPACE_COUNT = 3;
+    private static final int MAX_CACHED_RESPONSES = 1000;
     private static final ResponseSettings DEFAULT_RESPONSE_SETTINGS = new ResponseSettings()
             .setFormattingStyle(FormattingStyle.HTML)
             .setWebPagePreview(false);
@@ -79,6 +88,18 @@ public class Weather implements Command {
     private final RestTemplate botRestTemplate;
     private final InternationalizationService internationalizationService;
     private final LanguageResolver languageResolver;
+    private final CacheMetricsRegistry cacheMetricsRegistry;
+
+    private final ResponseCache<String, WeatherCurrent> weatherCurrentCache =
+            new ResponseCache<>("weather_current", MAX_CACHED_RESPONSES, Duration.ofMinutes(10), Duration.ofMinutes(20));
+    private final ResponseCache<String, WeatherForecast> weatherForecastCache =
+            new ResponseCache<>("weather_forecast", MAX_CACHED_RESPONSES, Duration.ofMinutes(30), Duration.ofMinutes(30));
+
+    @PostConstruct
+    private void postConstruct() {
+        cacheMetricsRegistry.register(weatherCurrentCache);
+        cacheMetricsRegistry.register(weatherForecastCache);
+    }
 
     @Override
     public List<BotResponse> parse(BotRequest request) {
@@ -113,9 +134,13 @@ public class Weather implements Command {
 
         String languageCode = languageResolver.getChatLanguageCode(message, user);
 
-        WeatherCurrent weatherCurrent = getWeatherCurrent(token, cityName, languageCode);
-        WeatherForecast weatherForecast = getWeatherForecast(token, cityName, languageCode);
-        normalizeWeatherForecast(weatherForecast);
+        WeatherCurrent weatherCurrent;
+        WeatherForecast weatherForecast;
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<WeatherForecast> weatherForecastFuture = executorService.submit(() -> getWeatherForecast(token, cityName, languageCode));
+            weatherCurrent = getWeatherCurrent(token, cityName, languageCode);
+            weatherForecast = await(weatherForecastFuture);
+        }
 
         responseText = prepareCurrentWeatherText(weatherCurrent, languageCode)
                 + prepareHourlyForecastWeatherText(weatherForecast)
@@ -137,7 +162,7 @@ public class Weather implements Command {
      */
     private WeatherCurrent getWeatherCurrent(String token, String city, String lang) throws BotException {
         String weatherApiUrl = String.format(CURRENT_WEATHER_API_URL, lang, token, getQueryParameter(city), city);
-        return getWeatherData(weatherApiUrl, WeatherCurrent.class);
+        return weatherCurrentCache.get(weatherApiUrl, apiUrl -> getWeatherData(apiUrl, WeatherCurrent.class));
     }
 
     /**
@@ -151,7 +176,26 @@ public class Weather implements Command {
      */
     private WeatherForecast getWeatherForecast(String token, String city, String lang) throws BotException {
         String forecastApiUrl = String.format(FORECAST_WEATHER_API_URL, lang, token, getQueryParameter(city), city);
-        return getWeatherData(forecastApiUrl, WeatherForecast.class);
+        return weatherForecastCache.get(forecastApiUrl, apiUrl -> {
+            WeatherForecast weatherForecast = getWeatherData(apiUrl, WeatherForecast.class);
+            normalizeWeatherForecast(weatherForecast);
+            return weatherForecast;
+        });
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            log.error("Failed to get weather data", e);
+            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
+        }
     }
 
     private <T> T getWeatherData(String apiUrl, Class<T> dataType) throws BotException {
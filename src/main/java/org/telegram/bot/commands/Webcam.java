@@ -17,9 +17,9 @@ import org.telegram.bot.providers.ffmpeg.FfmpegProvider;
 import org.telegram.bot.providers.media.YtDlpProvider;
 import org.telegram.bot.services.CommandWaitingService;
 import org.telegram.bot.services.SpeechService;
+import org.telegram.bot.services.TemporaryFileManager;
 import org.telegram.bot.utils.TextUtils;
 
-import java.io.File;
 import java.util.List;
 
 @Component
@@ -66,20 +66,20 @@ public class Webcam implements Command {
 
             bot.sendUploadVideo(message.getChatId());
 
-            File videoFile;
+            TemporaryFileManager.FileHandle videoFileHandle;
             MediaPlatform mediaPlatform = MediaPlatform.getByUrl(url);
             try {
                 if (mediaPlatform != null) {
-                    videoFile = ytDlpProvider.getVideoFragment(mediaPlatform, url, Integer.parseInt(duration));
+                    videoFileHandle = ytDlpProvider.getVideoFragment(mediaPlatform, url, Integer.parseInt(duration));
                 } else {
-                    videoFile = ffmpegProvider.getVideo(url, duration);
+                    videoFileHandle = ffmpegProvider.getVideo(url, duration);
                 }
             } catch (Exception e) {
                 throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.NO_RESPONSE));
             }
 
             return returnResponse(new FileResponse(message)
-                    .addFile(new org.telegram.bot.domain.model.response.File(FileType.VIDEO, videoFile)));
+                    .addFile(new org.telegram.bot.domain.model.response.File(FileType.VIDEO, videoFileHandle)));
         }
     }
 }
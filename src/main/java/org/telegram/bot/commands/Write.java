@@ -16,7 +16,6 @@ import org.telegram.bot.exception.BotException;
 import org.telegram.bot.services.ChatService;
 import org.telegram.bot.services.SpeechService;
 import org.telegram.bot.services.UserStatsService;
-import org.telegram.bot.utils.ObjectCopier;
 import org.telegram.bot.utils.TextUtils;
 
 import java.util.List;
@@ -30,7 +29,6 @@ public class Write implements Command {
     private final SpeechService speechService;
     private final ChatService chatService;
     private final UserStatsService userStatsService;
-    private final ObjectCopier objectCopier;
 
     @Override
     public List<BotResponse> parse(BotRequest request) {
@@ -84,12 +82,7 @@ public class Write implements Command {
     }
 
     private void processRequest(BotRequest botRequest, Chat chat, String messageText) {
-        BotRequest newBotRequest = objectCopier.copyObject(botRequest, BotRequest.class);
-        if (newBotRequest == null) {
-            log.error("Failed to get a copy of request");
-            return;
-        }
-
+        BotRequest newBotRequest = new BotRequest(botRequest);
         newBotRequest.getMessage()
                 .setChat(chat)
                 .setText(messageText);
@@ -59,6 +59,7 @@ public class CitySetter implements Setter<BotResponse> {
 
     private final CityService cityService;
     private final UserCityService userCityService;
+    private final ReminderService reminderService;
     private final SpeechService speechService;
     private final CommandWaitingService commandWaitingService;
     private final InternationalizationService internationalizationService;
@@ -146,6 +147,7 @@ public class CitySetter implements Setter<BotResponse> {
         userCity.setCity(city);
 
         userCityService.save(userCity);
+        reminderService.reschedule(chat, user);
 
         return (EditResponse) getMainKeyboard(message, chat, user, false);
     }
@@ -39,6 +39,7 @@ public class LanguageSetter implements Setter<BotResponse> {
     private final UserService userService;
     private final ChatLanguageService chatLanguageService;
     private final UserLanguageService userLanguageService;
+    private final LanguageResolver languageResolver;
     private final InternationalizationService internationalizationService;
     private final SpeechService speechService;
 
@@ -121,12 +122,14 @@ public class LanguageSetter implements Setter<BotResponse> {
 
         if (userNames.contains(entity)) {
             userLanguageService.save(chat, user, lang);
+            languageResolver.evictUserLanguage(chat, user);
         } else {
             if (chatNames.contains(entity)) {
                 if (chat.getChatId() > 0) {
                     throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
                 }
                 chatLanguageService.save(chat, lang);
+                languageResolver.evictChatLanguage(chat);
             } else {
                 throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
             }
@@ -157,12 +160,14 @@ public class LanguageSetter implements Setter<BotResponse> {
 
         if (userNames.contains(entity)) {
             userLanguageService.save(chat, user, lang);
+            languageResolver.evictUserLanguage(chat, user);
         } else {
             if (chatNames.contains(entity)) {
                 if (TelegramUtils.isPrivateChat(message.getChat())) {
                     throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.COMMAND_FOR_GROUP_CHATS));
                 }
                 chatLanguageService.save(chat, lang);
+                languageResolver.evictChatLanguage(chat);
             } else {
                 throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.WRONG_INPUT));
             }
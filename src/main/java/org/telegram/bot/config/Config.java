@@ -10,11 +10,16 @@ import okhttp3.Protocol;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,6 +32,7 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.i18n.FixedLocaleResolver;
 import org.telegram.bot.config.telegram.TelegramProxyProperties;
+import org.telegram.bot.services.metrics.HttpClientMetrics;
 import org.telegram.telegrambots.client.okhttp.OkHttpTelegramClient;
 import org.telegram.telegrambots.longpolling.BotSession;
 import org.telegram.telegrambots.longpolling.TelegramBotsLongPollingApplication;
@@ -39,6 +45,7 @@ import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 import javax.net.ssl.SSLContext;
+import java.io.IOException;
 import java.net.Authenticator;
 import java.net.InetSocketAddress;
 import java.net.PasswordAuthentication;
@@ -55,6 +62,8 @@ import java.util.function.Supplier;
 @Configuration
 public class Config {
 
+    public static final String MESSAGES_BASENAME = "messages";
+
     private static final List<String> ALLOWED_UPDATES = List.of(
             "message",
             "edited_message",
@@ -72,6 +81,12 @@ public class Config {
     @Value("${defaultRequestTimeoutSeconds:60}")
     private Integer defaultRequestTimeoutSeconds;
 
+    @Value("${httpClientMaxConnections:100}")
+    private Integer httpClientMaxConnections;
+
+    @Value("${httpClientMaxConnectionsPerHost:10}")
+    private Integer httpClientMaxConnectionsPerHost;
+
     @Value("${sberApiRequestTimeoutSeconds:60}")
     private Integer sberApiRequestTimeoutSeconds;
 
@@ -158,8 +173,11 @@ public class Config {
         return new OkHttpTelegramClient(telegramOkHttpClient, telegramBotApiToken);
     }
 
+    /**
+     * Shared pooled http client for requests to external systems.
+     */
     @Bean
-    public RestTemplate botRestTemplate() {
+    public CloseableHttpClient httpClient(HttpClientMetrics httpClientMetrics) {
         int timeoutSeconds = defaultRequestTimeoutSeconds;
 
         ConnectionConfig connectionConfig = ConnectionConfig.custom()
@@ -170,6 +188,8 @@ public class Config {
         PoolingHttpClientConnectionManager connectionManager =
                 PoolingHttpClientConnectionManagerBuilder.create()
                         .setDefaultConnectionConfig(connectionConfig)
+                        .setMaxConnTotal(httpClientMaxConnections)
+                        .setMaxConnPerRoute(httpClientMaxConnectionsPerHost)
                         .build();
 
         RequestConfig requestConfig = RequestConfig.custom()
@@ -177,15 +197,32 @@ public class Config {
                 .setResponseTimeout(Timeout.ofSeconds(timeoutSeconds))
                 .build();
 
-        HttpClient httpClient = HttpClients.custom()
+        return HttpClients.custom()
                 .setConnectionManager(connectionManager)
                 .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMinutes(1))
+                .addExecInterceptorFirst("metrics", (request, scope, chain) -> {
+                    String host = scope.route.getTargetHost().getHostName();
+                    long start = System.nanoTime();
+                    try {
+                        ClassicHttpResponse response = chain.proceed(request, scope);
+                        httpClientMetrics.recordLatency(host, System.nanoTime() - start);
+                        if (response.getCode() >= HttpStatus.SC_SERVER_ERROR) {
+                            httpClientMetrics.incrementErrors(host);
+                        }
+                        return response;
+                    } catch (IOException | HttpException | RuntimeException e) {
+                        httpClientMetrics.incrementErrors(host);
+                        throw e;
+                    }
+                })
                 .build();
+    }
 
-        HttpComponentsClientHttpRequestFactory requestFactory =
-                new HttpComponentsClientHttpRequestFactory(httpClient);
-
-        return new RestTemplate(requestFactory);
+    @Bean
+    public RestTemplate botRestTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
 
     @Bean
@@ -227,33 +264,8 @@ public class Config {
     }
 
     @Bean
-    public RestTemplate defaultRestTemplate() {
-        int timeoutSeconds = defaultRequestTimeoutSeconds;
-
-        ConnectionConfig connectionConfig = ConnectionConfig.custom()
-                .setConnectTimeout(Timeout.ofSeconds(timeoutSeconds))
-                .setSocketTimeout(Timeout.ofSeconds(timeoutSeconds)) // важно
-                .build();
-
-        PoolingHttpClientConnectionManager connectionManager =
-                PoolingHttpClientConnectionManagerBuilder.create()
-                        .setDefaultConnectionConfig(connectionConfig)
-                        .build();
-
-        RequestConfig requestConfig = RequestConfig.custom()
-                .setConnectionRequestTimeout(Timeout.ofSeconds(timeoutSeconds)) // важно
-                .setResponseTimeout(Timeout.ofSeconds(timeoutSeconds))
-                .build();
-
-        HttpClient httpClient = HttpClients.custom()
-                .setConnectionManager(connectionManager)
-                .setDefaultRequestConfig(requestConfig)
-                .build();
-
-        HttpComponentsClientHttpRequestFactory requestFactory =
-                new HttpComponentsClientHttpRequestFactory(httpClient);
-
-        return new RestTemplate(requestFactory);
+    public RestTemplate defaultRestTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
 
     @Bean
@@ -287,7 +299,7 @@ public class Config {
     @Bean
     public ResourceBundleMessageSource bundleMessageSource() {
         ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
-        messageSource.setBasename("messages");
+        messageSource.setBasename(MESSAGES_BASENAME);
         messageSource.setDefaultEncoding(StandardCharsets.UTF_8.displayName());
         return messageSource;
     }
@@ -8,6 +8,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 
+import java.time.DayOfWeek;
 import java.util.List;
 
 @Configuration
@@ -45,12 +46,14 @@ public class PropertiesConfig {
     private String xmlTvFileUrl;
     private String saluteSpeechSecret;
     private String gigaChatSecret;
+    private Integer gigaChatTokensSize = 0;
     private String virusTotalApiKey;
     private String ftpBackupUrl;
     private Integer daysBeforeExpirationBackup;
     private Long maxBackupsSizeBytes;
     private Integer ftpRetryCount = 5;
     private Long ftpRetryTimeoutMillis = 300000L;
+    private DayOfWeek fullBackupDayOfWeek;
 
     public Integer getRussianPostRequestsLimit() {
         if (this.russianPostRequestsLimit == null) {
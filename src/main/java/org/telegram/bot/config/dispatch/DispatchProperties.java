@@ -0,0 +1,31 @@
+package org.telegram.bot.config.dispatch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "dispatch")
+@Data
+public class DispatchProperties {
+
+    /**
+     * Max count of tasks running at the same time in all chats.
+     */
+    private Integer maxInFlight = 64;
+
+    /**
+     * Max count of tasks waiting for execution in all chats.
+     */
+    private Integer maxQueued = 10000;
+
+    /**
+     * Max count of tasks waiting for execution in one chat.
+     */
+    private Integer maxQueuedPerChat = 100;
+
+    /**
+     * Time to wait for each message analyzer before processing of the next task of the chat.
+     * Analyzer that exceeded the timeout keeps running and its responses are sent as a new task of the chat.
+     */
+    private Long analyzerTimeoutMillis = 5000L;
+
+}
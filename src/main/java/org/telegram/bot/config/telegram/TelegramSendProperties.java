@@ -0,0 +1,35 @@
+package org.telegram.bot.config.telegram;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "telegram.send")
+@Data
+public class TelegramSendProperties {
+
+    /**
+     * Max count of methods sent to all chats per second.
+     */
+    private Integer globalPerSecond = 30;
+
+    /**
+     * Max count of methods sent to one private chat per second.
+     */
+    private Integer privateChatPerSecond = 1;
+
+    /**
+     * Max count of methods sent to one group chat per minute.
+     */
+    private Integer groupChatPerMinute = 20;
+
+    /**
+     * Max count of edited and deleted messages of one group chat per minute. Not taken from the limit of sent messages.
+     */
+    private Integer groupChatEditsPerMinute = 20;
+
+    /**
+     * Max count of repeats of method after "Too Many Requests" error with retry_after.
+     */
+    private Integer maxRetries = 3;
+
+}
@@ -0,0 +1,19 @@
+package org.telegram.bot.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.telegram.bot.services.metrics.PrometheusMetricsExporter;
+
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final PrometheusMetricsExporter prometheusMetricsExporter;
+
+    @GetMapping(value = "/metrics", produces = PrometheusMetricsExporter.CONTENT_TYPE)
+    public String getMetrics() {
+        return prometheusMetricsExporter.export();
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.telegram.bot.domain.entities;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import org.telegram.bot.enums.FormattingStyle;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Broadcast entity. Unfinished sending of messages to many chats.
+ */
+@Entity
+@Getter
+@Setter
+@Accessors(chain = true)
+@ToString
+@Table(name = "broadcast", schema = "bot")
+public class Broadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "datetime")
+    private LocalDateTime dateTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "formattingstyle")
+    private FormattingStyle formattingStyle;
+
+    @Column(name = "webpagepreview")
+    private Boolean webPagePreview;
+
+    @Column(name = "notification")
+    private Boolean notification;
+
+    @Column(name = "total")
+    private Integer total;
+
+    @Column(name = "sent")
+    private Integer sent;
+
+}
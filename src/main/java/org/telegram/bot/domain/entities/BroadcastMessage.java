@@ -0,0 +1,36 @@
+package org.telegram.bot.domain.entities;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import jakarta.persistence.*;
+
+/**
+ * BroadcastMessage entity. Rendered message of Broadcast which is not sent yet.
+ */
+@Entity
+@Getter
+@Setter
+@Accessors(chain = true)
+@ToString
+@Table(name = "broadcastmessage", schema = "bot")
+public class BroadcastMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "broadcastid", nullable = false)
+    @ToString.Exclude
+    private Broadcast broadcast;
+
+    @Column(name = "chatid", nullable = false)
+    private Long chatId;
+
+    @Column(name = "text")
+    private String text;
+
+}
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import org.telegram.bot.domain.model.ConversationMessage;
 import org.telegram.bot.enums.ChatGPTRole;
 
 import jakarta.persistence.*;
@@ -17,7 +18,7 @@ import jakarta.persistence.*;
 @Accessors(chain = true)
 @ToString
 @Table(name = "chatgptmessage", schema = "bot")
-public class ChatGPTMessage {
+public class ChatGPTMessage implements ConversationMessage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -36,4 +37,7 @@ public class ChatGPTMessage {
 
     @Column(name = "content")
     private String content;
+
+    @Column(name = "tokens")
+    private Integer tokens;
 }
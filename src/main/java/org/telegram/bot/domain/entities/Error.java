@@ -20,9 +20,18 @@ public class Error {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "fingerprint", nullable = false, unique = true)
+    private String fingerprint;
+
+    @Column(name = "first_date_time", nullable = false)
+    private LocalDateTime firstDateTime;
+
     @Column(name = "date_time")
     private LocalDateTime dateTime;
 
+    @Column(name = "occurrences", nullable = false)
+    private Long occurrences;
+
     @Column(name = "request")
     private String request;
 
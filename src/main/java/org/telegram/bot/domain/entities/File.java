@@ -58,4 +58,19 @@ public class File {
 
     @Column(name = "parent")
     private Long parentId;
+
+    /**
+     * Ids of all ancestors from the root, for example "/0/12/" for a file in directory 12. The root has path "/".
+     */
+    @Column(name = "path")
+    private String path;
+
+    /**
+     * Path of children of this file.
+     *
+     * @return materialized path.
+     */
+    public String getChildrenPath() {
+        return path + id + "/";
+    }
 }
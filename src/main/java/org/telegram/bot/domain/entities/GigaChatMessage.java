@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import org.telegram.bot.domain.model.ConversationMessage;
 import org.telegram.bot.enums.GigaChatRole;
 
 import jakarta.persistence.*;
@@ -17,7 +18,7 @@ import jakarta.persistence.*;
 @Accessors(chain = true)
 @ToString
 @Table(name = "gigachatmessage", schema = "bot")
-public class GigaChatMessage {
+public class GigaChatMessage implements ConversationMessage {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -36,4 +37,7 @@ public class GigaChatMessage {
 
     @Column(name = "content")
     private String content;
+
+    @Column(name = "tokens")
+    private Integer tokens;
 }
@@ -0,0 +1,11 @@
+package org.telegram.bot.domain.model;
+
+/**
+ * Stored message of conversation with language model.
+ */
+public interface ConversationMessage {
+    Long getId();
+    String getContent();
+    Integer getTokens();
+    ConversationMessage setTokens(Integer tokens);
+}
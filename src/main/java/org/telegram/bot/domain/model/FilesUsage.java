@@ -0,0 +1,16 @@
+package org.telegram.bot.domain.model;
+
+/**
+ * Storage used by files of chat.
+ *
+ * @param count number of files and directories.
+ * @param size total size of files in bytes.
+ * @param quota max total size of files in bytes.
+ */
+public record FilesUsage(long count, long size, long quota) {
+
+    public boolean isExceededWith(long additionalSize) {
+        return size + additionalSize > quota;
+    }
+
+}
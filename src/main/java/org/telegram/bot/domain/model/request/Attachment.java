@@ -18,4 +18,15 @@ public class Attachment {
     private Long size;
     private Integer duration;
     private String text;
+
+    public Attachment(Attachment attachment) {
+        this(attachment.mimeType,
+                attachment.fileUniqueId,
+                attachment.fileId,
+                attachment.file,
+                attachment.name,
+                attachment.size,
+                attachment.duration,
+                attachment.text);
+    }
 }
@@ -1,12 +1,24 @@
 package org.telegram.bot.domain.model.request;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 import org.telegram.bot.enums.RequestSource;
 
+@NoArgsConstructor
 @Data
 @Accessors(chain = true)
 public class BotRequest {
     private Message message;
     private RequestSource source;
+
+    /**
+     * Copy of request which message can be changed without affecting the original one.
+     *
+     * @param botRequest request to copy.
+     */
+    public BotRequest(BotRequest botRequest) {
+        this.message = botRequest.message == null ? null : new Message(botRequest.message);
+        this.source = botRequest.source;
+    }
 }
@@ -2,14 +2,17 @@ package org.telegram.bot.domain.model.request;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.utils.TextUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+@NoArgsConstructor
 @Data
 @Accessors(chain = true)
 public class Message {
@@ -24,6 +27,34 @@ public class Message {
     private MessageContentType messageContentType;
     private List<Attachment> attachments;
     private Reactions reactions;
+    /**
+     * User who left the chat or was removed from it, if message is a service message about it.
+     */
+    private User leftChatMember;
+
+    /**
+     * Copy of message with copies of replied message, attachments and reactions.
+     * Chat and User entities (including left member of chat) are shared with the original message.
+     *
+     * @param message message to copy.
+     */
+    public Message(Message message) {
+        this.chat = message.chat;
+        this.user = message.user;
+        this.messageId = message.messageId;
+        this.replyToMessage = message.replyToMessage == null ? null : new Message(message.replyToMessage);
+        this.text = message.text;
+        this.dateTime = message.dateTime;
+        this.editDateTime = message.editDateTime;
+        this.messageKind = message.messageKind;
+        this.messageContentType = message.messageContentType;
+        if (message.attachments != null) {
+            this.attachments = new ArrayList<>(message.attachments.size());
+            message.attachments.forEach(attachment -> this.attachments.add(new Attachment(attachment)));
+        }
+        this.reactions = message.reactions == null ? null : new Reactions(message.reactions);
+        this.leftChatMember = message.leftChatMember;
+    }
 
     @JsonIgnore
     public Long getChatId() {
@@ -1,11 +1,13 @@
 package org.telegram.bot.domain.model.request;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
 import java.util.ArrayList;
 import java.util.List;
 
+@NoArgsConstructor
 @Data
 @Accessors(chain = true)
 public class Reactions {
@@ -13,4 +15,15 @@ public class Reactions {
     List<String> oldEmojis = new ArrayList<>();
     List<String> newCustomEmojisIds = new ArrayList<>();
     List<String> oldCustomEmojisIds = new ArrayList<>();
+
+    public Reactions(Reactions reactions) {
+        this.newEmojis = copy(reactions.newEmojis);
+        this.oldEmojis = copy(reactions.oldEmojis);
+        this.newCustomEmojisIds = copy(reactions.newCustomEmojisIds);
+        this.oldCustomEmojisIds = copy(reactions.oldCustomEmojisIds);
+    }
+
+    private static List<String> copy(List<String> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
 }
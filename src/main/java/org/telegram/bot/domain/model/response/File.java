@@ -2,6 +2,7 @@ package org.telegram.bot.domain.model.response;
 
 import lombok.Getter;
 import lombok.ToString;
+import org.telegram.bot.services.TemporaryFileManager;
 
 @Getter
 @ToString
@@ -16,6 +17,23 @@ public class File {
         this.fileType = FileType.FILE;
         this.url = null;
         this.diskFile = null;
+        this.fileHandle = null;
+        this.bytes = null;
+        this.name = null;
+        this.text = null;
+        this.fileSettings = new FileSettings();
+    }
+
+    public File(String fileId, FileType fileType) {
+        if (fileId == null || fileId.isBlank()) {
+            throw new IllegalArgumentException("Empty fileId");
+        }
+
+        this.fileId = fileId;
+        this.fileType = fileType;
+        this.url = null;
+        this.diskFile = null;
+        this.fileHandle = null;
         this.bytes = null;
         this.name = null;
         this.text = null;
@@ -31,6 +49,7 @@ public class File {
         this.fileType = fileType;
         this.url = url;
         this.diskFile = null;
+        this.fileHandle = null;
         this.bytes = null;
         this.name = null;
         this.text = null;
@@ -46,6 +65,7 @@ public class File {
         this.fileType = fileType;
         this.url = url;
         this.diskFile = null;
+        this.fileHandle = null;
         this.bytes = null;
         this.name = name;
         this.text = null;
@@ -61,6 +81,7 @@ public class File {
         this.fileType = fileType;
         this.url = url;
         this.diskFile = null;
+        this.fileHandle = null;
         this.bytes = null;
         this.name = null;
         this.text = null;
@@ -76,6 +97,7 @@ public class File {
         this.fileType = fileType;
         this.url = url;
         this.diskFile = null;
+        this.fileHandle = null;
         this.bytes = null;
         this.name = name;
         this.text = null;
@@ -91,6 +113,7 @@ public class File {
         this.fileType = fileType;
         this.url = null;
         this.diskFile = diskFile;
+        this.fileHandle = null;
         this.bytes = null;
         this.name = null;
         this.text = null;
@@ -106,6 +129,27 @@ public class File {
         this.fileType = fileType;
         this.url = null;
         this.diskFile = diskFile;
+        this.fileHandle = null;
+        this.bytes = null;
+        this.name = null;
+        this.text = null;
+        this.fileSettings = fileSettings;
+    }
+
+    public File(FileType fileType, TemporaryFileManager.FileHandle fileHandle) {
+        this(fileType, fileHandle, new FileSettings());
+    }
+
+    public File(FileType fileType, TemporaryFileManager.FileHandle fileHandle, FileSettings fileSettings) {
+        if (fileHandle == null || !fileHandle.getFile().exists()) {
+            throw new IllegalArgumentException("Not existence disk file");
+        }
+
+        this.fileId = null;
+        this.fileType = fileType;
+        this.url = null;
+        this.diskFile = fileHandle.getFile();
+        this.fileHandle = fileHandle;
         this.bytes = null;
         this.name = null;
         this.text = null;
@@ -121,6 +165,7 @@ public class File {
         this.fileType = fileType;
         this.url = null;
         this.diskFile = null;
+        this.fileHandle = null;
         this.bytes = bytes;
         this.name = name;
         this.text = null;
@@ -136,6 +181,7 @@ public class File {
         this.fileType = fileType;
         this.url = null;
         this.diskFile = null;
+        this.fileHandle = null;
         this.bytes = bytes;
         this.name = name;
         this.text = text;
@@ -146,6 +192,11 @@ public class File {
     private final FileType fileType;
     private final String url;
     private final java.io.File diskFile;
+    /**
+     * Handle of temporary disk file, which keeps the file from deletion until the response is sent.
+     */
+    @ToString.Exclude
+    private final TemporaryFileManager.FileHandle fileHandle;
     private final byte[] bytes;
     private final String name;
     private final String text;
@@ -0,0 +1,43 @@
+package org.telegram.bot.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Large tables which are exported by incremental backups.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum BackupTable {
+    MESSAGE("bot", "message", "datetime", true, "messageid", true),
+    TALKER_WORD("bot", "talkerword", "word_id", false, null, true),
+    TALKER_PHRASE("bot", "talkerphrase", "phrase_id", false, null, true),
+    TALKER_WORD_PHRASE(null, "talkerwordphrase", "id", false, null, true),
+    ERROR("bot", "error", "id", false, null, false),
+    ;
+
+    /**
+     * Schema of table or null if table is created in the default schema.
+     */
+    private final String schema;
+    private final String tableName;
+    private final String orderColumn;
+    private final boolean dateTimeOrder;
+    /**
+     * Unique column to distinguish rows with equal values of non-unique ordering column or null if ordering column is unique.
+     */
+    private final String idColumn;
+    /**
+     * True if rows of table are only appended and exported after the watermark of the last delivered backup.
+     * Otherwise, rows are updated in place, and table is exported in full.
+     */
+    private final boolean appendOnly;
+
+    public String getQualifiedName() {
+        if (schema == null) {
+            return tableName;
+        }
+
+        return schema + "." + tableName;
+    }
+}
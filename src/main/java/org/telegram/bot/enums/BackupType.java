@@ -0,0 +1,15 @@
+package org.telegram.bot.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum BackupType {
+    FULL("full", ""),
+    INCREMENTAL("incremental", "_incremental"),
+    ;
+
+    private final String name;
+    private final String fileNameSuffix;
+}
@@ -78,6 +78,7 @@ public enum Emoji {
     BREAD("\uD83C\uDF5E"),
     EAR_OF_RICE("\uD83C\uDF3E"),
     NO_ENTRY("⛔\uFE0F"),
+    MAGNIFYING_GLASS("\uD83D\uDD0D"),
     ;
 
     private final String symbol;
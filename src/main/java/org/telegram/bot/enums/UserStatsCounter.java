@@ -0,0 +1,41 @@
+package org.telegram.bot.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Counters of UserStats: monthly, daily and all-time columns.
+ * Properties of UserStats entity are named by the monthly one: numberOfX, numberOfXPerDay and numberOfAllX.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum UserStatsCounter {
+    MESSAGES("numberofmessages", "numberofmessagesperday", "numberofallmessages", "numberOfMessages"),
+    STICKERS("numberofstickers", "numberofstickersperday", "numberofallstickers", "numberOfStickers"),
+    PHOTOS("numberofphotos", "numberofphotosperday", "numberofallphotos", "numberOfPhotos"),
+    ANIMATIONS("numberofanimations", "numberofanimationsperday", "numberofallanimations", "numberOfAnimations"),
+    AUDIO("numberofaudio", "numberofaudioperday", "numberofallaudio", "numberOfAudio"),
+    DOCUMENTS("numberofdocuments", "numberofdocumentsperday", "numberofalldocuments", "numberOfDocuments"),
+    VIDEOS("numberofvideos", "numberofvideosperday", "numberofallvideos", "numberOfVideos"),
+    VIDEO_NOTES("numberofvideonotes", "numberofvideonotesperday", "numberofallvideonotes", "numberOfVideoNotes"),
+    VOICES("numberofvoices", "numberofvoicesperday", "numberofallvoices", "numberOfVoices"),
+    COMMANDS("numberofcommands", "numberofcommandsperday", "numberofallcommands", "numberOfCommands"),
+    REACTIONS("numberofreactions", "numberofreactionsperday", "numberofallreactions", "numberOfReactions"),
+    KARMA("numberofkarma", "numberofkarmaperday", "numberofallkarma", "numberOfKarma"),
+    GOODNESS("numberofgoodness", "numberofgoodnessperday", "numberofallgoodness", "numberOfGoodness"),
+    WICKEDNESS("numberofwickedness", "numberofwickednessperday", "numberofallwickedness", "numberOfWickedness"),
+    ;
+
+    private final String column;
+    private final String perDayColumn;
+    private final String allColumn;
+    private final String property;
+
+    public String getPerDayProperty() {
+        return property + "PerDay";
+    }
+
+    public String getAllProperty() {
+        return "numberOfAll" + property.substring("numberOf".length());
+    }
+}
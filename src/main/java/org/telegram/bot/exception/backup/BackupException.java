@@ -0,0 +1,7 @@
+package org.telegram.bot.exception.backup;
+
+public class BackupException extends Exception {
+    public BackupException(String message) {
+        super(message);
+    }
+}
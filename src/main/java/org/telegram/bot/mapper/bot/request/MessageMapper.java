@@ -52,7 +52,8 @@ public class MessageMapper {
                 .setMessageKind(messageKind)
                 .setMessageContentType(messageContent.getKey())
                 .setAttachments(messageContent.getValue())
-                .setReplyToMessage(toReplyMessage(telegramMessage.getReplyToMessage()));
+                .setReplyToMessage(toReplyMessage(telegramMessage.getReplyToMessage()))
+                .setLeftChatMember(telegramMessage.getLeftChatMember() == null ? null : userMapper.toUser(telegramMessage.getLeftChatMember()));
     }
 
     private Message toReplyMessage(org.telegram.telegrambots.meta.api.objects.message.Message telegramMessage) {
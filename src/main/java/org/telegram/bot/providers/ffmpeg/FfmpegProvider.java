@@ -2,8 +2,8 @@ package org.telegram.bot.providers.ffmpeg;
 
 import org.telegram.bot.exception.ffmpeg.FfmpegException;
 
-import java.io.File;
+import org.telegram.bot.services.TemporaryFileManager;
 
 public interface FfmpegProvider {
-    File getVideo(String url, String duration) throws FfmpegException;
+    TemporaryFileManager.FileHandle getVideo(String url, String duration) throws FfmpegException;
 }
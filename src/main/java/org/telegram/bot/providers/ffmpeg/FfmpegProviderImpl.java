@@ -6,7 +6,6 @@ import org.springframework.stereotype.Component;
 import org.telegram.bot.exception.ffmpeg.FfmpegException;
 import org.telegram.bot.services.TemporaryFileManager;
 
-import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
 
@@ -22,7 +21,7 @@ public class FfmpegProviderImpl implements FfmpegProvider {
     private final TemporaryFileManager temporaryFileManager;
 
     @Override
-    public File getVideo(String url, String duration) throws FfmpegException {
+    public TemporaryFileManager.FileHandle getVideo(String url, String duration) throws FfmpegException {
         String fileName = temporaryFileManager.addFile(FILE_NAME_PREFIX, FILE_NAME_POSTFIX);
 
         String command = MessageFormat.format(COMMAND_TEMPLATE, url, duration, fileName);
@@ -38,13 +37,13 @@ public class FfmpegProviderImpl implements FfmpegProvider {
             throw new FfmpegException(e.getMessage());
         }
 
-        File videoFile = temporaryFileManager.get(fileName);
-        if (videoFile == null) {
+        TemporaryFileManager.FileHandle videoFileHandle = temporaryFileManager.acquire(fileName);
+        if (videoFileHandle == null) {
             log.error("File {} does not exists", fileName);
             throw new FfmpegException("File does not exists");
         }
 
-        return videoFile;
+        return videoFileHandle;
     }
 
 }
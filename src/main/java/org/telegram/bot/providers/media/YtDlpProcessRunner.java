@@ -0,0 +1,154 @@
+package org.telegram.bot.providers.media;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.enums.yt_dlp.MediaPlatform;
+import org.telegram.bot.exception.youtube.YtDlpCallException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded pool of external media processes.
+ * Limits count of processes in total and per media platform, and kills processes which are running longer than timeout.
+ */
+@Component
+@Slf4j
+public class YtDlpProcessRunner {
+
+    @Value("${ytDlpMaxProcesses:4}")
+    private Integer maxProcesses;
+
+    @Value("${ytDlpMaxProcessesPerPlatform:2}")
+    private Integer maxProcessesPerPlatform;
+
+    private Semaphore processes;
+    private final Map<MediaPlatform, Semaphore> platformProcesses = new EnumMap<>(MediaPlatform.class);
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "yt-dlp-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @FunctionalInterface
+    public interface ProcessReader<T> {
+        T read(Process process) throws IOException;
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        processes = new Semaphore(maxProcesses, true);
+        for (MediaPlatform mediaPlatform : MediaPlatform.values()) {
+            platformProcesses.put(mediaPlatform, new Semaphore(maxProcessesPerPlatform, true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * Run process with inherited input and output and wait for its completion.
+     *
+     * @param mediaPlatform platform of media.
+     * @param processBuilder builder of process.
+     * @param timeout max time of process running.
+     * @throws YtDlpCallException if failed to start process or it was killed by timeout.
+     */
+    public void run(MediaPlatform mediaPlatform, ProcessBuilder processBuilder, Duration timeout) throws YtDlpCallException {
+        processBuilder.inheritIO();
+        run(mediaPlatform, processBuilder, timeout, process -> null);
+    }
+
+    /**
+     * Run process, read its output and wait for its completion.
+     *
+     * @param mediaPlatform platform of media.
+     * @param processBuilder builder of process.
+     * @param timeout max time of process running.
+     * @param reader reader of process output.
+     * @return result of reader.
+     * @param <T> type of result.
+     * @throws YtDlpCallException if failed to start or read process or it was killed by timeout.
+     */
+    public <T> T run(MediaPlatform mediaPlatform, ProcessBuilder processBuilder, Duration timeout, ProcessReader<T> reader) throws YtDlpCallException {
+        Semaphore platformSemaphore = platformProcesses.get(mediaPlatform);
+        try {
+            platformSemaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new YtDlpCallException("Interrupted while waiting for " + mediaPlatform + " process");
+        }
+
+        try {
+            processes.acquire();
+        } catch (InterruptedException e) {
+            platformSemaphore.release();
+            Thread.currentThread().interrupt();
+            throw new YtDlpCallException("Interrupted while waiting for process");
+        }
+
+        try {
+            return execute(processBuilder, timeout, reader);
+        } finally {
+            processes.release();
+            platformSemaphore.release();
+        }
+    }
+
+    private <T> T execute(ProcessBuilder processBuilder, Duration timeout, ProcessReader<T> reader) throws YtDlpCallException {
+        Process process;
+        try {
+            process = processBuilder.start();
+        } catch (IOException e) {
+            throw new YtDlpCallException("Failed to start process: " + e.getMessage());
+        }
+
+        AtomicBoolean killed = new AtomicBoolean();
+        ScheduledFuture<?> killing = watchdog.schedule(() -> {
+            killed.set(true);
+            log.warn("Process {} is running longer than {}, killing it", processBuilder.command().getFirst(), timeout);
+            kill(process);
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        try {
+            T result = reader.read(process);
+            process.waitFor();
+            if (killed.get()) {
+                throw new YtDlpCallException("Process has been killed after " + timeout.toSeconds() + " seconds");
+            }
+
+            return result;
+        } catch (IOException e) {
+            if (killed.get()) {
+                throw new YtDlpCallException("Process has been killed after " + timeout.toSeconds() + " seconds");
+            }
+            kill(process);
+            throw new YtDlpCallException("Failed to read process output: " + e.getMessage());
+        } catch (InterruptedException e) {
+            kill(process);
+            Thread.currentThread().interrupt();
+            throw new YtDlpCallException("Interrupted while waiting for process");
+        } finally {
+            killing.cancel(false);
+        }
+    }
+
+    private static void kill(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+}
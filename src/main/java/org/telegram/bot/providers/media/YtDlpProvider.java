@@ -4,6 +4,7 @@ import com.drew.lang.annotations.NotNull;
 import org.telegram.bot.domain.model.response.File;
 import org.telegram.bot.enums.yt_dlp.MediaPlatform;
 import org.telegram.bot.exception.youtube.YtDlpException;
+import org.telegram.bot.services.TemporaryFileManager;
 
 public interface YtDlpProvider {
 
@@ -11,6 +12,6 @@ public interface YtDlpProvider {
 
     File getAudio(@NotNull MediaPlatform mediaPlatform, @NotNull String url) throws YtDlpException;
 
-    java.io.File getVideoFragment(MediaPlatform mediaPlatform, String url, int durationSeconds) throws YtDlpException;
+    TemporaryFileManager.FileHandle getVideoFragment(MediaPlatform mediaPlatform, String url, int durationSeconds) throws YtDlpException;
 
 }
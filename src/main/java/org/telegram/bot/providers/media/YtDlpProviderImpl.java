@@ -2,19 +2,26 @@ package org.telegram.bot.providers.media;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.telegram.bot.domain.model.response.File;
 import org.telegram.bot.domain.model.response.FileSettings;
 import org.telegram.bot.domain.model.response.FileType;
 import org.telegram.bot.enums.yt_dlp.MediaPlatform;
+import org.telegram.bot.enums.yt_dlp.MediaType;
 import org.telegram.bot.exception.youtube.YtDlpBigFileException;
 import org.telegram.bot.exception.youtube.YtDlpCallException;
 import org.telegram.bot.exception.youtube.YtDlpException;
 import org.telegram.bot.exception.youtube.YtDlpNoResponseException;
 import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.MediaFileIdCache;
 import org.telegram.bot.services.TemporaryFileManager;
+import org.telegram.bot.services.metrics.CacheMetricsRegistry;
+import org.telegram.bot.utils.LruCache;
 import org.telegram.bot.utils.NetworkUtils;
 import org.telegram.bot.utils.TelegramUtils;
 import org.telegram.bot.utils.TextUtils;
@@ -22,109 +29,283 @@ import org.telegram.bot.utils.TextUtils;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Downloading of media by yt-dlp.
+ * Identical requests running at the same time share one download. Media which was already sent is not downloaded again,
+ * its telegram file id is used instead.
+ */
 @RequiredArgsConstructor
 @Component
 @Slf4j
 public class YtDlpProviderImpl implements YtDlpProvider {
 
     private static final long MAX_AUDIO_BITS = TelegramUtils.MAX_FILE_LIMIT_BYTES * 8;
+    private static final int MAX_CACHED_CONTENT_KEYS = 10000;
+
+    @Value("${ytDlpProbeTimeoutSeconds:60}")
+    private Integer probeTimeoutSeconds;
+
+    @Value("${ytDlpDownloadTimeoutSeconds:600}")
+    private Integer downloadTimeoutSeconds;
 
     private final ObjectMapper objectMapper;
     private final TemporaryFileManager temporaryFileManager;
     private final BotStats botStats;
+    private final YtDlpProcessRunner ytDlpProcessRunner;
+    private final MediaFileIdCache mediaFileIdCache;
+    private final CacheMetricsRegistry cacheMetricsRegistry;
+
+    private final Map<String, CompletableFuture<File>> jobs = new ConcurrentHashMap<>();
+    private final LruCache<String, String> contentKeyCache = new LruCache<>("media_content_key", MAX_CACHED_CONTENT_KEYS);
+
+    @PostConstruct
+    private void postConstruct() {
+        cacheMetricsRegistry.register(contentKeyCache);
+    }
 
     @Override
     public File getVideo(MediaPlatform mediaPlatform, String url) throws YtDlpException {
-        VideoInfo videoInfo = getSuitableFormatId(mediaPlatform, url);
+        return runJob(MediaType.VIDEO, url, () -> downloadVideo(mediaPlatform, url));
+    }
+
+    @Override
+    public File getAudio(MediaPlatform mediaPlatform, String url) throws YtDlpException {
+        return runJob(MediaType.AUDIO, url, () -> downloadAudio(mediaPlatform, url));
+    }
+
+    @Override
+    public TemporaryFileManager.FileHandle getVideoFragment(MediaPlatform mediaPlatform, String url, int durationSeconds) throws YtDlpException {
+        VideoInfo videoInfo = getSuitableFormatId(probe(mediaPlatform, url));
+
+        String fileName = getFileName(videoInfo.title, videoInfo.ext);
+
+        downloadFragment(mediaPlatform, url, videoInfo.formatId, fileName, durationSeconds);
+
+        TemporaryFileManager.FileHandle videoFileHandle = temporaryFileManager.acquire(fileName);
+        if (videoFileHandle == null) {
+            throw new YtDlpNoResponseException("Unable to download video fragment");
+        }
+
+        return videoFileHandle;
+    }
+
+    private File runJob(MediaType mediaType, String url, MediaJob mediaJob) throws YtDlpException {
+        String jobKey = getJobKey(mediaType, url);
+
+        CompletableFuture<File> job = new CompletableFuture<>();
+        CompletableFuture<File> runningJob = jobs.putIfAbsent(jobKey, job);
+        if (runningJob != null) {
+            log.info("Waiting for running download of {}", url);
+            return reacquire(await(runningJob));
+        }
+
+        try {
+            File file = mediaJob.run();
+            job.complete(file);
+            return file;
+        } catch (YtDlpException | RuntimeException e) {
+            job.completeExceptionally(e);
+            throw e;
+        } finally {
+            jobs.remove(jobKey, job);
+        }
+    }
+
+    private static File await(CompletableFuture<File> job) throws YtDlpException {
+        try {
+            return job.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new YtDlpCallException("Interrupted while waiting for download");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof YtDlpException ytDlpException) {
+                throw ytDlpException;
+            } else if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new YtDlpCallException(e.getMessage());
+        }
+    }
+
+    /**
+     * Get own handle of file downloaded by another request, because each response releases its handle after sending.
+     */
+    private File reacquire(File file) throws YtDlpException {
+        if (file.getFileHandle() == null) {
+            return file;
+        }
+
+        TemporaryFileManager.FileHandle fileHandle = temporaryFileManager.acquire(file.getDiskFile().getPath());
+        if (fileHandle == null) {
+            throw new YtDlpNoResponseException("File " + file.getDiskFile() + " does not exist");
+        }
+
+        return new File(file.getFileType(), fileHandle, file.getFileSettings());
+    }
+
+    private File downloadVideo(MediaPlatform mediaPlatform, String url) throws YtDlpException {
+        String jobKey = getJobKey(MediaType.VIDEO, url);
+        File sentFile = getSentFile(contentKeyCache.getIfPresent(jobKey), FileType.VIDEO);
+        if (sentFile != null) {
+            return sentFile;
+        }
+
+        JsonNode root = probe(mediaPlatform, url);
+        VideoInfo videoInfo = getSuitableFormatId(root);
+        String contentKey = getContentKey(MediaType.VIDEO, mediaPlatform, url, root) + ":" + videoInfo.formatId;
+        contentKeyCache.put(jobKey, contentKey);
+
+        sentFile = getSentFile(contentKey, FileType.VIDEO);
+        if (sentFile != null) {
+            return sentFile;
+        }
+
         String fileName = getFileName(videoInfo.title, videoInfo.ext);
 
         download(mediaPlatform, url, videoInfo.formatId, fileName);
 
-        java.io.File videoFile = temporaryFileManager.get(fileName);
-        if (videoFile == null) {
+        TemporaryFileManager.FileHandle videoFileHandle = temporaryFileManager.acquire(fileName);
+        if (videoFileHandle == null) {
             String errorMessage = "File " + fileName + " does not exists";
             log.error("File {} does not exists", fileName);
             botStats.incrementErrors(fileName, errorMessage);
             throw new YtDlpNoResponseException(errorMessage);
         }
+        mediaFileIdCache.expect(videoFileHandle.getFile(), contentKey);
 
         return new File(
                 FileType.VIDEO,
-                videoFile,
+                videoFileHandle,
                 new FileSettings()
                         .setDuration(videoInfo.duration)
                         .setWidth(videoInfo.width)
                         .setHeight(videoInfo.height));
     }
 
-    @Override
-    public File getAudio(MediaPlatform mediaPlatform, String url) throws YtDlpException {
-        long duration = getDuration(mediaPlatform, url);
+    private File downloadAudio(MediaPlatform mediaPlatform, String url) throws YtDlpException {
+        String jobKey = getJobKey(MediaType.AUDIO, url);
+        File sentFile = getSentFile(contentKeyCache.getIfPresent(jobKey), FileType.AUDIO);
+        if (sentFile != null) {
+            return sentFile;
+        }
+
+        JsonNode root = probe(mediaPlatform, url);
+        long duration = root.path("duration").asLong(0);
         if (duration <= 0) {
             throw new YtDlpNoResponseException("Unable to determine audio duration");
         }
 
-        AudioInfo audioInfo = getAudioInfo(mediaPlatform, url);
+        String contentKey = getContentKey(MediaType.AUDIO, mediaPlatform, url, root);
+        contentKeyCache.put(jobKey, contentKey);
+
+        sentFile = getSentFile(contentKey, FileType.AUDIO);
+        if (sentFile != null) {
+            return sentFile;
+        }
+
+        AudioInfo audioInfo = new AudioInfo(root.path("title").asText("audio"), "mp3", duration);
         String fileName = getFileName(audioInfo.title, audioInfo.ext);
 
         int bitrate = calculateAudioBitrate(duration);
-        temporaryFileManager.addFile(fileName, audioInfo.ext);
-        ProcessBuilder pb = new ProcessBuilder(getAudioArguments(mediaPlatform, url, fileName, bitrate));
-        pb.inheritIO();
-
         try {
-            Process process = pb.start();
-            process.waitFor();
-        } catch (InterruptedException | IOException e) {
+            ytDlpProcessRunner.run(
+                    mediaPlatform,
+                    new ProcessBuilder(getAudioArguments(mediaPlatform, url, fileName, bitrate)),
+                    Duration.ofSeconds(downloadTimeoutSeconds));
+        } catch (YtDlpCallException e) {
             String errorMessage = "Failed to download audio: " + e.getMessage();
             log.error(errorMessage);
             botStats.incrementErrors(url, e, errorMessage);
             throw new YtDlpCallException(errorMessage);
         }
 
-        java.io.File audioFile = temporaryFileManager.get(fileName);
-        if (audioFile == null) {
+        TemporaryFileManager.FileHandle audioFileHandle = temporaryFileManager.acquire(fileName);
+        if (audioFileHandle == null) {
             String errorMessage = "File " + fileName + " does not exist";
             log.error(errorMessage);
             botStats.incrementErrors(fileName, errorMessage);
             throw new YtDlpNoResponseException(errorMessage);
         }
+        mediaFileIdCache.expect(audioFileHandle.getFile(), contentKey);
 
-        return new File(FileType.AUDIO, audioFile, new FileSettings().setDuration(duration));
+        return new File(FileType.AUDIO, audioFileHandle, new FileSettings().setDuration(duration));
     }
 
-    @Override
-    public java.io.File getVideoFragment(MediaPlatform mediaPlatform, String url, int durationSeconds) throws YtDlpException {
-        VideoInfo videoInfo = getSuitableFormatId(mediaPlatform, url);
+    @Nullable
+    private File getSentFile(@Nullable String contentKey, FileType fileType) {
+        if (contentKey == null) {
+            return null;
+        }
 
-        String fileName = getFileName(videoInfo.title, videoInfo.ext);
+        String fileId = mediaFileIdCache.get(contentKey);
+        if (fileId == null) {
+            return null;
+        }
 
-        downloadFragment(mediaPlatform, url, videoInfo.formatId, fileName, durationSeconds);
+        log.info("Media {} was already sent, using its file id", contentKey);
+        return new File(fileId, fileType);
+    }
 
-        java.io.File videoFile = temporaryFileManager.get(fileName);
-        if (videoFile == null) {
-            throw new YtDlpNoResponseException("Unable to download video fragment");
+    private static String getJobKey(MediaType mediaType, String url) {
+        return mediaType + " " + url.trim();
+    }
+
+    private static String getContentKey(MediaType mediaType, MediaPlatform mediaPlatform, String url, JsonNode root) {
+        String extractor = root.path("extractor_key").asText(mediaPlatform.name());
+        String id = root.path("id").asText("");
+        if (id.isEmpty()) {
+            id = url.trim();
         }
 
-        return videoFile;
+        return mediaType + ":" + extractor + ":" + id;
     }
 
-    private void downloadFragment(MediaPlatform mediaPlatform, String url, String formatId, String fileName, int durationSeconds) throws YtDlpCallException {
-        ProcessBuilder pb = new ProcessBuilder(getFragmentArguments(mediaPlatform, url, formatId, fileName, durationSeconds));
+    /**
+     * Single call of yt-dlp for metadata of media: formats, duration, title and id.
+     */
+    private JsonNode probe(MediaPlatform mediaPlatform, String url) throws YtDlpCallException, YtDlpNoResponseException {
+        ProcessBuilder pb = new ProcessBuilder(getFormatIdArguments(mediaPlatform, url));
+        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
 
-        pb.inheritIO();
+        byte[] response;
+        try {
+            response = ytDlpProcessRunner.run(
+                    mediaPlatform,
+                    pb,
+                    Duration.ofSeconds(probeTimeoutSeconds),
+                    process -> process.getInputStream().readAllBytes());
+        } catch (YtDlpCallException e) {
+            String errorMessage = "Failed to call yt-dlp: " + e.getMessage();
+            log.error(errorMessage);
+            botStats.incrementErrors(url, e, errorMessage);
+            throw new YtDlpCallException(errorMessage);
+        }
 
         try {
-            Process process = pb.start();
-            process.waitFor();
-        } catch (InterruptedException | IOException e) {
-            throw new YtDlpCallException(e.getMessage());
+            return objectMapper.readTree(response);
+        } catch (IOException e) {
+            String errorMessage = "Failed to read youtube response: " + e.getMessage();
+            log.error(errorMessage);
+            botStats.incrementErrors(url, e, errorMessage);
+            throw new YtDlpNoResponseException(errorMessage);
         }
     }
 
+    private void downloadFragment(MediaPlatform mediaPlatform, String url, String formatId, String fileName, int durationSeconds) throws YtDlpCallException {
+        ytDlpProcessRunner.run(
+                mediaPlatform,
+                new ProcessBuilder(getFragmentArguments(mediaPlatform, url, formatId, fileName, durationSeconds)),
+                Duration.ofSeconds(downloadTimeoutSeconds));
+    }
+
     private List<String> getFragmentArguments(MediaPlatform mediaPlatform, String url, String formatId, String fileName, int durationSeconds) {
         List<String> args = new ArrayList<>();
 
@@ -155,41 +336,6 @@ public class YtDlpProviderImpl implements YtDlpProvider {
         return args;
     }
 
-    private long getDuration(MediaPlatform mediaPlatform, String url) throws YtDlpCallException {
-        ProcessBuilder pb = new ProcessBuilder(getFormatIdArguments(mediaPlatform, url));
-        try {
-            Process process = pb.start();
-            JsonNode root = objectMapper.readTree(process.getInputStream());
-            process.waitFor();
-            return root.path("duration").asLong(0);
-        } catch (IOException | InterruptedException e) {
-            String errorMessage = "Failed to get media duration: " + e.getMessage();
-            log.error(errorMessage);
-            botStats.incrementErrors(url, e, errorMessage);
-            throw new YtDlpCallException(errorMessage);
-        }
-    }
-
-    private AudioInfo getAudioInfo(MediaPlatform mediaPlatform, String url) throws YtDlpCallException {
-        ProcessBuilder pb = new ProcessBuilder(getFormatIdArguments(mediaPlatform, url));
-        try {
-            Process process = pb.start();
-            JsonNode root = objectMapper.readTree(process.getInputStream());
-            process.waitFor();
-
-            long duration = root.path("duration").asLong(0);
-            String title = root.path("title").asText("audio");
-            String ext = "mp3";
-
-            return new AudioInfo(title, ext, duration);
-        } catch (IOException | InterruptedException e) {
-            String errorMessage = "Failed to get audio info: " + e.getMessage();
-            log.error(errorMessage);
-            botStats.incrementErrors(url, e, errorMessage);
-            throw new YtDlpCallException(errorMessage);
-        }
-    }
-
     private int calculateAudioBitrate(long durationSeconds) {
         long bitrate = MAX_AUDIO_BITS / durationSeconds;
         int kbps = (int) (bitrate / 1000);
@@ -230,37 +376,7 @@ public class YtDlpProviderImpl implements YtDlpProvider {
         }
     }
 
-    private VideoInfo getSuitableFormatId(MediaPlatform mediaPlatform, String url) throws YtDlpCallException, YtDlpNoResponseException, YtDlpBigFileException {
-        ProcessBuilder pb = new ProcessBuilder(getFormatIdArguments(mediaPlatform, url));
-        Process process;
-        try {
-            process = pb.start();
-        } catch (IOException e) {
-            String errorMessage = "Failed to call yt-dlp: " + e.getMessage();
-            log.error(errorMessage);
-            botStats.incrementErrors(e, errorMessage);
-            throw new YtDlpCallException(errorMessage);
-        }
-
-        JsonNode root;
-        try {
-            root = objectMapper.readTree(process.getInputStream());
-        } catch (IOException e) {
-            String errorMessage = "Failed to read youtube response: " + e.getMessage();
-            log.error(errorMessage);
-            botStats.incrementErrors(url, e, errorMessage);
-            throw new YtDlpNoResponseException(errorMessage);
-        }
-
-        try {
-            process.waitFor();
-        } catch (InterruptedException e) {
-            String errorMessage = "Failed to wait yt-dlp response: " + e.getMessage();
-            log.error(errorMessage);
-            botStats.incrementErrors(e, errorMessage);
-            throw new YtDlpCallException(errorMessage);
-        }
-
+    private VideoInfo getSuitableFormatId(JsonNode root) throws YtDlpNoResponseException, YtDlpBigFileException {
         JsonNode formats = root.get("formats");
         if (formats == null || formats.isEmpty()) {
             String errorMessage = "Returns empty response";
@@ -376,14 +492,12 @@ public class YtDlpProviderImpl implements YtDlpProvider {
     }
 
     private void download(MediaPlatform mediaPlatform, String url, String formatId, String fileName) throws YtDlpCallException {
-        ProcessBuilder downloadPb = new ProcessBuilder(getDownloadAguments(mediaPlatform, url, formatId, fileName));
-
-        downloadPb.inheritIO();
-
         try {
-            Process downloadProcess = downloadPb.start();
-            downloadProcess.waitFor();
-        } catch (InterruptedException | IOException e) {
+            ytDlpProcessRunner.run(
+                    mediaPlatform,
+                    new ProcessBuilder(getDownloadAguments(mediaPlatform, url, formatId, fileName)),
+                    Duration.ofSeconds(downloadTimeoutSeconds));
+        } catch (YtDlpCallException e) {
             String errorMessage = "Failed to download youtube-video: " + e.getMessage();
             log.error(errorMessage);
             botStats.incrementErrors(url, e, errorMessage);
@@ -424,4 +538,9 @@ public class YtDlpProviderImpl implements YtDlpProvider {
     private record AudioInfo(String title, String ext, long duration) {
     }
 
+    @FunctionalInterface
+    private interface MediaJob {
+        File run() throws YtDlpException;
+    }
+
 }
@@ -0,0 +1,15 @@
+package org.telegram.bot.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.telegram.bot.domain.entities.Broadcast;
+import org.telegram.bot.domain.entities.BroadcastMessage;
+
+import java.util.List;
+
+/**
+ * Spring Data repository for the BroadcastMessage entity.
+ */
+public interface BroadcastMessageRepository extends JpaRepository<BroadcastMessage, Long> {
+    List<BroadcastMessage> findByBroadcastOrderById(Broadcast broadcast);
+    void deleteByBroadcast(Broadcast broadcast);
+}
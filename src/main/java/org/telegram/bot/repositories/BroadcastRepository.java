@@ -0,0 +1,10 @@
+package org.telegram.bot.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.telegram.bot.domain.entities.Broadcast;
+
+/**
+ * Spring Data repository for the Broadcast entity.
+ */
+public interface BroadcastRepository extends JpaRepository<Broadcast, Long> {
+}
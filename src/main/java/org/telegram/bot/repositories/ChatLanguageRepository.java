@@ -4,9 +4,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.ChatLanguage;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Spring Data repository for the ChatLanguage entity.
  */
 public interface ChatLanguageRepository extends JpaRepository<ChatLanguage, Long> {
     ChatLanguage findByChat(Chat chat);
+    List<ChatLanguage> findByChatChatIdIn(Collection<Long> chatIds);
 }
@@ -1,29 +1,194 @@
 package org.telegram.bot.repositories;
 
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.telegram.bot.enums.BackupTable;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class DbBackuper {
 
-    @PersistenceContext
-    private EntityManager entityManager;
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final char CSV_SEPARATOR = ',';
+    private static final char CSV_QUOTE = '"';
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Online backup of database into zip file. Tables are not locked and no transaction is held by the application.
+     *
+     * @param file target file.
+     */
+    public void backupTo(File file) {
+        log.info("Backup of database to {}", file);
+        jdbcTemplate.execute("BACKUP TO '" + file.getPath().replace("'", "''") + "'");
+    }
+
+    /**
+     * Get current max value of ordering column of table.
+     * If ordering column is not unique, watermark also contains ids of rows with this value.
+     *
+     * @param table exported table.
+     * @return watermark or null if table is empty.
+     */
+    @Nullable
+    public String getWatermark(BackupTable table) {
+        Object value = jdbcTemplate.queryForObject(
+                "SELECT MAX(" + table.getOrderColumn() + ") FROM " + table.getQualifiedName(), Object.class);
+        if (value == null || table.getIdColumn() == null) {
+            return toWatermark(value);
+        }
+
+        List<String> ids = jdbcTemplate.queryForList(
+                "SELECT " + table.getIdColumn() + " FROM " + table.getQualifiedName() + " WHERE " + table.getOrderColumn() + " = ?",
+                String.class,
+                value);
+
+        return new Watermark(toWatermark(value), new LinkedHashSet<>(ids)).toString();
+    }
 
     /**
-     * Creating backup of database and sending file to chat.
+     * Write rows of table which are newer than watermark as CSV with header.
+     * For non-unique ordering column rows with value equal to watermark are exported too, except already exported ones.
      *
-     * @return document sending object.
+     * @param table exported table.
+     * @param watermark watermark of last exported rows or null for export of all rows.
+     * @param writer target writer.
+     * @return watermark of last exported rows or given watermark if there are no new rows.
+     */
+    @Nullable
+    public String exportTable(BackupTable table, @Nullable String watermark, Writer writer) {
+        boolean uniqueOrder = table.getIdColumn() == null;
+        Watermark fromWatermark = watermark == null ? null : Watermark.parse(watermark, uniqueOrder);
+        String query = "SELECT * FROM " + table.getQualifiedName()
+                + (watermark == null ? "" : " WHERE " + table.getOrderColumn() + (uniqueOrder ? " > ?" : " >= ?"))
+                + " ORDER BY " + table.getOrderColumn();
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(query);
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            if (fromWatermark != null) {
+                statement.setObject(1, fromWatermark(table, fromWatermark.value()));
+            }
+            return statement;
+        }, rs -> {
+            String lastValue = fromWatermark == null ? null : fromWatermark.value();
+            Set<String> lastIds = fromWatermark == null ? new LinkedHashSet<>() : new LinkedHashSet<>(fromWatermark.ids());
+            try {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                for (int i = 1; i <= columnCount; i++) {
+                    writeCsvValue(writer, metaData.getColumnLabel(i).toLowerCase(), i == columnCount);
+                }
+
+                long rows = 0;
+                while (rs.next()) {
+                    String value = toWatermark(rs.getObject(table.getOrderColumn()));
+                    if (!uniqueOrder) {
+                        String id = String.valueOf(rs.getObject(table.getIdColumn()));
+                        if (!Objects.equals(value, lastValue)) {
+                            lastIds.clear();
+                        } else if (lastIds.contains(id)) {
+                            continue;
+                        }
+                        lastIds.add(id);
+                    }
+
+                    for (int i = 1; i <= columnCount; i++) {
+                        Object columnValue = rs.getObject(i);
+                        writeCsvValue(writer, columnValue == null ? null : columnValue.toString(), i == columnCount);
+                    }
+                    lastValue = value;
+                    rows = rows + 1;
+                }
+
+                log.info("Exported {} rows of table {}", rows, table.getTableName());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (lastValue == null || uniqueOrder) {
+                return lastValue;
+            }
+
+            return new Watermark(lastValue, lastIds).toString();
+        });
+    }
+
+    private static void writeCsvValue(Writer writer, @Nullable String value, boolean last) throws IOException {
+        if (value != null) {
+            if (value.indexOf(CSV_SEPARATOR) >= 0 || value.indexOf(CSV_QUOTE) >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write(CSV_QUOTE);
+                writer.write(value.replace("\"", "\"\""));
+                writer.write(CSV_QUOTE);
+            } else {
+                writer.write(value);
+            }
+        }
+
+        writer.write(last ? '\n' : CSV_SEPARATOR);
+    }
+
+    private static Object fromWatermark(BackupTable table, String watermark) {
+        if (table.isDateTimeOrder()) {
+            return Timestamp.valueOf(LocalDateTime.parse(watermark));
+        }
+
+        return Long.parseLong(watermark);
+    }
+
+    private static String toWatermark(@Nullable Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+
+        return value.toString();
+    }
+
+    /**
+     * Last exported value of ordering column with ids of rows having this value.
+     * Serialized as "value|id1,id2" for non-unique ordering columns and as value for unique ones.
      */
-    @Transactional
-    public File getDbBackup() {
-        entityManager.createNativeQuery("BACKUP TO 'backup.zip'").executeUpdate();
-        return new File("backup.zip");
+    private record Watermark(String value, Set<String> ids) {
+
+        private static final char IDS_DELIMITER = '|';
+
+        private static Watermark parse(String watermark, boolean uniqueOrder) {
+            int delimiterIndex = watermark.indexOf(IDS_DELIMITER);
+            if (uniqueOrder || delimiterIndex < 0) {
+                return new Watermark(watermark, Set.of());
+            }
+
+            String ids = watermark.substring(delimiterIndex + 1);
+            return new Watermark(
+                    watermark.substring(0, delimiterIndex),
+                    ids.isEmpty() ? Set.of() : new LinkedHashSet<>(Arrays.asList(ids.split(","))));
+        }
+
+        @Override
+        public String toString() {
+            return value + IDS_DELIMITER + String.join(",", ids);
+        }
     }
 
 }
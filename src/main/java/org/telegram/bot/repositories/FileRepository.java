@@ -2,19 +2,46 @@ package org.telegram.bot.repositories;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.File;
 
-import java.util.List;
-
 /**
  * Spring Data repository for the File entity.
  */
 
 @Repository
 public interface FileRepository extends JpaRepository<File, Long> {
-    List<File> findByChatAndParentIdOrId(Chat chat, Long parentId, Long id);
+    @EntityGraph(attributePaths = {"user", "chat"})
     Page<File> findAllByChatAndParentId(Chat chat, Long parentId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "chat"})
+    Page<File> findAllByChatAndNameContainingIgnoreCase(Chat chat, String name, Pageable pageable);
+
+    long countByChat(Chat chat);
+
+    @Query("SELECT coalesce(sum(f.size), 0) FROM File f WHERE f.chat = :chat")
+    long sumSizeByChat(@Param("chat") Chat chat);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM File f WHERE f.chat = :chat AND (f.id = :id OR f.path LIKE concat(:childrenPath, '%'))")
+    int deleteSubtree(@Param("chat") Chat chat, @Param("id") Long id, @Param("childrenPath") String childrenPath);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE File f SET f.path = (SELECT concat(p.path, cast(p.id as String), '/') FROM File p WHERE p.id = f.parentId) " +
+            "WHERE f.path IS NULL AND f.parentId IN (SELECT p.id FROM File p WHERE p.path IS NOT NULL)")
+    int fillChildrenPaths();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM File f WHERE f.path IS NULL")
+    int deleteUnreachable();
 }
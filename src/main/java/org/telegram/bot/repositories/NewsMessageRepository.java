@@ -3,10 +3,14 @@ package org.telegram.bot.repositories;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.telegram.bot.domain.entities.NewsMessage;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Spring Data repository for the NewsMessage entity.
  */
 public interface NewsMessageRepository extends JpaRepository<NewsMessage, Long> {
     NewsMessage findByDescHash(String descHash);
+    List<NewsMessage> findByDescHashIn(Collection<String> descHashes);
     NewsMessage findFirstByOrderByIdDesc();
 }
@@ -8,13 +8,12 @@ import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.Reminder;
 import org.telegram.bot.domain.entities.User;
 
-import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface ReminderRepository extends JpaRepository<Reminder, Long> {
     Reminder findByChatAndUserAndId(Chat chat, User user, Long reminderId);
     Page<Reminder> findAllByChatAndUserOrderByDateAscTimeAsc(Chat chat, User user, Pageable pageable);
-    List<Reminder> findAllByDateBetweenAndNotified(LocalDate before, LocalDate after, boolean notified);
-    List<Reminder> findAllByDateLessThanEqualAndNotified(LocalDate before, boolean notified);
+    List<Reminder> findAllByNotified(boolean notified);
+    List<Reminder> findAllByChatAndUserAndNotified(Chat chat, User user, boolean notified);
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.telegram.bot.domain.entities.TalkerWord;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -14,8 +15,19 @@ import java.util.Set;
 public interface TalkerWordRepository extends JpaRepository<TalkerWord, Long> {
     Set<TalkerWord> findAllByWordInIgnoreCase(List<String> words);
 
+    @Query("SELECT tw.id AS id, lower(tw.word) AS word FROM TalkerWord tw WHERE lower(tw.word) in (:words)")
+    List<TalkerWordId> findIdsByWordIn(@Param("words") Collection<String> words);
+
     @Query("SELECT tw FROM TalkerWord tw " +
             "INNER JOIN tw.phrases tp " +
             "WHERE lower(tw.word) in (:words) AND tp.chat.chatId = :chatId")
     Set<TalkerWord> findAllByWordInIgnoreCaseAndPhrasesChatIdEq(@Param("words") List<String> words, @Param("chatId") Long chatId);
+
+    /**
+     * Id of TalkerWord without its phrases.
+     */
+    interface TalkerWordId {
+        Long getId();
+        String getWord();
+    }
 }
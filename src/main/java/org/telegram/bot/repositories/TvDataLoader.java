@@ -0,0 +1,76 @@
+package org.telegram.bot.repositories;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.domain.entities.TvChannel;
+import org.telegram.bot.domain.entities.TvProgram;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk loading of tv data. New data is loaded into staging tables while the current one is still available
+ * and then replaces it in one transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TvDataLoader {
+
+    private static final int TITLE_MAX_LENGTH = 1024;
+    private static final int CATEGORY_MAX_LENGTH = 255;
+    private static final int DESC_MAX_LENGTH = 2048;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void clearStaging() {
+        jdbcTemplate.execute("TRUNCATE TABLE bot.tvprogramstaging");
+        jdbcTemplate.execute("TRUNCATE TABLE bot.tvchannelstaging");
+    }
+
+    public void insertChannels(Collection<TvChannel> tvChannels) {
+        List<TvChannel> tvChannelList = new ArrayList<>(tvChannels);
+        jdbcTemplate.batchUpdate("INSERT INTO bot.tvchannelstaging (id, name) VALUES (?, ?)",
+                tvChannelList,
+                tvChannelList.size(),
+                (preparedStatement, tvChannel) -> {
+                    preparedStatement.setInt(1, tvChannel.getId());
+                    preparedStatement.setString(2, tvChannel.getName());
+                });
+    }
+
+    public void insertPrograms(List<TvProgram> tvPrograms) {
+        jdbcTemplate.batchUpdate("INSERT INTO bot.tvprogramstaging (channelid, title, category, desc, start, stop) VALUES (?, ?, ?, ?, ?, ?)",
+                tvPrograms,
+                tvPrograms.size(),
+                (preparedStatement, tvProgram) -> {
+                    preparedStatement.setInt(1, tvProgram.getChannel().getId());
+                    preparedStatement.setString(2, StringUtils.truncate(tvProgram.getTitle(), TITLE_MAX_LENGTH));
+                    preparedStatement.setString(3, StringUtils.truncate(tvProgram.getCategory(), CATEGORY_MAX_LENGTH));
+                    preparedStatement.setString(4, StringUtils.truncate(tvProgram.getDesc(), DESC_MAX_LENGTH));
+                    preparedStatement.setTimestamp(5, Timestamp.valueOf(tvProgram.getStart()));
+                    preparedStatement.setTimestamp(6, Timestamp.valueOf(tvProgram.getStop()));
+                });
+    }
+
+    /**
+     * Replace current tv data with the loaded one. Readers see the previous data until the transaction is committed.
+     */
+    @Transactional
+    public void swap() {
+        int deletedPrograms = jdbcTemplate.update("DELETE FROM bot.tvprogram");
+        jdbcTemplate.update("DELETE FROM bot.tvchannel");
+        int channels = jdbcTemplate.update("INSERT INTO bot.tvchannel (id, name) SELECT id, name FROM bot.tvchannelstaging");
+        int programs = jdbcTemplate.update("INSERT INTO bot.tvprogram (channelid, title, category, desc, start, stop) "
+                + "SELECT channelid, title, category, desc, start, stop FROM bot.tvprogramstaging");
+
+        log.info("Tv data is replaced: {} programs are deleted, {} channels and {} programs are inserted", deletedPrograms, channels, programs);
+    }
+
+}
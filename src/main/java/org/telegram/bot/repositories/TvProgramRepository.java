@@ -1,8 +1,6 @@
 package org.telegram.bot.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
 import org.telegram.bot.domain.entities.TvChannel;
 import org.telegram.bot.domain.entities.TvProgram;
 
@@ -12,8 +10,4 @@ import java.util.List;
 public interface TvProgramRepository extends JpaRepository<TvProgram, Integer> {
     List<TvProgram> findByStopBetweenAndTitleContainsIgnoreCase(LocalDateTime dateStart, LocalDateTime dateEnd, String title);
     List<TvProgram> findByChannelAndStopBetween(TvChannel tvChannel, LocalDateTime dateStart, LocalDateTime dateEnd);
-
-    @Modifying
-    @Query(value = "TRUNCATE TABLE bot.tvprogram", nativeQuery = true)
-    void clearTable();
 }
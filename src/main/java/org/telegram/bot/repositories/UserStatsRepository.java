@@ -2,11 +2,16 @@ package org.telegram.bot.repositories;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.domain.entities.UserStats;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
@@ -17,4 +22,22 @@ public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
     List<UserStats> findByChatAndNumberOfKarmaNot(Chat chat, Pageable pageable, int karma);
     List<UserStats> findByChatAndNumberOfAllKarmaNot(Chat chat, Pageable pageable, long karma);
     List<UserStats> findByChatChatIdLessThan(Long groupAttribute);
+    List<UserStats> findByUserUserIdIn(Collection<Long> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserStats s SET s.numberOfMessages = 0, s.numberOfPhotos = 0, s.numberOfAnimations = 0, s.numberOfAudio = 0, " +
+            "s.numberOfDocuments = 0, s.numberOfVideos = 0, s.numberOfVideoNotes = 0, s.numberOfVoices = 0, s.numberOfCommands = 0, " +
+            "s.numberOfStickers = 0, s.numberOfKarma = 0, s.numberOfGoodness = 0, s.numberOfWickedness = 0, s.numberOfReactions = 0 " +
+            "WHERE s.chat.chatId < :groupAttribute")
+    int clearMonthlyStats(@Param("groupAttribute") Long groupAttribute);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserStats s SET s.numberOfMessagesPerDay = 0, s.numberOfPhotosPerDay = 0, s.numberOfAnimationsPerDay = 0, " +
+            "s.numberOfAudioPerDay = 0, s.numberOfDocumentsPerDay = 0, s.numberOfVideosPerDay = 0, s.numberOfVideoNotesPerDay = 0, " +
+            "s.numberOfVoicesPerDay = 0, s.numberOfCommandsPerDay = 0, s.numberOfStickersPerDay = 0, s.numberOfKarmaPerDay = 0, " +
+            "s.numberOfGoodnessPerDay = 0, s.numberOfWickednessPerDay = 0, s.numberOfReactionsPerDay = 0 " +
+            "WHERE s.chat.chatId < :groupAttribute")
+    int clearDailyStats(@Param("groupAttribute") Long groupAttribute);
 }
@@ -1,24 +1,30 @@
 package org.telegram.bot.services;
 
-import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.telegram.bot.config.PropertiesConfig;
 import org.telegram.bot.domain.entities.WorkParam;
+import org.telegram.bot.services.metrics.LatencyHistogram;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import static org.telegram.bot.utils.DateUtils.getDuration;
 
 @Component
 @Scope("singleton")
-@Getter
 @Slf4j
 public class BotStats {
     private final WorkParamService workParamService;
@@ -26,23 +32,24 @@ public class BotStats {
     private final PropertiesConfig propertiesConfig;
 
     private final String botToken;
+    @Getter
     private final LocalDateTime botStartDateTime;
-    private Integer receivedMessages;
-    private Long totalReceivedMessages;
-    @Getter(value = AccessLevel.NONE)
-    private Long totalRunningTime;
-    @Getter(value = AccessLevel.NONE)
+    private final LongAdder receivedMessages = new LongAdder();
+    private final LongAdder totalReceivedMessages = new LongAdder();
+    private long totalRunningTime;
     private LocalDateTime lastTotalRunningCheck;
-    private Integer commandsProcessed;
-    private Long totalCommandsProcessed;
-    private Integer errors;
-    private Integer screenshots;
-    private Integer googleRequests;
-    private Integer kinopoiskRequests;
-    private Integer wolframRequests;
-    private Integer russianPostRequests;
-    private Long lastTvUpdate;
-    private Long lastTracksUpdate;
+    private final LongAdder commandsProcessed = new LongAdder();
+    private final LongAdder totalCommandsProcessed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder screenshots = new LongAdder();
+    private final AtomicInteger googleRequests = new AtomicInteger();
+    private final AtomicInteger kinopoiskRequests = new AtomicInteger();
+    private final AtomicInteger wolframRequests = new AtomicInteger();
+    private final AtomicInteger russianPostRequests = new AtomicInteger();
+    private final AtomicLong lastTvUpdate = new AtomicLong();
+    private final AtomicLong lastTracksUpdate = new AtomicLong();
+    private final Map<String, LatencyHistogram> commandLatencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> sentMethods = new ConcurrentHashMap<>();
 
     private static final String TOTAL_RECEIVED_MESSAGES = "totalReceivedMessages";
     private static final String TOTAL_RUNNING_TIME = "totalRunningTime";
@@ -53,16 +60,16 @@ public class BotStats {
     private static final String RUSSIAN_POST_REQUESTS = "russianPostRequests";
     private static final String LAST_TV_UPDATE = "lastTvUpdate";
     private static final String LAST_TRACKS_UPDATE = "lastTracksUpdate";
-    private final List<String> botStatsFieldsToSave = Arrays.asList(
-                                                            TOTAL_RECEIVED_MESSAGES,
-                                                            TOTAL_RUNNING_TIME,
-                                                            TOTAL_COMMANDS_PROCESSED,
-                                                            GOOGLE_REQUESTS,
-                                                            KINOPOISK_REQUESTS,
-                                                            WOLFRAM_REQUESTS,
-                                                            RUSSIAN_POST_REQUESTS,
-                                                            LAST_TV_UPDATE,
-                                                            LAST_TRACKS_UPDATE);
+    private final Map<String, Supplier<Object>> botStatsFieldsToSave = Map.of(
+                                                            TOTAL_RECEIVED_MESSAGES, this::getTotalReceivedMessages,
+                                                            TOTAL_RUNNING_TIME, this::getTotalRunningTime,
+                                                            TOTAL_COMMANDS_PROCESSED, this::getTotalCommandsProcessed,
+                                                            GOOGLE_REQUESTS, this::getGoogleRequests,
+                                                            KINOPOISK_REQUESTS, this::getKinopoiskRequests,
+                                                            WOLFRAM_REQUESTS, this::getWolframRequests,
+                                                            RUSSIAN_POST_REQUESTS, this::getRussianPostRequests,
+                                                            LAST_TV_UPDATE, this::getLastTvUpdate,
+                                                            LAST_TRACKS_UPDATE, this::getLastTracksUpdate);
 
     public BotStats(WorkParamService workParamService, ErrorService errorService, PropertiesConfig propertiesConfig) {
         this.workParamService = workParamService;
@@ -72,12 +79,10 @@ public class BotStats {
 
         List<WorkParam> workParamList = workParamService.get(this.botToken);
         this.botStartDateTime = LocalDateTime.now();
-        this.receivedMessages = 0;
-        this.commandsProcessed = 0;
-        this.errors = 0;
-        this.screenshots = 0;
-        Arrays.asList(TOTAL_RECEIVED_MESSAGES, TOTAL_COMMANDS_PROCESSED, LAST_TV_UPDATE, LAST_TRACKS_UPDATE)
-                .forEach(field -> setTotalBaseField(workParamList, field));
+        this.totalReceivedMessages.add(getLongValue(workParamList, TOTAL_RECEIVED_MESSAGES));
+        this.totalCommandsProcessed.add(getLongValue(workParamList, TOTAL_COMMANDS_PROCESSED));
+        this.lastTvUpdate.set(getLongValue(workParamList, LAST_TV_UPDATE));
+        this.lastTracksUpdate.set(getLongValue(workParamList, LAST_TRACKS_UPDATE));
         setTotalRunningTime(workParamList);
         setGoogleRequests(workParamList);
         setKinopoiskRequests(workParamList);
@@ -86,156 +91,226 @@ public class BotStats {
     }
 
     public void incrementReceivedMessages() {
-        this.receivedMessages = this.receivedMessages + 1;
-        this.totalReceivedMessages = this.totalReceivedMessages + 1L;
+        this.receivedMessages.increment();
+        this.totalReceivedMessages.increment();
     }
 
     public void incrementCommandsProcessed() {
-        this.commandsProcessed = this.commandsProcessed + 1;
-        this.totalCommandsProcessed = this.totalCommandsProcessed + 1;
+        this.commandsProcessed.increment();
+        this.totalCommandsProcessed.increment();
     }
 
     public void incrementErrors(PartialBotApiMethod<?> response, Throwable throwable, String comment) {
-        this.errors = this.errors + 1;
+        this.errors.increment();
         errorService.save(response, throwable, comment);
     }
 
     public void incrementErrors(Object request, String comment) {
-        this.errors = this.errors + 1;
+        this.errors.increment();
         errorService.save(request, comment);
     }
 
     public void incrementErrors(Object request, Throwable throwable, String comment) {
-        this.errors = this.errors + 1;
+        this.errors.increment();
         errorService.save(request, throwable, comment);
     }
 
     public void incrementErrors(Object request, PartialBotApiMethod<?> response, Throwable throwable, String comment) {
-        this.errors = this.errors + 1;
+        this.errors.increment();
         errorService.save(request, response, throwable, comment);
     }
 
     public void incrementScreenshots() {
-        this.screenshots = this.screenshots + 1;
+        this.screenshots.increment();
     }
 
     public void incrementGoogleRequests() {
-        this.googleRequests = this.googleRequests - 1;
+        this.googleRequests.decrementAndGet();
     }
 
     public void incrementKinopoiskRequests() {
-        this.kinopoiskRequests = this.kinopoiskRequests - 1;
+        this.kinopoiskRequests.decrementAndGet();
     }
 
     public void incrementWorlframRequests() {
-        this.wolframRequests = this.wolframRequests - 1;
+        this.wolframRequests.decrementAndGet();
     }
 
     public void incrementRussianPostRequests() {
-        this.russianPostRequests = this.russianPostRequests - 1;
+        this.russianPostRequests.decrementAndGet();
+    }
+
+    /**
+     * Record duration of processing request by command.
+     *
+     * @param commandName name of command.
+     * @param durationNanos duration of processing in nanoseconds.
+     */
+    public void recordCommandLatency(String commandName, long durationNanos) {
+        commandLatencies.computeIfAbsent(commandName, key -> new LatencyHistogram()).record(durationNanos);
+    }
+
+    /**
+     * Count telegram method sent by executor.
+     *
+     * @param method name of telegram method.
+     */
+    public void incrementSentMethods(String method) {
+        sentMethods.computeIfAbsent(method, key -> new LongAdder()).increment();
     }
 
     public void resetGoogleRequests() {
-        this.googleRequests = propertiesConfig.getGoogleSearchRequestsLimit();
+        this.googleRequests.set(propertiesConfig.getGoogleSearchRequestsLimit());
     }
 
     public void resetKinopoiskRequests() {
-        this.kinopoiskRequests = propertiesConfig.getKinopoiskRequestsLimit();
+        this.kinopoiskRequests.set(propertiesConfig.getKinopoiskRequestsLimit());
     }
 
     public void resetWolframRequests() {
-        this.wolframRequests = propertiesConfig.getWolframAlphaRequestsLimit();
+        this.wolframRequests.set(propertiesConfig.getWolframAlphaRequestsLimit());
     }
 
     public void resetRussianPostRequests() {
-        this.russianPostRequests = propertiesConfig.getRussianPostRequestsLimit();
+        this.russianPostRequests.set(propertiesConfig.getRussianPostRequestsLimit());
     }
 
     public void saveStats() {
-        List<WorkParam> workParamList = workParamService.get(botToken, botStatsFieldsToSave);
-
-        this.totalRunningTime = getTotalRunningTime();
+        List<WorkParam> workParamList = workParamService.get(botToken, List.copyOf(botStatsFieldsToSave.keySet()));
 
-        List<WorkParam> updatedWorkParamList = botStatsFieldsToSave
+        List<WorkParam> updatedWorkParamList = botStatsFieldsToSave.entrySet()
                 .stream()
-                .map(botStatsField -> {
-                    String value = null;
-                    try {
-                        value = this.getClass().getDeclaredField(botStatsField).get(this).toString();
-                    } catch (IllegalAccessException | NoSuchFieldException e) {
-                        e.printStackTrace();
-                    }
-                    return setWorkParamByName(workParamList, botStatsField, value);
-                })
+                .map(botStatsField -> setWorkParamByName(workParamList, botStatsField.getKey(), botStatsField.getValue().get().toString()))
                 .toList();
 
         workParamService.save(updatedWorkParamList);
     }
 
-    public Long getTotalRunningTime() {
+    public synchronized Long getTotalRunningTime() {
         LocalDateTime dateTimeNow = LocalDateTime.now();
         this.totalRunningTime = this.totalRunningTime + getDuration(this.lastTotalRunningCheck, dateTimeNow).toMillis();
         this.lastTotalRunningCheck = dateTimeNow;
         return this.totalRunningTime;
     }
 
+    public Integer getReceivedMessages() {
+        return receivedMessages.intValue();
+    }
+
+    public Long getTotalReceivedMessages() {
+        return totalReceivedMessages.sum();
+    }
+
+    public Integer getCommandsProcessed() {
+        return commandsProcessed.intValue();
+    }
+
+    public Long getTotalCommandsProcessed() {
+        return totalCommandsProcessed.sum();
+    }
+
+    public Integer getErrors() {
+        return errors.intValue();
+    }
+
+    public Integer getScreenshots() {
+        return screenshots.intValue();
+    }
+
+    public Integer getGoogleRequests() {
+        return googleRequests.get();
+    }
+
+    public Integer getKinopoiskRequests() {
+        return kinopoiskRequests.get();
+    }
+
+    public Integer getWolframRequests() {
+        return wolframRequests.get();
+    }
+
+    public Integer getRussianPostRequests() {
+        return russianPostRequests.get();
+    }
+
+    public Long getLastTvUpdate() {
+        return lastTvUpdate.get();
+    }
+
+    public Long getLastTracksUpdate() {
+        return lastTracksUpdate.get();
+    }
+
+    /**
+     * Get latency histograms by command names.
+     *
+     * @return unmodifiable view of histograms.
+     */
+    public Map<String, LatencyHistogram> getCommandLatencies() {
+        return Collections.unmodifiableMap(commandLatencies);
+    }
+
+    /**
+     * Get counts of sent telegram methods by method names.
+     *
+     * @return counts of sent methods.
+     */
+    public Map<String, Long> getSentMethods() {
+        Map<String, Long> counts = new TreeMap<>();
+        sentMethods.forEach((method, count) -> counts.put(method, count.sum()));
+        return counts;
+    }
+
     public void setLastTvUpdate(Instant lastTvUpdate) {
-        this.lastTvUpdate = lastTvUpdate.toEpochMilli();
+        this.lastTvUpdate.set(lastTvUpdate.toEpochMilli());
     }
 
     public void setLastTracksUpdate(Instant lastTracksUpdate) {
-        this.lastTracksUpdate = lastTracksUpdate.toEpochMilli();
+        this.lastTracksUpdate.set(lastTracksUpdate.toEpochMilli());
     }
 
-    private void setTotalBaseField(List<WorkParam> workParamList, String fieldName) {
-        WorkParam workParam = getWorkParamByName(workParamList, fieldName);
-        long value;
+    private long getLongValue(List<WorkParam> workParamList, String name) {
+        WorkParam workParam = getWorkParamByName(workParamList, name);
         if (workParam == null) {
-            value = 0L;
-        } else {
-            value = Long.parseLong(workParam.getValue());
+            return 0L;
         }
 
-        try {
-            this.getClass().getDeclaredField(fieldName).set(this, value);
-        } catch (IllegalAccessException | NoSuchFieldException e) {
-            e.printStackTrace();
-        }
+        return Long.parseLong(workParam.getValue());
     }
 
     private void setGoogleRequests(List<WorkParam> workParamList) {
         WorkParam workParam = getWorkParamByName(workParamList, GOOGLE_REQUESTS);
         if (workParam == null) {
-            this.googleRequests = 100;
+            this.googleRequests.set(100);
         } else {
-            this.googleRequests = Integer.parseInt(workParam.getValue());
+            this.googleRequests.set(Integer.parseInt(workParam.getValue()));
         }
     }
 
     private void setKinopoiskRequests(List<WorkParam> workParamList) {
         WorkParam workParam = getWorkParamByName(workParamList, KINOPOISK_REQUESTS);
         if (workParam == null) {
-            this.kinopoiskRequests = 200;
+            this.kinopoiskRequests.set(200);
         } else {
-            this.kinopoiskRequests = Integer.parseInt(workParam.getValue());
+            this.kinopoiskRequests.set(Integer.parseInt(workParam.getValue()));
         }
     }
 
     private void setWolframRequests(List<WorkParam> workParamList) {
         WorkParam workParam = getWorkParamByName(workParamList, WOLFRAM_REQUESTS);
         if (workParam == null) {
-            this.wolframRequests = 1000;
+            this.wolframRequests.set(1000);
         } else {
-            this.wolframRequests = Integer.parseInt(workParam.getValue());
+            this.wolframRequests.set(Integer.parseInt(workParam.getValue()));
         }
     }
 
     private void setRussianPostRequests(List<WorkParam> workParamList) {
         WorkParam workParam = getWorkParamByName(workParamList, RUSSIAN_POST_REQUESTS);
         if (workParam == null) {
-            this.russianPostRequests = 100;
+            this.russianPostRequests.set(100);
         } else {
-            this.russianPostRequests = Integer.parseInt(workParam.getValue());
+            this.russianPostRequests.set(Integer.parseInt(workParam.getValue()));
         }
     }
 
@@ -0,0 +1,52 @@
+package org.telegram.bot.services;
+
+import org.telegram.bot.domain.entities.Broadcast;
+import org.telegram.bot.domain.entities.BroadcastMessage;
+
+import java.util.List;
+
+/**
+ * Service Interface for managing {@link Broadcast}.
+ */
+public interface BroadcastService {
+
+    /**
+     * Save new Broadcast with its messages.
+     *
+     * @param broadcast Broadcast entity.
+     * @param broadcastMessages rendered messages of Broadcast.
+     * @return the persisted entity.
+     */
+    Broadcast create(Broadcast broadcast, List<BroadcastMessage> broadcastMessages);
+
+    /**
+     * Get all unfinished Broadcasts.
+     *
+     * @return the persisted entities.
+     */
+    List<Broadcast> getAll();
+
+    /**
+     * Get messages of Broadcast which are not sent yet.
+     *
+     * @param broadcast Broadcast entity.
+     * @return the persisted entities.
+     */
+    List<BroadcastMessage> getMessages(Broadcast broadcast);
+
+    /**
+     * Mark messages of Broadcast as sent.
+     *
+     * @param broadcast Broadcast entity.
+     * @param broadcastMessages sent messages.
+     */
+    void markSent(Broadcast broadcast, List<BroadcastMessage> broadcastMessages);
+
+    /**
+     * Remove finished Broadcast.
+     *
+     * @param broadcast Broadcast entity.
+     */
+    void remove(Broadcast broadcast);
+
+}
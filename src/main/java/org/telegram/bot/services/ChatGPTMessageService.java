@@ -10,7 +10,7 @@ public interface ChatGPTMessageService {
     List<ChatGPTMessage> getMessages(Chat chat);
     List<ChatGPTMessage> getMessages(User user);
     void update(List<ChatGPTMessage> messages);
-    List<ChatGPTMessage> update(List<ChatGPTMessage> messages, int deletingCount);
+    void delete(List<ChatGPTMessage> messages);
     void reset(Chat chat);
     void reset(User user);
 }
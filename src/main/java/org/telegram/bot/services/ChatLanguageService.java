@@ -3,6 +3,9 @@ package org.telegram.bot.services;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.ChatLanguage;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Service Interface for managing {@link org.telegram.bot.domain.entities.ChatLanguage}.
  */
@@ -24,4 +27,12 @@ public interface ChatLanguageService {
      */
     ChatLanguage get(Chat chat);
 
+    /**
+     * Get ChatLanguages of chats.
+     *
+     * @param chatIds ids of Chat entities.
+     * @return the persisted entities.
+     */
+    List<ChatLanguage> get(Collection<Long> chatIds);
+
 }
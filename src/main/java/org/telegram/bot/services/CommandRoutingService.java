@@ -0,0 +1,86 @@
+package org.telegram.bot.services;
+
+import org.telegram.bot.commands.Command;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.CommandProperties;
+import org.telegram.bot.domain.entities.CommandWaiting;
+import org.telegram.bot.domain.entities.User;
+
+/**
+ * In-memory routing of incoming messages to commands.
+ * Keeps a snapshot of {@link org.telegram.bot.domain.entities.CommandProperties}, Command beans,
+ * disabled commands of chats and waiting commands of users.
+ */
+public interface CommandRoutingService {
+
+    /**
+     * Find the command by its name.
+     *
+     * @param name - command name (any).
+     * @return entity.
+     */
+    CommandProperties getCommand(String name);
+
+    /**
+     * Get the command by class.
+     *
+     * @param commandClass - class of command.
+     * @return entity.
+     */
+    CommandProperties getCommand(Class<?> commandClass);
+
+    /**
+     * Get Command bean for processing.
+     *
+     * @param commandProperties CommandProperties entity.
+     * @return Command bean.
+     */
+    Command getCommandBean(CommandProperties commandProperties);
+
+    /**
+     * Check if command is disabled in chat.
+     *
+     * @param chat Chat entity.
+     * @param commandProperties CommandProperties entity.
+     * @return true if command disabled.
+     */
+    boolean isDisabled(Chat chat, CommandProperties commandProperties);
+
+    /**
+     * Get name of the command waiting for the user.
+     *
+     * @param chat Chat entity.
+     * @param user User entity.
+     * @return name of command or null if user has no waiting command.
+     */
+    String getWaitingCommandName(Chat chat, User user);
+
+    /**
+     * Reload commands and disabled commands from database.
+     */
+    void reloadCommands();
+
+    /**
+     * Mark command as disabled or enabled in chat.
+     *
+     * @param chat Chat entity.
+     * @param commandProperties CommandProperties entity.
+     * @param disabled true if command is disabled.
+     */
+    void setDisabled(Chat chat, CommandProperties commandProperties, boolean disabled);
+
+    /**
+     * Put waiting command of the user.
+     *
+     * @param commandWaiting CommandWaiting entity.
+     */
+    void putCommandWaiting(CommandWaiting commandWaiting);
+
+    /**
+     * Remove waiting command of the user.
+     *
+     * @param chat Chat entity.
+     * @param user User entity.
+     */
+    void removeCommandWaiting(Chat chat, User user);
+}
@@ -0,0 +1,86 @@
+package org.telegram.bot.services;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.domain.model.ConversationMessage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Token accounting of conversations with language models.
+ * Tokens of message are counted once and stored in the message, so history is trimmed without re-tokenizing.
+ */
+@Component
+public class ConversationContext {
+
+    private static final int TRIMMING_STEP = 2;
+    private static final Comparator<ConversationMessage> MESSAGES_ORDER =
+            Comparator.comparing(ConversationMessage::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Encoding encoding = Encodings.newDefaultEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+
+        return encoding.countTokens(text);
+    }
+
+    /**
+     * Get tokens of message. Counts them if they are not counted yet.
+     *
+     * @param message message of conversation.
+     * @return count of tokens.
+     */
+    public int getTokens(ConversationMessage message) {
+        Integer tokens = message.getTokens();
+        if (tokens == null) {
+            tokens = countTokens(message.getContent());
+            message.setTokens(tokens);
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Remove the oldest messages from history (by pairs of request and response) until history with new text fits in limit.
+     *
+     * @param history history of conversation. Will be sorted by id and reduced.
+     * @param newText text of new request.
+     * @param maxTokens limit of tokens.
+     * @return removed messages and tokens of rest of history with new text.
+     * @param <T> type of messages.
+     */
+    public <T extends ConversationMessage> TrimResult<T> trim(List<T> history, String newText, int maxTokens) {
+        history.sort(MESSAGES_ORDER);
+
+        int tokens = countTokens(newText);
+        for (T message : history) {
+            tokens = tokens + getTokens(message);
+        }
+
+        int removingCount = 0;
+        while (tokens > maxTokens && removingCount < history.size()) {
+            int end = Math.min(removingCount + TRIMMING_STEP, history.size());
+            for (int i = removingCount; i < end; i++) {
+                tokens = tokens - getTokens(history.get(i));
+            }
+            removingCount = end;
+        }
+
+        List<T> removing = history.subList(0, removingCount);
+        List<T> removed = new ArrayList<>(removing);
+        removing.clear();
+
+        return new TrimResult<>(removed, tokens);
+    }
+
+    public record TrimResult<T>(List<T> removed, int tokens) {
+    }
+
+}
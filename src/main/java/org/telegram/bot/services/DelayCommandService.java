@@ -2,11 +2,12 @@ package org.telegram.bot.services;
 
 import org.telegram.bot.domain.entities.DelayCommand;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.List;
 
 public interface DelayCommandService {
     DelayCommand save(DelayCommand delayCommand);
-    List<DelayCommand> getAllBeforeDateTime(LocalDateTime dateTime);
+    List<DelayCommand> getAllDue(Instant now);
+    void retry(DelayCommand delayCommand, Instant retryAt);
     void remove(DelayCommand delayCommand);
 }
@@ -0,0 +1,161 @@
+package org.telegram.bot.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.domain.entities.UserEmail;
+import org.telegram.bot.domain.entities.UserStats;
+import org.telegram.bot.repositories.UserEmailRepository;
+import org.telegram.bot.repositories.UserStatsRepository;
+import org.telegram.bot.utils.EmailUtils;
+
+import java.util.*;
+
+import static org.telegram.bot.utils.TransactionUtils.afterCommit;
+
+/**
+ * In-memory index of users with enabled email shipping by chats they are members of.
+ * Index is loaded from DB on first use and updated by every change of {@link UserEmail} and membership in chats.
+ * Changes made within a transaction are applied after its commit, so the index never contains rolled back data.
+ * DB is not queried while the index is locked, except for its loading.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailSubscriberIndex {
+
+    private final UserEmailRepository userEmailRepository;
+    private final UserStatsRepository userStatsRepository;
+
+    private final Map<Long, UserEmail> subscribers = new HashMap<>();
+    private final Map<Long, Set<Long>> chatSubscribers = new HashMap<>();
+    private boolean loaded;
+
+    /**
+     * Get emails with enabled shipping of members of chat.
+     *
+     * @param chatId id of Chat.
+     * @return emails of subscribers.
+     */
+    public synchronized List<UserEmail> getSubscribers(Long chatId) {
+        load();
+
+        Set<Long> userIds = chatSubscribers.get(chatId);
+        if (userIds == null) {
+            return List.of();
+        }
+
+        return userIds.stream().map(subscribers::get).toList();
+    }
+
+    /**
+     * Update subscriber after saving of UserEmail.
+     *
+     * @param userEmail saved entity.
+     */
+    public void update(UserEmail userEmail) {
+        afterCommit(() -> apply(userEmail));
+    }
+
+    /**
+     * Remove subscriber after removing of UserEmail.
+     *
+     * @param userEmail removed entity.
+     */
+    public void remove(UserEmail userEmail) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (loaded) {
+                    remove(userEmail.getUser().getUserId());
+                }
+            }
+        });
+    }
+
+    /**
+     * Register member of chat if he is subscriber.
+     *
+     * @param chatId id of Chat.
+     * @param userId id of User.
+     */
+    public void addMember(Long chatId, Long userId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (loaded && subscribers.containsKey(userId)) {
+                    chatSubscribers.computeIfAbsent(chatId, id -> new LinkedHashSet<>()).add(userId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Unregister member who left chat.
+     *
+     * @param chatId id of Chat.
+     * @param userId id of User.
+     */
+    public void removeMember(Long chatId, Long userId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                Set<Long> userIds = chatSubscribers.get(chatId);
+                if (userIds != null && userIds.remove(userId) && userIds.isEmpty()) {
+                    chatSubscribers.remove(chatId);
+                }
+            }
+        });
+    }
+
+    private void apply(UserEmail userEmail) {
+        Long userId = userEmail.getUser().getUserId();
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+
+            if (!EmailUtils.isShippingEnabled(userEmail)) {
+                remove(userId);
+                return;
+            }
+
+            if (subscribers.put(userId, userEmail) != null) {
+                return;
+            }
+        }
+
+        List<UserStats> userStatsList = userStatsRepository.findByUserUserIdIn(List.of(userId));
+        synchronized (this) {
+            if (subscribers.containsKey(userId)) {
+                userStatsList.forEach(this::addMember);
+            }
+        }
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+
+        userEmailRepository.findAll()
+                .stream()
+                .filter(EmailUtils::isShippingEnabled)
+                .forEach(userEmail -> subscribers.put(userEmail.getUser().getUserId(), userEmail));
+        if (!subscribers.isEmpty()) {
+            userStatsRepository.findByUserUserIdIn(subscribers.keySet()).forEach(this::addMember);
+        }
+
+        loaded = true;
+        log.info("Email subscribers loaded: {}", subscribers.size());
+    }
+
+    private void addMember(UserStats userStats) {
+        chatSubscribers.computeIfAbsent(userStats.getChat().getChatId(), id -> new LinkedHashSet<>()).add(userStats.getUser().getUserId());
+    }
+
+    private void remove(Long userId) {
+        if (subscribers.remove(userId) != null) {
+            chatSubscribers.values().forEach(userIds -> userIds.remove(userId));
+            chatSubscribers.values().removeIf(Set::isEmpty);
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+package org.telegram.bot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import org.telegram.bot.domain.entities.Error;
+import org.telegram.bot.repositories.ErrorRepository;
+import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind journal of errors.
+ * Errors are captured into a bounded lock-free buffer and periodically flushed in one transaction:
+ * equal errors (same type of exception, top frames of stacktrace and comment) are stored as one row with count of occurrences,
+ * first and last time and payload of the first one. Payload is serialized only for the first error of each fingerprint
+ * between flushes. Errors are dropped while buffer is full. Errors failed to be saved are kept until the next flush.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ErrorJournal {
+
+    private static final int FINGERPRINT_FRAMES = 5;
+
+    private final ErrorRepository errorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    private final Queue<CapturedError> capturedErrors = new ConcurrentLinkedQueue<>();
+    private final Set<String> serializedFingerprints = ConcurrentHashMap.newKeySet();
+    private List<CapturedError> unsavedErrors = List.of();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    @Value("${errorJournalCapacity:10000}")
+    private int capacity;
+
+    /**
+     * Capture error. Payload of error with new fingerprint is serialized immediately,
+     * because request and response may be changed after capturing.
+     *
+     * @param request handling request or other object related to error.
+     * @param response response which caused error.
+     * @param throwable exception.
+     * @param comment description of error.
+     */
+    public void capture(Object request, PartialBotApiMethod<?> response, Throwable throwable, String comment) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+
+        String fingerprint = getFingerprint(throwable, comment);
+        LocalDateTime dateTime = LocalDateTime.now(clock);
+        if (serializedFingerprints.add(fingerprint)) {
+            capturedErrors.add(new CapturedError(fingerprint, dateTime, getObjectJson(request), getObjectJson(response), throwable, comment));
+        } else {
+            capturedErrors.add(new CapturedError(fingerprint, dateTime, null, null, throwable, comment));
+        }
+    }
+
+    /**
+     * Store captured errors by one batch.
+     */
+    public synchronized void flush() {
+        List<CapturedError> errors = new ArrayList<>(unsavedErrors);
+        unsavedErrors = List.of();
+        CapturedError capturedError;
+        while ((capturedError = capturedErrors.poll()) != null) {
+            size.decrementAndGet();
+            errors.add(capturedError);
+        }
+
+        long droppedErrors = dropped.sumThenReset();
+        if (droppedErrors > 0) {
+            log.warn("Error journal is full, {} errors were dropped", droppedErrors);
+        }
+        if (errors.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<CapturedError>> errorsByFingerprint = errors
+                .stream()
+                .collect(Collectors.groupingBy(CapturedError::fingerprint, LinkedHashMap::new, Collectors.toList()));
+        serializedFingerprints.removeAll(errorsByFingerprint.keySet());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(errorsByFingerprint));
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Failed to save {} errors: {}", errors.size(), e.getMessage());
+            keepUnsaved(errors);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void save(Map<String, List<CapturedError>> errorsByFingerprint) {
+        Map<String, Error> storedErrors = errorRepository.findByFingerprintIn(errorsByFingerprint.keySet())
+                .stream()
+                .collect(Collectors.toMap(Error::getFingerprint, Function.identity()));
+
+        List<Error> updatedErrors = new ArrayList<>(errorsByFingerprint.size());
+        errorsByFingerprint.forEach((fingerprint, sameErrors) -> {
+            Error error = storedErrors.get(fingerprint);
+            if (error == null) {
+                error = toError(fingerprint, sameErrors).setOccurrences(0L);
+            }
+
+            updatedErrors.add(error
+                    .setOccurrences(error.getOccurrences() + sameErrors.size())
+                    .setDateTime(sameErrors.getLast().dateTime()));
+        });
+
+        errorRepository.saveAll(updatedErrors);
+    }
+
+    private void keepUnsaved(List<CapturedError> errors) {
+        if (errors.size() > capacity) {
+            dropped.add(errors.size() - (long) capacity);
+            unsavedErrors = errors.subList(0, capacity);
+        } else {
+            unsavedErrors = errors;
+        }
+    }
+
+    private static Error toError(String fingerprint, List<CapturedError> sameErrors) {
+        CapturedError capturedError = sameErrors
+                .stream()
+                .filter(CapturedError::hasPayload)
+                .findFirst()
+                .orElse(sameErrors.getFirst());
+
+        return new Error()
+                .setFingerprint(fingerprint)
+                .setFirstDateTime(sameErrors.getFirst().dateTime())
+                .setRequest(Objects.toString(capturedError.request(), ""))
+                .setResponse(Objects.toString(capturedError.response(), ""))
+                .setComment(capturedError.comment())
+                .setStacktrace(capturedError.throwable() == null ? "" : ExceptionUtils.getStackTrace(capturedError.throwable()));
+    }
+
+    private static String getFingerprint(Throwable throwable, String comment) {
+        StringBuilder buf = new StringBuilder(Objects.toString(comment, "")).append('\n');
+
+        if (throwable != null) {
+            buf.append(throwable.getClass().getName()).append('\n');
+            Arrays.stream(throwable.getStackTrace())
+                    .limit(FINGERPRINT_FRAMES)
+                    .forEach(frame -> buf.append(frame.getClassName()).append('.').append(frame.getMethodName())
+                            .append(':').append(frame.getLineNumber()).append('\n'));
+        }
+
+        return DigestUtils.md5DigestAsHex(buf.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String getObjectJson(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        try {
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize object of error: {}", e.getMessage());
+            return "";
+        }
+    }
+
+    /**
+     * Captured error. Request and response are null if payload of error with the same fingerprint is already serialized.
+     */
+    private record CapturedError(String fingerprint, LocalDateTime dateTime, String request, String response, Throwable throwable, String comment) {
+        boolean hasPayload() {
+            return request != null;
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package org.telegram.bot.services;
 import org.springframework.data.domain.Page;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.File;
+import org.telegram.bot.domain.model.FilesUsage;
 
 /**
  * Service Interface for managing {@link org.telegram.bot.domain.entities.File}.
@@ -25,14 +26,32 @@ public interface FileService {
     Page<File> get(Chat chat, File parent, int page);
 
     /**
-     * Save a File.
+     * Search Files of Chat by name in all directories.
+     *
+     * @param chat Chat entity of Files.
+     * @param name part of name.
+     * @param page number of page.
+     * @return the persisted entities.
+     */
+    Page<File> search(Chat chat, String name, int page);
+
+    /**
+     * Get storage used by Files of Chat.
+     *
+     * @param chat Chat entity of Files.
+     * @return usage of storage.
+     */
+    FilesUsage getUsage(Chat chat);
+
+    /**
+     * Save a File. The path of new File is built from its parent.
      *
      * @param file the entity to save.
      */
     void save(File file);
 
     /**
-     * Remove the File.
+     * Remove the File with all nested Files.
      *
      * @param chat Chat entity of File to remove.
      * @param file of persisted entity for delete
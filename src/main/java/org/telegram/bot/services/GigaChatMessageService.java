@@ -10,6 +10,7 @@ public interface GigaChatMessageService {
     List<GigaChatMessage> getMessages(Chat chat);
     List<GigaChatMessage> getMessages(User user);
     void update(List<GigaChatMessage> messages);
+    void delete(List<GigaChatMessage> messages);
     void reset(Chat chat);
     void reset(User user);
 }
@@ -7,7 +7,9 @@ import org.telegram.bot.domain.model.request.Message;
 
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
+import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Service Interface for resolving language code.
@@ -78,4 +80,27 @@ public interface LanguageResolver {
      */
     @Nullable
     String getChatLanguageCode(Chat chat);
+
+    /**
+     * Get language codes of Chats by one request.
+     *
+     * @param chatIds ids of Chat entities.
+     * @return language codes by chat ids. Chats without language are missing.
+     */
+    Map<Long, String> getChatLanguageCodes(Collection<Long> chatIds);
+
+    /**
+     * Forget cached language of Chat after its change.
+     *
+     * @param chat Chat entity.
+     */
+    void evictChatLanguage(Chat chat);
+
+    /**
+     * Forget cached language of User in Chat after its change.
+     *
+     * @param chat Chat entity.
+     * @param user User entity.
+     */
+    void evictUserLanguage(Chat chat, User user);
 }
@@ -0,0 +1,72 @@
+package org.telegram.bot.services;
+
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.services.metrics.CacheMetricsRegistry;
+import org.telegram.bot.utils.LruCache;
+
+import java.io.File;
+
+/**
+ * Telegram file ids of downloaded media by keys of their content.
+ * Downloaded file is expected to be sent. After sending, its file id can be used instead of downloading the same media again.
+ */
+@Component
+@RequiredArgsConstructor
+public class MediaFileIdCache {
+
+    private static final int MAX_CACHED_FILE_IDS = 10000;
+    private static final int MAX_EXPECTED_FILES = 1000;
+
+    private final CacheMetricsRegistry cacheMetricsRegistry;
+
+    private final LruCache<String, String> fileIdCache = new LruCache<>("media_file_id", MAX_CACHED_FILE_IDS);
+    private final LruCache<File, String> expectedFiles = new LruCache<>("media_expected_file", MAX_EXPECTED_FILES);
+
+    @PostConstruct
+    private void postConstruct() {
+        cacheMetricsRegistry.register(fileIdCache);
+    }
+
+    /**
+     * Get file id of sent media.
+     *
+     * @param contentKey key of media content.
+     * @return telegram file id or null if media was not sent yet.
+     */
+    @Nullable
+    public String get(String contentKey) {
+        return fileIdCache.getIfPresent(contentKey);
+    }
+
+    /**
+     * Remember content of downloaded file which is going to be sent.
+     *
+     * @param diskFile downloaded file.
+     * @param contentKey key of media content.
+     */
+    public void expect(File diskFile, String contentKey) {
+        expectedFiles.put(diskFile, contentKey);
+    }
+
+    /**
+     * Store file id of sent file if its content is expected.
+     *
+     * @param diskFile sent file.
+     * @param fileId telegram file id of sent file.
+     */
+    public void sent(File diskFile, @Nullable String fileId) {
+        if (fileId == null) {
+            return;
+        }
+
+        String contentKey = expectedFiles.getIfPresent(diskFile);
+        if (contentKey != null) {
+            expectedFiles.invalidate(diskFile);
+            fileIdCache.put(contentKey, fileId);
+        }
+    }
+
+}
@@ -46,6 +46,12 @@ public interface NewsSourceService {
      */
     NewsSource save(NewsSource newsSource);
 
+    /**
+     * Save the list of NewsSource.
+     * @param newsSources - entities to save.
+     */
+    void save(List<NewsSource> newsSources);
+
     /**
      * NewsSource removing.
      *
@@ -5,7 +5,7 @@ import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.Reminder;
 import org.telegram.bot.domain.entities.User;
 
-import java.time.LocalDate;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -32,20 +32,29 @@ public interface ReminderService {
     Reminder get(Long reminderId);
 
     /**
-     * Get all not notified Reminders by date.
+     * Get all not notified Reminders which time has come.
+     * Returned Reminders are not returned again until they are saved or retried.
      *
-     * @param date for filter.
+     * @param now current time.
      * @return the persisted entities.
      */
-    List<Reminder> getAllNotNotifiedByDate(LocalDate date);
+    List<Reminder> getAllDue(Instant now);
 
     /**
-     * Get all not notified Reminders before date.
+     * Recalculate time of not notified Reminders after changing of User time zone.
      *
-     * @param date for filter.
-     * @return the persisted entities.
+     * @param chat Chat entity of Reminders.
+     * @param user User entity of Reminders.
+     */
+    void reschedule(Chat chat, User user);
+
+    /**
+     * Return Reminder to queue after failed sending, so it is returned by {@link #getAllDue(Instant)} again.
+     *
+     * @param reminder Reminder which was not sent.
+     * @param retryAt time of next attempt.
      */
-    List<Reminder> getAllNotNotifiedBeforeDate(LocalDate date);
+    void retry(Reminder reminder, Instant retryAt);
 
     /**
      * Get Reminders for Chat and User.
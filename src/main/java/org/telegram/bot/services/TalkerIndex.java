@@ -0,0 +1,395 @@
+package org.telegram.bot.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.domain.entities.TalkerPhrase;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory inverted index of Talker data.
+ * For each chat it keeps postings from ids of interned words to sorted arrays of phrase ids, and texts of phrases.
+ * Index is loaded from snapshot file (with links added after it) or built from DB at start
+ * and updated incrementally by new Talker data. Until it is ready, callers must use DB.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TalkerIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x54414c4b;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int LOADING_BATCH_SIZE = 10000;
+    private static final String MAX_LINK_ID_QUERY = "SELECT COALESCE(MAX(id), 0) FROM talkerwordphrase";
+    private static final String LINKS_QUERY = "SELECT twp.id, tw.word, tp.phrase_id, tp.chatid, tp.phrase "
+            + "FROM talkerwordphrase twp "
+            + "INNER JOIN bot.talkerword tw ON tw.word_id = twp.word_id "
+            + "INNER JOIN bot.talkerphrase tp ON tp.phrase_id = twp.phrase_id "
+            + "WHERE twp.id > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${talkerIndexSnapshotFile:talker.idx}")
+    private String snapshotFile;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<String> internedWords = new ArrayList<>();
+    private final Map<Long, ChatIndex> chatIndexes = new HashMap<>();
+    private long maxLinkId;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rate phrases of chat by count of given words linked with them.
+     *
+     * @param chatId id of Chat.
+     * @param words words of text.
+     * @param phraseFilter condition for phrases.
+     * @return ratings by texts of phrases.
+     */
+    public Map<String, Integer> ratePhrases(Long chatId, Collection<String> words, Predicate<String> phraseFilter) {
+        Map<Long, Integer> phraseIdsRating = new HashMap<>();
+        Map<String, Integer> phrasesRating = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            ChatIndex chatIndex = chatIndexes.get(chatId);
+            if (chatIndex == null) {
+                return phrasesRating;
+            }
+
+            words.stream().map(TalkerIndex::normalize).distinct().forEach(word -> {
+                Integer wordId = wordIds.get(word);
+                PhraseIds phraseIds = wordId == null ? null : chatIndex.postings.get(wordId);
+                if (phraseIds != null) {
+                    for (int i = 0; i < phraseIds.size; i++) {
+                        phraseIdsRating.merge(phraseIds.ids[i], 1, Integer::sum);
+                    }
+                }
+            });
+
+            phraseIdsRating.forEach((phraseId, rating) -> {
+                String phrase = chatIndex.phrases.get(phraseId);
+                if (phrase != null && phraseFilter.test(phrase)) {
+                    phrasesRating.merge(phrase, rating, Math::max);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return phrasesRating;
+    }
+
+    /**
+     * Add links of words with saved phrases of chat.
+     *
+     * @param chatId id of Chat.
+     * @param words words.
+     * @param talkerPhrases saved phrases.
+     */
+    public void add(Long chatId, Collection<String> words, Collection<TalkerPhrase> talkerPhrases) {
+        lock.writeLock().lock();
+        try {
+            ChatIndex chatIndex = chatIndexes.computeIfAbsent(chatId, id -> new ChatIndex());
+            words.stream().map(TalkerIndex::normalize).distinct().forEach(word -> {
+                PhraseIds phraseIds = chatIndex.postings.computeIfAbsent(getWordId(word), id -> new PhraseIds());
+                talkerPhrases.forEach(talkerPhrase -> phraseIds.add(talkerPhrase.getId()));
+            });
+            talkerPhrases.forEach(talkerPhrase -> chatIndex.phrases.putIfAbsent(talkerPhrase.getId(), talkerPhrase.getPhrase()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Thread.ofVirtual().name("talker-index-loader").start(this::loadIndex);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ready) {
+            writeSnapshot();
+        }
+    }
+
+    private void loadIndex() {
+        long startTime = System.currentTimeMillis();
+        try {
+            long dbMaxLinkId = jdbcTemplate.queryForObject(MAX_LINK_ID_QUERY, Long.class);
+
+            boolean fromSnapshot = readSnapshot(dbMaxLinkId);
+            if (!fromSnapshot) {
+                clear();
+            }
+
+            long linksCount = loadLinks();
+            ready = true;
+            log.info("Talker index is ready in {} ms ({} links loaded from DB, snapshot used: {})",
+                    System.currentTimeMillis() - startTime, linksCount, fromSnapshot);
+
+            if (!fromSnapshot || linksCount > 0) {
+                writeSnapshot();
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to load Talker index, DB will be used for Talker: {}", e.getMessage());
+        }
+    }
+
+    private long loadLinks() {
+        long fromLinkId;
+        lock.readLock().lock();
+        try {
+            fromLinkId = maxLinkId;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Link> batch = new ArrayList<>(LOADING_BATCH_SIZE);
+        long[] linksCount = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LINKS_QUERY);
+            statement.setFetchSize(LOADING_BATCH_SIZE);
+            statement.setLong(1, fromLinkId);
+            return statement;
+        }, (ResultSet rs) -> {
+            batch.add(new Link(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getString(5)));
+            if (batch.size() >= LOADING_BATCH_SIZE) {
+                addLinks(batch);
+                linksCount[0] = linksCount[0] + batch.size();
+                batch.clear();
+            }
+        });
+        addLinks(batch);
+
+        return linksCount[0] + batch.size();
+    }
+
+    private void addLinks(List<Link> links) {
+        lock.writeLock().lock();
+        try {
+            links.forEach(link -> {
+                ChatIndex chatIndex = chatIndexes.computeIfAbsent(link.chatId(), id -> new ChatIndex());
+                chatIndex.postings.computeIfAbsent(getWordId(normalize(link.word())), id -> new PhraseIds()).add(link.phraseId());
+                chatIndex.phrases.putIfAbsent(link.phraseId(), link.phrase());
+                maxLinkId = Math.max(maxLinkId, link.id());
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            wordIds.clear();
+            internedWords.clear();
+            chatIndexes.clear();
+            maxLinkId = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int getWordId(String word) {
+        Integer wordId = wordIds.get(word);
+        if (wordId == null) {
+            wordId = internedWords.size();
+            internedWords.add(word);
+            wordIds.put(word, wordId);
+        }
+
+        return wordId;
+    }
+
+    /**
+     * Read index from snapshot file.
+     *
+     * @param dbMaxLinkId max id of links in DB.
+     * @return true if snapshot is read, false if it is missing, broken or newer than DB.
+     */
+    private boolean readSnapshot(long dbMaxLinkId) {
+        Path path = Path.of(snapshotFile);
+        if (!Files.exists(path)) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Unknown format of Talker index snapshot {}", path);
+                return false;
+            }
+
+            long snapshotMaxLinkId = in.readLong();
+            if (snapshotMaxLinkId > dbMaxLinkId) {
+                log.warn("Talker index snapshot is newer than DB, it will be rebuilt");
+                return false;
+            }
+
+            lock.writeLock().lock();
+            try {
+                maxLinkId = snapshotMaxLinkId;
+
+                int[] snapshotWordIds = new int[in.readInt()];
+                for (int i = 0; i < snapshotWordIds.length; i++) {
+                    snapshotWordIds[i] = getWordId(in.readUTF());
+                }
+
+                int chatsCount = in.readInt();
+                for (int i = 0; i < chatsCount; i++) {
+                    ChatIndex chatIndex = chatIndexes.computeIfAbsent(in.readLong(), id -> new ChatIndex());
+
+                    int phrasesCount = in.readInt();
+                    for (int j = 0; j < phrasesCount; j++) {
+                        chatIndex.phrases.putIfAbsent(in.readLong(), in.readUTF());
+                    }
+
+                    int postingsCount = in.readInt();
+                    for (int j = 0; j < postingsCount; j++) {
+                        int wordId = snapshotWordIds[in.readInt()];
+                        int phraseIdsCount = in.readInt();
+                        PhraseIds phraseIds = chatIndex.postings.computeIfAbsent(wordId, id -> new PhraseIds(phraseIdsCount));
+                        for (int k = 0; k < phraseIdsCount; k++) {
+                            phraseIds.add(in.readLong());
+                        }
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read Talker index snapshot {}: {}", path, e.getMessage());
+            return false;
+        }
+
+        return true;
+    }
+
+    private void writeSnapshot() {
+        Path path = Path.of(snapshotFile);
+        Path tempPath = Path.of(snapshotFile + ".tmp");
+
+        lock.readLock().lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempPath))))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(maxLinkId);
+
+            out.writeInt(internedWords.size());
+            for (String word : internedWords) {
+                out.writeUTF(word);
+            }
+
+            out.writeInt(chatIndexes.size());
+            for (Map.Entry<Long, ChatIndex> chatEntry : chatIndexes.entrySet()) {
+                ChatIndex chatIndex = chatEntry.getValue();
+                out.writeLong(chatEntry.getKey());
+
+                out.writeInt(chatIndex.phrases.size());
+                for (Map.Entry<Long, String> phraseEntry : chatIndex.phrases.entrySet()) {
+                    out.writeLong(phraseEntry.getKey());
+                    out.writeUTF(phraseEntry.getValue());
+                }
+
+                out.writeInt(chatIndex.postings.size());
+                for (Map.Entry<Integer, PhraseIds> postingEntry : chatIndex.postings.entrySet()) {
+                    PhraseIds phraseIds = postingEntry.getValue();
+                    out.writeInt(postingEntry.getKey());
+                    out.writeInt(phraseIds.size);
+                    for (int i = 0; i < phraseIds.size; i++) {
+                        out.writeLong(phraseIds.ids[i]);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to write Talker index snapshot {}: {}", tempPath, e.getMessage());
+            return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to replace Talker index snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String normalize(String word) {
+        return word.toLowerCase(Locale.ROOT);
+    }
+
+    private record Link(long id, String word, long phraseId, long chatId, String phrase) {
+    }
+
+    private static class ChatIndex {
+        private final Map<Integer, PhraseIds> postings = new HashMap<>();
+        private final Map<Long, String> phrases = new HashMap<>();
+    }
+
+    /**
+     * Sorted array of unique phrase ids.
+     */
+    private static class PhraseIds {
+        private long[] ids;
+        private int size;
+
+        private PhraseIds() {
+            this(4);
+        }
+
+        private PhraseIds(int capacity) {
+            this.ids = new long[Math.max(capacity, 1)];
+        }
+
+        private void add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size] = id;
+                size = size + 1;
+                return;
+            }
+
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+
+            int insertionPoint = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertionPoint, ids, insertionPoint + 1, size - insertionPoint);
+            ids[insertionPoint] = id;
+            size = size + 1;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+
+}
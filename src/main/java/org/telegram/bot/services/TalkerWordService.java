@@ -1,5 +1,6 @@
 package org.telegram.bot.services;
 
+import org.telegram.bot.domain.entities.TalkerPhrase;
 import org.telegram.bot.domain.entities.TalkerWord;
 
 import java.util.List;
@@ -11,11 +12,12 @@ import java.util.Set;
 public interface TalkerWordService {
 
     /**
-     * Save a TalkerWords.
+     * Save a TalkerWords and link them with phrases. Only missing words and links are inserted.
      *
-     * @param talkerWordSet the set of entities to save.
+     * @param words words of TalkerWords.
+     * @param talkerPhrases saved phrases to link with words.
      */
-    void save(Set<TalkerWord> talkerWordSet);
+    void save(List<String> words, List<TalkerPhrase> talkerPhrases);
 
     /**
      * Get a TalkerWords.
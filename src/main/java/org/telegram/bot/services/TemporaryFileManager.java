@@ -7,6 +7,17 @@ import java.io.File;
 public interface TemporaryFileManager {
     String addFile(String prefix, String postfix);
     @Nullable File get(String fileName);
+    @Nullable FileHandle acquire(String fileName);
     void deleteAllFiles();
     void cleanup();
+
+    /**
+     * Acquired temporary file. The file is not deleted by cleanup until all of its handles are closed.
+     */
+    interface FileHandle extends AutoCloseable {
+        File getFile();
+
+        @Override
+        void close();
+    }
 }
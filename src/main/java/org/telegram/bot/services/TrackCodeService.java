@@ -56,13 +56,13 @@ public interface TrackCodeService {
     long getTrackCodesCount();
 
     /**
-     * Update all tracks data.
-     *
+     * Update data of undelivered tracks concurrently within remaining limit of api requests.
+     * Tracks with the oldest last event are updated first, each track is saved in its own transaction.
      */
     void updateFromApi();
 
     /**
-     * Update the track data.
+     * Update the track data. Only new events are saved.
      *
      */
     void updateFromApi(TrackCode trackCode) throws BotException;
@@ -46,9 +46,4 @@ public interface TvChannelService {
      * @param tvChannelList entities to save.
      */
     void save(Collection<TvChannel> tvChannelList);
-
-    /**
-     * Clear a TvChannel table.
-     */
-    void clearTable();
 }
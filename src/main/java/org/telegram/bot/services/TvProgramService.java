@@ -51,9 +51,4 @@ public interface TvProgramService {
      * @param tvProgramList entities to save.
      */
     void save(List<TvProgram> tvProgramList);
-
-    /**
-     * Clear a TvProgram table.
-     */
-    void clearTable();
 }
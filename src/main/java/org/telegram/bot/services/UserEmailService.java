@@ -1,5 +1,6 @@
 package org.telegram.bot.services;
 
+import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.domain.entities.UserEmail;
 
@@ -10,5 +11,6 @@ public interface UserEmailService {
     UserEmail get(List<String> email);
     UserEmail get(User user);
     List<UserEmail> getByUsers(List<User> users);
+    List<UserEmail> getShippingEnabled(Chat chat);
     void remove(UserEmail userEmail);
 }
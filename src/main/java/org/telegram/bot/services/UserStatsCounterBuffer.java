@@ -0,0 +1,295 @@
+package org.telegram.bot.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.LastMessage;
+import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.domain.entities.UserStats;
+import org.telegram.bot.domain.model.request.Message;
+import org.telegram.bot.enums.UserStatsCounter;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind buffer of UserStats counters.
+ * Increments are accumulated in memory by chat and user and periodically flushed by one batch of relative updates.
+ * Counters must not be changed by saving of UserStats entity: it overwrites deltas flushed after the entity was read.
+ * Reads are not flushing the buffer: pending deltas are merged into the read entities instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsCounterBuffer {
+
+    private static final UserStatsCounter[] COUNTERS = UserStatsCounter.values();
+    private static final int MONTHLY = 0;
+    private static final int PER_DAY = 1;
+    private static final int ALL = 2;
+    private static final int COLUMNS = 3;
+    private static final String UPDATE_USER_STATS_QUERY = "UPDATE bot.userstats SET "
+            + Arrays.stream(COUNTERS)
+                    .flatMap(counter -> Stream.of(counter.getColumn(), counter.getPerDayColumn(), counter.getAllColumn()))
+                    .map(column -> column + " = " + column + " + ?")
+                    .collect(Collectors.joining(", "))
+            + " WHERE chatid = ? AND userid = ?";
+    private static final String UPDATE_LAST_MESSAGE_QUERY = "UPDATE bot.lastmessage SET messageid = ?, text = ?, date = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Deltas of columns of counters: monthly, daily and all-time deltas of each counter in order of {@link UserStatsCounter}.
+     */
+    private final Map<UserStatsKey, long[]> counterDeltas = new ConcurrentHashMap<>();
+    private final Map<Long, Message> lastMessages = new ConcurrentHashMap<>();
+    private final Map<UserStatsKey, Long> lastMessageIds = new ConcurrentHashMap<>();
+
+    /**
+     * Get id of LastMessage of known UserStats.
+     *
+     * @param chat Chat entity.
+     * @param user User entity.
+     * @return id of LastMessage or null if UserStats was not registered yet.
+     */
+    public Long getLastMessageId(Chat chat, User user) {
+        return lastMessageIds.get(new UserStatsKey(chat.getChatId(), user.getUserId()));
+    }
+
+    /**
+     * Register persisted UserStats.
+     *
+     * @param chat Chat entity.
+     * @param user User entity.
+     * @param lastMessageId id of LastMessage of UserStats.
+     */
+    public void register(Chat chat, User user, Long lastMessageId) {
+        lastMessageIds.put(new UserStatsKey(chat.getChatId(), user.getUserId()), lastMessageId);
+    }
+
+    public void increment(Chat chat, User user, UserStatsCounter counter) {
+        add(chat, user, counter, 1);
+    }
+
+    /**
+     * Add value to the counter.
+     *
+     * @param chat Chat entity.
+     * @param user User entity.
+     * @param counter changing counter.
+     * @param delta value to add, may be negative.
+     */
+    public void add(Chat chat, User user, UserStatsCounter counter, long delta) {
+        counterDeltas.compute(new UserStatsKey(chat.getChatId(), user.getUserId()), (key, deltas) -> {
+            if (deltas == null) {
+                deltas = new long[COUNTERS.length * COLUMNS];
+            }
+
+            int index = counter.ordinal() * COLUMNS;
+            deltas[index + MONTHLY] += delta;
+            deltas[index + PER_DAY] += delta;
+            deltas[index + ALL] += delta;
+
+            return deltas;
+        });
+    }
+
+    public void updateLastMessage(Long lastMessageId, Message message) {
+        lastMessages.put(lastMessageId, message);
+    }
+
+    /**
+     * Add pending counters and last message to read UserStats. The entity must not be saved after that.
+     *
+     * @param userStats UserStats entity or null.
+     * @return the same UserStats entity.
+     */
+    public UserStats merge(UserStats userStats) {
+        if (userStats == null) {
+            return null;
+        }
+
+        long[] deltas = getDeltas(new UserStatsKey(userStats.getChat().getChatId(), userStats.getUser().getUserId()));
+        if (deltas != null) {
+            BeanWrapper userStatsWrapper = new BeanWrapperImpl(userStats);
+            for (UserStatsCounter counter : COUNTERS) {
+                int index = counter.ordinal() * COLUMNS;
+                addToProperty(userStatsWrapper, counter.getProperty(), deltas[index + MONTHLY]);
+                addToProperty(userStatsWrapper, counter.getPerDayProperty(), deltas[index + PER_DAY]);
+                addToProperty(userStatsWrapper, counter.getAllProperty(), deltas[index + ALL]);
+            }
+        }
+
+        LastMessage lastMessage = userStats.getLastMessage();
+        if (lastMessage != null) {
+            Message message = lastMessages.get(lastMessage.getId());
+            if (message != null) {
+                lastMessage
+                        .setMessageId(message.getMessageId())
+                        .setText(message.getText())
+                        .setDate(message.getDateTime());
+            }
+        }
+
+        return userStats;
+    }
+
+    /**
+     * Discard monthly part of pending counters of chats cleared by the monthly reset.
+     *
+     * @param groupAttribute counters of chats with lower id are cleared.
+     */
+    public void clearMonthly(Long groupAttribute) {
+        clear(groupAttribute, MONTHLY);
+    }
+
+    /**
+     * Discard daily part of pending counters of chats cleared by the daily reset.
+     *
+     * @param groupAttribute counters of chats with lower id are cleared.
+     */
+    public void clearDaily(Long groupAttribute) {
+        clear(groupAttribute, PER_DAY);
+    }
+
+    /**
+     * Flush all pending counters and last messages.
+     */
+    public void flush() {
+        flush(counterDeltas.keySet());
+        flushLastMessages();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing of UserStats counters before shutdown");
+        flush();
+    }
+
+    private long[] getDeltas(UserStatsKey key) {
+        AtomicReference<long[]> snapshot = new AtomicReference<>();
+        counterDeltas.computeIfPresent(key, (k, deltas) -> {
+            snapshot.set(deltas.clone());
+            return deltas;
+        });
+
+        return snapshot.get();
+    }
+
+    private static void addToProperty(BeanWrapper userStatsWrapper, String property, long delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        Object value = userStatsWrapper.getPropertyValue(property);
+        if (value == null) {
+            return;
+        }
+
+        if (value instanceof Integer intValue) {
+            userStatsWrapper.setPropertyValue(property, Math.toIntExact(intValue + delta));
+        } else {
+            userStatsWrapper.setPropertyValue(property, ((Long) value) + delta);
+        }
+    }
+
+    private void clear(Long groupAttribute, int column) {
+        for (UserStatsKey key : List.copyOf(counterDeltas.keySet())) {
+            if (key.chatId() < groupAttribute) {
+                counterDeltas.computeIfPresent(key, (k, deltas) -> {
+                    for (int i = column; i < deltas.length; i = i + COLUMNS) {
+                        deltas[i] = 0;
+                    }
+                    return deltas;
+                });
+            }
+        }
+    }
+
+    private void flushLastMessages() {
+        List<Object[]> lastMessageParams = new ArrayList<>();
+        for (Long lastMessageId : List.copyOf(lastMessages.keySet())) {
+            Message message = lastMessages.remove(lastMessageId);
+            if (message != null) {
+                lastMessageParams.add(new Object[]{
+                        message.getMessageId(),
+                        message.getText(),
+                        message.getDateTime() == null ? null : Timestamp.valueOf(message.getDateTime()),
+                        lastMessageId});
+            }
+        }
+
+        if (!lastMessageParams.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE_QUERY, lastMessageParams);
+        }
+    }
+
+    private void flush(Collection<UserStatsKey> keys) {
+        Map<UserStatsKey, long[]> flushingDeltas = new HashMap<>();
+        for (UserStatsKey key : List.copyOf(keys)) {
+            long[] deltas = counterDeltas.remove(key);
+            if (deltas != null) {
+                flushingDeltas.put(key, deltas);
+            }
+        }
+
+        if (flushingDeltas.isEmpty()) {
+            return;
+        }
+
+        log.debug("Flushing {} UserStats counters", flushingDeltas.size());
+        List<Object[]> params = flushingDeltas.entrySet()
+                .stream()
+                .map(entry -> toQueryParams(entry.getKey(), entry.getValue()))
+                .toList();
+
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(UPDATE_USER_STATS_QUERY, params);
+        } catch (DataAccessException e) {
+            log.error("Failed to flush UserStats counters, they will be flushed next time", e);
+            flushingDeltas.forEach(this::restore);
+            return;
+        }
+
+        long missing = Arrays.stream(updated).filter(count -> count == 0).count();
+        if (missing > 0) {
+            log.warn("{} UserStats were not found while flushing counters", missing);
+        }
+    }
+
+    private void restore(UserStatsKey key, long[] deltas) {
+        counterDeltas.merge(key, deltas, (current, restored) -> {
+            for (int i = 0; i < current.length; i++) {
+                current[i] = current[i] + restored[i];
+            }
+            return current;
+        });
+    }
+
+    private Object[] toQueryParams(UserStatsKey key, long[] deltas) {
+        Object[] params = new Object[COUNTERS.length * COLUMNS + 2];
+        int i = 0;
+        for (long delta : deltas) {
+            params[i++] = delta;
+        }
+        params[i++] = key.chatId();
+        params[i] = key.userId();
+
+        return params;
+    }
+
+    private record UserStatsKey(Long chatId, Long userId) {
+    }
+
+}
@@ -90,6 +90,16 @@ public interface UserStatsService {
      */
     void clearDailyStats();
 
+    /**
+     * Change karma of the user and kindness or wickedness of the user who changed it.
+     *
+     * @param chat Chat where are users.
+     * @param user User who changes karma.
+     * @param anotherUser User whose karma will be changed.
+     * @param value change of karma: 1 or -1.
+     */
+    void changeKarma(Chat chat, User user, User anotherUser, int value);
+
     /**
      * Increment the user statistics of using commands.
      * @param chat Chat where is User
@@ -0,0 +1,276 @@
+package org.telegram.bot.services.backup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.telegram.bot.config.PropertiesConfig;
+import org.telegram.bot.domain.entities.WorkParam;
+import org.telegram.bot.enums.BackupTable;
+import org.telegram.bot.enums.BackupType;
+import org.telegram.bot.exception.backup.BackupException;
+import org.telegram.bot.repositories.DbBackuper;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.TemporaryFileManager;
+import org.telegram.bot.services.WorkParamService;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Creating of backups and their delivery into all enabled sinks.
+ * Backups are created one at a time into unique temporary files. Full backup is online backup of the whole database,
+ * incremental backup is zip of CSV files with rows of large append-only tables created after the previous delivered backup
+ * and with all rows of large tables which are updated in place.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BackupService {
+
+    private static final String FILE_NAME_PREFIX = "backup_";
+    private static final String FILE_NAME_POSTFIX = ".zip";
+    private static final String WATERMARK_PARAM_PREFIX = "backupWatermark.";
+    private static final String CHECKSUM_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DbBackuper dbBackuper;
+    private final TemporaryFileManager temporaryFileManager;
+    private final WorkParamService workParamService;
+    private final PropertiesConfig propertiesConfig;
+    private final List<BackupSink> backupSinks;
+    private final BotStats botStats;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Create backup and deliver it into all enabled sinks. The file of backup is held until delivery is finished.
+     * After successful delivery, next incremental backup starts after rows of this one.
+     *
+     * @param backupType type of backup.
+     */
+    public void backup(BackupType backupType) {
+        BackupSnapshot backupSnapshot;
+        try {
+            if (BackupType.FULL.equals(backupType)) {
+                backupSnapshot = createFullBackup();
+            } else {
+                backupSnapshot = createIncrementalBackup();
+            }
+        } catch (BackupException | DataAccessException e) {
+            String errorMessage = "Failed to create " + backupType.getName() + " backup: " + e.getMessage();
+            log.error(errorMessage);
+            botStats.incrementErrors(errorMessage, errorMessage);
+            return;
+        }
+
+        log.info("Created {}", backupSnapshot.getDescription());
+
+        try (TemporaryFileManager.FileHandle fileHandle = temporaryFileManager.acquire(backupSnapshot.file().getPath())) {
+            if (fileHandle == null) {
+                String errorMessage = "Backup " + backupSnapshot.file() + " is deleted before delivery";
+                log.error(errorMessage);
+                botStats.incrementErrors(errorMessage, errorMessage);
+                return;
+            }
+
+            if (deliver(backupSnapshot)) {
+                saveWatermarks(backupSnapshot.watermarks());
+            }
+        }
+    }
+
+    /**
+     * Create online backup of the whole database.
+     *
+     * @return created backup.
+     * @throws BackupException if failed to read created backup.
+     */
+    public BackupSnapshot createFullBackup() throws BackupException {
+        lock.lock();
+        try {
+            Map<BackupTable, String> watermarks = new EnumMap<>(BackupTable.class);
+            for (BackupTable table : getAppendOnlyTables()) {
+                String watermark = dbBackuper.getWatermark(table);
+                if (watermark != null) {
+                    watermarks.put(table, watermark);
+                }
+            }
+
+            File file = createFile(BackupType.FULL);
+            dbBackuper.backupTo(file);
+
+            return new BackupSnapshot(file, BackupType.FULL, file.length(), getChecksum(file), watermarks);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Export rows of large append-only tables created after the last delivered backup and other large tables in full.
+     *
+     * @return created backup.
+     * @throws BackupException if failed to write backup.
+     */
+    public BackupSnapshot createIncrementalBackup() throws BackupException {
+        lock.lock();
+        try {
+            Map<BackupTable, String> watermarks = getWatermarks();
+            File file = createFile(BackupType.INCREMENTAL);
+            MessageDigest messageDigest = getMessageDigest();
+
+            try (DigestOutputStream digestOutputStream = new DigestOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE), messageDigest);
+                 ZipOutputStream zipOutputStream = new ZipOutputStream(digestOutputStream);
+                 Writer writer = new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8)) {
+                for (BackupTable table : BackupTable.values()) {
+                    zipOutputStream.putNextEntry(new ZipEntry(table.getTableName() + ".csv"));
+                    String watermark = dbBackuper.exportTable(table, watermarks.get(table), writer);
+                    writer.flush();
+                    zipOutputStream.closeEntry();
+
+                    if (watermark != null && table.isAppendOnly()) {
+                        watermarks.put(table, watermark);
+                    }
+                }
+            } catch (IOException | UncheckedIOException e) {
+                throw new BackupException("Failed to write incremental backup " + file + ": " + e.getMessage());
+            }
+
+            return new BackupSnapshot(file, BackupType.INCREMENTAL, file.length(), HexFormat.of().formatHex(messageDigest.digest()), watermarks);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put backup into all enabled sinks in parallel.
+     *
+     * @param backupSnapshot created backup.
+     * @return true if backup is stored at least in one sink.
+     */
+    public boolean deliver(BackupSnapshot backupSnapshot) {
+        List<BackupSink> enabledSinks = backupSinks.stream().filter(BackupSink::isEnabled).toList();
+        if (enabledSinks.isEmpty()) {
+            log.warn("There are no enabled sinks for backups");
+            return false;
+        }
+
+        Map<BackupSink, Future<Boolean>> results = new LinkedHashMap<>();
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            enabledSinks.forEach(backupSink -> results.put(backupSink, executorService.submit(() -> backupSink.put(backupSnapshot))));
+        }
+
+        boolean delivered = false;
+        for (Map.Entry<BackupSink, Future<Boolean>> result : results.entrySet()) {
+            String sinkName = result.getKey().getName();
+            try {
+                if (Boolean.TRUE.equals(result.getValue().get())) {
+                    log.info("Backup {} is stored in {}", backupSnapshot.file().getName(), sinkName);
+                    delivered = true;
+                } else {
+                    log.warn("Backup {} is not stored in {}", backupSnapshot.file().getName(), sinkName);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return delivered;
+            } catch (ExecutionException e) {
+                String errorMessage = "Failed to put backup into " + sinkName + ": " + e.getCause().getMessage();
+                log.error(errorMessage);
+                botStats.incrementErrors(errorMessage, errorMessage);
+            }
+        }
+
+        return delivered;
+    }
+
+    private File createFile(BackupType backupType) {
+        String prefix = FILE_NAME_PREFIX
+                + DateTimeFormatter.BASIC_ISO_DATE.format(LocalDate.now(clock))
+                + backupType.getFileNameSuffix()
+                + "_";
+        return new File(temporaryFileManager.addFile(prefix, FILE_NAME_POSTFIX));
+    }
+
+    private Map<BackupTable, String> getWatermarks() {
+        Map<String, String> values = new HashMap<>();
+        workParamService.get(propertiesConfig.getTelegramBotApiToken(), getWatermarkParamNames())
+                .forEach(workParam -> values.put(workParam.getName(), workParam.getValue()));
+
+        Map<BackupTable, String> watermarks = new EnumMap<>(BackupTable.class);
+        for (BackupTable table : getAppendOnlyTables()) {
+            String value = values.get(WATERMARK_PARAM_PREFIX + table.getTableName());
+            if (value != null && !value.isEmpty()) {
+                watermarks.put(table, value);
+            }
+        }
+
+        return watermarks;
+    }
+
+    private void saveWatermarks(Map<BackupTable, String> watermarks) {
+        if (watermarks.isEmpty()) {
+            return;
+        }
+
+        String botToken = propertiesConfig.getTelegramBotApiToken();
+        Map<String, WorkParam> workParams = new HashMap<>();
+        workParamService.get(botToken, getWatermarkParamNames()).forEach(workParam -> workParams.put(workParam.getName(), workParam));
+
+        workParamService.save(watermarks.entrySet()
+                .stream()
+                .map(watermark -> {
+                    String name = WATERMARK_PARAM_PREFIX + watermark.getKey().getTableName();
+                    return workParams.getOrDefault(name, new WorkParam(botToken, name)).setValue(watermark.getValue());
+                })
+                .toList());
+    }
+
+    private static List<String> getWatermarkParamNames() {
+        return getAppendOnlyTables().stream().map(table -> WATERMARK_PARAM_PREFIX + table.getTableName()).toList();
+    }
+
+    private static List<BackupTable> getAppendOnlyTables() {
+        return Arrays.stream(BackupTable.values()).filter(BackupTable::isAppendOnly).toList();
+    }
+
+    private static String getChecksum(File file) throws BackupException {
+        MessageDigest messageDigest = getMessageDigest();
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file.toPath()), messageDigest)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (inputStream.read(buffer) != -1) {
+                // digest is updated by stream
+            }
+        } catch (IOException e) {
+            throw new BackupException("Failed to read backup " + file + ": " + e.getMessage());
+        }
+
+        return HexFormat.of().formatHex(messageDigest.digest());
+    }
+
+    private static MessageDigest getMessageDigest() {
+        try {
+            return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package org.telegram.bot.services.backup;
+
+/**
+ * Destination of backups.
+ */
+public interface BackupSink {
+
+    String getName();
+
+    boolean isEnabled();
+
+    /**
+     * Put backup into the sink.
+     *
+     * @param backupSnapshot created backup.
+     * @return true if backup is stored.
+     */
+    boolean put(BackupSnapshot backupSnapshot);
+
+}
@@ -0,0 +1,24 @@
+package org.telegram.bot.services.backup;
+
+import org.telegram.bot.enums.BackupTable;
+import org.telegram.bot.enums.BackupType;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Created backup file.
+ *
+ * @param file file of backup.
+ * @param type type of backup.
+ * @param size size of file in bytes.
+ * @param sha256 hex SHA-256 checksum of file.
+ * @param watermarks last exported values of ordering columns by tables (for incremental export only).
+ */
+public record BackupSnapshot(File file, BackupType type, long size, String sha256, Map<BackupTable, String> watermarks) {
+
+    public String getDescription() {
+        return type.getName() + " backup " + file.getName() + ", " + size + " bytes, SHA-256: " + sha256;
+    }
+
+}
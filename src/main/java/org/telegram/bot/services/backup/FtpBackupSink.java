@@ -0,0 +1,79 @@
+package org.telegram.bot.services.backup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.config.PropertiesConfig;
+import org.telegram.bot.exception.BotException;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.utils.FtpBackupClient;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads backups to ftp-server with retries.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FtpBackupSink implements BackupSink {
+
+    private final PropertiesConfig propertiesConfig;
+    private final FtpBackupClient ftpBackupClient;
+    private final BotStats botStats;
+
+    @Override
+    public String getName() {
+        return "ftp";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        String ftpBackupUrl = propertiesConfig.getFtpBackupUrl();
+        return ftpBackupUrl != null && !ftpBackupUrl.isBlank();
+    }
+
+    @Override
+    public boolean put(BackupSnapshot backupSnapshot) {
+        for (int attempts = 0; attempts <= propertiesConfig.getFtpRetryCount(); attempts++) {
+            if (uploadBackupIntoFtp(backupSnapshot)) {
+                return true;
+            }
+
+            if (attempts < propertiesConfig.getFtpRetryCount()) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(propertiesConfig.getFtpRetryTimeoutMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private boolean uploadBackupIntoFtp(BackupSnapshot backupSnapshot) {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(backupSnapshot.file().toPath()))) {
+            ftpBackupClient.process(
+                    propertiesConfig.getFtpBackupUrl(),
+                    inputStream,
+                    backupSnapshot.type().getFileNameSuffix(),
+                    propertiesConfig.getDaysBeforeExpirationBackup(),
+                    propertiesConfig.getMaxBackupsSizeBytes());
+        } catch (BotException e) {
+            return false;
+        } catch (Exception e) {
+            String errorMessage = "Failed to backup db: " + e.getMessage();
+            log.error(errorMessage);
+            botStats.incrementErrors(errorMessage, errorMessage);
+            return false;
+        }
+
+        return true;
+    }
+
+}
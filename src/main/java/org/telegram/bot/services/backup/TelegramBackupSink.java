@@ -0,0 +1,56 @@
+package org.telegram.bot.services.backup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.config.PropertiesConfig;
+import org.telegram.bot.domain.model.response.File;
+import org.telegram.bot.domain.model.response.FileResponse;
+import org.telegram.bot.domain.model.response.FileType;
+import org.telegram.bot.domain.model.response.ResponseSettings;
+import org.telegram.bot.mapper.telegram.response.ResponseTelegramMapper;
+import org.telegram.bot.services.executors.telegram.SendDocumentExecutor;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+/**
+ * Sends backups to admin of bot.
+ * Sending is synchronous, so the file of backup is held until it is uploaded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TelegramBackupSink implements BackupSink {
+
+    private final ResponseTelegramMapper responseTelegramMapper;
+    private final SendDocumentExecutor sendDocumentExecutor;
+    private final PropertiesConfig propertiesConfig;
+
+    @Override
+    public String getName() {
+        return "telegram";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return propertiesConfig.getAdminId() != null;
+    }
+
+    @Override
+    public boolean put(BackupSnapshot backupSnapshot) {
+        FileResponse fileResponse = new FileResponse()
+                .setChatId(propertiesConfig.getAdminId())
+                .setText(backupSnapshot.getDescription())
+                .addFile(new File(FileType.FILE, backupSnapshot.file()))
+                .setResponseSettings(new ResponseSettings().setNotification(false));
+
+        try {
+            sendDocumentExecutor.sendAndWait(responseTelegramMapper.toTelegramMethod(fileResponse));
+        } catch (TelegramApiException e) {
+            log.error("Failed to send backup {}: {}", backupSnapshot.file().getName(), e.getMessage());
+            return false;
+        }
+
+        return true;
+    }
+
+}
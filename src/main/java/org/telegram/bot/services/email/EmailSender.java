@@ -1,7 +1,9 @@
 package org.telegram.bot.services.email;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
 import jakarta.mail.Transport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,25 +11,46 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.telegram.bot.config.ConditionalOnPropertyNotEmpty;
 import org.telegram.bot.domain.model.response.EmailResponse;
+import org.telegram.bot.domain.model.response.File;
 import org.telegram.bot.mapper.email.request.EmailMessageMapper;
 import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.TemporaryFileManager;
 
 import java.io.IOException;
+import java.util.*;
 
+/**
+ * Sending of email messages through one reused SMTP connection.
+ * Notifications of chats are accumulated by {@link #addToDigest(EmailResponse)} and sent by {@link #sendDigests()}
+ * as one message per subject and group of recipients.
+ * Temporary disk files attached to pending digests are acquired until the digests are sent.
+ */
 @RequiredArgsConstructor
 @Component
 @Slf4j
 @ConditionalOnPropertyNotEmpty("mail.smtp.host")
 public class EmailSender {
 
+    private static final String DIGEST_DELIMITER = "<br><hr><br>";
+
     private final EmailMessageMapper emailMessageMapper;
     private final BotStats botStats;
+    private final Session smtpSession;
+    private final TemporaryFileManager temporaryFileManager;
+
+    private Map<String, Map<String, List<EmailResponse>>> pendingDigests = new LinkedHashMap<>();
+    private final Object transportLock = new Object();
+    private Transport transport;
 
+    /**
+     * Send email message immediately.
+     *
+     * @param emailResponse message to send.
+     */
     @Async
     public void sendMail(EmailResponse emailResponse) {
         try {
-            Message emailMessage = emailMessageMapper.toEmailMessage(emailResponse);
-            Transport.send(emailMessage);
+            send(emailMessageMapper.toEmailMessage(emailResponse));
         } catch (MessagingException | IOException e) {
             String errorMessage = "Failed to send email message: " + e.getMessage();
             log.error(errorMessage);
@@ -35,5 +58,143 @@ public class EmailSender {
         }
     }
 
-}
+    /**
+     * Add email message to digest of its recipients.
+     *
+     * @param emailResponse message to send.
+     */
+    public synchronized void addToDigest(EmailResponse emailResponse) {
+        if (emailResponse.getAttachments() != null) {
+            emailResponse.setAttachments(emailResponse.getAttachments()
+                    .stream()
+                    .map(this::acquire)
+                    .filter(Objects::nonNull)
+                    .toList());
+        }
+
+        Map<String, List<EmailResponse>> recipientsDigests = pendingDigests.computeIfAbsent(emailResponse.getSubject(), subject -> new LinkedHashMap<>());
+        emailResponse.getEmailAddresses()
+                .forEach(emailAddress -> recipientsDigests.computeIfAbsent(emailAddress, address -> new ArrayList<>()).add(emailResponse));
+    }
+
+    /**
+     * Send accumulated digests.
+     * Recipients with the same sequence of messages get one common message.
+     */
+    public void sendDigests() {
+        Map<String, Map<String, List<EmailResponse>>> digests;
+        synchronized (this) {
+            if (pendingDigests.isEmpty()) {
+                return;
+            }
+            digests = pendingDigests;
+            pendingDigests = new LinkedHashMap<>();
+        }
+
+        try {
+            digests.forEach((subject, recipientsDigests) -> {
+                Map<List<EmailResponse>, Set<String>> recipientsByDigest = new LinkedHashMap<>();
+                recipientsDigests.forEach((emailAddress, emailResponses) ->
+                        recipientsByDigest.computeIfAbsent(emailResponses, responses -> new LinkedHashSet<>()).add(emailAddress));
+
+                recipientsByDigest.forEach((emailResponses, emailAddresses) -> sendMail(toDigest(subject, emailAddresses, emailResponses)));
+            });
+        } finally {
+            release(digests);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Sending of email digests before shutdown");
+        sendDigests();
+
+        closeTransport();
+    }
+
+    /**
+     * Get attachment with own handle of its temporary disk file, because the handle of response is released after sending to telegram.
+     */
+    private File acquire(File attachment) {
+        if (attachment.getFileHandle() == null) {
+            return attachment;
+        }
+
+        TemporaryFileManager.FileHandle fileHandle = temporaryFileManager.acquire(attachment.getDiskFile().getPath());
+        if (fileHandle == null) {
+            log.warn("Attachment {} is already deleted and skipped", attachment.getDiskFile());
+            return null;
+        }
 
+        return new File(attachment.getFileType(), fileHandle, attachment.getFileSettings());
+    }
+
+    private static void release(Map<String, Map<String, List<EmailResponse>>> digests) {
+        Set<EmailResponse> emailResponses = Collections.newSetFromMap(new IdentityHashMap<>());
+        digests.values().forEach(recipientsDigests -> recipientsDigests.values().forEach(emailResponses::addAll));
+
+        emailResponses
+                .stream()
+                .filter(emailResponse -> emailResponse.getAttachments() != null)
+                .flatMap(emailResponse -> emailResponse.getAttachments().stream())
+                .map(File::getFileHandle)
+                .filter(Objects::nonNull)
+                .forEach(TemporaryFileManager.FileHandle::close);
+    }
+
+    private EmailResponse toDigest(String subject, Set<String> emailAddresses, List<EmailResponse> emailResponses) {
+        StringJoiner text = new StringJoiner(DIGEST_DELIMITER);
+        List<File> attachments = new ArrayList<>();
+        for (EmailResponse emailResponse : emailResponses) {
+            if (emailResponse.getText() != null) {
+                text.add(emailResponse.getText());
+            }
+            if (emailResponse.getAttachments() != null) {
+                attachments.addAll(emailResponse.getAttachments());
+            }
+        }
+
+        return new EmailResponse()
+                .setEmailAddresses(emailAddresses)
+                .setSubject(subject)
+                .setText(text.toString())
+                .setAttachments(attachments);
+    }
+
+    private void send(Message message) throws MessagingException {
+        message.saveChanges();
+        synchronized (transportLock) {
+            try {
+                getTransport().sendMessage(message, message.getAllRecipients());
+            } catch (MessagingException e) {
+                closeTransport();
+                throw e;
+            }
+        }
+    }
+
+    private Transport getTransport() throws MessagingException {
+        if (transport == null || !transport.isConnected()) {
+            if (transport == null) {
+                transport = smtpSession.getTransport();
+            }
+            transport.connect();
+        }
+
+        return transport;
+    }
+
+    private void closeTransport() {
+        synchronized (transportLock) {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    log.error("Failed to close smtp connection: {}", e.getMessage());
+                }
+                transport = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+package org.telegram.bot.services.executors;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.config.dispatch.DispatchProperties;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executes tasks of processing messages on virtual threads.
+ * Tasks of one chat are executed one by one in order of submission (chat lane),
+ * lanes of different chats are executed concurrently, but not more than maxInFlight at the same time.
+ * Task that waits for something external (e.g. permission to send) may give up its permit for the time of waiting.
+ */
+@Component
+@Slf4j
+public class ChatDispatchExecutor {
+
+    private final ExecutorService executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dispatch-", 0).factory());
+    private final Map<Long, ChatLane> lanes = new ConcurrentHashMap<>();
+    private final Semaphore inFlightPermits;
+    private final ThreadLocal<Boolean> holdingPermit = ThreadLocal.withInitial(() -> false);
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxQueued;
+    private final int maxQueuedPerChat;
+
+    private final LongAdder submittedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder completedTasks = new LongAdder();
+
+    public ChatDispatchExecutor(DispatchProperties dispatchProperties) {
+        this.inFlightPermits = new Semaphore(dispatchProperties.getMaxInFlight());
+        this.maxQueued = dispatchProperties.getMaxQueued();
+        this.maxQueuedPerChat = dispatchProperties.getMaxQueuedPerChat();
+    }
+
+    /**
+     * Submit task for execution in lane of the chat.
+     *
+     * @param chatId id of chat (null for tasks without chat ordering).
+     * @param task task to execute.
+     * @return true if task accepted, false if it was rejected because of the limits.
+     */
+    public boolean execute(Long chatId, Runnable task) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            reject(chatId);
+            return false;
+        }
+
+        if (chatId == null) {
+            submittedTasks.increment();
+            executorService.execute(() -> run(task));
+            return true;
+        }
+
+        LaneSubmission submission = new LaneSubmission();
+        lanes.compute(chatId, (id, lane) -> {
+            if (lane == null) {
+                lane = new ChatLane();
+            }
+
+            if (lane.tasks.size() >= maxQueuedPerChat) {
+                return lane;
+            }
+
+            submission.accepted = true;
+            lane.tasks.add(task);
+            if (!lane.running) {
+                lane.running = true;
+                submission.startLane = true;
+            }
+
+            return lane;
+        });
+
+        if (!submission.accepted) {
+            queued.decrementAndGet();
+            reject(chatId);
+            return false;
+        }
+
+        submittedTasks.increment();
+        if (submission.startLane) {
+            executorService.execute(() -> drainLane(chatId));
+        }
+
+        return true;
+    }
+
+    /**
+     * Release the in-flight permit of the task executing by the current thread, so tasks of other chats can run while it waits.
+     * The lane of the chat is still held, so order of its tasks is kept.
+     *
+     * @return true if the permit was released and must be taken back by {@link #reacquirePermit()},
+     * false if the current thread does not hold a permit.
+     */
+    public boolean releasePermit() {
+        if (!holdingPermit.get()) {
+            return false;
+        }
+
+        holdingPermit.set(false);
+        inFlightPermits.release();
+
+        return true;
+    }
+
+    /**
+     * Take back the in-flight permit released by {@link #releasePermit()}.
+     */
+    public void reacquirePermit() {
+        inFlightPermits.acquireUninterruptibly();
+        holdingPermit.set(true);
+    }
+
+    public long getSubmittedTasks() {
+        return submittedTasks.sum();
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks.sum();
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks.sum();
+    }
+
+    public int getQueuedTasks() {
+        return queued.get();
+    }
+
+    public int getActiveLanes() {
+        return lanes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executorService.shutdown();
+        if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Dispatch executor is not terminated, {} tasks are still queued", queued.get());
+            executorService.shutdownNow();
+        }
+    }
+
+    private void drainLane(Long chatId) {
+        Runnable task = pollTask(chatId);
+        while (task != null) {
+            run(task);
+            task = pollTask(chatId);
+        }
+    }
+
+    /**
+     * Poll the next task of the chat lane. The lane is removed when there are no more tasks,
+     * so the next submission will start a new one.
+     */
+    private Runnable pollTask(Long chatId) {
+        LaneSubmission next = new LaneSubmission();
+        lanes.computeIfPresent(chatId, (id, lane) -> {
+            next.task = lane.tasks.poll();
+            if (next.task == null) {
+                return null;
+            }
+
+            return lane;
+        });
+
+        return next.task;
+    }
+
+    private void run(Runnable task) {
+        try {
+            inFlightPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued.decrementAndGet();
+            return;
+        }
+
+        queued.decrementAndGet();
+        holdingPermit.set(true);
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("Unexpected error of dispatched task: ", e);
+        } finally {
+            if (holdingPermit.get()) {
+                inFlightPermits.release();
+            }
+            holdingPermit.remove();
+            completedTasks.increment();
+        }
+    }
+
+    private void reject(Long chatId) {
+        rejectedTasks.increment();
+        log.warn("Dispatch queue is full, task for chat {} rejected (queued: {}, rejected total: {})",
+                chatId, queued.get(), rejectedTasks.sum());
+    }
+
+    private static class ChatLane {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+    }
+
+    private static class LaneSubmission {
+        private boolean accepted;
+        private boolean startLane;
+        private Runnable task;
+    }
+
+}
@@ -0,0 +1,229 @@
+package org.telegram.bot.services.executors;
+
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.config.telegram.TelegramSendProperties;
+import org.telegram.bot.domain.model.request.BotRequest;
+import org.telegram.bot.domain.model.request.Message;
+import org.telegram.bot.domain.model.response.EditResponse;
+import org.telegram.bot.domain.model.response.TextResponse;
+import org.telegram.bot.enums.BotSpeechTag;
+import org.telegram.bot.enums.FormattingStyle;
+import org.telegram.bot.exception.BotException;
+import org.telegram.bot.mapper.telegram.response.ResponseTelegramMapper;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.SpeechService;
+import org.telegram.bot.services.executors.telegram.EditMessageTextExecutor;
+import org.telegram.bot.services.executors.telegram.SendMessageExecutor;
+import org.telegram.bot.utils.TextUtils;
+import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.telegram.bot.utils.TextUtils.TELEGRAM_MESSAGE_TEXT_MAX_LENGTH;
+
+/**
+ * Delivery of responses which are generated gradually (e.g. completions of language models).
+ * Generation is executed on a bounded pool of virtual threads, so the worker of chat lane is not held while waiting for it.
+ * The pool is not larger than the per-host limit of the shared http client, because generations use connections to one host.
+ * Generations of one chat are executed one after another, so they do not race on its conversation history.
+ * The first part of text is sent as reply, next parts edit this message not more often than once per interval.
+ * In group chats the interval is not less than the one allowed by the per-minute limit of edits in the group.
+ * Partial texts are sent without formatting, because their markup may be unclosed yet.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StreamingResponseExecutor {
+
+    @Value("${streamingEditIntervalMillis:1500}")
+    private long editIntervalMillis;
+
+    @Value("${streamingMaxGenerations:8}")
+    private int maxGenerations;
+
+    @Value("${httpClientMaxConnectionsPerHost:10}")
+    private int maxConnectionsPerHost;
+
+    private final ResponseTelegramMapper responseTelegramMapper;
+    private final SendMessageExecutor sendMessageExecutor;
+    private final EditMessageTextExecutor editMessageTextExecutor;
+    private final SpeechService speechService;
+    private final BotStats botStats;
+    private final TelegramSendProperties telegramSendProperties;
+    private final Clock clock;
+
+    private final Map<Long, CompletableFuture<Void>> chatGenerations = new ConcurrentHashMap<>();
+    private ExecutorService executorService;
+
+    /**
+     * Start generation of response to request. Errors of generation are sent instead of response.
+     *
+     * @param request handling request.
+     * @param generation generation of response which puts its parts into stream and completes it.
+     */
+    public void execute(BotRequest request, Consumer<ResponseStream> generation) {
+        ExecutorService generationExecutorService = getExecutorService();
+        Long chatId = request.getMessage().getChatId();
+
+        CompletableFuture<Void> chatGeneration = chatGenerations.compute(chatId, (id, previousGeneration) -> previousGeneration == null
+                ? CompletableFuture.runAsync(() -> generate(request, generation), generationExecutorService)
+                : previousGeneration.handleAsync((result, e) -> {
+                    generate(request, generation);
+                    return null;
+                }, generationExecutorService));
+        chatGeneration.whenComplete((result, e) -> chatGenerations.remove(chatId, chatGeneration));
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            if (maxGenerations > maxConnectionsPerHost) {
+                log.warn("streamingMaxGenerations {} is limited by httpClientMaxConnectionsPerHost {}", maxGenerations, maxConnectionsPerHost);
+            }
+            executorService = Executors.newFixedThreadPool(
+                    Math.min(maxGenerations, maxConnectionsPerHost), Thread.ofVirtual().name("streaming-", 0).factory());
+        }
+
+        return executorService;
+    }
+
+    private long getEditIntervalMillis(Long chatId) {
+        if (chatId > 0) {
+            return editIntervalMillis;
+        }
+
+        return Math.max(editIntervalMillis, TimeUnit.MINUTES.toMillis(1) / telegramSendProperties.getGroupChatEditsPerMinute());
+    }
+
+    private void generate(BotRequest request, Consumer<ResponseStream> generation) {
+        ResponseStream responseStream = new ResponseStream(request);
+        try {
+            generation.accept(responseStream);
+        } catch (BotException e) {
+            responseStream.complete(e.getMessage(), null);
+        } catch (Exception e) {
+            if (e.getCause() instanceof BotException cause) {
+                responseStream.complete(cause.getMessage(), null);
+                return;
+            }
+
+            botStats.incrementErrors(request, e, "Unexpected error of streaming response");
+            log.error("Unexpected error of streaming response: ", e);
+            responseStream.complete(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR), null);
+        }
+    }
+
+    private void execute(PartialBotApiMethod<?> method, BotRequest request) {
+        if (method.getMethod().equals(editMessageTextExecutor.getMethod())) {
+            editMessageTextExecutor.executeMethod(method, request);
+        } else {
+            sendMessageExecutor.executeMethod(method, request);
+        }
+        botStats.incrementSentMethods(method.getMethod());
+    }
+
+    /**
+     * Message of response which is updated while response is generating.
+     */
+    public class ResponseStream {
+
+        private final BotRequest request;
+        private final Message message;
+        private final long editIntervalMillis;
+        private Integer messageId;
+        private String sentText;
+        private long lastSendingMillis = Long.MIN_VALUE;
+        private boolean completed = false;
+
+        private ResponseStream(BotRequest request) {
+            this.request = request;
+            this.message = request.getMessage();
+            this.editIntervalMillis = getEditIntervalMillis(message.getChatId());
+        }
+
+        /**
+         * Show partial text of response. Skipped if the previous part was shown less than interval ago.
+         *
+         * @param text whole text generated so far.
+         */
+        public void update(String text) {
+            if (completed || text == null || text.isBlank()) {
+                return;
+            }
+
+            long now = clock.millis();
+            if (lastSendingMillis != Long.MIN_VALUE && now - lastSendingMillis < editIntervalMillis) {
+                return;
+            }
+
+            text = TextUtils.cutIfLongerThan(text, TELEGRAM_MESSAGE_TEXT_MAX_LENGTH);
+            if (text.equals(sentText)) {
+                return;
+            }
+
+            lastSendingMillis = now;
+            sentText = text;
+            if (messageId == null) {
+                messageId = sendMessageExecutor.executeMethodAndGetMessageId(
+                        responseTelegramMapper.toTelegramMethod(new TextResponse(message).setText(text)), request);
+                botStats.incrementSentMethods(sendMessageExecutor.getMethod());
+            } else {
+                execute(responseTelegramMapper.toTelegramMethod(new EditResponse(message)
+                        .setEditableMessageId(messageId)
+                        .setText(text)), request);
+            }
+        }
+
+        /**
+         * Show final text of response. Text longer than the limit of telegram is continued by new messages.
+         *
+         * @param text final text of response.
+         * @param formattingStyle formatting of text.
+         */
+        public void complete(String text, @Nullable FormattingStyle formattingStyle) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+
+            if (messageId == null) {
+                execute(responseTelegramMapper.toTelegramMethod(new TextResponse(message)
+                        .setText(text)
+                        .setResponseSettings(formattingStyle)), request);
+                return;
+            }
+
+            List<String> parts = TextUtils.splitTextByTelegramMaxLength(text);
+            execute(responseTelegramMapper.toTelegramMethod(new EditResponse(message)
+                    .setEditableMessageId(messageId)
+                    .setText(parts.getFirst())
+                    .setResponseSettings(formattingStyle)), request);
+
+            parts.stream().skip(1).forEach(part -> execute(responseTelegramMapper.toTelegramMethod(new TextResponse()
+                    .setChatId(message.getChatId())
+                    .setText(part)
+                    .setResponseSettings(formattingStyle)), request));
+        }
+
+    }
+
+}
@@ -0,0 +1,425 @@
+package org.telegram.bot.services.executors;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.config.telegram.TelegramSendProperties;
+import org.telegram.telegrambots.meta.api.objects.ResponseParameters;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Central scheduler of outbound telegram methods.
+ * Sending is allowed by token buckets: global, per private chat and per group chat.
+ * Edits and deletes of messages are limited by their own buckets of chat, so they do not take the limit of new messages.
+ * Waiting methods are granted in order of priority, so interactive replies are sent before broadcasts of timers.
+ * Waiting methods are indexed by bucket, only the first one of each bucket is checked while granting.
+ * Methods rejected with "Too Many Requests" are repeated after retry_after.
+ * Dispatched task does not hold its in-flight permit while waiting for the permission to send.
+ */
+@Component
+@Slf4j
+public class TelegramSendScheduler {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final long IDLE_BUCKETS_CLEANUP_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private static final Comparator<PendingSend> PENDING_ORDER = Comparator
+            .comparing(PendingSend::priority)
+            .thenComparingLong(PendingSend::sequence);
+
+    private final Map<BucketKey, NavigableSet<PendingSend>> pendingByBucket = new HashMap<>();
+    private final NavigableSet<PendingSend> pendingHeads = new TreeSet<>(PENDING_ORDER);
+    private int pendingCount;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final TokenBucket globalBucket;
+    private final Map<BucketKey, TokenBucket> chatBuckets = new HashMap<>();
+    private final TelegramSendProperties telegramSendProperties;
+    private final ChatDispatchExecutor chatDispatchExecutor;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public TelegramSendScheduler(TelegramSendProperties telegramSendProperties, ChatDispatchExecutor chatDispatchExecutor) {
+        this.telegramSendProperties = telegramSendProperties;
+        this.chatDispatchExecutor = chatDispatchExecutor;
+        this.globalBucket = new TokenBucket(telegramSendProperties.getGlobalPerSecond(), TimeUnit.SECONDS.toNanos(1));
+        this.dispatcher = Thread.ofPlatform().name("telegram-send-scheduler").daemon().start(this::dispatch);
+    }
+
+    public enum Priority {
+        /**
+         * Responses to incoming messages.
+         */
+        INTERACTIVE,
+        /**
+         * Messages of timers and broadcasts.
+         */
+        BACKGROUND
+    }
+
+    public enum Operation {
+        /**
+         * Sending of new messages.
+         */
+        SENDING,
+        /**
+         * Editing and deleting of sent messages.
+         */
+        EDITING
+    }
+
+    @FunctionalInterface
+    public interface TelegramCall<T> {
+        T execute() throws TelegramApiException;
+    }
+
+    /**
+     * Wait for the permission to send to the chat and execute the call.
+     *
+     * @param chatId id of the chat (may be username of channel).
+     * @param priority priority of the call.
+     * @param call sending of telegram method.
+     * @return result of the call.
+     * @param <T> type of result.
+     * @throws TelegramApiException if sending failed or it was still limited after retries.
+     */
+    public <T> T execute(String chatId, Priority priority, TelegramCall<T> call) throws TelegramApiException {
+        return execute(chatId, priority, Operation.SENDING, call);
+    }
+
+    /**
+     * Wait for the permission to send to the chat and execute the call.
+     *
+     * @param chatId id of the chat (may be username of channel).
+     * @param priority priority of the call.
+     * @param operation kind of the call, which defines the limit of the chat.
+     * @param call sending of telegram method.
+     * @return result of the call.
+     * @param <T> type of result.
+     * @throws TelegramApiException if sending failed or it was still limited after retries.
+     */
+    public <T> T execute(String chatId, Priority priority, Operation operation, TelegramCall<T> call) throws TelegramApiException {
+        Long id = parseChatId(chatId);
+        BucketKey bucketKey = new BucketKey(id, operation);
+
+        int attempt = 0;
+        while (true) {
+            acquire(bucketKey, priority);
+            try {
+                return call.execute();
+            } catch (TelegramApiRequestException e) {
+                Integer retryAfter = getRetryAfter(e);
+                if (retryAfter == null || attempt >= telegramSendProperties.getMaxRetries()) {
+                    throw e;
+                }
+
+                attempt = attempt + 1;
+                log.warn("Too many requests to chat {}, retry after {} seconds (attempt {})", chatId, retryAfter, attempt);
+                pause(id, retryAfter);
+            }
+        }
+    }
+
+    /**
+     * Check if sending failed by "Too Many Requests", so it was already repeated as many times as allowed.
+     * Sending of another method into the same chat would be rejected too.
+     *
+     * @param e exception of sending.
+     * @return true if sending was limited by telegram.
+     */
+    public static boolean isTooManyRequests(TelegramApiException e) {
+        return e instanceof TelegramApiRequestException requestException && getRetryAfter(requestException) != null;
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pendingCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+    }
+
+    private void acquire(BucketKey bucketKey, Priority priority) throws TelegramApiException {
+        Long chatId = bucketKey.chatId();
+        PendingSend pendingSend = new PendingSend(bucketKey, priority, sequence.incrementAndGet(), new CompletableFuture<>());
+
+        lock.lock();
+        try {
+            if (!running) {
+                throw new TelegramApiException("Sending to chat " + chatId + " is stopped");
+            }
+            addPending(pendingSend);
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        boolean permitReleased = chatDispatchExecutor.releasePermit();
+        try {
+            pendingSend.permit().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(pendingSend);
+            throw new TelegramApiException("Interrupted while waiting for sending to chat " + chatId);
+        } catch (ExecutionException | CancellationException e) {
+            throw new TelegramApiException("Sending to chat " + chatId + " was cancelled", e);
+        } finally {
+            if (permitReleased) {
+                chatDispatchExecutor.reacquirePermit();
+            }
+        }
+    }
+
+    private void cancel(PendingSend pendingSend) {
+        lock.lock();
+        try {
+            removePending(pendingSend);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addPending(PendingSend pendingSend) {
+        NavigableSet<PendingSend> bucketPending = pendingByBucket.computeIfAbsent(pendingSend.bucketKey(), key -> new TreeSet<>(PENDING_ORDER));
+        PendingSend head = bucketPending.isEmpty() ? null : bucketPending.first();
+        bucketPending.add(pendingSend);
+        pendingCount = pendingCount + 1;
+
+        if (head == null) {
+            pendingHeads.add(pendingSend);
+        } else if (PENDING_ORDER.compare(pendingSend, head) < 0) {
+            pendingHeads.remove(head);
+            pendingHeads.add(pendingSend);
+        }
+    }
+
+    private void removePending(PendingSend pendingSend) {
+        NavigableSet<PendingSend> bucketPending = pendingByBucket.get(pendingSend.bucketKey());
+        if (bucketPending == null || !bucketPending.remove(pendingSend)) {
+            return;
+        }
+        pendingCount = pendingCount - 1;
+
+        if (pendingHeads.remove(pendingSend)) {
+            if (bucketPending.isEmpty()) {
+                pendingByBucket.remove(pendingSend.bucketKey());
+            } else {
+                pendingHeads.add(bucketPending.first());
+            }
+        }
+    }
+
+    private void pause(Long chatId, int retryAfterSeconds) {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(retryAfterSeconds);
+
+        lock.lock();
+        try {
+            if (chatId == null) {
+                globalBucket.pauseUntil(until);
+            } else {
+                for (Operation operation : Operation.values()) {
+                    getChatBucket(new BucketKey(chatId, operation)).pauseUntil(until);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        long lastCleanup = System.nanoTime();
+
+        lock.lock();
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                long waitNanos = grantNext(now);
+                if (waitNanos == 0) {
+                    continue;
+                }
+
+                if (now - lastCleanup > IDLE_BUCKETS_CLEANUP_NANOS) {
+                    chatBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+                    lastCleanup = now;
+                }
+
+                if (waitNanos == Long.MAX_VALUE) {
+                    changed.await();
+                } else {
+                    changed.awaitNanos(waitNanos);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pendingByBucket.values().forEach(bucketPending -> bucketPending.forEach(pendingSend -> pendingSend.permit().cancel(false)));
+            pendingByBucket.clear();
+            pendingHeads.clear();
+            pendingCount = 0;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grant the permission to the first waiting call that is not limited. Only the first calls of buckets are checked,
+     * because the next calls of the same bucket are limited while the first one is.
+     *
+     * @param now current nano time.
+     * @return 0 if permission was granted, otherwise time to wait for the next token.
+     */
+    private long grantNext(long now) {
+        if (pendingHeads.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+
+        long globalWait = globalBucket.nanosToToken(now);
+        if (globalWait > 0) {
+            return globalWait;
+        }
+
+        long waitNanos = Long.MAX_VALUE;
+        for (PendingSend pendingSend : pendingHeads) {
+            TokenBucket chatBucket = pendingSend.bucketKey().chatId() == null ? null : getChatBucket(pendingSend.bucketKey());
+            long chatWait = chatBucket == null ? 0 : chatBucket.nanosToToken(now);
+            if (chatWait == 0) {
+                globalBucket.take(now);
+                if (chatBucket != null) {
+                    chatBucket.take(now);
+                }
+
+                removePending(pendingSend);
+                pendingSend.permit().complete(null);
+
+                return 0;
+            }
+
+            waitNanos = Math.min(waitNanos, chatWait);
+        }
+
+        return waitNanos;
+    }
+
+    private TokenBucket getChatBucket(BucketKey bucketKey) {
+        return chatBuckets.computeIfAbsent(bucketKey, key -> {
+            if (key.chatId() > 0) {
+                return new TokenBucket(telegramSendProperties.getPrivateChatPerSecond(), TimeUnit.SECONDS.toNanos(1));
+            }
+            if (Operation.EDITING.equals(key.operation())) {
+                return new TokenBucket(telegramSendProperties.getGroupChatEditsPerMinute(), TimeUnit.MINUTES.toNanos(1));
+            }
+            return new TokenBucket(telegramSendProperties.getGroupChatPerMinute(), TimeUnit.MINUTES.toNanos(1));
+        });
+    }
+
+    private static Integer getRetryAfter(TelegramApiRequestException e) {
+        ResponseParameters parameters = e.getParameters();
+        if (parameters == null || parameters.getRetryAfter() == null) {
+            if (e.getErrorCode() != null && e.getErrorCode() == TOO_MANY_REQUESTS) {
+                return 1;
+            }
+            return null;
+        }
+
+        return parameters.getRetryAfter();
+    }
+
+    private static Long parseChatId(String chatId) {
+        if (chatId == null) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(chatId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record BucketKey(Long chatId, Operation operation) {
+    }
+
+    private record PendingSend(BucketKey bucketKey, Priority priority, long sequence, CompletableFuture<Void> permit) {
+    }
+
+    /**
+     * Token bucket with capacity of permits per period. Not thread-safe, guarded by the lock of scheduler.
+     */
+    private static class TokenBucket {
+        private final int capacity;
+        private final double nanosPerToken;
+        private double tokens;
+        private long lastRefill;
+        private long pausedUntil;
+
+        private TokenBucket(int capacity, long periodNanos) {
+            this.capacity = capacity;
+            this.nanosPerToken = (double) periodNanos / capacity;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+            this.pausedUntil = lastRefill;
+        }
+
+        private long nanosToToken(long now) {
+            if (pausedUntil - now > 0) {
+                return pausedUntil - now;
+            }
+
+            refill(now);
+            if (tokens >= 1) {
+                return 0;
+            }
+
+            return Math.max((long) Math.ceil((1 - tokens) * nanosPerToken), 1);
+        }
+
+        private void take(long now) {
+            refill(now);
+            tokens = tokens - 1;
+        }
+
+        private void pauseUntil(long until) {
+            if (until - pausedUntil > 0) {
+                pausedUntil = until;
+                lastRefill = until;
+            }
+            tokens = 0;
+        }
+
+        private boolean isIdle(long now) {
+            refill(now);
+            return tokens >= capacity && pausedUntil - now <= 0;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed / nanosPerToken);
+                lastRefill = now;
+            }
+        }
+    }
+
+}
@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.telegram.bot.config.ConditionalOnPropertyNotEmpty;
 import org.telegram.bot.domain.entities.Chat;
-import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.domain.entities.UserEmail;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.response.BotResponse;
@@ -12,7 +11,6 @@ import org.telegram.bot.domain.model.response.EmailResponse;
 import org.telegram.bot.mapper.email.response.ResponseEmailMapper;
 import org.telegram.bot.services.*;
 import org.telegram.bot.services.email.EmailSender;
-import org.telegram.bot.utils.EmailUtils;
 
 import java.util.List;
 
@@ -22,7 +20,6 @@ import java.util.List;
 public class EmailExecutorImpl implements EmailExecutor {
 
     private final ChatService chatService;
-    private final UserStatsService userStatsService;
     private final UserEmailService userEmailService;
     private final LanguageResolver languageResolver;
     private final InternationalizationService internationalizationService;
@@ -35,11 +32,7 @@ public class EmailExecutorImpl implements EmailExecutor {
             return;
         }
 
-        List<User> chatUsers = userStatsService.getUsersOfChat(request.getMessage().getChat());
-        List<UserEmail> usersEmails = userEmailService.getByUsers(chatUsers)
-                .stream()
-                .filter(EmailUtils::isShippingEnabled)
-                .toList();
+        List<UserEmail> usersEmails = userEmailService.getShippingEnabled(request.getMessage().getChat());
         if (usersEmails.isEmpty()) {
             return;
         }
@@ -49,7 +42,7 @@ public class EmailExecutorImpl implements EmailExecutor {
         responseEmailMapper.toEmailResponse(botResponses, usersEmails)
                 .stream()
                 .map(emailResponse -> internationalizationService.internationalize(emailResponse, lang))
-                .forEach(emailSender::sendMail);
+                .forEach(emailSender::addToDigest);
     }
 
     @Override
@@ -59,11 +52,7 @@ public class EmailExecutorImpl implements EmailExecutor {
         }
 
         Chat chat = chatService.get(botResponse.getChatId());
-        List<User> chatUsers = userStatsService.getUsersOfChat(chat);
-        List<UserEmail> usersEmails = userEmailService.getByUsers(chatUsers)
-                .stream()
-                .filter(EmailUtils::isShippingEnabled)
-                .toList();
+        List<UserEmail> usersEmails = userEmailService.getShippingEnabled(chat);
         if (usersEmails.isEmpty()) {
             return;
         }
@@ -72,7 +61,7 @@ public class EmailExecutorImpl implements EmailExecutor {
         EmailResponse emailResponse = responseEmailMapper.toEmailResponse(botResponse, usersEmails);
         emailResponse = internationalizationService.internationalize(emailResponse, lang);
 
-        emailSender.sendMail(emailResponse);
+        emailSender.addToDigest(emailResponse);
     }
 
 }
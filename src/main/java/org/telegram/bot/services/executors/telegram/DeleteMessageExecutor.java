@@ -5,17 +5,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.updatingmessages.DeleteMessage;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class DeleteMessageExecutor implements TelegramMethodExecutor {
 
-    private final TelegramClient telegramClient;
+    private final TelegramSender telegramSender;
     private final BotStats botStats;
 
     @Override
@@ -29,7 +29,7 @@ public class DeleteMessageExecutor implements TelegramMethodExecutor {
         log.info("Deleting message {}", deleteMessage.getMessageId());
 
         try {
-            telegramClient.execute(deleteMessage);
+            telegramSender.send(deleteMessage, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             if (isError(e)) {
                 botStats.incrementErrors(request, method, e, "error sending response");
@@ -47,7 +47,7 @@ public class DeleteMessageExecutor implements TelegramMethodExecutor {
         log.info("Deleting message {}", deleteMessage.getMessageId());
 
         try {
-            telegramClient.execute(deleteMessage);
+            telegramSender.send(deleteMessage, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
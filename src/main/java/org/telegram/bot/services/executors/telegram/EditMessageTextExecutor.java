@@ -8,17 +8,20 @@ import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.InternationalizationService;
 import org.telegram.bot.services.LanguageResolver;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
+import org.telegram.bot.utils.TextUtils;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class EditMessageTextExecutor implements TelegramMethodExecutor {
 
-    private final TelegramClient telegramClient;
+    private static final String PARSING_ENTITIES_ERROR = "can't parse entities";
+
+    private final TelegramSender telegramSender;
     private final BotStats botStats;
     private final LanguageResolver languageResolver;
     private final InternationalizationService internationalizationService;
@@ -36,12 +39,15 @@ public class EditMessageTextExecutor implements TelegramMethodExecutor {
         log.info("To {}: edited message {}", message.getChatId(), editMessageText.getText());
 
         try {
-            telegramClient.execute(editMessageText);
+            telegramSender.send(editMessageText, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             if (isError(e)) {
                 botStats.incrementErrors(request, method, e, "error sending response");
             }
             log.error("Error: cannot send response: {}", e.getMessage());
+            if (editMessageText.getParseMode() != null && isParsingEntitiesError(e)) {
+                tryToSendWithoutMarkdown(editMessageText, Priority.INTERACTIVE);
+            }
         } catch (Exception e) {
             botStats.incrementErrors(request, method, e, "unexpected error");
             log.error("Unexpected error: ", e);
@@ -60,7 +66,7 @@ public class EditMessageTextExecutor implements TelegramMethodExecutor {
         log.info("To {}: edited message {}", chatId, editMessageText.getText());
 
         try {
-            telegramClient.execute(editMessageText);
+            telegramSender.send(editMessageText, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -69,4 +75,21 @@ public class EditMessageTextExecutor implements TelegramMethodExecutor {
             log.error("Unexpected error: ", e);
         }
     }
+
+    private void tryToSendWithoutMarkdown(EditMessageText editMessageText, Priority priority) {
+        editMessageText.setText(TextUtils.cutHtmlTags(editMessageText.getText()));
+        editMessageText.setParseMode(null);
+
+        try {
+            telegramSender.send(editMessageText, priority);
+        } catch (TelegramApiException e) {
+            botStats.incrementErrors(editMessageText, e, "error sending response");
+            log.error("Failed to edit message after clearing markdown: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isParsingEntitiesError(TelegramApiException e) {
+        String errorMessage = e.getMessage();
+        return errorMessage != null && errorMessage.contains(PARSING_ENTITIES_ERROR);
+    }
 }
@@ -6,19 +6,21 @@ import org.springframework.stereotype.Service;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.MediaFileIdCache;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendAudio;
-import org.telegram.telegrambots.meta.api.methods.send.SendVoice;
+import org.telegram.telegrambots.meta.api.objects.InputFile;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class SendAudioExecutor implements TelegramMethodExecutor {
 
-    private final TelegramClient telegramClient;
+    private final TelegramSender telegramSender;
     private final BotStats botStats;
+    private final MediaFileIdCache mediaFileIdCache;
 
     @Override
     public String getMethod() {
@@ -32,7 +34,7 @@ public class SendAudioExecutor implements TelegramMethodExecutor {
         log.info("To {}: {}", message.getChatId(), sendAudio.getCaption());
 
         try {
-            telegramClient.execute(sendAudio);
+            send(sendAudio, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(request, method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -44,11 +46,11 @@ public class SendAudioExecutor implements TelegramMethodExecutor {
 
     @Override
     public void executeMethod(PartialBotApiMethod<?> method) {
-        SendVoice sendVoice = (SendVoice) method;
-        log.info("To {}: {}", sendVoice.getChatId(), sendVoice.getCaption());
+        SendAudio sendAudio = (SendAudio) method;
+        log.info("To {}: {}", sendAudio.getChatId(), sendAudio.getCaption());
 
         try {
-            telegramClient.execute(sendVoice);
+            send(sendAudio, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -57,4 +59,13 @@ public class SendAudioExecutor implements TelegramMethodExecutor {
             log.error("Unexpected error: ", e);
         }
     }
+
+    private void send(SendAudio sendAudio, Priority priority) throws TelegramApiException {
+        org.telegram.telegrambots.meta.api.objects.message.Message sent = telegramSender.send(sendAudio, priority);
+
+        InputFile audio = sendAudio.getAudio();
+        if (audio.isNew() && audio.getNewMediaFile() != null && sent != null && sent.getAudio() != null) {
+            mediaFileIdCache.sent(audio.getNewMediaFile(), sent.getAudio().getFileId());
+        }
+    }
 }
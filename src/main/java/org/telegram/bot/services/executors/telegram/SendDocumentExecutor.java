@@ -8,17 +8,17 @@ import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.InternationalizationService;
 import org.telegram.bot.services.LanguageResolver;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendDocument;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class SendDocumentExecutor implements TelegramMethodExecutor {
 
-    private final TelegramClient telegramClient;
+    private final TelegramSender telegramSender;
     private final BotStats botStats;
     private final LanguageResolver languageResolver;
     private final InternationalizationService internationalizationService;
@@ -36,7 +36,7 @@ public class SendDocumentExecutor implements TelegramMethodExecutor {
         log.info("To {}: sending document {}", message.getChatId(), sendDocument.getCaption());
 
         try {
-            telegramClient.execute(sendDocument);
+            telegramSender.send(sendDocument, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(request, method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -58,7 +58,7 @@ public class SendDocumentExecutor implements TelegramMethodExecutor {
         log.info("To {}: sending document {}", chatId, sendDocument.getCaption());
 
         try {
-            telegramClient.execute(sendDocument);
+            telegramSender.send(sendDocument, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -67,4 +67,18 @@ public class SendDocumentExecutor implements TelegramMethodExecutor {
             log.error("Unexpected error: ", e);
         }
     }
+
+    /**
+     * Send document and wait for the result.
+     *
+     * @param method SendDocument method.
+     * @throws TelegramApiException if sending failed.
+     */
+    public void sendAndWait(PartialBotApiMethod<?> method) throws TelegramApiException {
+        SendDocument sendDocument = (SendDocument) method;
+        sendDocument = internationalizationService.internationalize(sendDocument, languageResolver.getChatLanguageCode(sendDocument.getChatId()));
+
+        log.info("To {}: sending document {}", sendDocument.getChatId(), sendDocument.getCaption());
+        telegramSender.send(sendDocument, Priority.BACKGROUND);
+    }
 }
@@ -6,17 +6,17 @@ import org.springframework.stereotype.Service;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendLocation;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class SendLocationExecutor implements TelegramMethodExecutor {
 
-    private final TelegramClient telegramClient;
+    private final TelegramSender telegramSender;
     private final BotStats botStats;
 
     @Override
@@ -31,7 +31,7 @@ public class SendLocationExecutor implements TelegramMethodExecutor {
         log.info("To {}: {} {}", message.getChatId(), sendLocation.getLatitude(), sendLocation.getLongitude());
 
         try {
-            telegramClient.execute(sendLocation);
+            telegramSender.send(sendLocation, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(request, method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -47,7 +47,7 @@ public class SendLocationExecutor implements TelegramMethodExecutor {
         log.info("To {}: {} {}", sendLocation.getChatId(), sendLocation.getLatitude(), sendLocation.getLongitude());
 
         try {
-            telegramClient.execute(sendLocation);
+            telegramSender.send(sendLocation, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -8,6 +8,8 @@ import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.InternationalizationService;
 import org.telegram.bot.services.LanguageResolver;
+import org.telegram.bot.services.executors.TelegramSendScheduler;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendMediaGroup;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
@@ -15,14 +17,13 @@ import org.telegram.telegrambots.meta.api.methods.send.SendPhoto;
 import org.telegram.telegrambots.meta.api.objects.InputFile;
 import org.telegram.telegrambots.meta.api.objects.media.InputMedia;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class SendMediaGroupExecutor implements TelegramMethodExecutor {
 
-    private final TelegramClient telegramClient;
+    private final TelegramSender telegramSender;
     private final BotStats botStats;
     private final LanguageResolver languageResolver;
     private final InternationalizationService internationalizationService;
@@ -39,10 +40,12 @@ public class SendMediaGroupExecutor implements TelegramMethodExecutor {
         log.info("To {}: sending photos {}", message.getChatId(), sendMediaGroup);
 
         try {
-            telegramClient.execute(sendMediaGroup);
+            telegramSender.send(sendMediaGroup, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(sendMediaGroup, e, "Failed to send media group");
-            tryToSendOnePhoto(sendMediaGroup);
+            if (!TelegramSendScheduler.isTooManyRequests(e)) {
+                tryToSendOnePhoto(sendMediaGroup, Priority.INTERACTIVE);
+            }
         } catch (Exception e) {
             botStats.incrementErrors(request, method, e, "unexpected error");
             log.error("Unexpected error: ", e);
@@ -55,17 +58,19 @@ public class SendMediaGroupExecutor implements TelegramMethodExecutor {
         log.info("To {}: sending photos {}", sendMediaGroup.getChatId(), sendMediaGroup);
 
         try {
-            telegramClient.execute(sendMediaGroup);
+            telegramSender.send(sendMediaGroup, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(sendMediaGroup, e, "Failed to send media group");
-            tryToSendOnePhoto(sendMediaGroup);
+            if (!TelegramSendScheduler.isTooManyRequests(e)) {
+                tryToSendOnePhoto(sendMediaGroup, Priority.BACKGROUND);
+            }
         } catch (Exception e) {
             botStats.incrementErrors(method, e, "unexpected error");
             log.error("Unexpected error: ", e);
         }
     }
 
-    private void tryToSendOnePhoto(SendMediaGroup sendMediaGroup) {
+    private void tryToSendOnePhoto(SendMediaGroup sendMediaGroup, Priority priority) {
         StringBuilder buf = new StringBuilder("${executor.sendmeadiagroup.otherpictures}: \n");
         sendMediaGroup.getMedias().stream().skip(1).forEach(inputMedia -> buf.append(inputMedia.getCaption()).append("\n"));
 
@@ -81,7 +86,7 @@ public class SendMediaGroupExecutor implements TelegramMethodExecutor {
         internationalizationService.internationalize(sendPhoto, languageResolver.getChatLanguageCode(sendPhoto.getChatId()));
 
         try {
-            telegramClient.execute(sendPhoto);
+            telegramSender.send(sendPhoto, priority);
         } catch (TelegramApiException telegramApiException) {
             botStats.incrementErrors(sendMediaGroup, telegramApiException, "Failed to send media group");
 
@@ -92,7 +97,7 @@ public class SendMediaGroupExecutor implements TelegramMethodExecutor {
             internationalizationService.internationalize(sendMessage, languageResolver.getChatLanguageCode(sendPhoto.getChatId()));
 
             try {
-                telegramClient.execute(sendMessage);
+                telegramSender.send(sendMessage, priority);
             } catch (TelegramApiException e) {
                 botStats.incrementErrors(sendMediaGroup, e, "Failed to send media group");
                 log.error("Still failed to send response: {}", e.getMessage());
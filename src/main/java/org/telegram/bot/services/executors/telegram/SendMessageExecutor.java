@@ -1,5 +1,6 @@
 package org.telegram.bot.services.executors.telegram;
 
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -9,12 +10,12 @@ import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.InternationalizationService;
 import org.telegram.bot.services.LanguageResolver;
-import org.telegram.bot.utils.ObjectCopier;
+import org.telegram.bot.services.executors.TelegramSendScheduler;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
 import org.telegram.bot.utils.TextUtils;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
@@ -26,8 +27,7 @@ public class SendMessageExecutor implements TelegramMethodExecutor {
     private final BotStats botStats;
     private final LanguageResolver languageResolver;
     private final InternationalizationService internationalizationService;
-    private final ObjectCopier objectCopier;
-    private final TelegramClient telegramClient;
+    private final TelegramSender telegramSender;
 
     @Override
     public String getMethod() {
@@ -53,11 +53,7 @@ public class SendMessageExecutor implements TelegramMethodExecutor {
         if (TextUtils.isNotTextLengthIncludedInLimit(messageText)) {
             TextUtils.splitTextByTelegramMaxLength(messageText)
                     .stream()
-                    .map(text -> {
-                        SendMessage splittedSendMessage = objectCopier.copyObject(sendMessage, SendMessage.class);
-                        splittedSendMessage.setText(text);
-                        return splittedSendMessage;
-                    })
+                    .map(text -> copyWithText(sendMessage, text))
                     .forEach(splittedSendMessage -> sendMessage(splittedSendMessage, method, request));
         } else {
             sendMessage(sendMessage, method, request);
@@ -66,27 +62,64 @@ public class SendMessageExecutor implements TelegramMethodExecutor {
 
     private void sendMessage(SendMessage sendMessage, PartialBotApiMethod<?> method, BotRequest botRequest) {
         try {
-            telegramClient.execute(sendMessage);
+            telegramSender.send(sendMessage, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             if (isError(e)) {
                 botStats.incrementErrors(botRequest, method, e, "error sending response");
             }
             log.error("Error: cannot send response: {}", e.getMessage());
-            tryToSendAgain(sendMessage);
+            if (!TelegramSendScheduler.isTooManyRequests(e)) {
+                tryToSendAgain(sendMessage, Priority.INTERACTIVE);
+            }
         } catch (Exception e) {
             botStats.incrementErrors(botRequest, method, e, "unexpected error");
             log.error("Unexpected error: ", e);
         }
     }
 
+    /**
+     * Send message in response to request and get id of sent message, e.g. for editing it later.
+     * Text of message must be included in the limit of telegram.
+     *
+     * @param method sending message.
+     * @param request handling request.
+     * @return id of sent message or null if it was not sent.
+     */
+    @Nullable
+    public Integer executeMethodAndGetMessageId(PartialBotApiMethod<?> method, BotRequest request) {
+        String lang = languageResolver.getChatLanguageCode(request);
+        SendMessage sendMessage = internationalizationService.internationalize((SendMessage) method, lang);
+        log.info("To {}: {}", sendMessage.getChatId(), sendMessage.getText());
+
+        try {
+            org.telegram.telegrambots.meta.api.objects.message.Message sent = telegramSender.send(sendMessage, Priority.INTERACTIVE);
+            if (sent != null) {
+                return sent.getMessageId();
+            }
+        } catch (TelegramApiException e) {
+            if (isError(e)) {
+                botStats.incrementErrors(request, method, e, "error sending response");
+            }
+            log.error("Error: cannot send response: {}", e.getMessage());
+        } catch (Exception e) {
+            botStats.incrementErrors(request, method, e, "unexpected error");
+            log.error("Unexpected error: ", e);
+        }
+
+        return null;
+    }
+
     @Override
     public void executeMethod(PartialBotApiMethod<?> method) {
         SendMessage sendMessage = (SendMessage) method;
+        String lang = languageResolver.getChatLanguageCode(sendMessage.getChatId());
 
-        String chatId = sendMessage.getChatId();
-        String lang = languageResolver.getChatLanguageCode(chatId);
+        executeInternationalizedMethod(internationalizationService.internationalize(sendMessage, lang));
+    }
 
-        sendMessage = internationalizationService.internationalize(sendMessage, lang);
+    @Override
+    public void executeInternationalizedMethod(PartialBotApiMethod<?> method) {
+        SendMessage sendMessage = (SendMessage) method;
 
         String messageText = sendMessage.getText();
         if (!StringUtils.hasLength(messageText)) {
@@ -95,32 +128,34 @@ public class SendMessageExecutor implements TelegramMethodExecutor {
             botStats.incrementErrors(sendMessage, errorMessage);
             return;
         }
-        log.info("To {}: {}", chatId, messageText);
+        log.info("To {}: {}", sendMessage.getChatId(), messageText);
 
         try {
-            telegramClient.execute(sendMessage);
+            telegramSender.send(sendMessage, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(method, e, DEFAULT_ERROR_MESSAGE);
             log.error("Error: cannot send response: {}", e.getMessage());
-            tryToSendAgain(sendMessage);
+            if (!TelegramSendScheduler.isTooManyRequests(e)) {
+                tryToSendAgain(sendMessage, Priority.BACKGROUND);
+            }
         } catch (Exception e) {
             botStats.incrementErrors(method, e, "unexpected error");
             log.error("Unexpected error: ", e);
         }
     }
 
-    private void tryToSendAgain(SendMessage sendMessage) {
-        if (!tryToSendMessageWithoutReplyTo(sendMessage)) {
-            tryToSendMessageWithoutMarkdown(sendMessage);
+    private void tryToSendAgain(SendMessage sendMessage, Priority priority) {
+        if (!tryToSendMessageWithoutReplyTo(sendMessage, priority)) {
+            tryToSendMessageWithoutMarkdown(sendMessage, priority);
         }
     }
 
-    private boolean tryToSendMessageWithoutMarkdown(SendMessage sendMessage) {
+    private boolean tryToSendMessageWithoutMarkdown(SendMessage sendMessage, Priority priority) {
         sendMessage.setText(TextUtils.cutHtmlTags(sendMessage.getText()));
         sendMessage.setParseMode(null);
 
         try {
-            telegramClient.execute(sendMessage);
+            telegramSender.send(sendMessage, priority);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(sendMessage, e, DEFAULT_ERROR_MESSAGE);
             log.error("Failed to send response after clearing markdown: {}", e.getMessage());
@@ -130,11 +165,11 @@ public class SendMessageExecutor implements TelegramMethodExecutor {
         return true;
     }
 
-    private boolean tryToSendMessageWithoutReplyTo(SendMessage sendMessage) {
+    private boolean tryToSendMessageWithoutReplyTo(SendMessage sendMessage, Priority priority) {
         sendMessage.setReplyToMessageId(null);
 
         try {
-            telegramClient.execute(sendMessage);
+            telegramSender.send(sendMessage, priority);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(sendMessage, e, DEFAULT_ERROR_MESSAGE);
             log.error("Failed to send response after clearing replying message: {}", e.getMessage());
@@ -143,4 +178,15 @@ public class SendMessageExecutor implements TelegramMethodExecutor {
 
         return true;
     }
+
+    /**
+     * Copy of message with another text. All other fields are shared with the original message.
+     *
+     * @param sendMessage message to copy.
+     * @param text text of new message.
+     * @return new message.
+     */
+    private static SendMessage copyWithText(SendMessage sendMessage, String text) {
+        return sendMessage.toBuilder().text(text).build();
+    }
 }
@@ -8,18 +8,19 @@ import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.InternationalizationService;
 import org.telegram.bot.services.LanguageResolver;
+import org.telegram.bot.services.executors.TelegramSendScheduler;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.methods.send.SendPhoto;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class SendPhotoExecutor implements TelegramMethodExecutor {
 
-    private final TelegramClient telegramClient;
+    private final TelegramSender telegramSender;
     private final BotStats botStats;
     private final LanguageResolver languageResolver;
     private final InternationalizationService internationalizationService;
@@ -37,11 +38,13 @@ public class SendPhotoExecutor implements TelegramMethodExecutor {
         log.info("To {}: sending photo {}", message.getChatId(), sendPhoto.getCaption());
 
         try {
-            telegramClient.execute(sendPhoto);
+            telegramSender.send(sendPhoto, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(request, method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
-            tryToDeliverTheMessage(sendPhoto);
+            if (!TelegramSendScheduler.isTooManyRequests(e)) {
+                tryToDeliverTheMessage(sendPhoto, Priority.INTERACTIVE);
+            }
         } catch (Exception e) {
             botStats.incrementErrors(request, method, e, "unexpected error");
             log.error("Unexpected error: ", e);
@@ -60,18 +63,20 @@ public class SendPhotoExecutor implements TelegramMethodExecutor {
         log.info("To {}: sending photo {}", chatId, sendPhoto.getCaption());
 
         try {
-            telegramClient.execute(sendPhoto);
+            telegramSender.send(sendPhoto, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
-            tryToDeliverTheMessage(sendPhoto);
+            if (!TelegramSendScheduler.isTooManyRequests(e)) {
+                tryToDeliverTheMessage(sendPhoto, Priority.BACKGROUND);
+            }
         } catch (Exception e) {
             botStats.incrementErrors(method, e, "unexpected error");
             log.error("Unexpected error: ", e);
         }
     }
 
-    private void tryToDeliverTheMessage(SendPhoto sendPhoto) {
+    private void tryToDeliverTheMessage(SendPhoto sendPhoto, Priority priority) {
         String imageUrl = sendPhoto.getPhoto().getAttachName();
 
         SendMessage sendMessage = new SendMessage(sendPhoto.getChatId(), "${executor.sendphoto.failedtosend}: " + imageUrl + "\n" + sendPhoto.getCaption());
@@ -82,7 +87,7 @@ public class SendPhotoExecutor implements TelegramMethodExecutor {
         internationalizationService.internationalize(sendMessage, languageResolver.getChatLanguageCode(sendPhoto.getChatId()));
 
         try {
-            telegramClient.execute(sendMessage);
+            telegramSender.send(sendMessage, priority);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(sendMessage, e, "error sending message");
             log.error("Still failed to send response: {}", e.getMessage());
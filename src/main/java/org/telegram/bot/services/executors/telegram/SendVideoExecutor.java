@@ -8,20 +8,23 @@ import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.InternationalizationService;
 import org.telegram.bot.services.LanguageResolver;
+import org.telegram.bot.services.MediaFileIdCache;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendVideo;
+import org.telegram.telegrambots.meta.api.objects.InputFile;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class SendVideoExecutor implements TelegramMethodExecutor {
 
-    private final TelegramClient telegramClient;
+    private final TelegramSender telegramSender;
     private final BotStats botStats;
     private final LanguageResolver languageResolver;
     private final InternationalizationService internationalizationService;
+    private final MediaFileIdCache mediaFileIdCache;
 
     @Override
     public String getMethod() {
@@ -36,7 +39,7 @@ public class SendVideoExecutor implements TelegramMethodExecutor {
         log.info("To {}: {}", message.getChatId(), sendVideo.getCaption());
 
         try {
-            telegramClient.execute(sendVideo);
+            send(sendVideo, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(request, method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -56,7 +59,7 @@ public class SendVideoExecutor implements TelegramMethodExecutor {
         sendVideo = internationalizationService.internationalize(sendVideo, lang);
 
         try {
-            telegramClient.execute(sendVideo);
+            send(sendVideo, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -66,4 +69,13 @@ public class SendVideoExecutor implements TelegramMethodExecutor {
         }
 
     }
+
+    private void send(SendVideo sendVideo, Priority priority) throws TelegramApiException {
+        org.telegram.telegrambots.meta.api.objects.message.Message sent = telegramSender.send(sendVideo, priority);
+
+        InputFile video = sendVideo.getVideo();
+        if (video.isNew() && video.getNewMediaFile() != null && sent != null && sent.getVideo() != null) {
+            mediaFileIdCache.sent(video.getNewMediaFile(), sent.getVideo().getFileId());
+        }
+    }
 }
@@ -6,17 +6,17 @@ import org.springframework.stereotype.Service;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 import org.telegram.telegrambots.meta.api.methods.send.SendVoice;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.meta.generics.TelegramClient;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class SendVoiceExecutor implements TelegramMethodExecutor {
 
-    private final TelegramClient telegramClient;
+    private final TelegramSender telegramSender;
     private final BotStats botStats;
 
     @Override
@@ -31,7 +31,7 @@ public class SendVoiceExecutor implements TelegramMethodExecutor {
         log.info("To {}: {}", message.getChatId(), sendVoice.getCaption());
 
         try {
-            telegramClient.execute(sendVoice);
+            telegramSender.send(sendVoice, Priority.INTERACTIVE);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(request, method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
@@ -47,7 +47,7 @@ public class SendVoiceExecutor implements TelegramMethodExecutor {
         log.info("To {}: {}", sendVoice.getChatId(), sendVoice.getCaption());
 
         try {
-            telegramClient.execute(sendVoice);
+            telegramSender.send(sendVoice, Priority.BACKGROUND);
         } catch (TelegramApiException e) {
             botStats.incrementErrors(method, e, "error sending response");
             log.error("Error: cannot send response: {}", e.getMessage());
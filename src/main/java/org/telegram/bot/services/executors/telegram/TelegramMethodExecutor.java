@@ -34,6 +34,15 @@ public interface TelegramMethodExecutor {
 
     void executeMethod(PartialBotApiMethod<?> method);
 
+    /**
+     * Execute telegram method which texts are already internationalized (e.g. messages of broadcasts).
+     *
+     * @param method handling method.
+     */
+    default void executeInternationalizedMethod(PartialBotApiMethod<?> method) {
+        executeMethod(method);
+    }
+
     default boolean isError(TelegramApiException e) {
         String errorMessage = e.getMessage();
         return notErrorExceptionMessages.stream().noneMatch(errorMessage::contains);
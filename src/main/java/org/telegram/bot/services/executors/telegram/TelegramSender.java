@@ -0,0 +1,68 @@
+package org.telegram.bot.services.executors.telegram;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.services.executors.TelegramSendScheduler;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Operation;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
+import org.telegram.telegrambots.meta.api.methods.send.*;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.DeleteMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.message.Message;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.generics.TelegramClient;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Sending of telegram methods through {@link TelegramSendScheduler}. Shared by executors of methods.
+ */
+@Component
+@RequiredArgsConstructor
+public class TelegramSender {
+
+    private final TelegramClient telegramClient;
+    private final TelegramSendScheduler telegramSendScheduler;
+
+    public Message send(SendMessage sendMessage, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(sendMessage.getChatId(), priority, () -> telegramClient.execute(sendMessage));
+    }
+
+    public Message send(SendPhoto sendPhoto, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(sendPhoto.getChatId(), priority, () -> telegramClient.execute(sendPhoto));
+    }
+
+    public List<Message> send(SendMediaGroup sendMediaGroup, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(sendMediaGroup.getChatId(), priority, () -> telegramClient.execute(sendMediaGroup));
+    }
+
+    public Message send(SendDocument sendDocument, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(sendDocument.getChatId(), priority, () -> telegramClient.execute(sendDocument));
+    }
+
+    public Message send(SendAudio sendAudio, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(sendAudio.getChatId(), priority, () -> telegramClient.execute(sendAudio));
+    }
+
+    public Message send(SendVideo sendVideo, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(sendVideo.getChatId(), priority, () -> telegramClient.execute(sendVideo));
+    }
+
+    public Message send(SendVoice sendVoice, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(sendVoice.getChatId(), priority, () -> telegramClient.execute(sendVoice));
+    }
+
+    public Message send(SendLocation sendLocation, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(sendLocation.getChatId(), priority, () -> telegramClient.execute(sendLocation));
+    }
+
+    public Serializable send(EditMessageText editMessageText, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(editMessageText.getChatId(), priority, Operation.EDITING, () -> telegramClient.execute(editMessageText));
+    }
+
+    public Boolean send(DeleteMessage deleteMessage, Priority priority) throws TelegramApiException {
+        return telegramSendScheduler.execute(deleteMessage.getChatId(), priority, Operation.EDITING, () -> telegramClient.execute(deleteMessage));
+    }
+
+}
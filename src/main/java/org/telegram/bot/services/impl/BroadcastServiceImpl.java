@@ -0,0 +1,67 @@
+package org.telegram.bot.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.telegram.bot.domain.entities.Broadcast;
+import org.telegram.bot.domain.entities.BroadcastMessage;
+import org.telegram.bot.repositories.BroadcastMessageRepository;
+import org.telegram.bot.repositories.BroadcastRepository;
+import org.telegram.bot.services.BroadcastService;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BroadcastServiceImpl implements BroadcastService {
+
+    private final BroadcastRepository broadcastRepository;
+    private final BroadcastMessageRepository broadcastMessageRepository;
+
+    @Override
+    @Transactional
+    public Broadcast create(Broadcast broadcast, List<BroadcastMessage> broadcastMessages) {
+        log.debug("Request to create Broadcast {} with {} messages", broadcast, broadcastMessages.size());
+
+        broadcast.setTotal(broadcastMessages.size()).setSent(0);
+        Broadcast savedBroadcast = broadcastRepository.save(broadcast);
+        broadcastMessages.forEach(broadcastMessage -> broadcastMessage.setBroadcast(savedBroadcast));
+        broadcastMessageRepository.saveAll(broadcastMessages);
+
+        return savedBroadcast;
+    }
+
+    @Override
+    public List<Broadcast> getAll() {
+        log.debug("Request to get all Broadcasts");
+        return broadcastRepository.findAll();
+    }
+
+    @Override
+    public List<BroadcastMessage> getMessages(Broadcast broadcast) {
+        log.debug("Request to get messages of Broadcast {}", broadcast);
+        return broadcastMessageRepository.findByBroadcastOrderById(broadcast);
+    }
+
+    @Override
+    @Transactional
+    public void markSent(Broadcast broadcast, List<BroadcastMessage> broadcastMessages) {
+        log.debug("Request to mark {} messages of Broadcast {} as sent", broadcastMessages.size(), broadcast.getId());
+
+        broadcastMessageRepository.deleteAllInBatch(broadcastMessages);
+        broadcast.setSent(broadcast.getSent() + broadcastMessages.size());
+        broadcastRepository.save(broadcast);
+    }
+
+    @Override
+    @Transactional
+    public void remove(Broadcast broadcast) {
+        log.debug("Request to remove Broadcast {}", broadcast);
+
+        broadcastMessageRepository.deleteByBroadcast(broadcast);
+        broadcastRepository.delete(broadcast);
+    }
+
+}
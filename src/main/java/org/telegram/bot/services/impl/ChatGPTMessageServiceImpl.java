@@ -37,24 +37,24 @@ public class ChatGPTMessageServiceImpl implements ChatGPTMessageService {
         Integer chatGPTContextSize = propertiesConfig.getChatGPTContextSize();
         if (messages.size() > chatGPTContextSize) {
             int deletingCount = messages.size() - chatGPTContextSize;
-            update(messages, deletingCount);
-        } else {
-            chatGPTMessageRepository.saveAll(messages);
+            List<ChatGPTMessage> chatGPTMessagesForDelete = messages
+                    .stream()
+                    .filter(chatGPTMessage -> chatGPTMessage.getId() != null)
+                    .sorted(Comparator.comparingLong(ChatGPTMessage::getId))
+                    .limit(deletingCount)
+                    .toList();
+            messages.removeAll(chatGPTMessagesForDelete);
+            delete(chatGPTMessagesForDelete);
         }
+
+        chatGPTMessageRepository.saveAll(messages);
     }
 
     @Override
-    public List<ChatGPTMessage> update(List<ChatGPTMessage> messages, int deletingCount) {
-        List<ChatGPTMessage> chatGPTMessagesForDelete = messages
-                .stream()
-                .filter(chatGPTMessage -> chatGPTMessage.getId() != null)
-                .sorted(Comparator.comparingLong(ChatGPTMessage::getId))
-                .limit(deletingCount)
-                .toList();
-        messages.removeAll(chatGPTMessagesForDelete);
-        chatGPTMessageRepository.deleteAll(chatGPTMessagesForDelete);
-
-        return chatGPTMessageRepository.saveAll(messages);
+    public void delete(List<ChatGPTMessage> messages) {
+        if (!messages.isEmpty()) {
+            chatGPTMessageRepository.deleteAllInBatch(messages);
+        }
     }
 
     @Override
@@ -8,6 +8,9 @@ import org.telegram.bot.domain.entities.ChatLanguage;
 import org.telegram.bot.repositories.ChatLanguageRepository;
 import org.telegram.bot.services.ChatLanguageService;
 
+import java.util.Collection;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -33,4 +36,10 @@ public class ChatLanguageServiceImpl implements ChatLanguageService {
         log.debug("Request to get ChatLanguage by chatId: {}", chat);
         return chatLanguageRepository.findByChat(chat);
     }
+
+    @Override
+    public List<ChatLanguage> get(Collection<Long> chatIds) {
+        log.debug("Request to get ChatLanguages by chatIds: {}", chatIds);
+        return chatLanguageRepository.findByChatChatIdIn(chatIds);
+    }
 }
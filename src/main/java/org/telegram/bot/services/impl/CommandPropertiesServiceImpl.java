@@ -8,12 +8,12 @@ import org.springframework.stereotype.Service;
 import org.telegram.bot.domain.entities.CommandProperties;
 import org.telegram.bot.repositories.CommandPropertiesRepository;
 import org.telegram.bot.services.CommandPropertiesService;
+import org.telegram.bot.services.CommandRoutingService;
 
 import java.util.List;
-import java.util.Locale;
 
 import static org.telegram.bot.utils.TextUtils.getPotentialCommandInText;
-import static org.telegram.bot.utils.TextUtils.removeCapital;
+import static org.telegram.bot.utils.TransactionUtils.afterCommit;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +21,7 @@ import static org.telegram.bot.utils.TextUtils.removeCapital;
 public class CommandPropertiesServiceImpl implements CommandPropertiesService {
 
     private final CommandPropertiesRepository commandPropertiesRepository;
+    private final CommandRoutingService commandRoutingService;
 
     @Override
     public CommandProperties findCommandInText(String textOfMessage, String botUsername) {
@@ -52,7 +53,7 @@ public class CommandPropertiesServiceImpl implements CommandPropertiesService {
     @Override
     public CommandProperties getCommand(String name) {
         log.debug("Request to get command property by name {}", name);
-        return commandPropertiesRepository.findByCommandNameOrRussifiedNameOrEnRuName(name.toLowerCase(Locale.ROOT));
+        return commandRoutingService.getCommand(name);
     }
 
     @Override
@@ -63,9 +64,8 @@ public class CommandPropertiesServiceImpl implements CommandPropertiesService {
 
     @Override
     public CommandProperties getCommand(Class<?> commandClass) {
-        String className = removeCapital(commandClass.getSimpleName());
-        log.debug("Request to get command properties by class name {}", className);
-        return commandPropertiesRepository.findByClassName(className);
+        log.debug("Request to get command properties by class {}", commandClass);
+        return commandRoutingService.getCommand(commandClass);
     }
 
     public Page<CommandProperties> getAll(int page) {
@@ -83,5 +83,6 @@ public class CommandPropertiesServiceImpl implements CommandPropertiesService {
     public void save(CommandProperties commandProperties) {
         log.debug("Request to save commandProperties={}", commandProperties);
         commandPropertiesRepository.save(commandProperties);
+        afterCommit(commandRoutingService::reloadCommands);
     }
 }
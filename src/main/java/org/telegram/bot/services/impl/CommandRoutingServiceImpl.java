@@ -0,0 +1,226 @@
+package org.telegram.bot.services.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.telegram.bot.commands.Command;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.CommandProperties;
+import org.telegram.bot.domain.entities.CommandWaiting;
+import org.telegram.bot.domain.entities.DisableCommand;
+import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.repositories.CommandPropertiesRepository;
+import org.telegram.bot.repositories.CommandWaitingRepository;
+import org.telegram.bot.repositories.DisableCommandRepository;
+import org.telegram.bot.services.CommandRoutingService;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.telegram.bot.utils.TextUtils.removeCapital;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CommandRoutingServiceImpl implements CommandRoutingService {
+
+    private final CommandPropertiesRepository commandPropertiesRepository;
+    private final DisableCommandRepository disableCommandRepository;
+    private final CommandWaitingRepository commandWaitingRepository;
+    private final ApplicationContext context;
+
+    private final AtomicReference<CommandRoutes> routes = new AtomicReference<>();
+    private final Map<ChatUserKey, String> commandWaitingMap = new ConcurrentHashMap<>();
+    private volatile boolean commandWaitingLoaded = false;
+    private volatile boolean commandBeansAvailable = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        commandBeansAvailable = true;
+        reloadCommands();
+        loadCommandWaitings();
+    }
+
+    @Override
+    public CommandProperties getCommand(String name) {
+        return getRoutes().byName().get(name.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public CommandProperties getCommand(Class<?> commandClass) {
+        return getRoutes().byClassName().get(removeCapital(commandClass.getSimpleName()));
+    }
+
+    @Override
+    public Command getCommandBean(CommandProperties commandProperties) {
+        Command command = getRoutes().commands().get(commandProperties.getClassName());
+        if (command != null) {
+            return command;
+        }
+
+        return (Command) context.getBean(commandProperties.getClassName());
+    }
+
+    @Override
+    public boolean isDisabled(Chat chat, CommandProperties commandProperties) {
+        if (commandProperties.getId() == null) {
+            return false;
+        }
+
+        BitSet disabledCommands = getRoutes().disabledCommands().get(chat.getChatId());
+        return disabledCommands != null && disabledCommands.get(commandProperties.getId().intValue());
+    }
+
+    @Override
+    public String getWaitingCommandName(Chat chat, User user) {
+        if (!commandWaitingLoaded) {
+            loadCommandWaitings();
+        }
+
+        return commandWaitingMap.get(new ChatUserKey(chat.getChatId(), user.getUserId()));
+    }
+
+    @Override
+    public void reloadCommands() {
+        log.debug("Request to reload command routes");
+        routes.set(loadRoutes());
+    }
+
+    @Override
+    public void setDisabled(Chat chat, CommandProperties commandProperties, boolean disabled) {
+        Long chatId = chat.getChatId();
+        int commandIndex = commandProperties.getId().intValue();
+
+        routes.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+
+            Map<Long, BitSet> disabledCommands = new HashMap<>(current.disabledCommands());
+            BitSet chatDisabledCommands = (BitSet) disabledCommands.getOrDefault(chatId, new BitSet()).clone();
+            chatDisabledCommands.set(commandIndex, disabled);
+
+            if (chatDisabledCommands.isEmpty()) {
+                disabledCommands.remove(chatId);
+            } else {
+                disabledCommands.put(chatId, chatDisabledCommands);
+            }
+
+            return new CommandRoutes(current.byName(), current.byClassName(), current.commands(), Map.copyOf(disabledCommands));
+        });
+    }
+
+    @Override
+    public void putCommandWaiting(CommandWaiting commandWaiting) {
+        commandWaitingMap.put(
+                new ChatUserKey(commandWaiting.getChat().getChatId(), commandWaiting.getUser().getUserId()),
+                commandWaiting.getCommandName());
+    }
+
+    @Override
+    public void removeCommandWaiting(Chat chat, User user) {
+        commandWaitingMap.remove(new ChatUserKey(chat.getChatId(), user.getUserId()));
+    }
+
+    private CommandRoutes getRoutes() {
+        CommandRoutes current = routes.get();
+        if (current == null) {
+            synchronized (routes) {
+                current = routes.get();
+                if (current == null) {
+                    current = loadRoutes();
+                    routes.set(current);
+                }
+            }
+        }
+
+        return current;
+    }
+
+    private CommandRoutes loadRoutes() {
+        List<CommandProperties> commandPropertiesList = commandPropertiesRepository.findAll();
+
+        Map<String, CommandProperties> byName = new HashMap<>();
+        Map<String, CommandProperties> byClassName = new HashMap<>();
+        Map<String, Command> commands = new HashMap<>();
+        for (CommandProperties commandProperties : commandPropertiesList) {
+            putIfNotNull(byName, commandProperties.getCommandName(), commandProperties);
+            putIfNotNull(byName, commandProperties.getRussifiedName(), commandProperties);
+            putIfNotNull(byName, commandProperties.getEnRuName(), commandProperties);
+            putIfNotNull(byClassName, commandProperties.getClassName(), commandProperties);
+
+            if (commandBeansAvailable) {
+                Command command = resolveCommandBean(commandProperties.getClassName());
+                if (command != null) {
+                    commands.put(commandProperties.getClassName(), command);
+                }
+            }
+        }
+
+        Map<Long, BitSet> disabledCommands = new HashMap<>();
+        for (DisableCommand disableCommand : disableCommandRepository.findAll()) {
+            disabledCommands
+                    .computeIfAbsent(disableCommand.getChat().getChatId(), chatId -> new BitSet())
+                    .set(disableCommand.getCommandProperties().getId().intValue());
+        }
+
+        log.info("Command routes loaded: {} commands, {} beans, {} chats with disabled commands",
+                commandPropertiesList.size(), commands.size(), disabledCommands.size());
+
+        return new CommandRoutes(Map.copyOf(byName), Map.copyOf(byClassName), Map.copyOf(commands), Map.copyOf(disabledCommands));
+    }
+
+    private void loadCommandWaitings() {
+        synchronized (commandWaitingMap) {
+            if (commandWaitingLoaded) {
+                return;
+            }
+
+            commandWaitingRepository.findAll().forEach(commandWaiting -> commandWaitingMap.putIfAbsent(
+                    new ChatUserKey(commandWaiting.getChat().getChatId(), commandWaiting.getUser().getUserId()),
+                    commandWaiting.getCommandName()));
+            commandWaitingLoaded = true;
+        }
+    }
+
+    private Command resolveCommandBean(String className) {
+        if (className == null || !context.containsBean(className)) {
+            return null;
+        }
+
+        Object bean = context.getBean(className);
+        if (bean instanceof Command command) {
+            return command;
+        }
+
+        return null;
+    }
+
+    private static <T> void putIfNotNull(Map<String, T> map, String key, T value) {
+        if (key != null) {
+            map.putIfAbsent(key, value);
+        }
+    }
+
+    /**
+     * Immutable snapshot of command routes. Disabled commands are stored as bitsets of CommandProperties ids by chat id.
+     * Bitsets are never modified after publishing.
+     */
+    private record CommandRoutes(Map<String, CommandProperties> byName,
+                                 Map<String, CommandProperties> byClassName,
+                                 Map<String, Command> commands,
+                                 Map<Long, BitSet> disabledCommands) {
+    }
+
+    private record ChatUserKey(Long chatId, Long userId) {
+    }
+
+}
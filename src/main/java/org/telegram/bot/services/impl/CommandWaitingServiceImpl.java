@@ -10,6 +10,7 @@ import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.repositories.CommandWaitingRepository;
 import org.telegram.bot.services.CommandPropertiesService;
+import org.telegram.bot.services.CommandRoutingService;
 import org.telegram.bot.services.CommandWaitingService;
 import org.telegram.bot.services.InternationalizationService;
 
@@ -20,6 +21,7 @@ public class CommandWaitingServiceImpl implements CommandWaitingService {
 
     private final CommandWaitingRepository commandWaitingRepository;
     private final CommandPropertiesService commandPropertiesService;
+    private final CommandRoutingService commandRoutingService;
     private final InternationalizationService internationalizationService;
 
     @Override
@@ -68,7 +70,9 @@ public class CommandWaitingServiceImpl implements CommandWaitingService {
     @Override
     public CommandWaiting save(CommandWaiting commandWaiting) {
         log.debug("Request to save CommandWaitingId {} ", commandWaiting);
-        return commandWaitingRepository.save(commandWaiting);
+        CommandWaiting savedCommandWaiting = commandWaitingRepository.save(commandWaiting);
+        commandRoutingService.putCommandWaiting(savedCommandWaiting);
+        return savedCommandWaiting;
     }
 
     @Override
@@ -78,6 +82,7 @@ public class CommandWaitingServiceImpl implements CommandWaitingService {
         }
         log.debug("Request to remove CommandWaiting {} ", commandWaiting);
         commandWaitingRepository.delete(commandWaiting);
+        commandRoutingService.removeCommandWaiting(commandWaiting.getChat(), commandWaiting.getUser());
     }
 
     @Override
@@ -85,5 +90,6 @@ public class CommandWaitingServiceImpl implements CommandWaitingService {
     public void remove(Chat chat, User user) {
         log.debug("Request to remove CommandWaiting for Chat {} and User {}", chat, user);
         commandWaitingRepository.deleteByChatAndUser(chat, user);
+        commandRoutingService.removeCommandWaiting(chat, user);
     }
 }
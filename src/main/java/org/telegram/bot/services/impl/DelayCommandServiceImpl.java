@@ -1,33 +1,95 @@
 package org.telegram.bot.services.impl;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.telegram.bot.domain.entities.DelayCommand;
 import org.telegram.bot.repositories.DelayCommandRepository;
 import org.telegram.bot.services.DelayCommandService;
+import org.telegram.bot.utils.DueTimeQueue;
 
-import java.time.LocalDateTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 
 @RequiredArgsConstructor
 @Service
+@Slf4j
 public class DelayCommandServiceImpl implements DelayCommandService {
 
     private final DelayCommandRepository delayCommandRepository;
+    private final Clock clock;
+
+    private static final Duration LOADING_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final DueTimeQueue<Long> dueDelayCommands = new DueTimeQueue<>();
+    private boolean loaded;
 
     @Override
     public DelayCommand save(DelayCommand delayCommand) {
-        return delayCommandRepository.save(delayCommand);
+        DelayCommand savedDelayCommand = delayCommandRepository.save(delayCommand);
+        if (isLoaded()) {
+            schedule(savedDelayCommand);
+        }
+
+        return savedDelayCommand;
+    }
+
+    @Override
+    public List<DelayCommand> getAllDue(Instant now) {
+        load();
+
+        List<Long> dueDelayCommandIds = dueDelayCommands.pollDue(now);
+        if (dueDelayCommandIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<DelayCommand> delayCommands;
+        try {
+            delayCommands = delayCommandRepository.findAllById(dueDelayCommandIds);
+        } catch (RuntimeException e) {
+            Instant retryAt = now.plus(LOADING_RETRY_DELAY);
+            dueDelayCommandIds.forEach(delayCommandId -> dueDelayCommands.schedule(delayCommandId, retryAt));
+            throw e;
+        }
+
+        return delayCommands
+                .stream()
+                .sorted(Comparator.comparing(DelayCommand::getDateTime))
+                .toList();
     }
 
     @Override
-    public List<DelayCommand> getAllBeforeDateTime(LocalDateTime dateTime) {
-        return delayCommandRepository.findAllByDateTimeLessThanEqual(dateTime);
+    public void retry(DelayCommand delayCommand, Instant retryAt) {
+        dueDelayCommands.schedule(delayCommand.getId(), retryAt);
     }
 
     @Override
     public void remove(DelayCommand delayCommand) {
         delayCommandRepository.delete(delayCommand);
+        dueDelayCommands.cancel(delayCommand.getId());
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+
+        List<DelayCommand> delayCommands = delayCommandRepository.findAll();
+        delayCommands.forEach(this::schedule);
+
+        loaded = true;
+        log.info("Delayed commands loaded: {}", delayCommands.size());
+    }
+
+    private synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private void schedule(DelayCommand delayCommand) {
+        dueDelayCommands.schedule(delayCommand.getId(), delayCommand.getDateTime().atZone(clock.getZone()).toInstant());
     }
 
 }
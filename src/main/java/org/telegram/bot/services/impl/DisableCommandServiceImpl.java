@@ -7,6 +7,7 @@ import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.CommandProperties;
 import org.telegram.bot.domain.entities.DisableCommand;
 import org.telegram.bot.repositories.DisableCommandRepository;
+import org.telegram.bot.services.CommandRoutingService;
 import org.telegram.bot.services.DisableCommandService;
 
 import java.util.List;
@@ -17,6 +18,7 @@ import java.util.List;
 public class DisableCommandServiceImpl implements DisableCommandService {
 
     private final DisableCommandRepository disableCommandRepository;
+    private final CommandRoutingService commandRoutingService;
 
     @Override
     public List<DisableCommand> getByChat(Chat chat) {
@@ -40,11 +42,13 @@ public class DisableCommandServiceImpl implements DisableCommandService {
     public void save(DisableCommand disableCommand) {
         log.debug("Request to save DisableCommandList: {}", disableCommand);
         disableCommandRepository.save(disableCommand);
+        commandRoutingService.setDisabled(disableCommand.getChat(), disableCommand.getCommandProperties(), true);
     }
 
     @Override
     public void remove(DisableCommand disableCommand) {
         log.debug("Request to delete DisableCommandList: {}", disableCommand);
         disableCommandRepository.delete(disableCommand);
+        commandRoutingService.setDisabled(disableCommand.getChat(), disableCommand.getCommandProperties(), false);
     }
 }
@@ -4,16 +4,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.telegram.bot.config.ConditionalOnPropertyNotEmpty;
 import org.telegram.bot.domain.entities.Chat;
-import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.domain.entities.UserEmail;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.enums.RequestSource;
 import org.telegram.bot.mapper.email.response.ResponseEmailMapper;
 import org.telegram.bot.services.EmailNotifier;
 import org.telegram.bot.services.UserEmailService;
-import org.telegram.bot.services.UserStatsService;
 import org.telegram.bot.services.email.EmailSender;
-import org.telegram.bot.utils.EmailUtils;
 import org.telegram.bot.utils.TelegramUtils;
 
 import java.util.List;
@@ -23,7 +20,6 @@ import java.util.List;
 @ConditionalOnPropertyNotEmpty("mail.smtp.host")
 public class EmailNotifierImpl implements EmailNotifier {
 
-    private final UserStatsService userStatsService;
     private final EmailSender emailSender;
     private final UserEmailService userEmailService;
     private final ResponseEmailMapper responseEmailMapper;
@@ -39,17 +35,12 @@ public class EmailNotifierImpl implements EmailNotifier {
             return;
         }
 
-        List<User> usersOfChat = userStatsService.getUsersOfChat(chat);
-        List<UserEmail> usersEmails = userEmailService.getByUsers(usersOfChat)
-                .stream()
-                .filter(EmailUtils::isShippingEnabled)
-                .toList();
-
+        List<UserEmail> usersEmails = userEmailService.getShippingEnabled(chat);
         if (usersEmails.isEmpty()) {
             return;
         }
 
-        emailSender.sendMail(responseEmailMapper.toEmailResponse(botRequest, usersEmails));
+        emailSender.addToDigest(responseEmailMapper.toEmailResponse(botRequest, usersEmails));
     }
 
 }
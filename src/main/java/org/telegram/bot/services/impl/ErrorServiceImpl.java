@@ -1,28 +1,22 @@
 package org.telegram.bot.services.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.telegram.bot.domain.entities.Error;
 import org.telegram.bot.repositories.ErrorRepository;
+import org.telegram.bot.services.ErrorJournal;
 import org.telegram.bot.services.ErrorService;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class ErrorServiceImpl implements ErrorService {
 
     private final ErrorRepository errorRepository;
-    private final ObjectMapper objectMapper;
+    private final ErrorJournal errorJournal;
 
     @Override
     public void save(PartialBotApiMethod<?> response, Throwable throwable, String comment) {
@@ -46,7 +40,7 @@ public class ErrorServiceImpl implements ErrorService {
 
     @Override
     public List<Error> getAll() {
-        return errorRepository.findAll();
+        return errorRepository.findAllByOrderByDateTimeDesc();
     }
 
     @Transactional
@@ -57,34 +51,6 @@ public class ErrorServiceImpl implements ErrorService {
 
     @Override
     public void save(Object request, PartialBotApiMethod<?> response, Throwable throwable, String comment) {
-        String requestJson = getStringOrEmpty(request, () -> getObjectJson(request));
-        String responseJson = getStringOrEmpty(response, () -> getObjectJson(response));
-        String stacktrace = getStringOrEmpty(throwable, () -> ExceptionUtils.getStackTrace(throwable));
-
-        errorRepository.save(
-                new Error()
-                        .setDateTime(LocalDateTime.now())
-                        .setRequest(requestJson)
-                        .setResponse(responseJson)
-                        .setComment(comment)
-                        .setStacktrace(stacktrace));
-    }
-
-    private String getStringOrEmpty(Object value, Supplier<String> supplier) {
-        if (value == null) {
-            return "";
-        }
-
-        return supplier.get();
-    }
-
-    private String getObjectJson(Object value) {
-        try {
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(value);
-        } catch (JsonProcessingException e) {
-            log.error("Не удалось сериализовать", e);
-            e.printStackTrace();
-            return "";
-        }
+        errorJournal.capture(request, response, throwable, comment);
     }
 }
@@ -2,16 +2,16 @@ package org.telegram.bot.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.File;
+import org.telegram.bot.domain.model.FilesUsage;
 import org.telegram.bot.repositories.FileRepository;
 import org.telegram.bot.services.FileService;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -19,6 +19,9 @@ public class FileServiceImpl implements FileService {
 
     private final FileRepository fileRepository;
 
+    @Value("${filesChatQuotaBytes:1073741824}")
+    private long chatQuotaBytes;
+
     @Override
     public File get(Long id) {
         log.debug("Request to get File by id: {}", id);
@@ -31,19 +34,33 @@ public class FileServiceImpl implements FileService {
         return fileRepository.findAllByChatAndParentId(chat, parent.getId(), PageRequest.of(page, 10));
     }
 
+    @Override
+    public Page<File> search(Chat chat, String name, int page) {
+        log.debug("Request to search files by Chat: {}, name: {}, page: {}", chat, name, page);
+        return fileRepository.findAllByChatAndNameContainingIgnoreCase(chat, name, PageRequest.of(page, 10));
+    }
+
+    @Override
+    public FilesUsage getUsage(Chat chat) {
+        log.debug("Request to get usage of files by Chat: {}", chat);
+        return new FilesUsage(fileRepository.countByChat(chat), fileRepository.sumSizeByChat(chat), chatQuotaBytes);
+    }
+
     @Override
     public void save(File file) {
         log.debug("Request to save File: {}", file);
+
+        if (file.getPath() == null && file.getParentId() != null) {
+            fileRepository.findById(file.getParentId()).ifPresent(parent -> file.setPath(parent.getChildrenPath()));
+        }
+
         fileRepository.save(file);
     }
 
     @Override
     public void remove(Chat chat, File file) {
         log.debug("Request to delete File: {}", file);
-
-        List<File> listFileToDelete = fileRepository.findByChatAndParentIdOrId(chat, file.getId(), file.getId());
-        listFileToDelete.add(file);
-
-        fileRepository.deleteAll(listFileToDelete);
+        int count = fileRepository.deleteSubtree(chat, file.getId(), file.getChildrenPath());
+        log.debug("Deleted {} files", count);
     }
 }
@@ -45,12 +45,19 @@ public class GigaChatMessageServiceImpl implements GigaChatMessageService {
                     .limit(deletingCount)
                     .collect(Collectors.toList());
             messages.removeAll(chatGPTMessagesForDelete);
-            gigaChatMessageRepository.deleteAll(chatGPTMessagesForDelete);
+            delete(chatGPTMessagesForDelete);
         }
 
         gigaChatMessageRepository.saveAll(messages);
     }
 
+    @Override
+    public void delete(List<GigaChatMessage> messages) {
+        if (!messages.isEmpty()) {
+            gigaChatMessageRepository.deleteAllInBatch(messages);
+        }
+    }
+
     @Override
     @Transactional
     public void reset(Chat chat) {
@@ -2,9 +2,10 @@ package org.telegram.bot.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.text.StringSubstitutor;
 import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Service;
 import org.telegram.bot.domain.model.response.EmailResponse;
 import org.telegram.bot.services.InternationalizationService;
@@ -17,12 +18,13 @@ import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMa
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboard;
 
 import jakarta.annotation.Nullable;
+import java.io.IOException;
 import java.util.*;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import static org.telegram.bot.config.Config.MESSAGES_BASENAME;
 import static org.telegram.bot.utils.MathUtils.getRandomInRange;
 
 @RequiredArgsConstructor
@@ -31,10 +33,26 @@ import static org.telegram.bot.utils.MathUtils.getRandomInRange;
 public class InternationalizationServiceImpl implements InternationalizationService {
 
     private static final String CSV_SEPARATOR = "|";
-    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\{([A-Za-z0-9.]+)}");
+    private static final String PLACEHOLDER_PREFIX = "${";
+    private static final char PLACEHOLDER_SUFFIX = '}';
+    private static final String MESSAGES_EXTENSION = ".properties";
+    private static final int MAX_CACHED_TEMPLATE_LENGTH = 256;
+    private static final int MAX_CACHED_TEMPLATES = 4096;
 
     private final MessageSource messageSource;
 
+    private final Map<String, Template> templateCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            });
+    private final Map<Locale, Map<String, String[]>> bundles = new ConcurrentHashMap<>();
+    private final Map<String, Locale> localeCache = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> translations = new ConcurrentHashMap<>();
+    private volatile List<Locale> bundleLocales;
+
     @Override
     public SendMessage internationalize(SendMessage sendMessage, @Nullable String lang) {
         sendMessage.setText(this.internationalize(sendMessage.getText(), lang));
@@ -93,58 +111,131 @@ public class InternationalizationServiceImpl implements InternationalizationServ
 
     @Override
     public String internationalize(String text, @Nullable String lang) {
-        if (text == null) {
-            return null;
+        if (text == null || !text.contains(PLACEHOLDER_PREFIX)) {
+            return text;
         }
 
-        Matcher matcher = PLACEHOLDER_PATTERN.matcher(text);
-
-        List<MatchResult> results = matcher.results().toList();
-        if (results.isEmpty()) {
+        Template template = getTemplate(text);
+        if (template.codes().length == 0) {
             return text;
         }
 
-        Locale locale = resolveLocale(lang);
+        return render(template, resolveLocale(lang));
+    }
 
-        Map<String, String> valuesMap = new HashMap<>();
-        results.forEach(matchResult -> {
-            String code = matchResult.group(1);
-            String message;
-            try {
-                message = messageSource.getMessage(code, null, locale);
-            } catch (NoSuchMessageException e) {
-                return;
+    private Template getTemplate(String text) {
+        if (text.length() > MAX_CACHED_TEMPLATE_LENGTH) {
+            return compile(text);
+        }
+
+        Template template = templateCache.get(text);
+        if (template == null) {
+            template = compile(text);
+            templateCache.put(text, template);
+        }
+
+        return template;
+    }
+
+    /**
+     * Split text into literals and placeholders like ${code}.
+     *
+     * @param text text with placeholders.
+     * @return compiled template.
+     */
+    private static Template compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholderCodes = new ArrayList<>();
+
+        int literalStart = 0;
+        int index = text.indexOf(PLACEHOLDER_PREFIX);
+        while (index >= 0) {
+            int codeStart = index + PLACEHOLDER_PREFIX.length();
+            int codeEnd = codeStart;
+            while (codeEnd < text.length() && isCodeChar(text.charAt(codeEnd))) {
+                codeEnd = codeEnd + 1;
             }
 
-            if (message.contains(CSV_SEPARATOR)) {
-                message = getRandomMessageFromCsvString(message);
+            if (codeEnd > codeStart && codeEnd < text.length() && text.charAt(codeEnd) == PLACEHOLDER_SUFFIX) {
+                literals.add(text.substring(literalStart, index));
+                placeholderCodes.add(text.substring(codeStart, codeEnd));
+                literalStart = codeEnd + 1;
+                index = text.indexOf(PLACEHOLDER_PREFIX, literalStart);
+            } else {
+                index = text.indexOf(PLACEHOLDER_PREFIX, index + 1);
             }
+        }
+        literals.add(text.substring(literalStart));
 
-            valuesMap.put(code, message);
-        });
+        List<String> codes = placeholderCodes.stream().distinct().toList();
+        int[] placeholders = placeholderCodes.stream().mapToInt(codes::indexOf).toArray();
 
-        StringSubstitutor substitutor = new StringSubstitutor(valuesMap);
+        return new Template(literals.toArray(String[]::new), placeholders, codes.toArray(String[]::new), text.length());
+    }
 
-        return substitutor.replace(text);
+    private static boolean isCodeChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '.';
     }
 
-    private String getRandomMessageFromCsvString(String data) {
-        String[] messages = data.split("\\" + CSV_SEPARATOR);
-        int randomIndex = getRandomInRange(0, messages.length - 1);
+    private String render(Template template, Locale locale) {
+        String[] values = new String[template.codes().length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getMessage(template.codes()[i], locale);
+        }
 
-        return messages[randomIndex];
+        String[] literals = template.literals();
+        StringBuilder buf = new StringBuilder(template.length());
+        buf.append(literals[0]);
+        for (int i = 0; i < template.placeholders().length; i++) {
+            int codeIndex = template.placeholders()[i];
+            String value = values[codeIndex];
+            if (value == null) {
+                buf.append(PLACEHOLDER_PREFIX).append(template.codes()[codeIndex]).append(PLACEHOLDER_SUFFIX);
+            } else {
+                buf.append(value);
+            }
+            buf.append(literals[i + 1]);
+        }
+
+        return buf.toString();
     }
 
-    @Override
-    public Set<String> getAllTranslations(String code) {
-        Set<String> translations = new HashSet<>();
+    /**
+     * Get message of locale. If message contains several variants separated by CSV_SEPARATOR, random one is returned.
+     *
+     * @param code code of message.
+     * @param locale locale.
+     * @return message or null if there is no such message.
+     */
+    private String getMessage(String code, Locale locale) {
+        Map<String, String[]> bundle = bundles.computeIfAbsent(locale, key -> new ConcurrentHashMap<>());
+
+        String[] variants = bundle.get(code);
+        if (variants == null) {
+            String message;
+            try {
+                message = messageSource.getMessage(code, null, locale);
+            } catch (NoSuchMessageException e) {
+                return null;
+            }
+
+            variants = Arrays.stream(message.split(Pattern.quote(CSV_SEPARATOR))).map(String::intern).toArray(String[]::new);
+            bundle.put(code, variants);
+        }
 
-        for (Locale locale : Locale.getAvailableLocales()) {
-            String translation = messageSource.getMessage(code, null, locale);
-            translations.add(translation);
+        if (variants.length == 1) {
+            return variants[0];
         }
 
-        return translations;
+        return variants[getRandomInRange(0, variants.length - 1)];
+    }
+
+    @Override
+    public Set<String> getAllTranslations(String code) {
+        return translations.computeIfAbsent(code, key -> getBundleLocales()
+                .stream()
+                .map(locale -> messageSource.getMessage(key, null, locale))
+                .collect(Collectors.toUnmodifiableSet()));
     }
 
     @Override
@@ -152,12 +243,64 @@ public class InternationalizationServiceImpl implements InternationalizationServ
         return getAllTranslations("language");
     }
 
+    /**
+     * Get locales for which message bundles exist. Default locale is added because of fallback for all others.
+     *
+     * @return locales of message bundles.
+     */
+    private List<Locale> getBundleLocales() {
+        List<Locale> locales = bundleLocales;
+        if (locales == null) {
+            locales = findBundleLocales();
+            bundleLocales = locales;
+        }
+
+        return locales;
+    }
+
+    private List<Locale> findBundleLocales() {
+        Set<Locale> locales = new LinkedHashSet<>();
+        locales.add(Locale.getDefault());
+        locales.add(Locale.ROOT);
+
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:" + MESSAGES_BASENAME + "_*" + MESSAGES_EXTENSION);
+            for (Resource resource : resources) {
+                String filename = resource.getFilename();
+                if (filename != null) {
+                    String languageTag = filename
+                            .substring(MESSAGES_BASENAME.length() + 1, filename.length() - MESSAGES_EXTENSION.length())
+                            .replace('_', '-');
+                    locales.add(Locale.forLanguageTag(languageTag));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to find message bundles: {}", e.getMessage());
+        }
+
+        log.info("Found message bundles for locales: {}", locales);
+
+        return List.copyOf(locales);
+    }
+
     private Locale resolveLocale(String lang) {
         if (lang != null) {
-            return Locale.forLanguageTag(lang);
+            return localeCache.computeIfAbsent(lang, Locale::forLanguageTag);
         }
 
         return Locale.getDefault();
     }
 
+    /**
+     * Compiled text with placeholders.
+     *
+     * @param literals parts of text between placeholders, one more than placeholders.
+     * @param placeholders indexes of codes in order of placeholders.
+     * @param codes distinct codes of placeholders.
+     * @param length length of source text.
+     */
+    private record Template(String[] literals, int[] placeholders, String[] codes, int length) {
+    }
+
 }
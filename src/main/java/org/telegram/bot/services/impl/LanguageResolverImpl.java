@@ -13,18 +13,37 @@ import org.telegram.bot.services.ChatLanguageService;
 import org.telegram.bot.services.LanguageResolver;
 import org.telegram.bot.config.PropertiesConfig;
 import org.telegram.bot.services.UserLanguageService;
+import org.telegram.bot.services.metrics.CacheMetricsRegistry;
+import org.telegram.bot.utils.LruCache;
 
 import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LanguageResolverImpl implements LanguageResolver {
 
+    private static final int MAX_CACHED_CHATS = 10000;
+    private static final int MAX_CACHED_CHAT_USERS = 50000;
+
     private final ChatLanguageService chatLanguageService;
     private final UserLanguageService userLanguageService;
     private final PropertiesConfig propertiesConfig;
+    private final CacheMetricsRegistry cacheMetricsRegistry;
+
+    private final LruCache<Long, String> chatLanguageCache = new LruCache<>("chat_language", MAX_CACHED_CHATS);
+    private final LruCache<ChatUserKey, String> userLanguageCache = new LruCache<>("user_language", MAX_CACHED_CHAT_USERS);
+
+    @PostConstruct
+    private void postConstruct() {
+        cacheMetricsRegistry.register(chatLanguageCache);
+        cacheMetricsRegistry.register(userLanguageCache);
+    }
 
     @Override
     public Locale getLocale(Chat chat) {
@@ -62,15 +81,14 @@ public class LanguageResolverImpl implements LanguageResolver {
     public String getChatLanguageCode(Message message, User user) {
         Chat chat = message.getChat();
 
-        String lang;
-        UserLanguage userLanguage = userLanguageService.get(chat, user);
-        if (userLanguage != null) {
-            return userLanguage.getLang();
+        String lang = getUserLanguageCode(chat, user);
+        if (lang != null) {
+            return lang;
         }
 
-        ChatLanguage chatLanguage = chatLanguageService.get(chat);
-        if (chatLanguage != null) {
-            return chatLanguage.getLang();
+        lang = getChatLanguageCode(chat);
+        if (lang != null) {
+            return lang;
         }
 
         lang = message.getUser().getLang();
@@ -96,12 +114,46 @@ public class LanguageResolverImpl implements LanguageResolver {
     @Nullable
     @Override
     public String getChatLanguageCode(Chat chat) {
-        ChatLanguage chatLanguage = chatLanguageService.get(chat);
-        if (chatLanguage == null) {
-            return null;
-        }
+        return chatLanguageCache.get(chat.getChatId(), chatId -> {
+            ChatLanguage chatLanguage = chatLanguageService.get(chat);
+            if (chatLanguage == null) {
+                return null;
+            }
+
+            return chatLanguage.getLang();
+        });
+    }
+
+    @Override
+    public Map<Long, String> getChatLanguageCodes(Collection<Long> chatIds) {
+        return chatLanguageCache.getAll(chatIds, missingChatIds -> chatLanguageService.get(missingChatIds)
+                .stream()
+                .filter(chatLanguage -> chatLanguage.getLang() != null)
+                .collect(Collectors.toMap(chatLanguage -> chatLanguage.getChat().getChatId(), ChatLanguage::getLang, (lang1, lang2) -> lang1)));
+    }
+
+    @Override
+    public void evictChatLanguage(Chat chat) {
+        chatLanguageCache.invalidate(chat.getChatId());
+    }
+
+    @Override
+    public void evictUserLanguage(Chat chat, User user) {
+        userLanguageCache.invalidate(new ChatUserKey(chat.getChatId(), user.getUserId()));
+    }
+
+    private String getUserLanguageCode(Chat chat, User user) {
+        return userLanguageCache.get(new ChatUserKey(chat.getChatId(), user.getUserId()), key -> {
+            UserLanguage userLanguage = userLanguageService.get(chat, user);
+            if (userLanguage == null) {
+                return null;
+            }
+
+            return userLanguage.getLang();
+        });
+    }
 
-        return chatLanguage.getLang();
+    private record ChatUserKey(Long chatId, Long userId) {
     }
 
 }
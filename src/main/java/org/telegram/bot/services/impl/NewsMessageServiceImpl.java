@@ -10,7 +10,11 @@ import org.telegram.bot.repositories.NewsMessageRepository;
 import org.telegram.bot.services.NewsMessageService;
 import org.telegram.bot.utils.DateUtils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -40,22 +44,37 @@ public class NewsMessageServiceImpl implements NewsMessageService {
     @Override
     public List<NewsMessage> save(List<NewsMessage> newsMessageList) {
         log.debug("Request to save News {} ", newsMessageList);
-        return newsMessageList.stream().map(this::save).toList();
+        if (newsMessageList.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, NewsMessage> alreadyStoredNewsMessages = newsMessageRepository
+                .findByDescHashIn(newsMessageList.stream().map(NewsMessageServiceImpl::getDescHash).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(NewsMessage::getDescHash, Function.identity(), (first, second) -> first));
+
+        List<NewsMessage> result = new ArrayList<>(newsMessageList.size());
+        List<NewsMessage> newNewsMessages = new ArrayList<>();
+        for (NewsMessage newsMessage : newsMessageList) {
+            NewsMessage alreadyStoredNewsMessage = alreadyStoredNewsMessages.get(getDescHash(newsMessage));
+            if (alreadyStoredNewsMessage != null && DateUtils.isDatesTheSame(alreadyStoredNewsMessage.getPubDate(), newsMessage.getPubDate())) {
+                result.add(alreadyStoredNewsMessage);
+            } else {
+                result.add(newsMessage);
+                newNewsMessages.add(newsMessage);
+            }
+        }
+
+        newsMessageRepository.saveAll(newNewsMessages);
+
+        return result;
     }
 
     @Override
     public NewsMessage save(NewsMessage newsMessage) {
         log.debug("Request to save News {} ", newsMessage);
 
-        String descHash;
-        String description = newsMessage.getDescription();
-        if (StringUtils.hasText(description)) {
-            descHash = DigestUtils.sha256Hex(description);
-        } else {
-            descHash = DigestUtils.sha256Hex(newsMessage.getTitle());
-        }
-
-        NewsMessage alreadyStoredNewsMessage = newsMessageRepository.findByDescHash(descHash);
+        NewsMessage alreadyStoredNewsMessage = newsMessageRepository.findByDescHash(getDescHash(newsMessage));
         if (alreadyStoredNewsMessage != null && DateUtils.isDatesTheSame(alreadyStoredNewsMessage.getPubDate(), newsMessage.getPubDate())) {
             log.debug("NewsMessage with this description already saved");
             return alreadyStoredNewsMessage;
@@ -64,4 +83,12 @@ public class NewsMessageServiceImpl implements NewsMessageService {
         return newsMessageRepository.save(newsMessage);
     }
 
+    private static String getDescHash(NewsMessage newsMessage) {
+        String description = newsMessage.getDescription();
+        if (StringUtils.hasText(description)) {
+            return DigestUtils.sha256Hex(description);
+        }
+        return DigestUtils.sha256Hex(newsMessage.getTitle());
+    }
+
 }
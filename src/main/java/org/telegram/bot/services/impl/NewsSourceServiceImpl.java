@@ -51,6 +51,12 @@ public class NewsSourceServiceImpl implements NewsSourceService {
         return newsSourceRepository.save(newsSource);
     }
 
+    @Override
+    public void save(List<NewsSource> newsSources) {
+        log.debug("Request to save NewsSources {}", newsSources);
+        newsSourceRepository.saveAll(newsSources);
+    }
+
     @Override
     @Transactional
     public void remove(NewsSource newsSource) {
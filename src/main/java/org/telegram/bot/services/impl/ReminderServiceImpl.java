@@ -2,6 +2,7 @@ package org.telegram.bot.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -11,12 +12,15 @@ import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.enums.ReminderRepeatability;
 import org.telegram.bot.repositories.ReminderRepository;
 import org.telegram.bot.services.ReminderService;
+import org.telegram.bot.services.UserCityService;
+import org.telegram.bot.utils.DueTimeQueue;
 import org.telegram.bot.utils.TextUtils;
 
-import java.time.LocalDate;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
+import java.time.ZoneId;
+import java.util.*;
 import java.util.function.Supplier;
 
 @Service
@@ -25,6 +29,12 @@ import java.util.function.Supplier;
 public class ReminderServiceImpl implements ReminderService {
 
     private final ReminderRepository reminderRepository;
+    private final UserCityService userCityService;
+
+    private static final Duration LOADING_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final DueTimeQueue<Long> dueReminders = new DueTimeQueue<>();
+    private boolean loaded;
 
     @Override
     public Reminder get(Chat chat, User user, Long reminderId) {
@@ -38,18 +48,57 @@ public class ReminderServiceImpl implements ReminderService {
     }
 
     @Override
-    public List<Reminder> getAllNotNotifiedByDate(LocalDate date) {
-        log.debug("Request to get all not notified Reminders by date {}", date);
-        return reminderRepository.findAllByDateBetweenAndNotified(
-                date.minusDays(1),
-                date.plusDays(1),
-                false);
+    public List<Reminder> getAllDue(Instant now) {
+        load();
+
+        List<Long> dueReminderIds = dueReminders.pollDue(now);
+        if (dueReminderIds.isEmpty()) {
+            return List.of();
+        }
+        log.debug("Request to get due Reminders: {}", dueReminderIds);
+
+        List<Reminder> dueReminderEntities;
+        try {
+            dueReminderEntities = reminderRepository.findAllById(dueReminderIds);
+        } catch (RuntimeException e) {
+            Instant retryAt = now.plus(LOADING_RETRY_DELAY);
+            dueReminderIds.forEach(reminderId -> dueReminders.schedule(reminderId, retryAt));
+            throw e;
+        }
+
+        List<Reminder> reminders = new ArrayList<>(dueReminderIds.size());
+        for (Reminder reminder : dueReminderEntities) {
+            if (Boolean.TRUE.equals(reminder.getNotified())) {
+                continue;
+            }
+
+            Instant dueAt = getDueTime(reminder, userCityService.getZoneIdOfUserOrDefault(reminder.getChat(), reminder.getUser()));
+            if (now.isBefore(dueAt)) {
+                dueReminders.schedule(reminder.getId(), dueAt);
+            } else {
+                reminders.add(reminder);
+            }
+        }
+
+        return reminders;
+    }
+
+    @Override
+    public void reschedule(Chat chat, User user) {
+        log.debug("Request to reschedule Reminders of User {} for Chat {}", user, chat);
+        if (!isLoaded()) {
+            return;
+        }
+
+        ZoneId zoneId = userCityService.getZoneIdOfUserOrDefault(chat, user);
+        reminderRepository.findAllByChatAndUserAndNotified(chat, user, false)
+                .forEach(reminder -> schedule(reminder, zoneId));
     }
 
     @Override
-    public List<Reminder> getAllNotNotifiedBeforeDate(LocalDate date) {
-        log.debug("Request to get all not notified Reminders before date {}", date);
-        return reminderRepository.findAllByDateLessThanEqualAndNotified(date.minusDays(1), false);
+    public void retry(Reminder reminder, Instant retryAt) {
+        log.debug("Request to retry Reminder {} at {}", reminder.getId(), retryAt);
+        dueReminders.schedule(reminder.getId(), retryAt);
     }
 
     @Override
@@ -61,13 +110,24 @@ public class ReminderServiceImpl implements ReminderService {
     @Override
     public Reminder save(Reminder reminder) {
         log.debug("Request to save Reminder: {}", reminder);
-        return reminderRepository.save(reminder);
+        Reminder savedReminder = reminderRepository.save(reminder);
+
+        if (isLoaded()) {
+            if (Boolean.TRUE.equals(savedReminder.getNotified())) {
+                dueReminders.cancel(savedReminder.getId());
+            } else {
+                schedule(savedReminder, userCityService.getZoneIdOfUserOrDefault(savedReminder.getChat(), savedReminder.getUser()));
+            }
+        }
+
+        return savedReminder;
     }
 
     @Override
     public void remove(Reminder reminder) {
         log.debug("Request to remove Reminder: {}", reminder);
         reminderRepository.delete(reminder);
+        dueReminders.cancel(reminder.getId());
     }
 
     @Override
@@ -85,4 +145,40 @@ public class ReminderServiceImpl implements ReminderService {
                 .min(LocalDateTime::compareTo)
                 .orElse(null);
     }
+
+    /**
+     * Load all not notified Reminders to queue on first use.
+     * Time zones are resolved once for every pair of Chat and User.
+     */
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+
+        Map<Pair<Long, Long>, ZoneId> zoneIds = new HashMap<>();
+        List<Reminder> reminders = reminderRepository.findAllByNotified(false);
+        reminders.forEach(reminder -> schedule(reminder, zoneIds.computeIfAbsent(
+                Pair.of(reminder.getChat().getChatId(), reminder.getUser().getUserId()),
+                key -> userCityService.getZoneIdOfUserOrDefault(reminder.getChat(), reminder.getUser()))));
+
+        loaded = true;
+        log.info("Reminders loaded: {}", reminders.size());
+    }
+
+    private synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private void schedule(Reminder reminder, ZoneId zoneId) {
+        if (reminder.getDate() == null || reminder.getTime() == null) {
+            dueReminders.cancel(reminder.getId());
+        } else {
+            dueReminders.schedule(reminder.getId(), getDueTime(reminder, zoneId));
+        }
+    }
+
+    private static Instant getDueTime(Reminder reminder, ZoneId zoneId) {
+        return reminder.getDate().atTime(reminder.getTime()).atZone(zoneId).toInstant();
+    }
+
 }
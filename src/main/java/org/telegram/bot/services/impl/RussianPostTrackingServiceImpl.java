@@ -3,6 +3,7 @@ package org.telegram.bot.services.impl;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import jakarta.annotation.PreDestroy;
 import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.soap.*;
 import lombok.Data;
@@ -40,6 +41,11 @@ public class RussianPostTrackingServiceImpl implements PostTrackingService {
     private final SpeechService speechService;
 
     private final XmlMapper xmlMapper = new XmlMapper();
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    private SOAPConnection soapConnection;
+    private MessageFactory messageFactory;
+    private Name mustUnderstandName;
 
     @Override
     public List<TrackCodeEvent> getData(String barcode) {
@@ -52,40 +58,66 @@ public class RussianPostTrackingServiceImpl implements PostTrackingService {
         }
 
         TrackingData trackingData;
-        SOAPConnection connection = getSoapConnection();
         try {
             SOAPMessage message = getSoapMessage(russianPostLogin, russianPostPassword, barcode);
-            String xml = callApi(connection, message);
+            String xml = callApi(getSoapConnection(), message);
             trackingData = parseTrackingData(xml);
             checkForErrors(trackingData);
         } catch (BotException botException) {
             log.error("Failed to update TrackCodeEvents by {}", barcode);
             throw botException;
-        } catch (Exception e) {
+        }
+
+        return mapTrackingDataToTrackCodeEventList(trackingData);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (soapConnection != null) {
             try {
-                connection.close();
-            } catch (SOAPException soapException) {
-                log.warn("Failed to close SOAPConnection: ", soapException);
+                soapConnection.close();
+            } catch (SOAPException e) {
+                log.warn("Failed to close SOAPConnection: ", e);
             }
-            throw e;
+            soapConnection = null;
         }
+    }
 
-        return mapTrackingDataToTrackCodeEventList(trackingData);
+    /**
+     * Get shared connection. It does not hold a network connection between calls, so it is used by all threads.
+     *
+     * @return SOAPConnection.
+     */
+    private synchronized SOAPConnection getSoapConnection() {
+        if (soapConnection == null) {
+            try {
+                soapConnection = SOAPConnectionFactory.newInstance().createConnection();
+            } catch (SOAPException e) {
+                log.error("Failed to create SOAPConnection: ", e);
+                throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
+            }
+        }
+
+        return soapConnection;
     }
 
-    private SOAPConnection getSoapConnection() {
-        try {
-            return SOAPConnectionFactory.newInstance().createConnection();
-        } catch (SOAPException e) {
-            log.error("Failed to create SOAPConnection: ", e);
-            throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
+    private synchronized MessageFactory getMessageFactory() {
+        if (messageFactory == null) {
+            try {
+                messageFactory = MessageFactory.newInstance(SOAPConstants.SOAP_1_2_PROTOCOL);
+                mustUnderstandName = SOAPFactory.newInstance().createName("mustUnderstand","soapenv","http://schemas.xmlsoap.org/soap/envelope/");
+            } catch (SOAPException e) {
+                log.error("Failed to create MessageFactory: ", e);
+                throw new BotException(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR));
+            }
         }
+
+        return messageFactory;
     }
 
     private SOAPMessage getSoapMessage(String russianPostLogin, String russianPostPassword, String barcode) {
         try {
-            MessageFactory messageFactory = MessageFactory.newInstance("SOAP 1.2 Protocol");
-            SOAPMessage message = messageFactory.createMessage();
+            SOAPMessage message = getMessageFactory().createMessage();
 
             SOAPPart soapPart = message.getSOAPPart();
             SOAPEnvelope envelope = soapPart.getEnvelope();
@@ -103,9 +135,7 @@ public class RussianPostTrackingServiceImpl implements PostTrackingService {
             SOAPElement language = dataElement.addChildElement("Language","data");
             SOAPElement dataAuth = operElement.addChildElement("AuthorizationHeader","data");
 
-            SOAPFactory sf = SOAPFactory.newInstance();
-            Name must = sf.createName("mustUnderstand","soapenv","http://schemas.xmlsoap.org/soap/envelope/");
-            dataAuth.addAttribute(must,"1");
+            dataAuth.addAttribute(mustUnderstandName,"1");
 
             SOAPElement login = dataAuth.addChildElement("login", "data");
             SOAPElement password = dataAuth.addChildElement("password","data");
@@ -133,7 +163,10 @@ public class RussianPostTrackingServiceImpl implements PostTrackingService {
 
             Source sourceContent = soapResponse.getSOAPPart().getContent();
 
-            Transformer t = TransformerFactory.newInstance().newTransformer();
+            Transformer t;
+            synchronized (transformerFactory) {
+                t = transformerFactory.newTransformer();
+            }
             t.setOutputProperty(OutputKeys.METHOD, "html");
             t.setOutputProperty(OutputKeys.INDENT, "yes");
 
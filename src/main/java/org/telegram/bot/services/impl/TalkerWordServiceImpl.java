@@ -2,44 +2,73 @@ package org.telegram.bot.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.telegram.bot.domain.entities.TalkerPhrase;
 import org.telegram.bot.domain.entities.TalkerWord;
 import org.telegram.bot.repositories.TalkerWordRepository;
 import org.telegram.bot.services.TalkerWordService;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TalkerWordServiceImpl implements TalkerWordService {
 
+    private static final String SELECT_LINKS_QUERY = "SELECT word_id, phrase_id FROM talkerwordphrase "
+            + "WHERE word_id IN (:wordIds) AND phrase_id IN (:phraseIds)";
+    private static final String INSERT_LINK_QUERY = "INSERT INTO talkerwordphrase (word_id, phrase_id) VALUES (?, ?)";
+
     private final TalkerWordRepository talkerWordRepository;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     @Override
-    public void save(Set<TalkerWord> talkerWordSet) {
-        List<String> words = talkerWordSet.stream().map(TalkerWord::getWord).toList();
+    @Transactional
+    public void save(List<String> words, List<TalkerPhrase> talkerPhrases) {
         log.debug("Request to save TalkerWords {}", words);
 
-        Set<TalkerWord> storedTalkerWordList = talkerWordRepository.findAllByWordInIgnoreCase(words);
-        Set<String> storedWords = storedTalkerWordList.stream().map(TalkerWord::getWord).collect(Collectors.toSet());
-
-        storedTalkerWordList.forEach(talkerWord -> talkerWord.setPhrases(
-                Stream.concat(
-                        talkerWord.getPhrases().stream(),
-                        talkerWordSet.stream().map(TalkerWord::getPhrases).flatMap(Collection::stream)).collect(Collectors.toSet())));
-
-        talkerWordRepository.saveAll(
-                Stream.concat(
-                                storedTalkerWordList.stream(),
-                                talkerWordSet
-                                        .stream()
-                                        .filter(talkerWord -> !storedWords.contains(talkerWord.getWord())))
-                        .toList());
+        Map<String, String> wordsByLowerCase = new LinkedHashMap<>();
+        words.forEach(word -> wordsByLowerCase.putIfAbsent(word.toLowerCase(Locale.ROOT), word));
+
+        Map<String, Long> wordIds = new HashMap<>();
+        talkerWordRepository.findIdsByWordIn(wordsByLowerCase.keySet())
+                .forEach(talkerWordId -> wordIds.putIfAbsent(talkerWordId.getWord(), talkerWordId.getId()));
+
+        List<TalkerWord> newTalkerWords = wordsByLowerCase.entrySet()
+                .stream()
+                .filter(entry -> !wordIds.containsKey(entry.getKey()))
+                .map(entry -> new TalkerWord().setWord(entry.getValue()).setPhrases(new HashSet<>()))
+                .toList();
+        talkerWordRepository.saveAll(newTalkerWords)
+                .forEach(talkerWord -> wordIds.put(talkerWord.getWord().toLowerCase(Locale.ROOT), talkerWord.getId()));
+
+        List<Long> phraseIds = talkerPhrases.stream().map(TalkerPhrase::getId).distinct().toList();
+        if (wordIds.isEmpty() || phraseIds.isEmpty()) {
+            return;
+        }
+
+        Set<List<Long>> storedLinks = new HashSet<>();
+        namedParameterJdbcTemplate.query(SELECT_LINKS_QUERY,
+                new MapSqlParameterSource()
+                        .addValue("wordIds", wordIds.values())
+                        .addValue("phraseIds", phraseIds),
+                rs -> {
+                    storedLinks.add(List.of(rs.getLong(1), rs.getLong(2)));
+                });
+
+        List<Object[]> newLinks = new ArrayList<>();
+        wordIds.values().stream().distinct().forEach(wordId -> phraseIds.forEach(phraseId -> {
+            if (!storedLinks.contains(List.of(wordId, phraseId))) {
+                newLinks.add(new Object[]{wordId, phraseId});
+            }
+        }));
+
+        if (!newLinks.isEmpty()) {
+            namedParameterJdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_LINK_QUERY, newLinks);
+        }
     }
 
     @Override
@@ -1,5 +1,6 @@
 package org.telegram.bot.services.impl;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,36 +12,99 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+/**
+ * Registry of temporary files stored in dedicated directory.
+ * Files are indexed by expiration time, so cleanup touches only expired files. If files take more space than allowed,
+ * the least recently used ones are deleted. Files are not deleted while they are acquired.
+ * Names of files end with {@link #FILE_NAME_MARKER} and number, so only own files are deleted from the directory at startup.
+ */
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class TemporaryFileManagerImpl implements TemporaryFileManager {
 
+    private static final long EVICTION_PROTECTION_MILLIS = 60000;
+    private static final String FILE_NAME_MARKER = "_tmp";
+    private static final Pattern OWN_FILE_NAME_PATTERN = Pattern.compile(".*" + FILE_NAME_MARKER + "\\d+(\\.[^.]*)?");
+    private static final Comparator<FileEntry> EXPIRATION_ORDER = Comparator
+            .comparingLong((FileEntry fileEntry) -> fileEntry.expiresAt)
+            .thenComparingLong(fileEntry -> fileEntry.id);
+
     @Value("${temporaryFileLifetimeSeconds:900}")
     private Integer temporaryFileLifetimeSeconds;
 
-    private static final AtomicInteger FILES_COUNTER = new AtomicInteger();
-    private static final Map<String, LocalDateTime> FILES = new HashMap<>();
+    @Value("${temporaryFilesDirectory:tmp}")
+    private String temporaryFilesDirectory;
+
+    @Value("${temporaryFilesMaxSizeBytes:1073741824}")
+    private Long temporaryFilesMaxSizeBytes;
+
+    private final AtomicInteger filesCounter = new AtomicInteger();
+    private final Map<String, FileEntry> files = new LinkedHashMap<>(16, 0.75f, true);
+    private final NavigableSet<FileEntry> expirationIndex = new TreeSet<>(EXPIRATION_ORDER);
+    private long entriesCounter;
+    private long usedBytes;
 
     private final BotStats botStats;
+    private final Clock clock;
+
+    /**
+     * Create directory of temporary files and delete files left from previous run.
+     */
+    @PostConstruct
+    public void init() {
+        Path directory = Path.of(temporaryFilesDirectory);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.error("Failed to create directory of temporary files {}: {}", directory, e.getMessage());
+            botStats.incrementErrors(directory, e, "Failed to create directory of temporary files");
+            return;
+        }
+
+        List<File> orphans;
+        try (Stream<Path> paths = Files.list(directory)) {
+            orphans = paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> OWN_FILE_NAME_PATTERN.matcher(path.getFileName().toString()).matches())
+                    .map(Path::toFile)
+                    .toList();
+        } catch (IOException e) {
+            log.error("Failed to read directory of temporary files {}: {}", directory, e.getMessage());
+            return;
+        }
+
+        long deleted = orphans.stream().filter(this::deleteFileFromDisk).count();
+        if (deleted > 0) {
+            log.info("Deleted {} orphaned temporary files from {}", deleted, directory);
+        }
+    }
 
     @Override
     public String addFile(String prefix, String postfix) {
-        String fileName = prefix + FILES_COUNTER.incrementAndGet() + postfix;
-
-        File file = new File(fileName);
+        File file = new File(temporaryFilesDirectory, prefix + FILE_NAME_MARKER + filesCounter.incrementAndGet() + postfix);
         if (file.exists() && (!deleteFileFromDisk(file))) {
             return addFile(prefix, postfix);
         }
 
-        FILES.put(fileName, LocalDateTime.now().plusSeconds(temporaryFileLifetimeSeconds));
+        String fileName = file.getPath();
+        long now = clock.millis();
+        synchronized (this) {
+            FileEntry fileEntry = new FileEntry(fileName, entriesCounter++);
+            fileEntry.expiresAt = now + temporaryFileLifetimeSeconds * 1000L;
+            fileEntry.lastAccess = now;
+            files.put(fileName, fileEntry);
+            expirationIndex.add(fileEntry);
+        }
+
         return fileName;
     }
 
@@ -48,49 +112,169 @@ public class TemporaryFileManagerImpl implements TemporaryFileManager {
     public File get(String fileName) {
         File file = new File(fileName);
         if (!file.exists()) {
-            FILES.remove(fileName);
+            synchronized (this) {
+                FileEntry fileEntry = files.get(fileName);
+                if (fileEntry != null && fileEntry.refCount == 0) {
+                    unregister(fileEntry);
+                }
+            }
             return null;
         }
 
+        long size = file.length();
+        long now = clock.millis();
+        synchronized (this) {
+            FileEntry fileEntry = files.get(fileName);
+            if (fileEntry != null) {
+                fileEntry.lastAccess = now;
+                fileEntry.completed = true;
+                usedBytes = usedBytes - fileEntry.size + size;
+                fileEntry.size = size;
+            }
+        }
+
         return file;
     }
 
-    private void deleteFiles(Set<String> fileNames) {
-        FILES.keySet().removeAll(fileNames);
+    @Override
+    public FileHandle acquire(String fileName) {
+        File file = get(fileName);
+        if (file == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            FileEntry fileEntry = files.get(fileName);
+            if (fileEntry != null) {
+                fileEntry.refCount = fileEntry.refCount + 1;
+            }
+            return new FileHandleImpl(file, fileEntry);
+        }
     }
 
     @Override
     public void deleteAllFiles() {
-        Set<String> fileNamesToRemove = new HashSet<>();
+        List<FileEntry> deletingFiles = new ArrayList<>();
+        synchronized (this) {
+            new ArrayList<>(files.values()).forEach(fileEntry -> {
+                if (fileEntry.refCount == 0) {
+                    unregister(fileEntry);
+                    deletingFiles.add(fileEntry);
+                }
+            });
+        }
 
-        FILES.forEach((key, value) -> {
-            if (deleteFileFromDisk(key)) {
-                fileNamesToRemove.add(key);
+        List<String> notDeletedFiles = deletingFiles
+                .stream()
+                .filter(fileEntry -> !deleteFileFromDisk(new File(fileEntry.name)))
+                .map(fileEntry -> fileEntry.name)
+                .toList();
+        synchronized (this) {
+            if (!files.isEmpty()) {
+                log.warn("Files are in use: {}", String.join(", ", files.keySet()));
             }
-        });
-
-        deleteFiles(fileNamesToRemove);
-
-        log.warn("Failed to delete files: {}", String.join(", ", FILES.keySet()));
+        }
+        if (!notDeletedFiles.isEmpty()) {
+            log.warn("Failed to delete files: {}", String.join(", ", notDeletedFiles));
+        }
     }
 
     @Override
     public void cleanup() {
-        LocalDateTime dateTimeNow = LocalDateTime.now();
-        Set<String> fileNamesToRemove = new HashSet<>();
+        long now = clock.millis();
+        List<FileEntry> deletingFiles = new ArrayList<>();
+        Map<FileEntry, Long> fileSizes = getFileSizes();
+
+        synchronized (this) {
+            fileSizes.forEach((fileEntry, size) -> {
+                if (files.get(fileEntry.name) == fileEntry) {
+                    usedBytes = usedBytes - fileEntry.size + size;
+                    fileEntry.size = size;
+                }
+            });
 
-        FILES.forEach((key, value) -> {
-            if (value.isBefore(dateTimeNow) && (deleteFileFromDisk(key))) {
-                fileNamesToRemove.add(key);
+            while (!expirationIndex.isEmpty() && expirationIndex.first().expiresAt <= now) {
+                FileEntry fileEntry = expirationIndex.pollFirst();
+                if (fileEntry.refCount > 0) {
+                    fileEntry.expired = true;
+                } else {
+                    unregister(fileEntry);
+                    deletingFiles.add(fileEntry);
+                }
             }
-        });
 
-        deleteFiles(fileNamesToRemove);
+            if (usedBytes > temporaryFilesMaxSizeBytes) {
+                Iterator<FileEntry> leastRecentlyUsed = new ArrayList<>(files.values()).iterator();
+                while (usedBytes > temporaryFilesMaxSizeBytes && leastRecentlyUsed.hasNext()) {
+                    FileEntry fileEntry = leastRecentlyUsed.next();
+                    if (fileEntry.completed && fileEntry.refCount == 0 && fileEntry.lastAccess + EVICTION_PROTECTION_MILLIS <= now) {
+                        unregister(fileEntry);
+                        deletingFiles.add(fileEntry);
+                    }
+                }
+
+                if (usedBytes > temporaryFilesMaxSizeBytes) {
+                    log.warn("Temporary files take {} bytes which is more than allowed {}", usedBytes, temporaryFilesMaxSizeBytes);
+                }
+            }
+        }
+
+        deleteFiles(deletingFiles, now);
     }
 
-    private boolean deleteFileFromDisk(String name) {
-        File file = new File(name);
-        return deleteFileFromDisk(file);
+    /**
+     * Get sizes of registered files from disk, so files written without calling of {@link #get(String)} are counted too.
+     */
+    private Map<FileEntry, Long> getFileSizes() {
+        List<FileEntry> fileEntries;
+        synchronized (this) {
+            fileEntries = new ArrayList<>(files.values());
+        }
+
+        Map<FileEntry, Long> fileSizes = new HashMap<>(fileEntries.size());
+        for (FileEntry fileEntry : fileEntries) {
+            File file = new File(fileEntry.name);
+            if (file.exists()) {
+                fileSizes.put(fileEntry, file.length());
+            }
+        }
+
+        return fileSizes;
+    }
+
+    private void release(FileEntry fileEntry) {
+        synchronized (this) {
+            fileEntry.refCount = fileEntry.refCount - 1;
+            if (fileEntry.refCount > 0 || !fileEntry.expired || files.get(fileEntry.name) != fileEntry) {
+                return;
+            }
+            unregister(fileEntry);
+        }
+
+        deleteFiles(List.of(fileEntry), clock.millis());
+    }
+
+    private void deleteFiles(List<FileEntry> fileEntries, long now) {
+        for (FileEntry fileEntry : fileEntries) {
+            if (!deleteFileFromDisk(new File(fileEntry.name))) {
+                synchronized (this) {
+                    if (!files.containsKey(fileEntry.name)) {
+                        // will be tried again at next cleanup
+                        fileEntry.expiresAt = now;
+                        fileEntry.expired = false;
+                        files.put(fileEntry.name, fileEntry);
+                        expirationIndex.add(fileEntry);
+                        usedBytes = usedBytes + fileEntry.size;
+                    }
+                }
+            }
+        }
+    }
+
+    private void unregister(FileEntry fileEntry) {
+        files.remove(fileEntry.name);
+        expirationIndex.remove(fileEntry);
+        usedBytes = usedBytes - fileEntry.size;
     }
 
     private boolean deleteFileFromDisk(File file) {
@@ -107,4 +291,43 @@ public class TemporaryFileManagerImpl implements TemporaryFileManager {
         return true;
     }
 
+    private static class FileEntry {
+        private final String name;
+        private final long id;
+        private long expiresAt;
+        private long lastAccess;
+        private long size;
+        private int refCount;
+        private boolean completed;
+        private boolean expired;
+
+        private FileEntry(String name, long id) {
+            this.name = name;
+            this.id = id;
+        }
+    }
+
+    private class FileHandleImpl implements FileHandle {
+        private final File file;
+        private final FileEntry fileEntry;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private FileHandleImpl(File file, FileEntry fileEntry) {
+            this.file = file;
+            this.fileEntry = fileEntry;
+        }
+
+        @Override
+        public File getFile() {
+            return file;
+        }
+
+        @Override
+        public void close() {
+            if (fileEntry != null && closed.compareAndSet(false, true)) {
+                release(fileEntry);
+            }
+        }
+    }
+
 }
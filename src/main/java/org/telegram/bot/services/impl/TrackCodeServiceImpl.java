@@ -2,19 +2,25 @@ package org.telegram.bot.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.telegram.bot.domain.entities.TrackCode;
 import org.telegram.bot.domain.entities.TrackCodeEvent;
 import org.telegram.bot.exception.BotException;
 import org.telegram.bot.repositories.TrackCodeEventRepository;
 import org.telegram.bot.repositories.TrackCodeRepository;
+import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.PostTrackingService;
 import org.telegram.bot.services.TrackCodeService;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static org.telegram.bot.commands.Parcel.DELIVERED_OPERATION_TYPE;
 
@@ -26,6 +32,11 @@ public class TrackCodeServiceImpl implements TrackCodeService {
     private final PostTrackingService postTrackingService;
     private final TrackCodeRepository trackCodeRepository;
     private final TrackCodeEventRepository trackCodeEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BotStats botStats;
+
+    @Value("${russianPostParallelism:4}")
+    private int parallelism;
 
     @Override
     public TrackCode get(Long id) {
@@ -64,9 +75,14 @@ public class TrackCodeServiceImpl implements TrackCodeService {
     }
 
     @Override
-    @Transactional
     public void updateFromApi() {
         log.debug("Request to update track events data");
+        int availableRequests = botStats.getRussianPostRequests();
+        if (availableRequests <= 0) {
+            log.warn("Limit of Russian Post requests is exceeded, track events data will not be updated");
+            return;
+        }
+
         List<TrackCode> trackCodeList = trackCodeRepository.findAll()
                 .stream()
                 .filter(trackCode -> !Boolean.TRUE.equals(trackCode.getInvalid()))
@@ -75,44 +91,78 @@ public class TrackCodeServiceImpl implements TrackCodeService {
                         .filter(event -> DELIVERED_OPERATION_TYPE.equalsIgnoreCase(event.getOperationType()))
                         .findFirst()
                         .isEmpty())
+                .sorted(Comparator.comparing(TrackCodeServiceImpl::getLastEventDateTime, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .limit(availableRequests)
                 .toList();
 
-        Set<TrackCodeEvent> trackCodeEventSet = new HashSet<>();
-        trackCodeList.forEach(trackCode -> {
-            List<TrackCodeEvent> trackCodeEventList;
-            try {
-                trackCodeEventList = postTrackingService.getData(trackCode.getBarcode());
-            } catch (Exception e) {
-                log.error("Failed to update track {} events data: ", trackCode, e);
+        try (ExecutorService executorService = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("track-code-updater-", 0).factory())) {
+            trackCodeList.forEach(trackCode -> executorService.execute(() -> updateFromApiSafely(trackCode)));
+        }
+    }
 
-                if (trackCode.getEvents().isEmpty()) {
-                    trackCode.setInvalid(true);
-                }
+    @Override
+    @Transactional
+    public void updateFromApi(TrackCode trackCode) throws BotException {
+        List<TrackCodeEvent> trackCodeEventList = postTrackingService.getData(trackCode.getBarcode());
+        saveNewEvents(trackCode, trackCodeEventList);
+    }
 
-                return;
-            }
+    private void updateFromApiSafely(TrackCode trackCode) {
+        List<TrackCodeEvent> trackCodeEventList;
+        try {
+            trackCodeEventList = postTrackingService.getData(trackCode.getBarcode());
+        } catch (Exception e) {
+            log.error("Failed to update track {} events data: ", trackCode, e);
 
-            trackCodeEventRepository.deleteAllByTrackCode(trackCode);
-            trackCodeEventList.forEach(event -> event.setTrackCode(trackCode));
-            trackCode.setEvents(new HashSet<>(trackCodeEventList));
+            if (trackCode.getEvents().isEmpty()) {
+                trackCodeRepository.save(trackCode.setInvalid(true));
+            }
 
-            trackCodeEventSet.addAll(trackCodeEventList);
-        });
+            return;
+        }
 
-        trackCodeEventRepository.saveAll(trackCodeEventSet);
-        trackCodeRepository.saveAll(trackCodeList);
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveNewEvents(trackCode, trackCodeEventList));
+        } catch (DataAccessException e) {
+            log.error("Failed to save track {} events data: ", trackCode, e);
+        }
     }
 
-    @Override
-    @Transactional
-    public void updateFromApi(TrackCode trackCode) throws BotException {
-        List<TrackCodeEvent> trackCodeEventList = postTrackingService.getData(trackCode.getBarcode());
+    /**
+     * Save events which are not stored yet.
+     *
+     * @param trackCode TrackCode with stored events.
+     * @param trackCodeEventList events received from api.
+     */
+    private void saveNewEvents(TrackCode trackCode, List<TrackCodeEvent> trackCodeEventList) {
+        Set<TrackCodeEvent> events = trackCode.getEvents() == null ? new HashSet<>() : new HashSet<>(trackCode.getEvents());
+        Set<EventKey> storedEventKeys = events.stream().map(EventKey::of).collect(Collectors.toSet());
+
+        List<TrackCodeEvent> newEvents = trackCodeEventList
+                .stream()
+                .filter(event -> storedEventKeys.add(EventKey.of(event)))
+                .map(event -> event.setTrackCode(trackCode))
+                .toList();
+        if (newEvents.isEmpty()) {
+            return;
+        }
+
+        events.addAll(trackCodeEventRepository.saveAll(newEvents));
+        trackCode.setEvents(events);
+    }
 
-        trackCodeEventRepository.deleteAllByTrackCode(trackCode);
-        trackCodeEventList.forEach(event -> event.setTrackCode(trackCode));
-        trackCode.setEvents(new HashSet<>(trackCodeEventList));
+    private static LocalDateTime getLastEventDateTime(TrackCode trackCode) {
+        return trackCode.getEvents()
+                .stream()
+                .map(TrackCodeEvent::getEventDateTime)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(trackCode.getCreateDateTime());
+    }
 
-        trackCodeEventRepository.saveAll(trackCodeEventList);
-        trackCodeRepository.save(trackCode);
+    private record EventKey(LocalDateTime eventDateTime, String operationType, String operationDescription, String index) {
+        static EventKey of(TrackCodeEvent event) {
+            return new EventKey(event.getEventDateTime(), event.getOperationType(), event.getOperationDescription(), event.getIndex());
+        }
     }
 }
@@ -57,11 +57,4 @@ public class TvChannelServiceImpl implements TvChannelService {
         entityManager.flush();
         entityManager.clear();
     }
-
-    @Override
-    @Transactional
-    public void clearTable() {
-        log.debug("Request to delete all TvChannels");
-        tvChannelRepository.clearTable();
-    }
 }
@@ -56,11 +56,4 @@ public class TvProgramServiceImpl implements TvProgramService {
         entityManager.flush();
         entityManager.clear();
     }
-
-    @Override
-    @Transactional
-    public void clearTable() {
-        log.debug("Request to delete all TvPrograms");
-        tvProgramRepository.clearTable();
-    }
 }
@@ -2,9 +2,11 @@ package org.telegram.bot.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.domain.entities.UserEmail;
 import org.telegram.bot.repositories.UserEmailRepository;
+import org.telegram.bot.services.EmailSubscriberIndex;
 import org.telegram.bot.services.UserEmailService;
 
 import java.util.List;
@@ -14,20 +16,29 @@ import java.util.List;
 public class UserEmailServiceImpl implements UserEmailService {
 
     private final UserEmailRepository userEmailRepository;
+    private final EmailSubscriberIndex emailSubscriberIndex;
 
     @Override
     public List<UserEmail> getByUsers(List<User> users) {
         return userEmailRepository.findByUserIn(users);
     }
 
+    @Override
+    public List<UserEmail> getShippingEnabled(Chat chat) {
+        return emailSubscriberIndex.getSubscribers(chat.getChatId());
+    }
+
     @Override
     public void remove(UserEmail userEmail) {
         userEmailRepository.delete(userEmail);
+        emailSubscriberIndex.remove(userEmail);
     }
 
     @Override
     public UserEmail save(UserEmail userEmail) {
-        return userEmailRepository.save(userEmail);
+        UserEmail savedUserEmail = userEmailRepository.save(userEmail);
+        emailSubscriberIndex.update(savedUserEmail);
+        return savedUserEmail;
     }
 
     @Override
@@ -2,6 +2,7 @@ package org.telegram.bot.services.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -12,72 +13,32 @@ import org.telegram.bot.domain.model.request.Message;
 import org.telegram.bot.domain.model.request.MessageContentType;
 import org.telegram.bot.enums.AccessLevel;
 import org.telegram.bot.enums.RequestSource;
+import org.telegram.bot.enums.UserStatsCounter;
 import org.telegram.bot.repositories.UserStatsRepository;
 import org.telegram.bot.services.*;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserStatsServiceImpl implements UserStatsService {
 
-    private final Map<MessageContentType, Consumer<UserStats>> contentTypeUserStatsConsumerMap = Map.ofEntries(
-            Map.entry(MessageContentType.TEXT,
-                    userStats -> userStats
-                            .setNumberOfMessages(userStats.getNumberOfMessages() + 1)
-                            .setNumberOfMessagesPerDay(userStats.getNumberOfMessagesPerDay() + 1)
-                            .setNumberOfAllMessages(userStats.getNumberOfAllMessages() + 1)),
-
-            Map.entry(MessageContentType.STICKER, userStats ->
-                    userStats.setNumberOfStickers(userStats.getNumberOfStickers() + 1)
-                            .setNumberOfStickersPerDay(userStats.getNumberOfStickersPerDay() + 1)
-                            .setNumberOfAllStickers(userStats.getNumberOfAllStickers() + 1)),
-
-            Map.entry(MessageContentType.PHOTO, userStats ->
-                    userStats.setNumberOfPhotos(userStats.getNumberOfPhotos() + 1)
-                            .setNumberOfPhotosPerDay(userStats.getNumberOfPhotosPerDay() + 1)
-                            .setNumberOfAllPhotos(userStats.getNumberOfAllPhotos() + 1)),
-
-            Map.entry(MessageContentType.ANIMATION, userStats ->
-                    userStats.setNumberOfAnimations(userStats.getNumberOfAnimations() + 1)
-                            .setNumberOfAnimationsPerDay(userStats.getNumberOfAnimationsPerDay() + 1)
-                            .setNumberOfAllAnimations(userStats.getNumberOfAllAnimations() + 1)),
-
-            Map.entry(MessageContentType.AUDIO, userStats ->
-                    userStats.setNumberOfAudio(userStats.getNumberOfAudio() + 1)
-                            .setNumberOfAudioPerDay(userStats.getNumberOfAudioPerDay() + 1)
-                            .setNumberOfAllAudio(userStats.getNumberOfAllAudio() + 1)),
-
-            Map.entry(MessageContentType.FILE, userStats ->
-                    userStats.setNumberOfDocuments(userStats.getNumberOfDocuments() + 1)
-                            .setNumberOfDocumentsPerDay(userStats.getNumberOfDocumentsPerDay() + 1)
-                            .setNumberOfAllDocuments(userStats.getNumberOfAllDocuments() + 1)),
-
-            Map.entry(MessageContentType.VIDEO, userStats ->
-                    userStats.setNumberOfVideos(userStats.getNumberOfVideos() + 1)
-                            .setNumberOfVideosPerDay(userStats.getNumberOfVideosPerDay() + 1)
-                            .setNumberOfAllVideos(userStats.getNumberOfAllVideos() + 1)),
-
-            Map.entry(MessageContentType.VIDEO_NOTE, userStats ->
-                    userStats.setNumberOfVideoNotes(userStats.getNumberOfVideoNotes() + 1)
-                            .setNumberOfVideoNotesPerDay(userStats.getNumberOfVideoNotesPerDay() + 1)
-                            .setNumberOfAllVideoNotes(userStats.getNumberOfAllVideoNotes() + 1)),
-
-            Map.entry(MessageContentType.VOICE, userStats ->
-                    userStats.setNumberOfVoices(userStats.getNumberOfVoices() + 1)
-                            .setNumberOfVoicesPerDay(userStats.getNumberOfVoicesPerDay() + 1)
-                            .setNumberOfAllVoices(userStats.getNumberOfAllVoices() + 1)),
-
-            Map.entry(MessageContentType.REACTION, userStats ->
-                    userStats.setNumberOfReactions(userStats.getNumberOfReactions() + 1)
-                            .setNumberOfReactionsPerDay(userStats.getNumberOfReactionsPerDay() + 1)
-                            .setNumberOfAllReactions(userStats.getNumberOfAllReactions() + 1)),
-
-            Map.entry(MessageContentType.UNKNOWN, userStats -> log.warn("Unknown message content type")));
+    private final Map<MessageContentType, UserStatsCounter> contentTypeUserStatsCounterMap = Map.ofEntries(
+            Map.entry(MessageContentType.TEXT, UserStatsCounter.MESSAGES),
+            Map.entry(MessageContentType.STICKER, UserStatsCounter.STICKERS),
+            Map.entry(MessageContentType.PHOTO, UserStatsCounter.PHOTOS),
+            Map.entry(MessageContentType.ANIMATION, UserStatsCounter.ANIMATIONS),
+            Map.entry(MessageContentType.AUDIO, UserStatsCounter.AUDIO),
+            Map.entry(MessageContentType.FILE, UserStatsCounter.DOCUMENTS),
+            Map.entry(MessageContentType.VIDEO, UserStatsCounter.VIDEOS),
+            Map.entry(MessageContentType.VIDEO_NOTE, UserStatsCounter.VIDEO_NOTES),
+            Map.entry(MessageContentType.VOICE, UserStatsCounter.VOICES),
+            Map.entry(MessageContentType.REACTION, UserStatsCounter.REACTIONS));
 
     private final UserStatsRepository userStatsRepository;
 
@@ -87,11 +48,13 @@ public class UserStatsServiceImpl implements UserStatsService {
     private final LastCommandService lastCommandService;
     private final MessageService messageService;
     private final UserEmailService userEmailService;
+    private final UserStatsCounterBuffer userStatsCounterBuffer;
+    private final EmailSubscriberIndex emailSubscriberIndex;
 
     @Override
     public UserStats get(Chat chat, User user) {
         log.debug("Request to get entity by Chat {} and {} User", chat, user);
-        return userStatsRepository.findByChatAndUser(chat, user);
+        return userStatsCounterBuffer.merge(userStatsRepository.findByChatAndUser(chat, user));
     }
 
     @Override
@@ -126,19 +89,32 @@ public class UserStatsServiceImpl implements UserStatsService {
 
         messageService.save(message);
 
-        updateEmailShipping(botRequest.getSource(), user);
+        updateEmailShipping(botRequest.getSource(), chat, user);
+        if (message.getLeftChatMember() != null) {
+            emailSubscriberIndex.removeMember(chat.getChatId(), message.getLeftChatMember().getUserId());
+        }
     }
 
-    private void updateEmailShipping(RequestSource source, User user) {
+    private void updateEmailShipping(RequestSource source, Chat chat, User user) {
         UserEmail userEmail = userEmailService.get(user);
-        if (userEmail != null) {
-            if (RequestSource.EMAIL.equals(source)) {
-                userEmail.setShippingEnabled(true);
-            } else if (RequestSource.TELEGRAM.equals(source)) {
-                userEmail.setShippingEnabled(false);
-            }
-
-            userEmailService.save(userEmail);
+        if (userEmail == null) {
+            return;
+        }
+
+        Boolean shippingEnabled;
+        if (RequestSource.EMAIL.equals(source)) {
+            shippingEnabled = true;
+        } else if (RequestSource.TELEGRAM.equals(source)) {
+            shippingEnabled = false;
+        } else {
+            shippingEnabled = userEmail.getShippingEnabled();
+        }
+
+        if (!Objects.equals(shippingEnabled, userEmail.getShippingEnabled())) {
+            userEmailService.save(userEmail.setShippingEnabled(shippingEnabled));
+        }
+        if (Boolean.TRUE.equals(shippingEnabled)) {
+            emailSubscriberIndex.addMember(chat.getChatId(), user.getUserId());
         }
     }
 
@@ -150,91 +126,78 @@ public class UserStatsServiceImpl implements UserStatsService {
     @Override
     public List<UserStats> getActiveUserStatsListForChat(Chat chat) {
         log.debug("Request to get user stats of chat {}", chat);
-        return userStatsRepository.findByChatAndLastMessageDateGreaterThan(chat, LocalDate.now().atStartOfDay());
+        return userStatsRepository.findByChatAndLastMessageDateGreaterThan(chat, LocalDate.now().atStartOfDay())
+                .stream()
+                .map(userStatsCounterBuffer::merge)
+                .toList();
     }
 
     @Override
     public List<UserStats> getSortedUserStatsListForChat(Chat chat, String sortBy, int limit) {
         log.debug("Request to get users of chat with id {} and limit {} sort by {}", chat, limit, sortBy);
-        return userStatsRepository.findByChat(chat, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, sortBy)));
+        return mergeSorted(userStatsRepository.findByChat(chat, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, sortBy))), sortBy);
     }
 
     @Override
     public List<UserStats> getSortedUserStatsListWithKarmaForChat(Chat chat, String sortBy, int limit, boolean allKarma) {
         if (allKarma) {
             log.debug("Request to get users with allKarma of chat with id {} and limit {} sort by {}", chat, limit, sortBy);
-            return userStatsRepository.findByChatAndNumberOfAllKarmaNot(chat, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, sortBy)), 0L);
+            return mergeSorted(userStatsRepository.findByChatAndNumberOfAllKarmaNot(chat, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, sortBy)), 0L), sortBy)
+                    .stream()
+                    .filter(userStats -> userStats.getNumberOfAllKarma() != 0)
+                    .toList();
         }
 
         log.debug("Request to get users with karma of chat with id {} and limit {} sort by {}", chat, limit, sortBy);
-        return userStatsRepository.findByChatAndNumberOfKarmaNot(chat, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, sortBy)), 0);
+        return mergeSorted(userStatsRepository.findByChatAndNumberOfKarmaNot(chat, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, sortBy)), 0), sortBy)
+                .stream()
+                .filter(userStats -> userStats.getNumberOfKarma() != 0)
+                .toList();
     }
 
-    @Override
-    @Transactional
-    public void clearMonthlyStats() {
-        log.debug("Request to clear monthly stats of users");
-        userStatsRepository.saveAll(getAllGroupStats()
+    /**
+     * Merge pending counters into the page of UserStats and restore its order, which may be changed by them.
+     * Users, who would get into the page only by pending counters, appear in it after the next flush.
+     *
+     * @param userStatsList page of UserStats sorted by the field.
+     * @param sortBy name of the field.
+     * @return merged UserStats sorted by the field.
+     */
+    private List<UserStats> mergeSorted(List<UserStats> userStatsList, String sortBy) {
+        return userStatsList
                 .stream()
-                .map(this::clearUserStatsFields)
-                .toList());
+                .map(userStatsCounterBuffer::merge)
+                .sorted(Comparator.comparing(
+                        (UserStats userStats) -> (Number) new BeanWrapperImpl(userStats).getPropertyValue(sortBy),
+                        Comparator.nullsLast(Comparator.<Number>comparingLong(Number::longValue).reversed())))
+                .toList();
     }
 
-    private UserStats clearUserStatsFields(UserStats userStats) {
-        return userStats.setNumberOfMessages(0)
-                .setNumberOfPhotos(0)
-                .setNumberOfAnimations(0)
-                .setNumberOfAudio(0)
-                .setNumberOfDocuments(0)
-                .setNumberOfVideos(0)
-                .setNumberOfVideoNotes(0)
-                .setNumberOfVoices(0)
-                .setNumberOfCommands(0)
-                .setNumberOfStickers(0)
-                .setNumberOfKarma(0)
-                .setNumberOfGoodness(0)
-                .setNumberOfWickedness(0)
-                .setNumberOfReactions(0);
+    @Override
+    public void clearMonthlyStats() {
+        log.debug("Request to clear monthly stats of users");
+        userStatsCounterBuffer.clearMonthly(-1L);
+        userStatsRepository.clearMonthlyStats(-1L);
     }
 
     @Override
-    @Transactional
     public void clearDailyStats() {
         log.debug("Request to clear daily stats of users");
-        userStatsRepository.saveAll(getAllGroupStats()
-                .stream()
-                .map(this::clearUserStatsPerDayFields)
-                .toList());
+        userStatsCounterBuffer.clearDaily(-1L);
+        userStatsRepository.clearDailyStats(-1L);
     }
 
-    private UserStats clearUserStatsPerDayFields(UserStats userStats) {
-        return userStats.setNumberOfMessagesPerDay(0)
-                .setNumberOfPhotosPerDay(0)
-                .setNumberOfAnimationsPerDay(0)
-                .setNumberOfAudioPerDay(0)
-                .setNumberOfDocumentsPerDay(0)
-                .setNumberOfVideosPerDay(0)
-                .setNumberOfVideoNotesPerDay(0)
-                .setNumberOfVoicesPerDay(0)
-                .setNumberOfCommandsPerDay(0)
-                .setNumberOfStickersPerDay(0)
-                .setNumberOfKarmaPerDay(0)
-                .setNumberOfGoodnessPerDay(0)
-                .setNumberOfWickednessPerDay(0)
-                .setNumberOfReactionsPerDay(0);
+    @Override
+    public void changeKarma(Chat chat, User user, User anotherUser, int value) {
+        log.debug("Request to change karma of user {} by {} in chat {}", anotherUser, value, chat);
+        userStatsCounterBuffer.add(chat, anotherUser, UserStatsCounter.KARMA, value);
+        userStatsCounterBuffer.increment(chat, user, value > 0 ? UserStatsCounter.GOODNESS : UserStatsCounter.WICKEDNESS);
     }
 
     @Override
     public void incrementUserStatsCommands(Chat chat, User user) {
         log.debug("Request to increment users stats commands using");
-
-        UserStats userStats = get(chat, user);
-        userStats
-                .setNumberOfCommands(userStats.getNumberOfCommands() + 1)
-                .setNumberOfCommandsPerDay(userStats.getNumberOfCommandsPerDay() + 1)
-                .setNumberOfAllCommands(userStats.getNumberOfAllCommands() + 1);
-
-        save(userStats);
+        userStatsCounterBuffer.increment(chat, user, UserStatsCounter.COMMANDS);
     }
 
     @Override
@@ -296,14 +259,33 @@ public class UserStatsServiceImpl implements UserStatsService {
     }
 
     /**
-     * Updating user stats by his message.
+     * Updating user stats by his message. Counters and last message are updated through write-behind buffer,
+     * database is queried only for the first message of the user in the chat after start.
      *
      * @param chat    Chat entity.
      * @param user    User entity.
      * @param message telegram Message.
      */
     private void updateUserStats(Chat chat, User user, Message message) {
-        UserStats userStats = get(chat, user);
+        Long lastMessageId = userStatsCounterBuffer.getLastMessageId(chat, user);
+        if (lastMessageId == null) {
+            lastMessageId = loadUserStats(chat, user, message).getLastMessage().getId();
+            userStatsCounterBuffer.register(chat, user, lastMessageId);
+        } else {
+            userStatsCounterBuffer.updateLastMessage(lastMessageId, message);
+        }
+
+        UserStatsCounter counter = contentTypeUserStatsCounterMap.get(message.getMessageContentType());
+        if (counter == null) {
+            log.warn("Unknown message content type");
+        } else {
+            userStatsCounterBuffer.increment(chat, user, counter);
+        }
+    }
+
+    private UserStats loadUserStats(Chat chat, User user, Message message) {
+        // the entity is managed here, so pending counters must not be merged into it
+        UserStats userStats = userStatsRepository.findByChatAndUser(chat, user);
         if (userStats == null) {
             LastMessage lastMessage = new LastMessage();
 
@@ -355,10 +337,12 @@ public class UserStatsServiceImpl implements UserStatsService {
                     .setNumberOfAllReactions(0L);
         }
 
-        contentTypeUserStatsConsumerMap.get(message.getMessageContentType()).accept(userStats);
-
         userStats.setLastMessage(lastMessageService.update(userStats.getLastMessage(), message));
+        if (userStats.getId() != null) {
+            // saving of the loaded entity would overwrite counters flushed meanwhile
+            return userStats;
+        }
 
-        save(userStats);
+        return save(userStats);
     }
 }
@@ -0,0 +1,25 @@
+package org.telegram.bot.services.metrics;
+
+import org.springframework.stereotype.Component;
+import org.telegram.bot.utils.MeteredCache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Caches whose hits, misses and sizes are exported as metrics.
+ */
+@Component
+public class CacheMetricsRegistry {
+
+    private final List<MeteredCache> caches = new CopyOnWriteArrayList<>();
+
+    public void register(MeteredCache cache) {
+        caches.add(cache);
+    }
+
+    public List<MeteredCache> getCaches() {
+        return List.copyOf(caches);
+    }
+
+}
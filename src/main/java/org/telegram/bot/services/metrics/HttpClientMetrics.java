@@ -0,0 +1,59 @@
+package org.telegram.bot.services.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Latencies and errors of outgoing http requests by hosts.
+ * The number of hosts is limited, requests to other hosts are counted together.
+ */
+@Component
+public class HttpClientMetrics {
+
+    public static final String OTHER_HOSTS = "other";
+    private static final int MAX_HOSTS = 200;
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Record duration of request.
+     *
+     * @param host target host.
+     * @param durationNanos duration from sending request to receiving response headers.
+     */
+    public void recordLatency(String host, long durationNanos) {
+        latencies.computeIfAbsent(getHostKey(latencies, host), key -> new LatencyHistogram()).record(durationNanos);
+    }
+
+    /**
+     * Count failed request (I/O error or server error response).
+     *
+     * @param host target host.
+     */
+    public void incrementErrors(String host) {
+        errors.computeIfAbsent(getHostKey(errors, host), key -> new LongAdder()).increment();
+    }
+
+    public Map<String, LatencyHistogram> getLatencies() {
+        return Map.copyOf(latencies);
+    }
+
+    public Map<String, Long> getErrors() {
+        return errors.entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    private static String getHostKey(Map<String, ?> values, String host) {
+        if (values.containsKey(host) || values.size() < MAX_HOSTS) {
+            return host;
+        }
+        return OTHER_HOSTS;
+    }
+
+}
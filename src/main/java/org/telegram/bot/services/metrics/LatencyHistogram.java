@@ -0,0 +1,64 @@
+package org.telegram.bot.services.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations with fixed buckets.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Upper bounds of buckets in milliseconds.
+     */
+    public static final long[] BUCKET_BOUNDS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long durationNanos) {
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MILLIS.length && durationMillis > BUCKET_BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+
+        buckets[bucket].increment();
+        count.increment();
+        sumNanos.add(durationNanos);
+    }
+
+    /**
+     * Get cumulative counts of buckets. The last element is the count of all observations (+Inf bucket).
+     *
+     * @return cumulative counts.
+     */
+    public long[] getCumulativeCounts() {
+        long[] cumulativeCounts = new long[buckets.length];
+
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            total = total + buckets[i].sum();
+            cumulativeCounts[i] = total;
+        }
+
+        return cumulativeCounts;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getSumSeconds() {
+        return sumNanos.sum() / 1_000_000_000D;
+    }
+
+}
@@ -0,0 +1,123 @@
+package org.telegram.bot.services.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.executors.ChatDispatchExecutor;
+import org.telegram.bot.utils.MeteredCache;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Writes bot metrics in Prometheus text exposition format.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrometheusMetricsExporter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String COUNTER = "counter";
+    private static final String GAUGE = "gauge";
+
+    private final BotStats botStats;
+    private final ChatDispatchExecutor chatDispatchExecutor;
+    private final CacheMetricsRegistry cacheMetricsRegistry;
+    private final HttpClientMetrics httpClientMetrics;
+
+    public String export() {
+        StringBuilder buf = new StringBuilder();
+
+        writeMetric(buf, "bot_received_messages_total", COUNTER, "Messages received since start", botStats.getReceivedMessages());
+        writeMetric(buf, "bot_commands_processed_total", COUNTER, "Commands processed since start", botStats.getCommandsProcessed());
+        writeMetric(buf, "bot_errors_total", COUNTER, "Unexpected errors since start", botStats.getErrors());
+        writeMetric(buf, "bot_screenshots_total", COUNTER, "Screenshots taken since start", botStats.getScreenshots());
+        writeMetric(buf, "bot_all_received_messages", GAUGE, "Messages received for all time", botStats.getTotalReceivedMessages());
+        writeMetric(buf, "bot_all_commands_processed", GAUGE, "Commands processed for all time", botStats.getTotalCommandsProcessed());
+        writeMetric(buf, "bot_google_requests_remaining", GAUGE, "Remaining Google search requests", botStats.getGoogleRequests());
+        writeMetric(buf, "bot_kinopoisk_requests_remaining", GAUGE, "Remaining Kinopoisk requests", botStats.getKinopoiskRequests());
+        writeMetric(buf, "bot_wolfram_requests_remaining", GAUGE, "Remaining Wolfram Alpha requests", botStats.getWolframRequests());
+        writeMetric(buf, "bot_russian_post_requests_remaining", GAUGE, "Remaining Russian Post requests", botStats.getRussianPostRequests());
+
+        writeMetric(buf, "bot_dispatch_submitted_tasks_total", COUNTER, "Tasks submitted to chat lanes", chatDispatchExecutor.getSubmittedTasks());
+        writeMetric(buf, "bot_dispatch_rejected_tasks_total", COUNTER, "Tasks rejected by chat lanes", chatDispatchExecutor.getRejectedTasks());
+        writeMetric(buf, "bot_dispatch_completed_tasks_total", COUNTER, "Tasks completed by chat lanes", chatDispatchExecutor.getCompletedTasks());
+        writeMetric(buf, "bot_dispatch_queued_tasks", GAUGE, "Tasks waiting in chat lanes", chatDispatchExecutor.getQueuedTasks());
+        writeMetric(buf, "bot_dispatch_active_lanes", GAUGE, "Chat lanes with queued or running tasks", chatDispatchExecutor.getActiveLanes());
+
+        writeHeader(buf, "bot_sent_methods_total", COUNTER, "Telegram methods sent by executors");
+        botStats.getSentMethods().forEach((method, count) ->
+                buf.append("bot_sent_methods_total{method=\"").append(escape(method)).append("\"} ").append(count).append("\n"));
+
+        writeHistograms(buf, "bot_command_duration_seconds", "Duration of processing requests by commands", "command",
+                botStats.getCommandLatencies());
+        writeCaches(buf);
+
+        writeHistograms(buf, "bot_http_client_request_duration_seconds", "Duration of outgoing http requests by hosts", "host",
+                httpClientMetrics.getLatencies());
+        writeHeader(buf, "bot_http_client_errors_total", COUNTER, "Failed outgoing http requests by hosts");
+        new TreeMap<>(httpClientMetrics.getErrors()).forEach((host, count) ->
+                buf.append("bot_http_client_errors_total{host=\"").append(escape(host)).append("\"} ").append(count).append("\n"));
+
+        return buf.toString();
+    }
+
+    private void writeHistograms(StringBuilder buf, String name, String help, String labelName, Map<String, LatencyHistogram> histograms) {
+        writeHeader(buf, name, "histogram", help);
+
+        new TreeMap<>(histograms).forEach((labelValue, histogram) -> {
+            String label = labelName + "=\"" + escape(labelValue) + "\"";
+
+            long[] cumulativeCounts = histogram.getCumulativeCounts();
+            for (int i = 0; i < cumulativeCounts.length; i++) {
+                String bound;
+                if (i < LatencyHistogram.BUCKET_BOUNDS_MILLIS.length) {
+                    bound = String.format(Locale.ROOT, "%.3f", LatencyHistogram.BUCKET_BOUNDS_MILLIS[i] / 1000D);
+                } else {
+                    bound = "+Inf";
+                }
+
+                buf.append(name).append("_bucket{").append(label).append(",le=\"").append(bound).append("\"} ")
+                        .append(cumulativeCounts[i]).append("\n");
+            }
+
+            buf.append(name).append("_sum{").append(label).append("} ")
+                    .append(String.format(Locale.ROOT, "%.6f", histogram.getSumSeconds())).append("\n");
+            buf.append(name).append("_count{").append(label).append("} ").append(histogram.getCount()).append("\n");
+        });
+    }
+
+    private void writeCaches(StringBuilder buf) {
+        List<MeteredCache> caches = cacheMetricsRegistry.getCaches();
+        writeCacheMetric(buf, caches, "bot_cache_hits_total", COUNTER, "Cache hits", MeteredCache::getHits);
+        writeCacheMetric(buf, caches, "bot_cache_misses_total", COUNTER, "Cache misses", MeteredCache::getMisses);
+        writeCacheMetric(buf, caches, "bot_cache_evictions_total", COUNTER, "Cache entries evicted by size", MeteredCache::getEvictions);
+        writeCacheMetric(buf, caches, "bot_cache_size", GAUGE, "Cache entries", MeteredCache::size);
+    }
+
+    private void writeCacheMetric(StringBuilder buf, List<MeteredCache> caches, String name, String type, String help,
+                                  Function<MeteredCache, Number> value) {
+        writeHeader(buf, name, type, help);
+        caches.forEach(cache ->
+                buf.append(name).append("{cache=\"").append(escape(cache.getName())).append("\"} ").append(value.apply(cache)).append("\n"));
+    }
+
+    private void writeMetric(StringBuilder buf, String name, String type, String help, Number value) {
+        writeHeader(buf, name, type, help);
+        buf.append(name).append(" ").append(value).append("\n");
+    }
+
+    private void writeHeader(StringBuilder buf, String name, String type, String help) {
+        buf.append("# HELP ").append(name).append(" ").append(help).append("\n");
+        buf.append("# TYPE ").append(name).append(" ").append(type).append("\n");
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+}
@@ -4,77 +4,32 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.telegram.bot.Bot;
 import org.telegram.bot.config.PropertiesConfig;
-import org.telegram.bot.domain.model.response.FileResponse;
-import org.telegram.bot.domain.model.response.FileType;
-import org.telegram.bot.domain.model.response.ResponseSettings;
-import org.telegram.bot.exception.BotException;
-import org.telegram.bot.repositories.DbBackuper;
-import org.telegram.bot.services.BotStats;
-import org.telegram.bot.utils.FtpBackupClient;
+import org.telegram.bot.enums.BackupType;
+import org.telegram.bot.services.backup.BackupService;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.util.concurrent.TimeUnit;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class BackupTimer extends TimerParent {
 
-    private final Bot bot;
+    private final BackupService backupService;
     private final PropertiesConfig propertiesConfig;
-    private final DbBackuper dbBackuper;
-    private final BotStats botStats;
-    private final FtpBackupClient ftpBackupClient;
+    private final Clock clock;
 
     @Override
     @Scheduled(cron = "0 0 2 * * ?")
     public void execute() {
-        File dbBackup = dbBackuper.getDbBackup();
-
-        bot.sendDocument(new FileResponse()
-                .setChatId(propertiesConfig.getAdminId())
-                .addFile(new org.telegram.bot.domain.model.response.File(FileType.FILE, dbBackup))
-                .setResponseSettings(new ResponseSettings().setNotification(false)));
-
-        if (propertiesConfig.getFtpBackupUrl() != null) {
-            for (int attempts = 0; attempts <= propertiesConfig.getFtpRetryCount(); attempts++) {
-                if (uploadBackupIntoFtp(dbBackup)) {
-                    break;
-                }
-
-                if (attempts < propertiesConfig.getFtpRetryCount()) {
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(propertiesConfig.getFtpRetryTimeoutMillis());
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return;
-                    }
-                }
-            }
-
+        DayOfWeek fullBackupDayOfWeek = propertiesConfig.getFullBackupDayOfWeek();
+        if (fullBackupDayOfWeek == null || fullBackupDayOfWeek.equals(LocalDate.now(clock).getDayOfWeek())) {
+            backupService.backup(BackupType.FULL);
+        } else {
+            backupService.backup(BackupType.INCREMENTAL);
         }
     }
 
-    private boolean uploadBackupIntoFtp(File dbBackup) {
-        try (FileInputStream fileInputStream = new FileInputStream(dbBackup)) {
-            ftpBackupClient.process(
-                    propertiesConfig.getFtpBackupUrl(),
-                    fileInputStream,
-                    propertiesConfig.getDaysBeforeExpirationBackup(),
-                    propertiesConfig.getMaxBackupsSizeBytes());
-        } catch (BotException e) {
-            return false;
-        } catch (Exception e) {
-            String errorMessage = "Failed to backup db: " + e.getMessage();
-            log.error(errorMessage);
-            botStats.incrementErrors(errorMessage, errorMessage);
-            return false;
-        }
-
-        return true;
-    }
-
 }
@@ -15,13 +15,19 @@ import org.telegram.bot.services.DelayCommandService;
 import org.telegram.bot.services.UserStatsService;
 
 import java.time.Clock;
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
 
+/**
+ * Execution of delayed commands. Command which failed to be executed is returned to the queue and retried after {@link #RETRY_DELAY}.
+ */
 @RequiredArgsConstructor
 @Component
 @Slf4j
 public class DelayCommandTimer extends TimerParent {
 
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
     private final Clock clock;
     private final Bot bot;
     private final BotStats botStats;
@@ -30,30 +36,37 @@ public class DelayCommandTimer extends TimerParent {
     private final UserStatsService userStatsService;
 
     @Override
-    @Scheduled(fixedRate = 5000)
+    @Scheduled(fixedRate = 1000)
     public void execute() {
-        LocalDateTime dateTimeNow = LocalDateTime.now(clock);
-
-        for (DelayCommand delayCommand : delayCommandService.getAllBeforeDateTime(dateTimeNow)) {
-            if (dateTimeNow.isAfter(delayCommand.getDateTime())) {
-                BotRequest botRequest;
-                try {
-                    botRequest = objectMapper.readValue(delayCommand.getRequestJson(), BotRequest.class);
-                } catch (JsonProcessingException e) {
-                    String errorText = "Failed to deserialize BotRequest: " + e.getMessage();
-                    log.error(errorText);
-                    botStats.incrementErrors(delayCommand.getRequestJson(), e, errorText);
-
-                    delayCommandService.remove(delayCommand);
-                    continue;
-                }
-
-                Message message = botRequest.getMessage();
-                userStatsService.incrementUserStatsCommands(message.getChat(), message.getUser());
-                bot.processRequest(botRequest);
-
-                delayCommandService.remove(delayCommand);
+        Instant now = clock.instant();
+        for (DelayCommand delayCommand : delayCommandService.getAllDue(now)) {
+            try {
+                execute(delayCommand);
+            } catch (Exception e) {
+                log.error("Failed to execute delayed command {}: {}", delayCommand.getId(), e.getMessage());
+                botStats.incrementErrors(delayCommand.getRequestJson(), e, "Failed to execute delayed command");
+                delayCommandService.retry(delayCommand, now.plus(RETRY_DELAY));
             }
         }
     }
+
+    private void execute(DelayCommand delayCommand) {
+        BotRequest botRequest;
+        try {
+            botRequest = objectMapper.readValue(delayCommand.getRequestJson(), BotRequest.class);
+        } catch (JsonProcessingException e) {
+            String errorText = "Failed to deserialize BotRequest: " + e.getMessage();
+            log.error(errorText);
+            botStats.incrementErrors(delayCommand.getRequestJson(), e, errorText);
+
+            delayCommandService.remove(delayCommand);
+            return;
+        }
+
+        Message message = botRequest.getMessage();
+        userStatsService.incrementUserStatsCommands(message.getChat(), message.getUser());
+        bot.processRequest(botRequest);
+
+        delayCommandService.remove(delayCommand);
+    }
 }
@@ -0,0 +1,24 @@
+package org.telegram.bot.timers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.config.ConditionalOnPropertyNotEmpty;
+import org.telegram.bot.services.email.EmailSender;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnPropertyNotEmpty("mail.smtp.host")
+public class EmailDigestTimer extends TimerParent {
+
+    private final EmailSender emailSender;
+
+    @Override
+    @Scheduled(fixedDelayString = "${emailDigestWindowSeconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void execute() {
+        emailSender.sendDigests();
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.telegram.bot.timers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.services.ErrorJournal;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ErrorJournalFlushTimer extends TimerParent {
+
+    private final ErrorJournal errorJournal;
+
+    @Override
+    @Scheduled(fixedDelayString = "${errorFlushIntervalMillis:1000}")
+    public void execute() {
+        errorJournal.flush();
+    }
+
+}
@@ -14,6 +14,8 @@ import org.telegram.bot.enums.FormattingStyle;
 import org.telegram.bot.services.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -39,20 +41,28 @@ public class MessagesCleanerTimer extends TimerParent {
     @Override
     @Scheduled(cron = "0 59 23 * * ?")
     public void execute() {
-        chatResultsSettingsService.getAllEnabled().forEach(chatResultsSettings -> sendResults(chatResultsSettings.getChat()));
+        List<TextResponse> results = new ArrayList<>();
+        chatResultsSettingsService.getAllEnabled().forEach(chatResultsSettings -> {
+            TextResponse result = getResults(chatResultsSettings.getChat());
+            if (result != null) {
+                results.add(result);
+            }
+        });
+        bot.broadcast("daily results", results);
+
         clearData();
     }
 
-    private void sendResults(Chat chat) {
+    private TextResponse getResults(Chat chat) {
         String responseText = reactions.getTodayTop(chat);
         if (responseText == null) {
-            return;
+            return null;
         }
 
-        bot.sendMessage(new TextResponse()
+        return new TextResponse()
                 .setChatId(chat.getChatId())
                 .setText(responseText)
-                .setResponseSettings(DEFAULT_RESPONSE_SETTINGS));
+                .setResponseSettings(DEFAULT_RESPONSE_SETTINGS);
     }
 
     private void clearData() {
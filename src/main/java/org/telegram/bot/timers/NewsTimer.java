@@ -2,8 +2,11 @@ package org.telegram.bot.timers;
 
 import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.io.FeedException;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.telegram.bot.Bot;
@@ -21,63 +24,227 @@ import org.telegram.bot.utils.RssMapper;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
-import java.util.List;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
+/**
+ * Polling of rss feeds of subscribed news sources.
+ * Due sources are fetched concurrently with conditional requests. Each feed is compared with the last seen publication date,
+ * then new messages of all sources are saved and sent at once.
+ * Validators of conditional requests of a feed with new messages are stored only after its messages are saved,
+ * so a failed save is followed by a full fetch of the feed.
+ * A source without new messages is polled less often, up to {@link #MAX_POLL_INTERVAL}.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class NewsTimer extends TimerParent {
 
+    private static final ResponseSettings NEWS_RESPONSE_SETTINGS = new ResponseSettings()
+            .setWebPagePreview(false)
+            .setFormattingStyle(FormattingStyle.HTML);
+    private static final Duration MIN_POLL_INTERVAL = Duration.ofMinutes(5);
+    private static final Duration MAX_POLL_INTERVAL = Duration.ofMinutes(30);
+    private static final int MAX_NEW_MESSAGES_PER_POLL = 10;
+
     private final Bot bot;
     private final NewsService newsService;
     private final NewsMessageService newsMessageService;
     private final NewsSourceService newsSourceService;
     private final RssMapper rssMapper;
     private final NetworkUtils networkUtils;
+    private final Clock clock;
+
+    private final Map<Long, FeedState> feedStates = new ConcurrentHashMap<>();
+
+    @Value("${newsPollerParallelism:16}")
+    private int parallelism;
 
     @Override
-    @Scheduled(fixedRate = 300000)
+    @Scheduled(fixedDelay = 60000)
     public void execute() {
-        List<NewsSource> newsSources = newsService.getAll()
+        Map<Long, List<News>> subscriptions = newsService.getAll()
                 .stream()
-                .map(News::getNewsSource)
-                .distinct()
+                .collect(Collectors.groupingBy(news -> news.getNewsSource().getId()));
+        feedStates.keySet().retainAll(subscriptions.keySet());
+
+        Instant now = clock.instant();
+        List<NewsSource> dueNewsSources = subscriptions.values()
+                .stream()
+                .map(newsList -> newsList.getFirst().getNewsSource())
+                .filter(newsSource -> feedStates.computeIfAbsent(newsSource.getId(), id -> new FeedState(newsSource)).isDue(now))
                 .toList();
+        if (dueNewsSources.isEmpty()) {
+            return;
+        }
 
-        newsSources.forEach(newsSource -> {
-            SyndFeed syndFeed;
-            try {
-                syndFeed = networkUtils.getRssFeedFromUrl(newsSource.getUrl());
-            } catch (FeedException e) {
-                log.error("Failed to parse NewsSource: {}", newsSource.getId(), e);
-                return;
-            } catch (MalformedURLException e) {
-                log.error("Malformed URL: {}", newsSource.getUrl());
-                return;
-            } catch (IOException e) {
-                log.error("Failed to connect to NewsSource: {}", newsSource.getUrl());
-                return;
-            }
+        List<PollResult> pollResults = poll(dueNewsSources, now)
+                .stream()
+                .filter(pollResult -> !pollResult.newsMessages().isEmpty())
+                .toList();
+        if (pollResults.isEmpty()) {
+            return;
+        }
+
+        List<NewsMessage> savedNewsMessages = newsMessageService.save(pollResults
+                .stream()
+                .flatMap(pollResult -> pollResult.newsMessages().stream())
+                .toList());
 
-            syndFeed.getEntries().forEach(syndEntry -> {
-                NewsMessage newsMessage = rssMapper.toNewsMessage(syndEntry);
-
-                if (newsSource.getNewsMessage() == null || newsSource.getNewsMessage().getPubDate().before(newsMessage.getPubDate())) {
-                    newsMessage = newsMessageService.save(newsMessage);
-                    newsSource.setNewsMessage(newsMessage);
-                    newsSourceService.save(newsSource);
-                    NewsMessage finalNewsMessage = newsMessage;
-                    newsService.getAll(newsSource)
-                            .forEach(news -> bot.sendMessage(new TextResponse()
-                                    .setChatId(news.getChat().getChatId())
-                                    .setText(rssMapper.toShortNewsMessageText(finalNewsMessage, news.getNewsSource().getName()))
-                                    .setResponseSettings(new ResponseSettings()
-                                            .setWebPagePreview(false)
-                                            .setFormattingStyle(FormattingStyle.HTML))));
-                }
+        List<NewsSource> updatedNewsSources = new ArrayList<>(pollResults.size());
+        List<TextResponse> responses = new ArrayList<>();
+        int offset = 0;
+        for (PollResult pollResult : pollResults) {
+            NewsSource newsSource = pollResult.newsSource();
+            List<NewsMessage> newsMessages = savedNewsMessages.subList(offset, offset + pollResult.newsMessages().size());
+            offset = offset + newsMessages.size();
+
+            newsSource.setNewsMessage(newsMessages.getLast());
+            updatedNewsSources.add(newsSource);
+
+            List<News> newsList = subscriptions.get(newsSource.getId());
+            newsMessages.forEach(newsMessage -> {
+                String newsMessageText = rssMapper.toShortNewsMessageText(newsMessage, newsSource.getName());
+                newsList.forEach(news -> responses.add(new TextResponse()
+                        .setChatId(news.getChat().getChatId())
+                        .setText(newsMessageText)
+                        .setResponseSettings(NEWS_RESPONSE_SETTINGS)));
             });
+        }
+
+        newsSourceService.save(updatedNewsSources);
+        pollResults.forEach(pollResult -> {
+            FeedState feedState = feedStates.get(pollResult.newsSource().getId());
+            feedState.setLastSeenPubDate(pollResult.newsMessages().getLast().getPubDate());
+            feedState.setValidators(pollResult.eTag(), pollResult.lastModified());
         });
 
+        bot.broadcast("news", responses);
+    }
+
+    private List<PollResult> poll(List<NewsSource> newsSources, Instant now) {
+        List<Future<PollResult>> futures = new ArrayList<>(newsSources.size());
+        try (ExecutorService executorService = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual().name("news-poller-", 0).factory())) {
+            newsSources.forEach(newsSource -> futures.add(executorService.submit(() -> poll(newsSource, feedStates.get(newsSource.getId()), now))));
+        }
 
+        List<PollResult> pollResults = new ArrayList<>(futures.size());
+        for (Future<PollResult> future : futures) {
+            try {
+                pollResults.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return pollResults;
+            } catch (ExecutionException e) {
+                log.error("Failed to poll NewsSource", e.getCause());
+            }
+        }
+
+        return pollResults;
     }
+
+    private PollResult poll(NewsSource newsSource, FeedState feedState, Instant now) {
+        NetworkUtils.RssFeedResponse rssFeedResponse;
+        try {
+            rssFeedResponse = networkUtils.getRssFeedFromUrl(newsSource.getUrl(), feedState.getETag(), feedState.getLastModified());
+        } catch (FeedException e) {
+            log.error("Failed to parse NewsSource: {}", newsSource.getId(), e);
+            feedState.scheduleNextPoll(now, false);
+            return PollResult.empty(newsSource);
+        } catch (MalformedURLException e) {
+            log.error("Malformed URL: {}", newsSource.getUrl());
+            feedState.scheduleNextPoll(now, false);
+            return PollResult.empty(newsSource);
+        } catch (IOException e) {
+            log.error("Failed to connect to NewsSource: {}", newsSource.getUrl());
+            feedState.scheduleNextPoll(now, false);
+            return PollResult.empty(newsSource);
+        }
+
+        if (rssFeedResponse.isNotModified()) {
+            feedState.scheduleNextPoll(now, false);
+            return PollResult.empty(newsSource);
+        }
+
+        List<NewsMessage> newsMessages = getNewMessages(rssFeedResponse.syndFeed(), feedState.getLastSeenPubDate());
+        feedState.scheduleNextPoll(now, !newsMessages.isEmpty());
+        if (newsMessages.isEmpty()) {
+            feedState.setValidators(rssFeedResponse.eTag(), rssFeedResponse.lastModified());
+        }
+
+        return new PollResult(newsSource, newsMessages, rssFeedResponse.eTag(), rssFeedResponse.lastModified());
+    }
+
+    /**
+     * Get messages of feed published after last seen one.
+     * Only the latest message is taken from a feed that has not been seen yet.
+     *
+     * @param syndFeed feed.
+     * @param lastSeenPubDate publication date of last seen message or null.
+     * @return new messages in order of publication.
+     */
+    private List<NewsMessage> getNewMessages(SyndFeed syndFeed, Date lastSeenPubDate) {
+        List<NewsMessage> newsMessages = syndFeed.getEntries()
+                .stream()
+                .map(rssMapper::toNewsMessage)
+                .filter(newsMessage -> lastSeenPubDate == null || lastSeenPubDate.before(newsMessage.getPubDate()))
+                .sorted(Comparator.comparing(NewsMessage::getPubDate))
+                .toList();
+
+        int limit = lastSeenPubDate == null ? 1 : MAX_NEW_MESSAGES_PER_POLL;
+        if (newsMessages.size() > limit) {
+            return newsMessages.subList(newsMessages.size() - limit, newsMessages.size());
+        }
+
+        return newsMessages;
+    }
+
+    private record PollResult(NewsSource newsSource, List<NewsMessage> newsMessages, String eTag, String lastModified) {
+        static PollResult empty(NewsSource newsSource) {
+            return new PollResult(newsSource, List.of(), null, null);
+        }
+    }
+
+    /**
+     * In-memory state of polling of a single source. Modified by one poll task at a time.
+     */
+    @Getter
+    private static class FeedState {
+        private volatile String eTag;
+        private volatile String lastModified;
+        @Setter
+        private volatile Date lastSeenPubDate;
+        private volatile Duration interval = MIN_POLL_INTERVAL;
+        private volatile Instant nextPollAt = Instant.MIN;
+
+        FeedState(NewsSource newsSource) {
+            if (newsSource.getNewsMessage() != null) {
+                this.lastSeenPubDate = newsSource.getNewsMessage().getPubDate();
+            }
+        }
+
+        boolean isDue(Instant now) {
+            return !now.isBefore(nextPollAt);
+        }
+
+        void scheduleNextPoll(Instant now, boolean hasNewMessages) {
+            if (hasNewMessages) {
+                interval = MIN_POLL_INTERVAL;
+            } else {
+                Duration doubled = interval.multipliedBy(2);
+                interval = doubled.compareTo(MAX_POLL_INTERVAL) > 0 ? MAX_POLL_INTERVAL : doubled;
+            }
+            nextPollAt = now.plus(interval);
+        }
+
+        void setValidators(String eTag, String lastModified) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+    }
+
 }
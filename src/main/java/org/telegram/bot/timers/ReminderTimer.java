@@ -8,21 +8,27 @@ import org.telegram.bot.Bot;
 import org.telegram.bot.commands.Remind;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.Reminder;
-import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.domain.model.response.ResponseSettings;
 import org.telegram.bot.domain.model.response.TextResponse;
 import org.telegram.bot.enums.FormattingStyle;
+import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.LanguageResolver;
 import org.telegram.bot.services.ReminderService;
 import org.telegram.bot.services.UserCityService;
 import org.telegram.bot.utils.TextUtils;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.Locale;
 
+/**
+ * Sending of Reminders. Due Reminders are taken from in-memory queue of ReminderService,
+ * so every run is cheap and Reminder is sent within a second of its time.
+ * Reminder which failed to be sent is returned to the queue and retried after {@link #RETRY_DELAY}.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -31,59 +37,54 @@ public class ReminderTimer extends TimerParent {
     private static final ResponseSettings DEFAULT_RESPONSE_SETTINGS = new ResponseSettings()
             .setFormattingStyle(FormattingStyle.HTML)
             .setWebPagePreview(false);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
 
     private final Bot bot;
     private final Remind remind;
     private final ReminderService reminderService;
     private final UserCityService userCityService;
     private final LanguageResolver languageResolver;
-
-    private boolean isFirstExecute = true;
+    private final BotStats botStats;
+    private final Clock clock;
 
     @Override
-    @Scheduled(fixedRate = 5000)
+    @Scheduled(fixedRate = 1000)
     public void execute() {
-        LocalDateTime dateTimeNow = LocalDateTime.now();
-
-        List<Reminder> notNotifiedRemindersList;
-        if (isFirstExecute) {
-            notNotifiedRemindersList = reminderService.getAllNotNotifiedBeforeDate(dateTimeNow.toLocalDate());
-            isFirstExecute = false;
-        } else {
-            notNotifiedRemindersList = reminderService.getAllNotNotifiedByDate(dateTimeNow.toLocalDate());
+        Instant now = clock.instant();
+        for (Reminder reminder : reminderService.getAllDue(now)) {
+            try {
+                send(reminder);
+            } catch (Exception e) {
+                log.error("Failed to send Reminder {}: {}", reminder.getId(), e.getMessage());
+                botStats.incrementErrors(reminder, e, "Failed to send Reminder");
+                reminderService.retry(reminder, now.plus(RETRY_DELAY));
+            }
         }
+    }
 
-        ZonedDateTime zonedDateTimeNow = ZonedDateTime.now();
-        for (Reminder reminder : notNotifiedRemindersList) {
-            User user = reminder.getUser();
-            Chat chat = reminder.getChat();
-
-            LocalDateTime reminderDateTime = LocalDateTime.of(reminder.getDate(), reminder.getTime());
-            ZoneId zoneId = userCityService.getZoneIdOfUserOrDefault(chat, user);
-            ZonedDateTime zonedDateTime = reminderDateTime.atZone(zoneId);
-
-            if (zonedDateTimeNow.isAfter(zonedDateTime)) {
-                Locale locale = languageResolver.getLocale(chat);
-
-                bot.sendMessage(new TextResponse()
-                        .setChatId(chat.getChatId())
-                        .setText(remind.prepareTextOfReminder(reminder))
-                        .setKeyboard(remind.preparePostponeKeyboard(reminder, zoneId, locale))
-                        .setResponseSettings(DEFAULT_RESPONSE_SETTINGS));
+    private void send(Reminder reminder) {
+        // next time is calculated before sending, so broken repeatability does not lead to sending the Reminder again
+        String repeatability = reminder.getRepeatability();
+        LocalDateTime newReminderDateTime = TextUtils.isEmpty(repeatability) ? null : reminderService.getNextAlarmDateTime(reminder);
 
-                String repeatability = reminder.getRepeatability();
-                if (TextUtils.isEmpty(repeatability)) {
-                    reminder.setNotified(true);
-                } else {
-                    LocalDateTime newReminderDateTime = reminderService.getNextAlarmDateTime(reminder);
+        Chat chat = reminder.getChat();
+        ZoneId zoneId = userCityService.getZoneIdOfUserOrDefault(chat, reminder.getUser());
+        Locale locale = languageResolver.getLocale(chat);
 
-                    reminder.setDate(newReminderDateTime.toLocalDate());
-                    reminder.setTime(newReminderDateTime.toLocalTime());
-                }
+        bot.sendMessage(new TextResponse()
+                .setChatId(chat.getChatId())
+                .setText(remind.prepareTextOfReminder(reminder))
+                .setKeyboard(remind.preparePostponeKeyboard(reminder, zoneId, locale))
+                .setResponseSettings(DEFAULT_RESPONSE_SETTINGS));
 
-                reminderService.save(reminder);
-            }
+        if (newReminderDateTime == null) {
+            reminder.setNotified(true);
+        } else {
+            reminder.setDate(newReminderDateTime.toLocalDate());
+            reminder.setTime(newReminderDateTime.toLocalTime());
         }
+
+        reminderService.save(reminder);
     }
 
 }
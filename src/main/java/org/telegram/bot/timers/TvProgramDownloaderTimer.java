@@ -2,53 +2,63 @@ package org.telegram.bot.timers;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
 import org.telegram.bot.config.ConditionalOnPropertyNotEmpty;
 import org.telegram.bot.config.PropertiesConfig;
 import org.telegram.bot.domain.entities.Timer;
 import org.telegram.bot.domain.entities.TvChannel;
 import org.telegram.bot.domain.entities.TvProgram;
-import org.telegram.bot.exception.BotException;
+import org.telegram.bot.domain.entities.WorkParam;
+import org.telegram.bot.repositories.TvDataLoader;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.TimerService;
-import org.telegram.bot.services.TvChannelService;
-import org.telegram.bot.services.TvProgramService;
+import org.telegram.bot.services.WorkParamService;
 
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
-import java.io.*;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.zip.GZIPInputStream;
 
 import static org.telegram.bot.utils.DateUtils.atStartOfDay;
 
+/**
+ * Import of tv program from XMLTV file. The file is parsed while downloading and loaded into staging tables,
+ * which replace current data only when the import is completed. The file is not downloaded if it has not changed.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 @ConditionalOnPropertyNotEmpty("xmlTvFileUrl")
 public class TvProgramDownloaderTimer extends TimerParent {
 
-    private static final String TV_PROGRAM_DATA_XML_FILE_NAME = "tvguide.xml";
+    private static final String ETAG_PARAM_NAME = "tvProgramETag";
+    private static final String LAST_MODIFIED_PARAM_NAME = "tvProgramLastModified";
     private static final int SAVING_BATCH_SIZE = 1000;
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyMMddHHmmss");
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
 
     private final TimerService timerService;
-    private final TvChannelService tvChannelService;
-    private final TvProgramService tvProgramService;
+    private final TvDataLoader tvDataLoader;
+    private final WorkParamService workParamService;
     private final PropertiesConfig propertiesConfig;
+    private final RestTemplate defaultRestTemplate;
     private final BotStats botStats;
 
     @Override
@@ -74,24 +84,29 @@ public class TvProgramDownloaderTimer extends TimerParent {
         if (dateTimeNow.isAfter(nextAlarm)) {
             log.info("Timer for downloading and transferring tv-program");
 
+            Map<String, WorkParam> validators = getValidators();
+            HttpHeaders responseHeaders;
             try {
-                transferTvProgramDataFile(xmlTvFileUrl);
-            } catch (IOException e) {
-                log.error("Failed to download tv program data: {}", e.getMessage());
+                responseHeaders = defaultRestTemplate.execute(
+                        URI.create(xmlTvFileUrl),
+                        HttpMethod.GET,
+                        request -> setValidators(request.getHeaders(), validators),
+                        this::importTvProgramData);
+                if (responseHeaders != null) {
+                    tvDataLoader.swap();
+                }
+            } catch (RestClientException | DataAccessException e) {
+                log.error("Failed to import tv program data: {}", e.getMessage());
                 return;
             }
 
-            clearTvTables();
-
-            try {
-                parseTvProgramData();
-            } catch (IOException | XMLStreamException e) {
-                log.error("Unable to read new TvData: {}", e.getMessage());
-                return;
+            if (responseHeaders == null) {
+                log.info("Tv program data has not changed since the last import");
+            } else {
+                saveValidators(validators, responseHeaders);
+                botStats.setLastTvUpdate(Instant.now());
             }
 
-            botStats.setLastTvUpdate(Instant.now());
-
             timer.setLastAlarmDt(atStartOfDay(dateTimeNow));
             timerService.save(timer);
 
@@ -99,152 +114,149 @@ public class TvProgramDownloaderTimer extends TimerParent {
         }
     }
 
-    /**
-     * Downloading and unzip tv program data file.
-     *
-     * @throws IOException if failed to transfer file.
-     */
-    private void transferTvProgramDataFile(String xmlTvFileUrl) throws IOException {
-        String zipFileName = xmlTvFileUrl.substring(xmlTvFileUrl.lastIndexOf("/") + 1);
+    private Map<String, WorkParam> getValidators() {
+        Map<String, WorkParam> validators = new HashMap<>();
+        workParamService.get(propertiesConfig.getTelegramBotApiToken(), List.of(ETAG_PARAM_NAME, LAST_MODIFIED_PARAM_NAME))
+                .forEach(workParam -> validators.put(workParam.getName(), workParam));
+        return validators;
+    }
 
-        FileUtils.copyURLToFile(URI.create(xmlTvFileUrl).toURL(), new File(zipFileName));
+    private void setValidators(HttpHeaders requestHeaders, Map<String, WorkParam> validators) {
+        WorkParam eTag = validators.get(ETAG_PARAM_NAME);
+        if (eTag != null && eTag.getValue() != null) {
+            requestHeaders.set(HttpHeaders.IF_NONE_MATCH, eTag.getValue());
+        }
 
-        try (GZIPInputStream in = new GZIPInputStream(new FileInputStream(zipFileName));
-             OutputStream out = new FileOutputStream(TV_PROGRAM_DATA_XML_FILE_NAME)) {
-            byte[] buffer = new byte[1024];
-            int len;
-            while ((len = in.read(buffer)) > 0) {
-                out.write(buffer, 0, len);
-            }
+        WorkParam lastModified = validators.get(LAST_MODIFIED_PARAM_NAME);
+        if (lastModified != null && lastModified.getValue() != null) {
+            requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified.getValue());
         }
     }
 
-    void clearTvTables() {
-        tvProgramService.clearTable();
-        tvChannelService.clearTable();
+    private void saveValidators(Map<String, WorkParam> validators, HttpHeaders responseHeaders) {
+        String botToken = propertiesConfig.getTelegramBotApiToken();
+        workParamService.save(List.of(
+                validators.getOrDefault(ETAG_PARAM_NAME, new WorkParam(botToken, ETAG_PARAM_NAME))
+                        .setValue(responseHeaders.getETag()),
+                validators.getOrDefault(LAST_MODIFIED_PARAM_NAME, new WorkParam(botToken, LAST_MODIFIED_PARAM_NAME))
+                        .setValue(responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED))));
     }
 
     /**
-     * Parsing tv data from file.
+     * Parsing of downloading tv data into staging tables.
      *
-     * @throws IOException        if failed to read.
-     * @throws XMLStreamException if failed to parse xml.
+     * @param response response with tv data file.
+     * @return headers of response or null if the file has not changed.
+     * @throws IOException if failed to read or parse file.
      */
-    private void parseTvProgramData() throws IOException, XMLStreamException {
-        XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
-        XMLEventReader reader = xmlInputFactory.createXMLEventReader(new FileInputStream(TV_PROGRAM_DATA_XML_FILE_NAME));
+    private HttpHeaders importTvProgramData(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return null;
+        }
 
-        TvChannel tvChannel = null;
-        HashMap<Integer, TvChannel> tvChannelMap = new HashMap<>();
-        TvProgram tvProgram = null;
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyMMddHHmmss");
+        tvDataLoader.clearStaging();
+        try (InputStream inputStream = getDecompressedStream(response.getBody())) {
+            parseTvProgramData(inputStream);
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse tv data: " + e.getMessage(), e);
+        }
 
-        int attemptsReadNumber = 0;
-        List<TvChannel> tvChannelToSave = new ArrayList<>();
-        List<TvProgram> tvProgramsBatch = new ArrayList<>(SAVING_BATCH_SIZE);
-        while (reader.hasNext()) {
-            if (attemptsReadNumber > 10) {
-                log.error("Unable to read tv file");
-                throw new BotException("Unable to read tv file");
-            }
+        return response.getHeaders();
+    }
 
-            XMLEvent nextEvent;
-            try {
-                nextEvent = reader.nextEvent();
-            } catch (XMLStreamException e) {
-                attemptsReadNumber = attemptsReadNumber + 1;
-                continue;
-            }
+    private static InputStream getDecompressedStream(InputStream body) throws IOException {
+        BufferedInputStream inputStream = new BufferedInputStream(body);
+        inputStream.mark(2);
+        int firstByte = inputStream.read();
+        int secondByte = inputStream.read();
+        inputStream.reset();
 
-            attemptsReadNumber = 0;
-            if (nextEvent.isStartElement()) {
-                StartElement startElement = nextEvent.asStartElement();
-                switch (startElement.getName().getLocalPart()) {
-                    case "channel": {
-                        Integer channelId = Integer.parseInt(startElement.getAttributeByName(new QName("id")).getValue());
-                        tvChannel = getById(tvChannelMap, tvChannelToSave, channelId);
-                        tvChannelMap.put(channelId, tvChannel);
-                        break;
-                    }
-                    case "display-name": {
-                        nextEvent = reader.nextEvent();
-                        if (tvChannel != null) {
-                            tvChannel.setName(nextEvent.asCharacters().getData());
+        if (firstByte == 0x1f && secondByte == 0x8b) {
+            return new GZIPInputStream(inputStream);
+        }
+
+        return inputStream;
+    }
+
+    private void parseTvProgramData(InputStream inputStream) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+
+        Map<Integer, TvChannel> tvChannelMap = new LinkedHashMap<>();
+        TvChannel tvChannel = null;
+        TvProgram tvProgram = null;
+        List<TvProgram> tvProgramsBatch = new ArrayList<>(SAVING_BATCH_SIZE);
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "channel" -> {
+                            Integer channelId = Integer.parseInt(reader.getAttributeValue(null, "id"));
+                            tvChannel = tvChannelMap.computeIfAbsent(channelId, id -> new TvChannel().setId(id));
                         }
-                        break;
-                    }
-                    case "programme": {
-                        Integer channelId = Integer.parseInt(startElement.getAttributeByName(new QName("channel")).getValue());
-                        if (tvChannelMap.containsKey(channelId)) {
-                            String start = startElement.getAttributeByName(new QName("start")).getValue();
-                            String stop = startElement.getAttributeByName(new QName("stop")).getValue();
-
-                            tvProgram = new TvProgram()
-                                    .setChannel(getById(tvChannelMap, tvChannelToSave, channelId))
-                                    .setStart(LocalDateTime.parse(start.substring(0, 14), formatter))
-                                    .setStop(LocalDateTime.parse(stop.substring(0, 14), formatter));
+                        case "display-name" -> {
+                            String name = reader.getElementText();
+                            if (tvChannel != null) {
+                                tvChannel.setName(name);
+                            }
                         }
-                        break;
-                    }
-                    case "title": {
-                        nextEvent = reader.nextEvent();
-                        if (tvProgram != null) {
-                            tvProgram.setTitle(nextEvent.asCharacters().getData());
+                        case "programme" -> {
+                            TvChannel channel = tvChannelMap.get(Integer.parseInt(reader.getAttributeValue(null, "channel")));
+                            if (channel != null) {
+                                tvProgram = new TvProgram()
+                                        .setChannel(channel)
+                                        .setStart(parseDateTime(reader.getAttributeValue(null, "start")))
+                                        .setStop(parseDateTime(reader.getAttributeValue(null, "stop")));
+                            }
                         }
-                        break;
-                    }
-                    case "desc": {
-                        nextEvent = reader.nextEvent();
-                        if (tvProgram != null) {
-                            tvProgram.setDesc(nextEvent.asCharacters().getData());
+                        case "title" -> {
+                            String title = reader.getElementText();
+                            if (tvProgram != null) {
+                                tvProgram.setTitle(title);
+                            }
+                        }
+                        case "desc" -> {
+                            String desc = reader.getElementText();
+                            if (tvProgram != null) {
+                                tvProgram.setDesc(desc);
+                            }
+                        }
+                        case "category" -> {
+                            String category = reader.getElementText();
+                            if (tvProgram != null) {
+                                tvProgram.setCategory(category);
+                            }
+                        }
+                        default -> {
+                            // not used
                         }
-                        break;
                     }
-                    case "category": {
-                        nextEvent = reader.nextEvent();
-                        if (tvProgram != null) {
-                            tvProgram.setCategory(nextEvent.asCharacters().getData());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("channel".equals(reader.getLocalName())) {
+                        tvChannel = null;
+                    } else if ("programme".equals(reader.getLocalName()) && tvProgram != null) {
+                        tvProgramsBatch.add(tvProgram);
+                        tvProgram = null;
+
+                        if (tvProgramsBatch.size() == SAVING_BATCH_SIZE) {
+                            tvDataLoader.insertPrograms(tvProgramsBatch);
+                            tvProgramsBatch.clear();
                         }
-                        break;
                     }
-                    default:
-                        break;
-                }
-            }
-            if (nextEvent.isEndElement()) {
-                EndElement endElement = nextEvent.asEndElement();
-                if (endElement.getName().getLocalPart().equals("channel")) {
-                    tvChannel = null;
-                } else if (endElement.getName().getLocalPart().equals("programme")) {
-                    tvProgramsBatch.add(tvProgram);
-                    tvProgram = null;
                 }
             }
-
-            if (SAVING_BATCH_SIZE == tvProgramsBatch.size()) {
-                tvChannelService.save(tvChannelToSave);
-                tvChannelToSave.clear();
-                tvProgramService.save(tvProgramsBatch);
-                tvProgramsBatch.clear();
-            }
+        } finally {
+            reader.close();
         }
 
-        tvChannelService.save(tvChannelToSave);
         if (!tvProgramsBatch.isEmpty()) {
-            tvProgramService.save(tvProgramsBatch);
+            tvDataLoader.insertPrograms(tvProgramsBatch);
         }
-
-        reader.close();
+        tvDataLoader.insertChannels(tvChannelMap.values());
     }
 
-    private TvChannel getById(Map<Integer, TvChannel> tvChannelMap, List<TvChannel> tvChannelsToSave, Integer channelId) {
-        TvChannel tvChannel = tvChannelMap.get(channelId);
-        if (tvChannel == null) {
-            tvChannel = new TvChannel().setId(channelId);
-            tvChannelsToSave.add(tvChannel);
-        }
-
-        return tvChannel;
+    private static LocalDateTime parseDateTime(String value) {
+        return LocalDateTime.parse(value.substring(0, 14), DATE_TIME_FORMATTER);
     }
 
 }
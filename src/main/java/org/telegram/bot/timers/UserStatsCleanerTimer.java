@@ -96,7 +96,7 @@ public class UserStatsCleanerTimer extends TimerParent {
 
             userStatsService.clearMonthlyStats();
 
-            sendMessageListWithMonthlyTop.forEach(bot::sendMessage);
+            bot.broadcast("monthly top", sendMessageListWithMonthlyTop);
 
             timer.setLastAlarmDt(nextAlarm.withDayOfMonth(1));
             timerService.save(timer);
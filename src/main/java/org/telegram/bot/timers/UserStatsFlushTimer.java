@@ -0,0 +1,22 @@
+package org.telegram.bot.timers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.telegram.bot.services.UserStatsCounterBuffer;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsFlushTimer extends TimerParent {
+
+    private final UserStatsCounterBuffer userStatsCounterBuffer;
+
+    @Override
+    @Scheduled(fixedDelayString = "${userStatsFlushIntervalMillis:2000}")
+    public void execute() {
+        userStatsCounterBuffer.flush();
+    }
+
+}
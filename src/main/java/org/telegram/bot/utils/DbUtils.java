@@ -7,6 +7,7 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.telegram.bot.domain.entities.NewsMessage;
+import org.telegram.bot.repositories.FileRepository;
 import org.telegram.bot.repositories.NewsMessageRepository;
 
 import jakarta.persistence.EntityManager;
@@ -23,6 +24,7 @@ public class DbUtils {
     private static final int BATCH_SIZE = 1000;
 
     private final NewsMessageRepository newsMessageRepository;
+    private final FileRepository fileRepository;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -30,6 +32,7 @@ public class DbUtils {
     @EventListener(ApplicationReadyEvent.class)
     public void checkDb() {
         checkNewsMessageDescHash();
+        checkFilePaths();
     }
 
     private void checkNewsMessageDescHash() {
@@ -53,6 +56,27 @@ public class DbUtils {
         }
     }
 
+    /**
+     * Fill paths of Files level by level from the root. Files remaining without path are not reachable from the root
+     * (their parents have been deleted) and are removed.
+     */
+    private void checkFilePaths() {
+        int filled = 0;
+        int updated = fileRepository.fillChildrenPaths();
+        while (updated > 0) {
+            filled = filled + updated;
+            updated = fileRepository.fillChildrenPaths();
+        }
+        if (filled > 0) {
+            log.info("Paths of Files filled: {}", filled);
+        }
+
+        int deleted = fileRepository.deleteUnreachable();
+        if (deleted > 0) {
+            log.info("Unreachable Files deleted: {}", deleted);
+        }
+    }
+
     private List<NewsMessage> getNewsMessageWithoutDescHash() {
         return entityManager
                 .createQuery("SELECT nm FROM NewsMessage nm WHERE nm.descHash IS NULL", NewsMessage.class)
@@ -0,0 +1,99 @@
+package org.telegram.bot.utils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Thread-safe queue of keys ordered by their due time.
+ * Rescheduling or cancelling of key does not search the queue: outdated entries stay in it and are skipped when polled.
+ *
+ * @param <K> type of key.
+ */
+public class DueTimeQueue<K> {
+
+    private static final int MIN_SIZE_TO_COMPACT = 1024;
+
+    private final Map<K, Instant> dueTimes = new HashMap<>();
+    private final PriorityQueue<Entry<K>> entries = new PriorityQueue<>(Comparator.comparing(Entry::dueAt));
+
+    /**
+     * Schedule key or change its due time.
+     *
+     * @param key key.
+     * @param dueAt due time.
+     */
+    public synchronized void schedule(K key, Instant dueAt) {
+        if (dueAt.equals(dueTimes.put(key, dueAt))) {
+            return;
+        }
+
+        entries.add(new Entry<>(key, dueAt));
+        compactIfNeeded();
+    }
+
+    /**
+     * Cancel key.
+     *
+     * @param key key.
+     */
+    public synchronized void cancel(K key) {
+        if (dueTimes.remove(key) != null) {
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Remove keys due at the moment.
+     *
+     * @param now current time.
+     * @return due keys in order of their due time.
+     */
+    public synchronized List<K> pollDue(Instant now) {
+        List<K> dueKeys = new ArrayList<>();
+        while (!entries.isEmpty() && !entries.peek().dueAt().isAfter(now)) {
+            Entry<K> entry = entries.poll();
+            if (entry.dueAt().equals(dueTimes.get(entry.key()))) {
+                dueTimes.remove(entry.key());
+                dueKeys.add(entry.key());
+            }
+        }
+
+        return dueKeys;
+    }
+
+    /**
+     * Get due time of the nearest key.
+     *
+     * @return due time or null if queue is empty.
+     */
+    public synchronized Instant getNextDueTime() {
+        while (!entries.isEmpty()) {
+            Entry<K> entry = entries.peek();
+            if (entry.dueAt().equals(dueTimes.get(entry.key()))) {
+                return entry.dueAt();
+            }
+            entries.poll();
+        }
+
+        return null;
+    }
+
+    public synchronized int size() {
+        return dueTimes.size();
+    }
+
+    private void compactIfNeeded() {
+        if (entries.size() > MIN_SIZE_TO_COMPACT && entries.size() > dueTimes.size() * 2) {
+            entries.removeIf(entry -> !entry.dueAt().equals(dueTimes.get(entry.key())));
+        }
+    }
+
+    private record Entry<K>(K key, Instant dueAt) {
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.telegram.bot.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reading of server-sent events (text/event-stream), which are used by streaming APIs of language models.
+ */
+@UtilityClass
+public class EventStreamUtils {
+
+    private static final String DATA_FIELD_PREFIX = "data:";
+    private static final String END_OF_STREAM_DATA = "[DONE]";
+
+    @FunctionalInterface
+    public interface DataConsumer {
+        void accept(String data) throws IOException;
+    }
+
+    /**
+     * Read data of events until the end of stream or the [DONE] event.
+     *
+     * @param inputStream stream of events.
+     * @param dataConsumer consumer of data of every event.
+     * @throws IOException if failed to read stream or consume data.
+     */
+    public static void readData(InputStream inputStream, DataConsumer dataConsumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith(DATA_FIELD_PREFIX)) {
+                continue;
+            }
+
+            String data = line.substring(DATA_FIELD_PREFIX.length()).trim();
+            if (END_OF_STREAM_DATA.equals(data)) {
+                return;
+            }
+            if (!data.isEmpty()) {
+                dataConsumer.accept(data);
+            }
+        }
+    }
+
+}
@@ -12,14 +12,15 @@ import org.telegram.bot.exception.BotException;
 import org.telegram.bot.providers.ftp.FtpClientProvider;
 import org.telegram.bot.services.BotStats;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @RequiredArgsConstructor
@@ -28,13 +29,13 @@ import java.util.regex.Pattern;
 public class FtpBackupClient {
 
     private static final String BACK_FILE_PREFIX = "backup_";
-    private static final Pattern BACKUP_FILE_NAME_PATTERN = Pattern.compile(BACK_FILE_PREFIX + "\\d{8}");
+    private static final Pattern BACKUP_FILE_NAME_PATTERN = Pattern.compile(BACK_FILE_PREFIX + "\\d{8}(_[a-z]+)?");
 
     private final FtpClientProvider ftpClientProvider;
     private final Clock clock;
     private final BotStats botStats;
 
-    public void process(String url, FileInputStream backup, Integer daysBeforeExpiration, Long maxSizeBytes) {
+    public void process(String url, InputStream backup, String fileNameSuffix, Integer daysBeforeExpiration, Long maxSizeBytes) {
         FtpConnectionConfig ftpConnectionConfig = new FtpConnectionConfig(toUrl(url));
         FTPClient ftpClient = getFtpClient(ftpConnectionConfig);
         String workingPath = ftpConnectionConfig.getPath();
@@ -48,13 +49,13 @@ public class FtpBackupClient {
             deleteOldFilesIfExceedsLimit(ftpClient, maxSizeBytes, fileParentPath, workingPath);
         }
 
-        putBackup(ftpClient, fileParentPath, backup);
+        putBackup(ftpClient, fileParentPath, backup, fileNameSuffix);
 
         disconnect(ftpClient);
     }
 
-    public void putBackup(FTPClient ftpClient, String fileParentPath, FileInputStream backup) {
-        String backupFileName = BACK_FILE_PREFIX + DateTimeFormatter.BASIC_ISO_DATE.format(LocalDate.now(clock));
+    public void putBackup(FTPClient ftpClient, String fileParentPath, InputStream backup, String fileNameSuffix) {
+        String backupFileName = BACK_FILE_PREFIX + DateTimeFormatter.BASIC_ISO_DATE.format(LocalDate.now(clock)) + fileNameSuffix;
         String backupFilePath = fileParentPath + backupFileName;
 
         try {
@@ -69,8 +70,8 @@ public class FtpBackupClient {
     }
 
     private void deleteExpiredFiles(FTPClient ftpClient, int daysBeforeExpiration, String fileParentPath, String workingPath) {
-        List<FTPFile> ftpFiles = getFtpBackupFiles(ftpClient, workingPath);
-        if (ftpFiles.isEmpty()) {
+        List<List<FTPFile>> backupChains = getBackupChains(getFtpBackupFiles(ftpClient, workingPath));
+        if (backupChains.size() < 2) {
             return;
         }
 
@@ -78,39 +79,54 @@ public class FtpBackupClient {
         calendar.setTime(Date.from(clock.instant()));
         calendar.add(Calendar.DAY_OF_MONTH, -daysBeforeExpiration);
 
-        ftpFiles
+        backupChains
+                .subList(0, backupChains.size() - 1)
                 .stream()
-                .filter(ftpFile -> ftpFile.getTimestamp().before(calendar))
-                .forEach(ftpFile -> deleteFile(ftpClient, ftpFile, fileParentPath));
+                .filter(backupChain -> backupChain.getLast().getTimestamp().before(calendar))
+                .forEach(backupChain -> deleteFiles(ftpClient, backupChain, fileParentPath));
     }
 
     private void deleteOldFilesIfExceedsLimit(FTPClient ftpClient, long maxFileSize, String fileParentPath, String workingPath) {
         List<FTPFile> ftpFiles = getFtpBackupFiles(ftpClient, workingPath);
-        if (ftpFiles.isEmpty()) {
-            return;
-        }
-
-        long filesSize = getFilesSize(ftpFiles);
-        while (filesSize > maxFileSize) {
-            FTPFile oldestFile = getOldestFile(ftpFiles);
-            if (oldestFile != null) {
-                deleteFile(ftpClient, oldestFile, fileParentPath);
+        while (getFilesSize(ftpFiles) > maxFileSize) {
+            List<List<FTPFile>> backupChains = getBackupChains(ftpFiles);
+            if (backupChains.size() < 2) {
+                log.warn("The latest backups exceed the limit of {} bytes", maxFileSize);
+                return;
             }
 
+            deleteFiles(ftpClient, backupChains.getFirst(), fileParentPath);
             ftpFiles = getFtpBackupFiles(ftpClient, workingPath);
-            filesSize = getFilesSize(ftpFiles);
         }
+    }
 
+    /**
+     * Group backup files into chains. A chain is a full backup with incremental backups made after it
+     * and before the next full backup. Incremental backups older than all full backups form the first chain without full backup.
+     * Files of a chain are deleted together, so incremental backups are never left without their full backup.
+     *
+     * @param ftpFiles backup files.
+     * @return chains from oldest to newest with files of each chain from oldest to newest.
+     */
+    private List<List<FTPFile>> getBackupChains(List<FTPFile> ftpFiles) {
+        List<List<FTPFile>> backupChains = new ArrayList<>();
+        ftpFiles
+                .stream()
+                .sorted(Comparator.comparing(FTPFile::getTimestamp))
+                .forEach(ftpFile -> {
+                    if (backupChains.isEmpty() || isFullBackupFileName(ftpFile.getName())) {
+                        backupChains.add(new ArrayList<>());
+                    }
+                    backupChains.getLast().add(ftpFile);
+                });
+
+        return backupChains;
     }
 
     private long getFilesSize(List<FTPFile> ftpFiles) {
         return ftpFiles.stream().mapToLong(FTPFile::getSize).sum();
     }
 
-    private FTPFile getOldestFile(List<FTPFile> ftpFiles) {
-        return ftpFiles.stream().min(Comparator.comparing(FTPFile::getTimestamp)).orElse(null);
-    }
-
     private String getFileParentPath(String path) {
         if (path != null && !path.isEmpty()) {
             return path + "/";
@@ -119,6 +135,10 @@ public class FtpBackupClient {
         return "";
     }
 
+    private void deleteFiles(FTPClient ftpClient, List<FTPFile> ftpFiles, String parentPath) {
+        ftpFiles.forEach(ftpFile -> deleteFile(ftpClient, ftpFile, parentPath));
+    }
+
     private void deleteFile(FTPClient ftpClient, FTPFile ftpFile, String parentPath) {
         String filePath = parentPath + ftpFile.getName();
         try {
@@ -160,6 +180,11 @@ public class FtpBackupClient {
         return BACKUP_FILE_NAME_PATTERN.matcher(fileName).matches();
     }
 
+    private boolean isFullBackupFileName(String fileName) {
+        Matcher matcher = BACKUP_FILE_NAME_PATTERN.matcher(fileName);
+        return matcher.matches() && matcher.group(1) == null;
+    }
+
     private FTPClient getFtpClient(FtpConnectionConfig ftpConnectionConfig) {
         FTPClient ftpClient = ftpClientProvider.getFTPClient();
         try {
@@ -0,0 +1,184 @@
+package org.telegram.bot.utils;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded thread-safe cache with eviction of the least recently used entries.
+ * Missing values (null) are cached too. Counts hits, misses and evictions.
+ *
+ * @param <K> type of key.
+ * @param <V> type of value.
+ */
+public class LruCache<K, V> implements MeteredCache {
+
+    @Getter
+    private final String name;
+    private final int maxSize;
+    private final Map<K, Optional<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long version;
+
+    public LruCache(String name, int maxSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Optional<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get value from cache or load it. Loading is done without lock,
+     * the result is not cached if cache was invalidated during loading.
+     *
+     * @param key key.
+     * @param loader function for loading value. May return null.
+     * @return value or null.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long loadingVersion;
+        synchronized (this) {
+            Optional<V> cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached.orElse(null);
+            }
+            loadingVersion = version;
+        }
+        misses.increment();
+
+        V value = loader.apply(key);
+        synchronized (this) {
+            if (loadingVersion == version) {
+                entries.put(key, Optional.ofNullable(value));
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Get values of keys. Missing keys are loaded by one call of loader.
+     *
+     * @param keys keys.
+     * @param loader function for loading values of missing keys. Keys without value may be absent in result.
+     * @return values by keys. Keys with null value are absent.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+        Map<K, V> result = new HashMap<>();
+        List<K> missingKeys = new ArrayList<>();
+
+        long loadingVersion;
+        synchronized (this) {
+            for (K key : keys) {
+                Optional<V> cached = entries.get(key);
+                if (cached == null) {
+                    missingKeys.add(key);
+                } else {
+                    cached.ifPresent(value -> result.put(key, value));
+                }
+            }
+            loadingVersion = version;
+        }
+        hits.add(keys.size() - (long) missingKeys.size());
+        misses.add(missingKeys.size());
+
+        if (missingKeys.isEmpty()) {
+            return result;
+        }
+
+        Map<K, V> loaded = loader.apply(missingKeys);
+        synchronized (this) {
+            if (loadingVersion == version) {
+                missingKeys.forEach(key -> entries.put(key, Optional.ofNullable(loaded.get(key))));
+            }
+        }
+        loaded.forEach((key, value) -> {
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Get cached value without loading.
+     *
+     * @param key key.
+     * @return value or null if it is missing or not cached.
+     */
+    public V getIfPresent(K key) {
+        Optional<V> cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+
+        return cached.orElse(null);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, Optional.ofNullable(value));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        version = version + 1;
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+        version = version + 1;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        version = version + 1;
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.telegram.bot.utils;
+
+/**
+ * Cache which counts its hits, misses and evictions.
+ */
+public interface MeteredCache {
+
+    String getName();
+
+    long getHits();
+
+    long getMisses();
+
+    long getEvictions();
+
+    int size();
+
+}
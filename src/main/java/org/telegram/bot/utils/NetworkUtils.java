@@ -6,10 +6,17 @@ import com.rometools.rome.io.SyndFeedInput;
 import com.rometools.rome.io.XmlReader;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.io.Closer;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.*;
@@ -18,19 +25,23 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 
+/**
+ * Requests to external resources through the shared pooled http client.
+ * Response bodies are read into buffers of limited size.
+ */
 @RequiredArgsConstructor
 @Component
 public class NetworkUtils {
 
     public static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " + "AppleWebKit/537.36 (KHTML, like Gecko) " + "Chrome/122.0.0.0 Safari/537.36";
     private static final int TELEGRAM_UPLOAD_MEDIA_LIMIT_BYTES = 52428800;
-    private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10 * 1000;
-    private static final int DEFAULT_READ_TIMEOUT_MILLIS = 10 * 1000;
+    private static final int MAX_FILE_SIZE_BYTES = 104857600;
+    private static final int MAX_TEXT_SIZE_BYTES = 10485760;
+
+    private final CloseableHttpClient httpClient;
 
     public byte[] getFileFromUrl(String url) throws IOException {
-        try (InputStream in = openStreamFromUrl(url)) {
-            return in.readAllBytes();
-        }
+        return download(url, MAX_FILE_SIZE_BYTES, true, null, null).content();
     }
 
     public byte[] getFileFromUrlWithLimit(String url) throws IOException {
@@ -38,43 +49,132 @@ public class NetworkUtils {
     }
 
     public byte[] getFileFromUrlWithLimit(String url, int limitBytes) throws IOException {
-        try (InputStream in = openStreamFromUrl(url);
-             BoundedInputStream bounded = new BoundedInputStream(in, limitBytes)) {
-
-            bounded.setPropagateClose(false);
-            return bounded.readAllBytes();
-        }
-    }
-
-    private InputStream openStreamFromUrl(String url) throws IOException {
-        URLConnection connection = URI.create(url).toURL().openConnection();
-        connection.setRequestProperty("User-Agent", USER_AGENT);
-        connection.setConnectTimeout(DEFAULT_CONNECT_TIMEOUT_MILLIS);
-        connection.setReadTimeout(DEFAULT_READ_TIMEOUT_MILLIS);
-        connection.connect();
-        return connection.getInputStream();
+        return download(url, limitBytes, false, null, null).content();
     }
 
     public String readStringFromURL(String url) throws IOException {
-        return readStringFromURL(URI.create(url).toURL().toString(), StandardCharsets.UTF_8);
+        return readStringFromURL(url, StandardCharsets.UTF_8);
     }
 
     public String readStringFromURL(URL url) throws IOException {
         return readStringFromURL(url.toString(), StandardCharsets.UTF_8);
     }
 
-    public String readStringFromURL(String url, Charset encoding) throws IOException {
-        return readStringFromURL(URI.create(url).toURL(), encoding);
+    public String readStringFromURL(URL url, Charset encoding) throws IOException {
+        return readStringFromURL(url.toString(), encoding);
     }
 
-    public String readStringFromURL(URL url, Charset encoding) throws IOException {
-        return IOUtils.toString(url, encoding);
+    public String readStringFromURL(String url, Charset encoding) throws IOException {
+        return new String(download(url, MAX_TEXT_SIZE_BYTES, true, null, null).content(), encoding);
     }
 
     public SyndFeed getRssFeedFromUrl(String url) throws IOException, FeedException {
+        return parseRssFeed(download(url, MAX_TEXT_SIZE_BYTES, true, null, null));
+    }
+
+    /**
+     * Conditional request of rss feed.
+     *
+     * @param url url of feed.
+     * @param eTag ETag of previously received feed or null.
+     * @param lastModified Last-Modified value of previously received feed or null.
+     * @return feed with its validators. The feed is null if it has not been modified.
+     * @throws IOException if failed to download feed.
+     * @throws FeedException if failed to parse feed.
+     */
+    public RssFeedResponse getRssFeedFromUrl(String url, String eTag, String lastModified) throws IOException, FeedException {
+        Body body = download(url, MAX_TEXT_SIZE_BYTES, true, eTag, lastModified);
+        if (body.code() == HttpStatus.SC_NOT_MODIFIED) {
+            return new RssFeedResponse(null, eTag, lastModified);
+        }
+
+        return new RssFeedResponse(parseRssFeed(body), body.eTag(), body.lastModified());
+    }
+
+    private static SyndFeed parseRssFeed(Body body) throws IOException, FeedException {
+        InputStream inputStream = new ByteArrayInputStream(body.content());
+        XmlReader xmlReader;
+        if (body.contentType() == null) {
+            xmlReader = new XmlReader(inputStream);
+        } else {
+            xmlReader = new XmlReader(inputStream, body.contentType(), true);
+        }
+
         SyndFeedInput syndFeedInput = new SyndFeedInput();
         syndFeedInput.setAllowDoctypes(true);
-        return syndFeedInput.build(new XmlReader(URI.create(url).toURL()));
+        return syndFeedInput.build(xmlReader);
+    }
+
+    /**
+     * Download body of resource.
+     *
+     * @param url url of resource.
+     * @param limitBytes max size of body.
+     * @param failIfExceeded throw exception if body is bigger than limit, otherwise it will be truncated.
+     * @param eTag value for If-None-Match header or null.
+     * @param lastModified value for If-Modified-Since header or null.
+     * @return body of response.
+     * @throws IOException if failed to download or server responded with error.
+     */
+    private Body download(String url, int limitBytes, boolean failIfExceeded, String eTag, String lastModified) throws IOException {
+        HttpGet request = new HttpGet(URI.create(url));
+        request.setHeader(HttpHeaders.USER_AGENT, USER_AGENT);
+        if (eTag != null) {
+            request.setHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        }
+        if (lastModified != null) {
+            request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+
+        ClassicHttpResponse response = httpClient.executeOpen(null, request, null);
+        boolean completed = false;
+        try {
+            if (response.getCode() >= HttpStatus.SC_CLIENT_ERROR) {
+                throw new IOException("Server returned HTTP response code: " + response.getCode() + " for URL: " + url);
+            }
+
+            int code = response.getCode();
+            String responseETag = getHeaderValue(response, HttpHeaders.ETAG);
+            String responseLastModified = getHeaderValue(response, HttpHeaders.LAST_MODIFIED);
+
+            HttpEntity entity = response.getEntity();
+            if (entity == null || code == HttpStatus.SC_NOT_MODIFIED) {
+                completed = true;
+                return new Body(code, new byte[0], null, responseETag, responseLastModified);
+            }
+
+            InputStream inputStream = entity.getContent();
+            byte[] content = inputStream.readNBytes(limitBytes);
+            completed = inputStream.read() == -1;
+            if (!completed && failIfExceeded) {
+                throw new IOException("Response of " + url + " exceeds " + limitBytes + " bytes");
+            }
+
+            return new Body(code, content, entity.getContentType(), responseETag, responseLastModified);
+        } finally {
+            if (!completed) {
+                // the rest of body is not needed: drop the connection instead of reading it to the end
+                request.cancel();
+            }
+            Closer.closeQuietly(response);
+        }
+    }
+
+    private static String getHeaderValue(ClassicHttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        if (header == null) {
+            return null;
+        }
+        return header.getValue();
+    }
+
+    private record Body(int code, byte[] content, String contentType, String eTag, String lastModified) {
+    }
+
+    public record RssFeedResponse(SyndFeed syndFeed, String eTag, String lastModified) {
+        public boolean isNotModified() {
+            return syndFeed == null;
+        }
     }
 
     public PingResult pingHost(String host) throws UnknownHostException {
@@ -0,0 +1,217 @@
+package org.telegram.bot.utils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded thread-safe cache of responses of external services.
+ * Concurrent requests of the same missing key wait for one loading instead of calling the service several times.
+ * Expired value is still returned during the stale period while it is reloaded in the background.
+ * Missing values (null) are not cached.
+ *
+ * @param <K> type of key.
+ * @param <V> type of value.
+ */
+@Slf4j
+public class ResponseCache<K, V> implements MeteredCache {
+
+    private static final Executor DEFAULT_REFRESH_EXECUTOR = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-refresh-", 0).factory());
+
+    @Getter
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+    private final Map<K, Entry<V>> entries;
+    private final Map<K, CompletableFuture<V>> loadings = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(String name, int maxSize, Duration ttl, Duration stalePeriod) {
+        this(name, maxSize, ttl, stalePeriod, Clock.systemUTC(), DEFAULT_REFRESH_EXECUTOR);
+    }
+
+    public ResponseCache(String name, int maxSize, Duration ttl, Duration stalePeriod, Clock clock, Executor refreshExecutor) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.staleMillis = stalePeriod.toMillis();
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ResponseCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get value from cache or load it.
+     *
+     * @param key key.
+     * @param loader function for loading value. May return null.
+     * @return value or null.
+     */
+    public V get(K key, Function<K, V> loader) {
+        return get(key, loader, value -> true);
+    }
+
+    /**
+     * Get value from cache or load it. Loaded value is cached only if it is acceptable.
+     *
+     * @param key key.
+     * @param loader function for loading value. May return null.
+     * @param cacheable whether loaded value can be cached.
+     * @return value or null.
+     */
+    public V get(K key, Function<K, V> loader, Predicate<V> cacheable) {
+        CompletableFuture<V> loading;
+        boolean loadingOwner = false;
+        synchronized (this) {
+            long now = clock.millis();
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (now < entry.expiresAt()) {
+                    hits.increment();
+                    return entry.value();
+                }
+                if (now < entry.expiresAt() + staleMillis) {
+                    hits.increment();
+                    if (!loadings.containsKey(key)) {
+                        CompletableFuture<V> refreshing = new CompletableFuture<>();
+                        loadings.put(key, refreshing);
+                        refreshExecutor.execute(() -> refresh(key, loader, cacheable, refreshing));
+                    }
+                    return entry.value();
+                }
+                entries.remove(key);
+            }
+
+            misses.increment();
+            loading = loadings.get(key);
+            if (loading == null) {
+                loading = new CompletableFuture<>();
+                loadings.put(key, loading);
+                loadingOwner = true;
+            }
+        }
+
+        if (loadingOwner) {
+            return load(key, loader, cacheable, loading);
+        }
+
+        return await(loading);
+    }
+
+    /**
+     * Get cached value without loading.
+     *
+     * @param key key.
+     * @return value or null if it is not cached or expired.
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+
+        if (entry == null || clock.millis() >= entry.expiresAt() + staleMillis) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.millis() + ttlMillis));
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private V load(K key, Function<K, V> loader, Predicate<V> cacheable, CompletableFuture<V> loading) {
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loadings.remove(key, loading);
+            }
+            loading.completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (this) {
+            if (value != null && cacheable.test(value)) {
+                entries.put(key, new Entry<>(value, clock.millis() + ttlMillis));
+            }
+            loadings.remove(key, loading);
+        }
+        loading.complete(value);
+
+        return value;
+    }
+
+    private void refresh(K key, Function<K, V> loader, Predicate<V> cacheable, CompletableFuture<V> refreshing) {
+        try {
+            load(key, loader, cacheable, refreshing);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh value of cache {}: {}", name, e.getMessage());
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+}
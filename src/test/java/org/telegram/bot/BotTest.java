@@ -6,7 +6,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationContext;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.telegram.bot.commands.Command;
 import org.telegram.bot.config.PropertiesConfig;
@@ -37,8 +36,6 @@ class BotTest {
 
     private static final String BOT_USERNAME = "jtelebot";
 
-    @Mock
-    private ApplicationContext context;
     @Mock
     private BotStats botStats;
     @Mock
@@ -52,9 +49,7 @@ class BotTest {
     @Mock
     private UserStatsService userStatsService;
     @Mock
-    private CommandWaitingService commandWaitingService;
-    @Mock
-    private DisableCommandService disableCommandService;
+    private CommandRoutingService commandRoutingService;
     @Mock
     private LogService logService;
     @Mock
@@ -145,7 +140,7 @@ class BotTest {
         when(propertiesConfig.getTelegramBotUsername()).thenReturn(BOT_USERNAME);
         CommandProperties commandProperties = new CommandProperties();
         when(commandPropertiesService.findCommandInText(messageText, BOT_USERNAME)).thenReturn(commandProperties);
-        when(disableCommandService.get(message.getChat(), commandProperties)).thenReturn(new DisableCommand());
+        when(commandRoutingService.isDisabled(message.getChat(), commandProperties)).thenReturn(true);
 
         bot.consume(update);
 
@@ -193,7 +188,7 @@ class BotTest {
         Integer commandAccessLevel = AccessLevel.MODERATOR.getValue();
         CommandProperties commandProperties = new CommandProperties().setClassName(commandClassName).setAccessLevel(commandAccessLevel);
         when(commandPropertiesService.findCommandInText(messageText, BOT_USERNAME)).thenReturn(commandProperties);
-        when(context.getBean(commandClassName)).thenThrow(new RuntimeException());
+        when(commandRoutingService.getCommandBean(commandProperties)).thenThrow(new RuntimeException());
 
         bot.consume(update);
 
@@ -221,7 +216,7 @@ class BotTest {
         CommandProperties commandProperties = new CommandProperties().setClassName(commandClassName).setAccessLevel(commandAccessLevel);
         when(commandPropertiesService.findCommandInText(messageText, BOT_USERNAME)).thenReturn(commandProperties);
         Command command = mock(Command.class);
-        when(context.getBean(commandClassName)).thenReturn(command);
+        when(commandRoutingService.getCommandBean(commandProperties)).thenReturn(command);
         when(userService.isUserHaveAccessForCommand(userAccessLevel.getValue(), commandAccessLevel)).thenReturn(false);
 
         bot.consume(update);
@@ -245,14 +240,13 @@ class BotTest {
         when(requestMapper.toBotRequest(update)).thenReturn(request);
         AccessLevel userAccessLevel = AccessLevel.NEWCOMER;
         when(userService.getCurrentAccessLevel(user.getUserId(), message.getChatId())).thenReturn(userAccessLevel);
-        CommandWaiting commandWaiting = new CommandWaiting().setCommandName(messageText);
-        when(commandWaitingService.get(chat, user)).thenReturn(commandWaiting);
+        when(commandRoutingService.getWaitingCommandName(chat, user)).thenReturn(messageText);
         String commandClassName = "commandClass";
         Integer commandAccessLevel = AccessLevel.NEWCOMER.getValue();
         CommandProperties commandProperties = new CommandProperties().setClassName(commandClassName).setAccessLevel(commandAccessLevel);
         when(commandPropertiesService.getCommand(messageText)).thenReturn(commandProperties);
         Command command = mock(Command.class);
-        when(context.getBean(commandClassName)).thenReturn(command);
+        when(commandRoutingService.getCommandBean(commandProperties)).thenReturn(command);
         when(userService.isUserHaveAccessForCommand(userAccessLevel.getValue(), commandAccessLevel)).thenReturn(true);
 
         bot.consume(update);
@@ -275,14 +269,13 @@ class BotTest {
 
         AccessLevel userAccessLevel = AccessLevel.NEWCOMER;
         when(userService.getCurrentAccessLevel(user.getUserId(), message.getChatId())).thenReturn(userAccessLevel);
-        CommandWaiting commandWaiting = new CommandWaiting().setCommandName(messageText);
-        when(commandWaitingService.get(chat, user)).thenReturn(commandWaiting);
+        when(commandRoutingService.getWaitingCommandName(chat, user)).thenReturn(messageText);
         String commandClassName = "commandClass";
         Integer commandAccessLevel = AccessLevel.NEWCOMER.getValue();
         CommandProperties commandProperties = new CommandProperties().setClassName(commandClassName).setAccessLevel(commandAccessLevel);
         when(commandPropertiesService.getCommand(messageText)).thenReturn(commandProperties);
         Command command = mock(Command.class);
-        when(context.getBean(commandClassName)).thenReturn(command);
+        when(commandRoutingService.getCommandBean(commandProperties)).thenReturn(command);
         when(userService.isUserHaveAccessForCommand(userAccessLevel.getValue(), commandAccessLevel)).thenReturn(true);
 
         bot.processRequestWithoutAnalyze(request);
@@ -302,14 +295,13 @@ class BotTest {
 
         AccessLevel userAccessLevel = AccessLevel.NEWCOMER;
         when(userService.getCurrentAccessLevel(user.getUserId(), message.getChatId())).thenReturn(userAccessLevel);
-        CommandWaiting commandWaiting = new CommandWaiting().setCommandName(messageText);
-        when(commandWaitingService.get(chat, user)).thenReturn(commandWaiting);
+        when(commandRoutingService.getWaitingCommandName(chat, user)).thenReturn(messageText);
         String commandClassName = "commandClass";
         Integer commandAccessLevel = AccessLevel.NEWCOMER.getValue();
         CommandProperties commandProperties = new CommandProperties().setClassName(commandClassName).setAccessLevel(commandAccessLevel);
         when(commandPropertiesService.getCommand(messageText)).thenReturn(commandProperties);
         Command command = mock(Command.class);
-        when(context.getBean(commandClassName)).thenReturn(command);
+        when(commandRoutingService.getCommandBean(commandProperties)).thenReturn(command);
         when(userService.isUserHaveAccessForCommand(userAccessLevel.getValue(), commandAccessLevel)).thenReturn(true);
 
         bot.processRequest(request);
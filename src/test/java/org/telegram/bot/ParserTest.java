@@ -1,22 +1,41 @@
 package org.telegram.bot;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.telegram.bot.commands.MessageAnalyzer;
+import org.telegram.bot.config.dispatch.DispatchProperties;
+import org.telegram.bot.domain.entities.Broadcast;
+import org.telegram.bot.domain.entities.BroadcastMessage;
 import org.telegram.bot.domain.entities.CommandProperties;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.response.BotResponse;
+import org.telegram.bot.domain.model.response.File;
+import org.telegram.bot.domain.model.response.FileResponse;
+import org.telegram.bot.domain.model.response.FileType;
 import org.telegram.bot.domain.model.response.TextResponse;
 import org.telegram.bot.enums.AccessLevel;
 import org.telegram.bot.mapper.telegram.response.ResponseTelegramMapper;
 import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.BroadcastService;
 import org.telegram.bot.services.CommandPropertiesService;
+import org.telegram.bot.services.InternationalizationService;
+import org.telegram.bot.services.LanguageResolver;
+import org.telegram.bot.services.TemporaryFileManager;
 import org.telegram.bot.services.UserService;
+import org.telegram.bot.services.executors.ChatDispatchExecutor;
 import org.telegram.bot.services.executors.email.EmailExecutor;
 import org.telegram.bot.services.executors.telegram.TelegramMethodExecutor;
 import org.telegram.telegrambots.meta.api.methods.botapimethods.PartialBotApiMethod;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 class ParserTest {
@@ -33,6 +52,10 @@ class ParserTest {
     private final BotStats botStats = mock(BotStats.class);
     private final ResponseTelegramMapper responseTelegramMapper = mock(ResponseTelegramMapper.class);
     private final TelegramMethodExecutor telegramMethodExecutor = mock(TelegramMethodExecutor.class);
+    private final ChatDispatchExecutor chatDispatchExecutor = mock(ChatDispatchExecutor.class);
+    private final LanguageResolver languageResolver = mock(LanguageResolver.class);
+    private final InternationalizationService internationalizationService = mock(InternationalizationService.class);
+    private final BroadcastService broadcastService = mock(BroadcastService.class);
 
     private final Parser parser = new Parser(
             responseTelegramMapper,
@@ -41,7 +64,12 @@ class ParserTest {
             botStats,
             List.of(messageAnalyzer1, messageAnalyzer2, messageAnalyzer3, messageAnalyzer4, messageAnalyzer5, messageAnalyzer6),
             commandPropertiesService,
-            userService);
+            userService,
+            chatDispatchExecutor,
+            new DispatchProperties(),
+            languageResolver,
+            internationalizationService,
+            broadcastService);
 
     @Test
     void analyzeMessageAsyncTest() {
@@ -59,6 +87,8 @@ class ParserTest {
                 .thenReturn(commandProperties3)
                 .thenReturn(commandProperties3)
                 .thenReturn(commandProperties3);
+        List.of(messageAnalyzer1, messageAnalyzer2, messageAnalyzer3, messageAnalyzer4, messageAnalyzer5, messageAnalyzer6)
+                .forEach(messageAnalyzer -> when(messageAnalyzer.isSuitable(request.getMessage())).thenReturn(true));
         when(messageAnalyzer3.analyze(request)).thenReturn(null);
         when(messageAnalyzer4.analyze(request)).thenReturn(List.of());
         List<BotResponse> botResponses = List.of(new TextResponse());
@@ -71,6 +101,10 @@ class ParserTest {
         when(telegramMethod.getMethod()).thenReturn("method");
         when(responseTelegramMapper.toTelegramMethod(botResponses)).thenReturn(List.of(telegramMethod));
         when(telegramMethodExecutor.getMethod()).thenReturn("method");
+        when(chatDispatchExecutor.execute(anyLong(), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return true;
+        });
 
         parser.analyzeMessageAsync(request, userAccessLevel);
 
@@ -78,4 +112,131 @@ class ParserTest {
         verify(botStats).incrementErrors(request, runtimeException, "Unexpected general error: ");
     }
 
-}
\ No newline at end of file
+    @Test
+    void analyzeMessageAsyncWithUnsuitableMessageTest() {
+        BotRequest request = TestUtils.getRequestFromGroup();
+
+        when(chatDispatchExecutor.execute(anyLong(), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return true;
+        });
+
+        parser.analyzeMessageAsync(request, AccessLevel.ADMIN);
+
+        verify(messageAnalyzer1, never()).analyze(request);
+        verify(commandPropertiesService, never()).getCommand(any(Class.class));
+    }
+
+    @Test
+    void analyzeMessageAsyncWithSlowAnalyzerTest() throws InterruptedException {
+        BotRequest request = TestUtils.getRequestFromGroup();
+        DispatchProperties dispatchProperties = new DispatchProperties();
+        dispatchProperties.setAnalyzerTimeoutMillis(100L);
+        Parser parser = new Parser(
+                responseTelegramMapper,
+                List.of(telegramMethodExecutor),
+                emailExecutor,
+                botStats,
+                List.of(messageAnalyzer1),
+                commandPropertiesService,
+                userService,
+                chatDispatchExecutor,
+                dispatchProperties,
+                languageResolver,
+                internationalizationService,
+                broadcastService);
+        CountDownLatch analyzerStarted = new CountDownLatch(1);
+        CountDownLatch analyzerReleased = new CountDownLatch(1);
+        List<BotResponse> botResponses = List.of(new TextResponse());
+        PartialBotApiMethod telegramMethod = mock(PartialBotApiMethod.class);
+
+        when(messageAnalyzer1.isSuitable(request.getMessage())).thenReturn(true);
+        when(messageAnalyzer1.analyze(request)).thenAnswer(invocation -> {
+            analyzerStarted.countDown();
+            analyzerReleased.await();
+            return botResponses;
+        });
+        when(telegramMethod.getMethod()).thenReturn("method");
+        when(responseTelegramMapper.toTelegramMethod(botResponses)).thenReturn(List.of(telegramMethod));
+        when(telegramMethodExecutor.getMethod()).thenReturn("method");
+        when(chatDispatchExecutor.execute(anyLong(), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return true;
+        });
+
+        parser.analyzeMessageAsync(request, AccessLevel.ADMIN);
+
+        assertTrue(analyzerStarted.await(5, TimeUnit.SECONDS));
+        verify(telegramMethodExecutor, never()).executeMethod(any(PartialBotApiMethod.class), any(BotRequest.class));
+        verify(chatDispatchExecutor, times(1)).execute(anyLong(), any(Runnable.class));
+
+        analyzerReleased.countDown();
+
+        verify(telegramMethodExecutor, timeout(5000)).executeMethod(telegramMethod, request);
+        verify(chatDispatchExecutor, times(2)).execute(anyLong(), any(Runnable.class));
+
+        parser.shutdown();
+    }
+
+    @Test
+    void executeAsyncReleasesFilesTest() {
+        BotRequest request = TestUtils.getRequestFromGroup();
+        TemporaryFileManager.FileHandle fileHandle = mock(TemporaryFileManager.FileHandle.class);
+        java.io.File diskFile = TestUtils.getFileMock();
+        when(fileHandle.getFile()).thenReturn(diskFile);
+        List<BotResponse> botResponses = List.of(new FileResponse().addFile(new File(FileType.VIDEO, fileHandle)));
+        PartialBotApiMethod telegramMethod = mock(PartialBotApiMethod.class);
+        when(telegramMethod.getMethod()).thenReturn("method");
+        when(responseTelegramMapper.toTelegramMethod(botResponses)).thenReturn(List.of(telegramMethod));
+        when(telegramMethodExecutor.getMethod()).thenReturn("method");
+        when(chatDispatchExecutor.execute(anyLong(), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, Runnable.class).run();
+                    return true;
+                })
+                .thenReturn(false);
+
+        parser.executeAsync(request, botResponses);
+
+        InOrder inOrder = inOrder(telegramMethodExecutor, emailExecutor, fileHandle);
+        inOrder.verify(telegramMethodExecutor).executeMethod(telegramMethod, request);
+        inOrder.verify(emailExecutor).execute(botResponses, request);
+        inOrder.verify(fileHandle).close();
+
+        parser.executeAsync(request, botResponses);
+        verify(telegramMethodExecutor, times(1)).executeMethod(telegramMethod, request);
+        verify(fileHandle, times(2)).close();
+    }
+
+    @Test
+    void broadcastAsyncTest() {
+        final String text = "${text}";
+        List<TextResponse> responses = List.of(
+                new TextResponse().setChatId(1L).setText(text),
+                new TextResponse().setChatId(2L).setText(text),
+                new TextResponse().setChatId(3L).setText(text));
+        Broadcast broadcast = new Broadcast().setName("test").setTotal(3).setSent(0);
+        PartialBotApiMethod telegramMethod = mock(PartialBotApiMethod.class);
+
+        when(languageResolver.getChatLanguageCodes(Set.of(1L, 2L, 3L))).thenReturn(Map.of(1L, "en", 2L, "en"));
+        when(internationalizationService.internationalize(text, "en")).thenReturn("text");
+        when(internationalizationService.internationalize(text, null)).thenReturn("текст");
+        when(broadcastService.create(any(Broadcast.class), anyList())).thenReturn(broadcast);
+        when(responseTelegramMapper.toTelegramMethod(any(TextResponse.class))).thenReturn(telegramMethod);
+        when(telegramMethod.getMethod()).thenReturn("method");
+        when(telegramMethodExecutor.getMethod()).thenReturn("method");
+
+        parser.broadcastAsync("test", responses);
+
+        verify(broadcastService, timeout(5000)).remove(broadcast);
+        verify(internationalizationService).internationalize(text, "en");
+        verify(internationalizationService).internationalize(text, null);
+        verify(telegramMethodExecutor, times(3)).executeInternationalizedMethod(telegramMethod);
+        verify(telegramMethodExecutor, never()).executeMethod(telegramMethod);
+
+        ArgumentCaptor<List<BroadcastMessage>> broadcastMessagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(broadcastService).create(any(Broadcast.class), broadcastMessagesCaptor.capture());
+        assertEquals(List.of("text", "text", "текст"), broadcastMessagesCaptor.getValue().stream().map(BroadcastMessage::getText).toList());
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.telegram.bot;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * In-memory H2 database with schema created by the changelog of application.
+ */
+public class TestDatabase {
+
+    private static final String CHANGELOG = "classpath:db/changelog/changelog-master.xml";
+
+    private TestDatabase() {
+    }
+
+    public static DataSource create() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS BOT");
+        dataSource.setDriverClassName("org.h2.Driver");
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(CHANGELOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        try {
+            liquibase.afterPropertiesSet();
+        } catch (LiquibaseException e) {
+            throw new IllegalStateException("Failed to create test database", e);
+        }
+
+        return dataSource;
+    }
+
+}
@@ -17,7 +17,6 @@ import org.telegram.bot.enums.FormattingStyle;
 import org.telegram.bot.exception.BotException;
 import org.telegram.bot.services.AliasService;
 import org.telegram.bot.services.SpeechService;
-import org.telegram.bot.utils.ObjectCopier;
 
 import java.util.List;
 
@@ -33,8 +32,6 @@ class AliasTest {
     @Mock
     private Bot bot;
     @Mock
-    private ObjectCopier objectCopier;
-    @Mock
     private AliasService aliasService;
     @Mock
     private SpeechService speechService;
@@ -110,24 +107,6 @@ class AliasTest {
         verify(bot, never()).processRequestWithoutAnalyze(any(BotRequest.class));
     }
 
-    @Test
-    void analyzeCopyErrorTest() {
-        BotRequest request = TestUtils.getRequestFromGroup("test");
-        org.telegram.bot.domain.entities.Alias aliasEntity = getSomeAliasEntityList().getFirst();
-
-        when(aliasService.get(
-                any(org.telegram.bot.domain.entities.Chat.class),
-                any(org.telegram.bot.domain.entities.User.class),
-                anyString()))
-                .thenReturn(aliasEntity);
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(null);
-
-        List<BotResponse> botResponseList = alias.analyze(request);
-
-        assertTrue(botResponseList.isEmpty());
-        verify(bot, never()).processRequestWithoutAnalyze(any(BotRequest.class));
-    }
-
     @Test
     void analyzeTest() {
         BotRequest request = TestUtils.getRequestFromGroup("test");
@@ -138,7 +117,6 @@ class AliasTest {
                         any(org.telegram.bot.domain.entities.User.class),
                         anyString()))
                 .thenReturn(aliasEntity);
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(request);
 
         List<BotResponse> botResponseList = alias.analyze(request);
 
@@ -162,7 +140,6 @@ class AliasTest {
                 any(org.telegram.bot.domain.entities.User.class),
                 anyString()))
                 .thenReturn(aliasEntity);
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(request);
 
         List<BotResponse> botResponseList = alias.analyze(request);
 
@@ -185,7 +162,6 @@ class AliasTest {
                 any(org.telegram.bot.domain.entities.User.class),
                 anyString()))
                 .thenReturn(aliasEntity);
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(request);
 
         List<BotResponse> botResponseList = alias.analyze(request);
 
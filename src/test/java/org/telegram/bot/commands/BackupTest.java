@@ -11,10 +11,17 @@ import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.response.BotResponse;
 import org.telegram.bot.domain.model.response.FileResponse;
 import org.telegram.bot.domain.model.response.FileType;
-import org.telegram.bot.repositories.DbBackuper;
+import org.telegram.bot.enums.BackupType;
+import org.telegram.bot.enums.BotSpeechTag;
+import org.telegram.bot.exception.BotException;
+import org.telegram.bot.exception.backup.BackupException;
+import org.telegram.bot.services.SpeechService;
+import org.telegram.bot.services.backup.BackupService;
+import org.telegram.bot.services.backup.BackupSnapshot;
 
 import java.io.File;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
@@ -26,16 +33,31 @@ class BackupTest {
     @Mock
     private Bot bot;
     @Mock
-    private DbBackuper dbBackuper;
+    private BackupService backupService;
+    @Mock
+    private SpeechService speechService;
 
     @InjectMocks
     private Backup backup;
 
     @Test
-    void parseTest() {
+    void parseWithBackupExceptionTest() throws BackupException {
+        final String expectedErrorText = "error";
+        BotRequest request = TestUtils.getRequestFromGroup();
+        when(backupService.createFullBackup()).thenThrow(new BackupException("failed"));
+        when(speechService.getRandomMessageByTag(BotSpeechTag.INTERNAL_ERROR)).thenReturn(expectedErrorText);
+
+        BotException botException = assertThrows(BotException.class, () -> backup.parse(request));
+        assertEquals(expectedErrorText, botException.getMessage());
+        verify(bot).sendUploadDocument(request.getMessage().getChatId());
+    }
+
+    @Test
+    void parseTest() throws BackupException {
         BotRequest request = TestUtils.getRequestFromGroup();
         File fileMock = TestUtils.getFileMock();
-        when(dbBackuper.getDbBackup()).thenReturn(fileMock);
+        BackupSnapshot backupSnapshot = new BackupSnapshot(fileMock, BackupType.FULL, 1L, "checksum", Map.of());
+        when(backupService.createFullBackup()).thenReturn(backupSnapshot);
 
         BotResponse botResponse = backup.parse(request).getFirst();
         verify(bot).sendUploadDocument(request.getMessage().getChatId());
@@ -43,6 +65,7 @@ class BackupTest {
 
         assertNotNull(fileResponse);
         assertNotNull(fileResponse.getChatId());
+        assertEquals(backupSnapshot.getDescription(), fileResponse.getText());
         assertFalse(fileResponse.getResponseSettings().getNotification());
 
         List<org.telegram.bot.domain.model.response.File> files = fileResponse.getFiles();
@@ -51,5 +74,6 @@ class BackupTest {
 
         org.telegram.bot.domain.model.response.File file = files.getFirst();
         assertEquals(FileType.FILE, file.getFileType());
+        assertEquals(fileMock, file.getDiskFile());
     }
-}
\ No newline at end of file
+}
@@ -11,9 +11,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.telegram.bot.Bot;
@@ -29,9 +34,13 @@ import org.telegram.bot.domain.model.response.FileResponse;
 import org.telegram.bot.domain.model.response.TextResponse;
 import org.telegram.bot.enums.BotSpeechTag;
 import org.telegram.bot.enums.ChatGPTRole;
+import org.telegram.bot.enums.FormattingStyle;
 import org.telegram.bot.exception.BotException;
 import org.telegram.bot.services.*;
+import org.telegram.bot.services.executors.StreamingResponseExecutor;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -39,6 +48,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -70,9 +80,15 @@ class ChatGPTTest {
     private RestTemplate defaultRestTemplate;
     @Mock
     private BotStats botStats;
+    @Spy
+    private ConversationContext conversationContext = new ConversationContext();
+    @Mock
+    private StreamingResponseExecutor streamingResponseExecutor;
 
     @Captor
     ArgumentCaptor<List<ChatGPTMessage>> captor;
+    @Captor
+    ArgumentCaptor<Consumer<StreamingResponseExecutor.ResponseStream>> generationCaptor;
 
     @InjectMocks
     private ChatGPT chatGPT;
@@ -294,7 +310,6 @@ class ChatGPTTest {
                         new ChatGPTMessage().setId(3L).setRole(ChatGPTRole.USER).setUser(new User().setUsername("username")).setContent("tratatam ".repeat(500)),
                         new ChatGPTMessage().setId(4L).setRole(ChatGPTRole.ASSISTANT).setUser(new User().setUsername("username")).setContent("tratatam ".repeat(500))
         ));
-        List<ChatGPTMessage> chatGPTMessagesAfterReducing = new ArrayList<>(List.of(chatGPTMessages.getFirst(), chatGPTMessages.get(1)));
 
         ChatGPT.Message message = new ChatGPT.Message();
         message.setContent(responseText);
@@ -307,7 +322,6 @@ class ChatGPTTest {
         when(propertiesConfig.getChatGPTTokensSize()).thenReturn(4096);
         when(commandWaitingService.getText(request.getMessage())).thenReturn(request.getMessage().getCommandArgument());
         when(chatGPTMessageService.getMessages(any(User.class))).thenReturn(chatGPTMessages);
-        when(chatGPTMessageService.update(chatGPTMessages, 2)).thenReturn(chatGPTMessagesAfterReducing);
         when(objectMapper.writeValueAsString(any(Object.class))).thenReturn("{}");
         when(defaultRestTemplate.postForEntity(anyString(), any(HttpEntity.class), any()))
                 .thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
@@ -316,6 +330,11 @@ class ChatGPTTest {
         verify(bot).sendTyping(request.getMessage().getChatId());
         TextResponse textResponse = checkDefaultTextResponseParams(botResponse);
 
+        verify(chatGPTMessageService).delete(captor.capture());
+        List<ChatGPTMessage> deletedChatGPTMessages = captor.getValue();
+        assertEquals(List.of(1L, 2L), deletedChatGPTMessages.stream().map(ChatGPTMessage::getId).toList());
+        assertTrue(chatGPTMessages.stream().allMatch(chatGPTMessage -> chatGPTMessage.getTokens() != null));
+
         assertEquals(expectedResponseText, textResponse.getText());
     }
 
@@ -452,4 +471,48 @@ class ChatGPTTest {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void streamingMessageFromChatTest() throws IOException {
+        final String requestText = "say hello";
+        BotRequest request = getRequestFromGroup("chatgpt " + requestText);
+        ReflectionTestUtils.setField(chatGPT, "chatGptStreaming", true);
+
+        ClientHttpResponse httpResponse = mock(ClientHttpResponse.class);
+        when(httpResponse.getBody()).thenReturn(new ByteArrayInputStream(
+                "data: {\"n\":1}\n\ndata: {\"n\":2}\n\ndata: [DONE]\n\n".getBytes(StandardCharsets.UTF_8)));
+
+        when(propertiesConfig.getChatGPTToken()).thenReturn("token");
+        when(commandWaitingService.getText(request.getMessage())).thenReturn(request.getMessage().getCommandArgument());
+        when(chatGPTMessageService.getMessages(any(Chat.class))).thenReturn(new ArrayList<>());
+        when(objectMapper.writeValueAsString(any(Object.class))).thenReturn("{}");
+        when(objectMapper.readValue("{\"n\":1}", ChatGPT.ChatResponse.class)).thenReturn(getChunk("hel"));
+        when(objectMapper.readValue("{\"n\":2}", ChatGPT.ChatResponse.class)).thenReturn(getChunk("lo."));
+        when(defaultRestTemplate.execute(anyString(), eq(HttpMethod.POST), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(httpResponse));
+
+        assertTrue(chatGPT.parse(request).isEmpty());
+        verify(bot).sendTyping(request.getMessage().getChatId());
+        verify(streamingResponseExecutor).execute(eq(request), generationCaptor.capture());
+
+        StreamingResponseExecutor.ResponseStream responseStream = mock(StreamingResponseExecutor.ResponseStream.class);
+        generationCaptor.getValue().accept(responseStream);
+
+        verify(responseStream).update("ChatGPT (model):\nhel");
+        verify(responseStream).update("ChatGPT (model):\nhello.");
+        verify(responseStream).complete("*ChatGPT* (model):\nhello.", FormattingStyle.MARKDOWN);
+
+        verify(chatGPTMessageService).update(captor.capture());
+        List<ChatGPTMessage> actualChatGPTMessages = captor.getValue();
+        assertEquals(2, actualChatGPTMessages.size());
+        assertEquals(requestText, actualChatGPTMessages.getFirst().getContent());
+        assertEquals("hello.", actualChatGPTMessages.get(1).getContent());
+    }
+
+    private ChatGPT.ChatResponse getChunk(String content) {
+        ChatGPT.Choice choice = new ChatGPT.Choice();
+        choice.setDelta(new ChatGPT.Message().setContent(content));
+
+        return new ChatGPT.ChatResponse().setModel("model").setChoices(List.of(choice));
+    }
+
+}
@@ -15,7 +15,6 @@ import org.telegram.bot.domain.model.response.BotResponse;
 import org.telegram.bot.domain.model.response.TextResponse;
 import org.telegram.bot.enums.BotSpeechTag;
 import org.telegram.bot.services.*;
-import org.telegram.bot.utils.ObjectCopier;
 
 import java.util.HashSet;
 import java.util.List;
@@ -41,9 +40,9 @@ class EchoTest {
     @Mock
     private Bot bot;
     @Mock
-    private ObjectCopier objectCopier;
-    @Mock
     private TalkerUserSettingsService talkerUserSettingsService;
+    @Mock
+    private TalkerIndex talkerIndex;
 
     @InjectMocks
     private Echo echo;
@@ -157,6 +156,48 @@ class EchoTest {
         assertEquals(expectedResponseText, actualResponseText);
     }
 
+    @Test
+    void parseWithTextRatesPhrasesByLinkedWordsTest() {
+        final String expectedResponseText = "нормально";
+        Chat chat = new Chat().setChatId(DEFAULT_CHAT_ID);
+        BotRequest request = getRequestFromGroup("как там у вас дела?");
+
+        TalkerPhrase expectedPhrase = new TalkerPhrase().setId(1L).setChat(chat).setPhrase(expectedResponseText);
+        java.util.Set<TalkerWord> talkerWords = new HashSet<>(List.of(
+                new TalkerWord().setId(1L).setWord("как").setPhrases(new HashSet<>(List.of(expectedPhrase))),
+                new TalkerWord().setId(2L).setWord("там").setPhrases(new HashSet<>(List.of(expectedPhrase))),
+                new TalkerWord().setId(3L).setWord("у").setPhrases(new HashSet<>(List.of(expectedPhrase))),
+                new TalkerWord().setId(4L).setWord("Дела").setPhrases(new HashSet<>(List.of(expectedPhrase))),
+                new TalkerWord().setId(5L).setWord("дела").setPhrases(new HashSet<>(List.of(expectedPhrase))),
+                new TalkerWord().setId(6L).setWord("вас").setPhrases(new HashSet<>(List.of(
+                        new TalkerPhrase().setId(2L).setChat(chat).setPhrase("пока не родила"),
+                        new TalkerPhrase().setId(3L).setChat(chat).setPhrase("пока не родила"),
+                        new TalkerPhrase().setId(4L).setChat(chat).setPhrase("пока не родила"))))));
+
+        when(talkerWordService.get(anyList(), anyLong())).thenReturn(talkerWords);
+
+        BotResponse botResponse = echo.parse(request).getFirst();
+
+        TextResponse textResponse = TestUtils.checkDefaultTextResponseParams(botResponse);
+        assertEquals(expectedResponseText, textResponse.getText());
+    }
+
+    @Test
+    void parseWithTextByTalkerIndex() {
+        final String expectedResponseText = "нормально";
+        BotRequest request = getRequestFromGroup("как дела?");
+
+        when(talkerIndex.isReady()).thenReturn(true);
+        when(talkerIndex.ratePhrases(eq(DEFAULT_CHAT_ID), anyList(), any()))
+                .thenReturn(java.util.Map.of(expectedResponseText, 5, "пока не родила", 1));
+
+        BotResponse botResponse = echo.parse(request).getFirst();
+
+        TextResponse textResponse = TestUtils.checkDefaultTextResponseParams(botResponse);
+        assertEquals(expectedResponseText, textResponse.getText());
+        verify(talkerWordService, never()).get(anyList(), anyLong());
+    }
+
     @Test
     void analyzeCallbackQueryTest() {
         org.telegram.bot.domain.model.request.Message message = new Message()
@@ -198,7 +239,6 @@ class EchoTest {
 
         when(bot.getBotUsername()).thenReturn(BOT_USERNAME);
         when(commandPropertiesService.getCommand(any(Class.class))).thenReturn(commandProperties);
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(request);
 
         assertDoesNotThrow(() -> echo.analyze(request));
         verify(bot).sendTyping(request.getMessage().getChatId());
@@ -220,11 +260,12 @@ class EchoTest {
         when(bot.getBotUsername()).thenReturn(BOT_USERNAME);
         when(commandPropertiesService.getCommand(any(Class.class))).thenReturn(commandProperties);
         when(commandPropertiesService.getCommand(anyString())).thenReturn(null);
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(request);
 
         assertDoesNotThrow(() -> echo.analyze(request));
         verify(bot).sendTyping(request.getMessage().getChatId());
         verify(talkerPhraseService).save(anySet(), any(Chat.class));
+        verify(talkerWordService).save(eq(List.of("как", "дела")), anyList());
+        verify(talkerIndex).add(eq(DEFAULT_CHAT_ID), eq(List.of("как", "дела")), anyList());
     }
 
     @Test
@@ -237,7 +278,6 @@ class EchoTest {
         when(commandPropertiesService.getCommand(any(Class.class))).thenReturn(commandProperties);
         when(commandPropertiesService.getCommand(anyString())).thenReturn(null);
         when(talkerDegreeService.get(anyLong())).thenReturn(talkerDegree);
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(request);
 
         assertDoesNotThrow(() -> echo.analyze(request));
         verify(bot).sendTyping(request.getMessage().getChatId());
@@ -42,13 +42,17 @@ class ErrorsTest {
     @Test
     void getErrorListTest() {
         BotRequest request = getRequestFromGroup("errors");
-        List<Error> errorList = List.of(new Error().setId(1L).setDateTime(LocalDateTime.now()).setComment("comment"));
+        List<Error> errorList = List.of(
+                new Error().setId(1L).setDateTime(LocalDateTime.now()).setComment("comment").setOccurrences(1L),
+                new Error().setId(2L).setDateTime(LocalDateTime.now()).setComment("repeated").setOccurrences(3L));
 
         when(errorService.getAll()).thenReturn(errorList);
 
         BotResponse response = errors.parse(request).getFirst();
         verify(bot).sendTyping(request.getMessage().getChatId());
-        checkDefaultTextResponseParams(response);
+        TextResponse textResponse = checkDefaultTextResponseParams(response);
+        assertTrue(textResponse.getText().contains(" — comment /errors_1\n"));
+        assertTrue(textResponse.getText().contains(" — repeated (x3) /errors_2\n"));
     }
 
     @Test
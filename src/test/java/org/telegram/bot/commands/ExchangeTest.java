@@ -23,6 +23,7 @@ import org.telegram.bot.exception.BotException;
 import org.telegram.bot.services.CommandPropertiesService;
 import org.telegram.bot.services.SpeechService;
 import org.telegram.bot.utils.NetworkUtils;
+import org.telegram.bot.utils.ResponseCache;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -30,8 +31,6 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -346,13 +345,12 @@ class ExchangeTest {
     }
 
     @Test
-    void valCursDataMapWorkCheckTest() throws IOException {
-        LocalDate oldDate = CURRENT_DATE.minusDays(3);
-        ReflectionTestUtils.setField(
-                exchange,
-                "valCursDataMap",
-                new ConcurrentHashMap<>(
-                        Map.of(oldDate, new Exchange.ValCurs(), CURRENT_DATE, getCurrentValCurs())));
+    void valCursCacheWorkCheckTest() throws IOException {
+        Object value = ReflectionTestUtils.getField(exchange, "valCursCache");
+        assertInstanceOf(ResponseCache.class, value);
+        @SuppressWarnings("unchecked")
+        ResponseCache<LocalDate, Exchange.ValCurs> valCursCache = (ResponseCache<LocalDate, Exchange.ValCurs>) value;
+        valCursCache.put(CURRENT_DATE, getCurrentValCurs());
 
         BotRequest request = getRequestFromGroup();
         Exchange.ValCurs valCurs2 = getPreviousValCurs();
@@ -365,19 +363,15 @@ class ExchangeTest {
         when(xmlMapper.readValue("2", Exchange.ValCurs.class)).thenReturn(valCurs2);
         when(xmlMapper.readValue("3", Exchange.ValCurs.class)).thenReturn(valCurs3);
 
+        exchange.parse(request);
         exchange.parse(request);
 
         verify(xmlMapper, Mockito.times(2)).readValue(anyString(), ArgumentMatchers.<Class<Exchange.ValCurs>>any());
 
-        Object value = ReflectionTestUtils.getField(exchange, "valCursDataMap");
-        assertInstanceOf(ConcurrentHashMap.class, value);
-
-        ConcurrentHashMap<?, ?> valCursDataMap = (ConcurrentHashMap<?, ?>) value;
-        assertNotNull(valCursDataMap);
-        assertFalse(valCursDataMap.containsKey(oldDate));
-        assertTrue(valCursDataMap.containsKey(CURRENT_DATE));
-        assertTrue(valCursDataMap.containsKey(CURRENT_DATE.minusDays(1)));
-        assertTrue(valCursDataMap.containsKey(CURRENT_DATE.plusDays(1)));
+        assertEquals(3, valCursCache.size());
+        assertNotNull(valCursCache.getIfPresent(CURRENT_DATE));
+        assertNotNull(valCursCache.getIfPresent(CURRENT_DATE.minusDays(1)));
+        assertNotNull(valCursCache.getIfPresent(CURRENT_DATE.plusDays(1)));
     }
 
     private Exchange.ValCurs getCurrentValCurs() {
@@ -17,6 +17,7 @@ import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.CommandWaiting;
 import org.telegram.bot.domain.entities.File;
 import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.domain.model.FilesUsage;
 import org.telegram.bot.domain.model.request.Attachment;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.request.Message;
@@ -38,8 +39,7 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class FilesTest {
@@ -95,11 +95,14 @@ class FilesTest {
                                 PageRequest.of(1, 10),
                                 100));
 
+        when(fileService.getUsage(any(Chat.class))).thenReturn(new FilesUsage(1, 1048576, 1073741824));
+
         BotResponse response = files.parse(request).getFirst();
 
         verify(bot).sendTyping(request.getMessage().getChatId());
         TextResponse textResponse = TestUtils.checkDefaultTextResponseParams(response, FormattingStyle.HTML, false, true);
         assertTrue(textResponse.getText().contains(dirName));
+        assertTrue(textResponse.getText().contains("${command.files.usage}"));
 
         Keyboard keyboard = textResponse.getKeyboard();
         List<List<KeyboardButton>> buttons = keyboard.getKeyboardButtonsList();
@@ -136,6 +139,8 @@ class FilesTest {
                                 PageRequest.of(1, 10),
                                 100));
 
+        when(fileService.getUsage(any(Chat.class))).thenReturn(new FilesUsage(1, 1048576, 1073741824));
+
         BotResponse response = files.parse(request).getFirst();
 
         verify(bot).sendTyping(request.getMessage().getChatId());
@@ -238,6 +243,8 @@ class FilesTest {
                                 PageRequest.of(3, 10),
                                 100));
 
+        when(fileService.getUsage(any(Chat.class))).thenReturn(new FilesUsage(1, 1048576, 1073741824));
+
         BotResponse response = files.parse(request).getFirst();
         verify(bot).sendTyping(request.getMessage().getChatId());
         EditResponse editResponse = TestUtils.checkDefaultEditResponseParams(response, FormattingStyle.HTML, false, true);
@@ -425,6 +432,7 @@ class FilesTest {
         when(commandWaitingService.get(any(Chat.class), any(User.class)))
                 .thenReturn(new CommandWaiting().setTextMessage("files a1"));
         when(fileService.get(anyLong())).thenReturn(dir);
+        when(fileService.getUsage(any(Chat.class))).thenReturn(new FilesUsage(1, 1048576, 1073741824));
         when(speechService.getRandomMessageByTag(BotSpeechTag.SAVED)).thenReturn("saved");
 
         BotResponse response = files.parse(request).getFirst();
@@ -459,6 +467,7 @@ class FilesTest {
         when(commandWaitingService.get(any(Chat.class), any(User.class)))
                 .thenReturn(new CommandWaiting().setTextMessage("files a1"));
         when(fileService.get(anyLong())).thenReturn(dir);
+        when(fileService.getUsage(any(Chat.class))).thenReturn(new FilesUsage(1, 1048576, 1073741824));
         when(speechService.getRandomMessageByTag(BotSpeechTag.SAVED)).thenReturn("saved");
 
         BotResponse response = files.parse(request).getFirst();
@@ -480,6 +489,69 @@ class FilesTest {
         assertEquals(dir.getId(), file.getParentId());
     }
 
+    @Test
+    void addDocumentFilesWithExceededQuotaTest() {
+        final Attachment attachment = TestUtils.getDocument();
+        BotRequest request = TestUtils.getRequestFromGroup("");
+        Message message = request.getMessage();
+        message.setAttachments(List.of(attachment));
+        message.setMessageContentType(MessageContentType.FILE);
+
+        when(commandWaitingService.get(any(Chat.class), any(User.class)))
+                .thenReturn(new CommandWaiting().setTextMessage("files a1"));
+        when(fileService.get(anyLong())).thenReturn(getFile());
+        when(fileService.getUsage(any(Chat.class))).thenReturn(new FilesUsage(1, 1024, 1024));
+
+        BotException botException = assertThrows(BotException.class, () -> files.parse(request));
+
+        assertTrue(botException.getMessage().contains("${command.files.quotaexceeded}"));
+        verify(commandWaitingService).remove(any(CommandWaiting.class));
+        verify(fileService, never()).save(any(File.class));
+    }
+
+    @Test
+    void searchByCallbackTest() {
+        BotRequest request = TestUtils.getRequestWithCallback("files f");
+
+        BotResponse response = files.parse(request).getFirst();
+
+        verify(bot).sendTyping(request.getMessage().getChatId());
+        verify(commandWaitingService).add(any(Chat.class), any(User.class), eq(Files.class), eq("files f"));
+        EditResponse editResponse = TestUtils.checkDefaultEditResponseParams(response);
+        assertEquals("${command.files.commandwaitingsearchstart}", editResponse.getText());
+    }
+
+    @Test
+    void searchWithEmptyNameTest() {
+        BotRequest request = TestUtils.getRequestFromGroup("files f ");
+
+        assertThrows(BotException.class, () -> files.parse(request));
+
+        verify(speechService).getRandomMessageByTag(BotSpeechTag.WRONG_INPUT);
+        verify(fileService, never()).search(any(Chat.class), anyString(), anyInt());
+    }
+
+    @Test
+    void searchTest() {
+        final String name = "report";
+        BotRequest request = TestUtils.getRequestFromGroup("files f " + name);
+
+        when(fileService.search(any(Chat.class), eq(name), eq(0)))
+                .thenReturn(new PageImpl<>(List.of(getFile().setName("report.txt")), PageRequest.of(0, 10), 11));
+
+        BotResponse response = files.parse(request).getFirst();
+
+        verify(bot).sendTyping(request.getMessage().getChatId());
+        TextResponse textResponse = TestUtils.checkDefaultTextResponseParams(response, FormattingStyle.HTML, false, true);
+        assertTrue(textResponse.getText().contains(name));
+        assertTrue(textResponse.getText().contains("11"));
+
+        List<List<KeyboardButton>> buttons = textResponse.getKeyboard().getKeyboardButtonsList();
+        assertEquals(2, buttons.size());
+        assertEquals("files s1", buttons.getFirst().getFirst().getCallback());
+        assertEquals("files s0", buttons.get(1).getFirst().getCallback());
+    }
+
     @Test
     void makeDirForWrongParentIdTest() {
         BotRequest request = TestUtils.getRequestFromGroup("files mtest test");
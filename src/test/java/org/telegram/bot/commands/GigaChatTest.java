@@ -11,10 +11,15 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.telegram.bot.Bot;
+import org.telegram.bot.config.PropertiesConfig;
 import org.telegram.bot.domain.entities.Chat;
 import org.telegram.bot.domain.entities.GigaChatMessage;
 import org.telegram.bot.domain.entities.User;
@@ -24,6 +29,7 @@ import org.telegram.bot.domain.model.response.BotResponse;
 import org.telegram.bot.domain.model.response.FileResponse;
 import org.telegram.bot.domain.model.response.TextResponse;
 import org.telegram.bot.enums.BotSpeechTag;
+import org.telegram.bot.enums.FormattingStyle;
 import org.telegram.bot.enums.GigaChatRole;
 import org.telegram.bot.enums.SberScope;
 import org.telegram.bot.exception.BotException;
@@ -31,12 +37,17 @@ import org.telegram.bot.exception.GettingSberAccessTokenException;
 import org.telegram.bot.providers.sber.SberTokenProvider;
 import org.telegram.bot.services.BotStats;
 import org.telegram.bot.services.CommandWaitingService;
+import org.telegram.bot.services.ConversationContext;
 import org.telegram.bot.services.GigaChatMessageService;
 import org.telegram.bot.services.SpeechService;
+import org.telegram.bot.services.executors.StreamingResponseExecutor;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -61,9 +72,17 @@ class GigaChatTest {
     private RestTemplate sberRestTemplate;
     @Mock
     private BotStats botStats;
+    @Mock
+    private PropertiesConfig propertiesConfig;
+    @Spy
+    private ConversationContext conversationContext = new ConversationContext();
+    @Mock
+    private StreamingResponseExecutor streamingResponseExecutor;
 
     @Captor
     ArgumentCaptor<List<GigaChatMessage>> captor;
+    @Captor
+    ArgumentCaptor<Consumer<StreamingResponseExecutor.ResponseStream>> generationCaptor;
 
     @InjectMocks
     private GigaChat gigaChat;
@@ -310,4 +329,86 @@ class GigaChatTest {
         assertEquals(expectedResponseText, textResponse.getText());
     }
 
-}
\ No newline at end of file
+    @Test
+    void messageFromUserWithTokensLimitTest() throws JsonProcessingException, GettingSberAccessTokenException {
+        final String expectedModel = "model";
+        final String requestText = "say hello";
+        final String responseText = "hello";
+        BotRequest request = getRequestFromPrivate("gigachat " + requestText);
+
+        List<GigaChatMessage> gigaChatMessages = new ArrayList<>(
+                List.of(
+                        new GigaChatMessage().setId(1L).setRole(GigaChatRole.USER).setUser(new User().setUsername("username")).setContent("tratatam ".repeat(500)),
+                        new GigaChatMessage().setId(2L).setRole(GigaChatRole.ASSISTANT).setUser(new User().setUsername("username")).setContent("tratatam ".repeat(500)),
+                        new GigaChatMessage().setId(3L).setRole(GigaChatRole.USER).setUser(new User().setUsername("username")).setContent("tratatam ".repeat(500)),
+                        new GigaChatMessage().setId(4L).setRole(GigaChatRole.ASSISTANT).setUser(new User().setUsername("username")).setContent("tratatam ".repeat(500))
+        ));
+
+        GigaChat.Message message = new GigaChat.Message();
+        message.setContent(responseText);
+        GigaChat.Choice choice = new GigaChat.Choice();
+        choice.setMessage(message);
+        GigaChat.ChatResponse response = new GigaChat.ChatResponse();
+        response.setChoices(List.of(choice)).setModel(expectedModel);
+
+        when(sberTokenProvider.getToken(SberScope.GIGACHAT_API_PERS)).thenReturn("token");
+        when(propertiesConfig.getGigaChatTokensSize()).thenReturn(4096);
+        when(commandWaitingService.getText(request.getMessage())).thenReturn(request.getMessage().getCommandArgument());
+        when(gigaChatMessageService.getMessages(any(User.class))).thenReturn(gigaChatMessages);
+        when(objectMapper.writeValueAsString(any(Object.class))).thenReturn("{}");
+        when(sberRestTemplate.postForEntity(anyString(), any(HttpEntity.class), any()))
+                .thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+
+        gigaChat.parse(request);
+
+        verify(propertiesConfig, never()).getChatGPTTokensSize();
+        verify(gigaChatMessageService).delete(captor.capture());
+        assertEquals(List.of(1L, 2L), captor.getValue().stream().map(GigaChatMessage::getId).toList());
+    }
+
+    @Test
+    void streamingMessageFromChatTest() throws IOException, GettingSberAccessTokenException {
+        final String requestText = "say hello";
+        BotRequest request = getRequestFromGroup("gigachat " + requestText);
+        ReflectionTestUtils.setField(gigaChat, "gigaChatStreaming", true);
+
+        ClientHttpResponse httpResponse = mock(ClientHttpResponse.class);
+        when(httpResponse.getBody()).thenReturn(new ByteArrayInputStream(
+                "data: {\"n\":1}\n\ndata: {\"n\":2}\n\ndata: [DONE]\n\n".getBytes(StandardCharsets.UTF_8)));
+
+        when(sberTokenProvider.getToken(SberScope.GIGACHAT_API_PERS)).thenReturn("token");
+        when(commandWaitingService.getText(request.getMessage())).thenReturn(request.getMessage().getCommandArgument());
+        when(gigaChatMessageService.getMessages(any(Chat.class))).thenReturn(new ArrayList<>());
+        when(objectMapper.writeValueAsString(any(Object.class))).thenReturn("{}");
+        when(objectMapper.readValue("{\"n\":1}", GigaChat.ChatResponse.class)).thenReturn(getChunk("hel"));
+        when(objectMapper.readValue("{\"n\":2}", GigaChat.ChatResponse.class)).thenReturn(getChunk("lo"));
+        when(sberRestTemplate.execute(anyString(), eq(HttpMethod.POST), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResponseExtractor<?>>getArgument(3).extractData(httpResponse));
+
+        assertTrue(gigaChat.parse(request).isEmpty());
+        verify(bot).sendTyping(request.getMessage().getChatId());
+        verify(streamingResponseExecutor).execute(eq(request), generationCaptor.capture());
+
+        StreamingResponseExecutor.ResponseStream responseStream = mock(StreamingResponseExecutor.ResponseStream.class);
+        generationCaptor.getValue().accept(responseStream);
+
+        verify(responseStream).update("GigaChat (model):\nhel");
+        verify(responseStream).update("GigaChat (model):\nhello");
+        verify(responseStream).complete("*GigaChat* (model):\nhello", FormattingStyle.MARKDOWN);
+        verify(bot, never()).sendDocument(any());
+
+        verify(gigaChatMessageService).update(captor.capture());
+        List<GigaChatMessage> gigaChatMessages = captor.getValue();
+        assertEquals(2, gigaChatMessages.size());
+        assertEquals(requestText, gigaChatMessages.getFirst().getContent());
+        assertEquals("hello", gigaChatMessages.get(1).getContent());
+    }
+
+    private GigaChat.ChatResponse getChunk(String content) {
+        GigaChat.Choice choice = new GigaChat.Choice();
+        choice.setDelta(new GigaChat.Message().setContent(content));
+
+        return new GigaChat.ChatResponse().setModel("model").setChoices(List.of(choice));
+    }
+
+}
@@ -6,7 +6,6 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -26,7 +25,6 @@ import org.telegram.bot.services.CommandPropertiesService;
 import org.telegram.bot.services.SpeechService;
 import org.telegram.bot.services.UserService;
 import org.telegram.bot.services.UserStatsService;
-import org.telegram.bot.utils.ObjectCopier;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -42,8 +40,6 @@ class KarmaTest {
     @Mock
     private Bot bot;
     @Mock
-    private ObjectCopier objectCopier;
-    @Mock
     private CommandPropertiesService commandPropertiesService;
     @Mock
     private SpeechService speechService;
@@ -171,6 +167,11 @@ class KarmaTest {
         TextResponse textResponse = TestUtils.checkDefaultTextResponseParams(response);
         assertEquals(expectedResponseText, textResponse.getText());
 
+        verify(userStatsService).changeKarma(
+                argThat(chat -> TestUtils.DEFAULT_CHAT_ID.equals(chat.getChatId())),
+                argThat(user -> TestUtils.DEFAULT_USER_ID.equals(user.getUserId())),
+                argThat(user -> ANOTHER_USER_ID.equals(user.getUserId())),
+                eq(value));
         verify(bot).sendTyping(request.getMessage().getChatId());
     }
 
@@ -288,7 +289,6 @@ class KarmaTest {
         when(userService.getCurrentAccessLevel(TestUtils.DEFAULT_USER_ID, TestUtils.DEFAULT_CHAT_ID))
                 .thenReturn(AccessLevel.FAMILIAR);
         when(userService.isUserHaveAccessForCommand(anyInt(), anyInt())).thenReturn(true);
-        when(objectCopier.copyObject(any(BotRequest.class), ArgumentMatchers.any())).thenReturn(request);
         when(userService.get(ANOTHER_USER_ID)).thenReturn(TestUtils.getUser(ANOTHER_USER_ID));
         when(userStatsService.get(any(Chat.class), any(User.class))).thenReturn(getSomeUserStats());
 
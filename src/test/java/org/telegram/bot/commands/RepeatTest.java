@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -21,7 +22,6 @@ import org.telegram.bot.enums.AccessLevel;
 import org.telegram.bot.services.LastCommandService;
 import org.telegram.bot.services.UserService;
 import org.telegram.bot.services.UserStatsService;
-import org.telegram.bot.utils.ObjectCopier;
 
 import java.util.List;
 
@@ -41,8 +41,6 @@ class RepeatTest {
     @Mock
     private ApplicationContext context;
     @Mock
-    private ObjectCopier objectCopier;
-    @Mock
     private UserService userService;
     @Mock
     private UserStatsService userStatsService;
@@ -131,15 +129,19 @@ class RepeatTest {
         when(userService.getCurrentAccessLevel(message.getUser().getUserId(), message.getChatId())).thenReturn(AccessLevel.NEWCOMER);
         when(userService.isUserHaveAccessForCommand(AccessLevel.NEWCOMER.getValue(), repeatedCommandProperies.getAccessLevel()))
                 .thenReturn(true);
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(request);
         Command command = mock(Command.class);
         when(context.getBean(repeatedCommandProperies.getClassName())).thenReturn(command);
         BotResponse botResponse2 = mock(BotResponse.class);
-        when(command.parse(request)).thenReturn(List.of(botResponse2));
+        when(command.parse(any(BotRequest.class))).thenReturn(List.of(botResponse2));
 
         BotResponse botResponse = repeat.analyze(request).getFirst();
         assertEquals(botResponse2, botResponse);
 
+        ArgumentCaptor<BotRequest> botRequestCaptor = ArgumentCaptor.forClass(BotRequest.class);
+        verify(command).parse(botRequestCaptor.capture());
+        assertEquals(repeatedCommandProperies.getCommandName(), botRequestCaptor.getValue().getMessage().getText());
+        assertEquals(".", message.getText());
+
         verify(userStatsService).incrementUserStatsCommands(message.getChat(), message.getUser());
     }
 
@@ -18,12 +18,12 @@ import org.telegram.bot.services.CommandPropertiesService;
 import org.telegram.bot.services.InternationalizationService;
 import org.telegram.bot.services.LanguageResolver;
 import org.telegram.bot.services.SpeechService;
-import org.telegram.bot.utils.ObjectCopier;
 
 import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,8 +35,6 @@ class TurnTest {
     @Mock
     private Bot bot;
     @Mock
-    private ObjectCopier objectCopier;
-    @Mock
     private SpeechService speechService;
     @Mock
     private CommandPropertiesService commandPropertiesService;
@@ -164,32 +162,15 @@ class TurnTest {
         assertTrue(botResponses.isEmpty());
     }
 
-    @Test
-    void analyzeWithErrorInObjectCopierTest() {
-        final String lang = "ru";
-        BotRequest request = TestUtils.getRequestFromGroup("ghbdtn vbh");
-
-        when(languageResolver.getChatLanguageCode(request)).thenReturn(lang);
-        when(internationalizationService.internationalize("${command.turn.pattern}")).thenReturn(Set.of("[а-яА-Я]+"));
-        when(commandPropertiesService.getCommand(Turn.class)).thenReturn(new CommandProperties().setCommandName("turn"));
-        ReflectionTestUtils.invokeMethod(turn, "postConstruct");
-
-        List<BotResponse> botResponses = turn.analyze(request);
-
-        assertTrue(botResponses.isEmpty());
-    }
-
     @Test
     void analyzeTest() {
         final String expectedResponseText = "привет мир";
         final String lang = "ru";
         BotRequest request = TestUtils.getRequestFromGroup("ghbdtn vbh");
 
-        when(languageResolver.getChatLanguageCode(request)).thenReturn(lang);
+        when(languageResolver.getChatLanguageCode(any(BotRequest.class))).thenReturn(lang);
         when(internationalizationService.internationalize("${command.turn.pattern}")).thenReturn(Set.of("[а-яА-Я]+"));
         when(commandPropertiesService.getCommand(Turn.class)).thenReturn(new CommandProperties().setCommandName("turn"));
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(request);
-        when(languageResolver.getChatLanguageCode(request)).thenReturn(lang);
         when(internationalizationService.internationalize("${command.turn.layout}", lang)).thenReturn(RU_LAYOUT);
         ReflectionTestUtils.invokeMethod(turn, "postConstruct");
 
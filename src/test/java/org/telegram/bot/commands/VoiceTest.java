@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,7 +25,6 @@ import org.telegram.bot.exception.speech.TooLongSpeechException;
 import org.telegram.bot.providers.sber.SpeechParser;
 import org.telegram.bot.providers.sber.impl.SaluteSpeechSynthesizerImpl;
 import org.telegram.bot.services.*;
-import org.telegram.bot.utils.ObjectCopier;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 
 import java.io.IOException;
@@ -58,8 +58,6 @@ class VoiceTest {
     private BotStats botStats;
     @Mock
     private Bot bot;
-    @Mock
-    private ObjectCopier objectCopier;
 
     @InjectMocks
     private Voice voice;
@@ -210,18 +208,20 @@ class VoiceTest {
         when(speechParser.parse(file, DEFAULT_VOICE_DURATION)).thenReturn(notNormalizedResponse);
         when(bot.getBotUsername()).thenReturn("jtelebot");
         when(commandPropertiesService.findCommandInText(expectedResponse, "jtelebot")).thenReturn(new CommandProperties());
-        when(objectCopier.copyObject(requestWithVoice, BotRequest.class)).thenReturn(requestWithVoice);
 
         BotResponse botResponse = voice.analyze(requestWithVoice).getFirst();
         TextResponse textResponse = checkDefaultTextResponseParams(botResponse);
         assertEquals(notNormalizedResponse, textResponse.getText());
 
-        assertEquals(MessageKind.COMMON, message.getMessageKind());
-        assertEquals(MessageContentType.TEXT, message.getMessageContentType());
-        assertEquals(expectedResponse, message.getText());
-
         verify(speechParser).parse(file, DEFAULT_VOICE_DURATION);
-        verify(bot).processRequestWithoutAnalyze(any(BotRequest.class));
+        ArgumentCaptor<BotRequest> botRequestCaptor = ArgumentCaptor.forClass(BotRequest.class);
+        verify(bot).processRequestWithoutAnalyze(botRequestCaptor.capture());
+
+        Message newMessage = botRequestCaptor.getValue().getMessage();
+        assertEquals(MessageKind.COMMON, newMessage.getMessageKind());
+        assertEquals(MessageContentType.TEXT, newMessage.getMessageContentType());
+        assertEquals(expectedResponse, newMessage.getText());
+        assertNotEquals(expectedResponse, message.getText());
     }
 
     @Test
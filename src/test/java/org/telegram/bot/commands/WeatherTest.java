@@ -95,6 +95,7 @@ class WeatherTest {
         final String cityName = "city";
         final String lang = "en";
         final String expectedApiUrl = "https://api.openweathermap.org/data/2.5/weather?lang=" + lang + "&units=metric&appid=" + token + "&q=" + cityName;
+        final String expectedForecastApiUrl = "https://api.openweathermap.org/data/2.5/forecast?lang=" + lang + "&units=metric&appid=" + token + "&q=" + cityName;
         final String apiResponse = "{\"message\":\"" + expectedErrorText + "\"}";
         BotRequest request = TestUtils.getRequestFromGroup("weather");
         Message message = request.getMessage();
@@ -107,6 +108,8 @@ class WeatherTest {
         userCity.setCity(city);
         when(userCityService.get(message.getUser(), message.getChat())).thenReturn(userCity);
         when(languageResolver.getChatLanguageCode(message, message.getUser())).thenReturn(lang);
+        when(weatherForecastResponseEntity.getBody()).thenReturn(getSomeForecastWeather());
+        when(botRestTemplate.getForEntity(expectedForecastApiUrl, Weather.WeatherForecast.class)).thenReturn(weatherForecastResponseEntity);
         when(botRestTemplate.getForEntity(expectedApiUrl, Weather.WeatherCurrent.class))
                 .thenThrow(new HttpClientErrorException(
                         HttpStatus.BAD_REQUEST,
@@ -172,6 +175,13 @@ class WeatherTest {
 
         TextResponse textResponse = TestUtils.checkDefaultTextResponseParams(botResponse);
         assertEquals(expectedResponseText, textResponse.getText());
+
+        botResponse = weather.parse(request).getFirst();
+
+        textResponse = TestUtils.checkDefaultTextResponseParams(botResponse);
+        assertEquals(expectedResponseText, textResponse.getText());
+        verify(botRestTemplate).getForEntity(expectedCurrentWeatherApiUrl, Weather.WeatherCurrent.class);
+        verify(botRestTemplate).getForEntity(expectedForecastWeatherApiUrl, Weather.WeatherForecast.class);
     }
 
     private Weather.WeatherCurrent getSomeCurrentWeather() {
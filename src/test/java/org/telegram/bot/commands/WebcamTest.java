@@ -23,6 +23,7 @@ import org.telegram.bot.providers.ffmpeg.FfmpegProvider;
 import org.telegram.bot.providers.media.YtDlpProvider;
 import org.telegram.bot.services.CommandWaitingService;
 import org.telegram.bot.services.SpeechService;
+import org.telegram.bot.services.TemporaryFileManager;
 
 import java.io.File;
 
@@ -106,13 +107,16 @@ class WebcamTest {
         Message message = request.getMessage();
 
         File expectedVideoFile = TestUtils.getFileMock();
+        TemporaryFileManager.FileHandle videoFileHandle = mock(TemporaryFileManager.FileHandle.class);
+        when(videoFileHandle.getFile()).thenReturn(expectedVideoFile);
         when(commandWaitingService.getText(message)).thenReturn(message.getCommandArgument());
-        when(ffmpegProvider.getVideo(url, duration)).thenReturn(expectedVideoFile);
+        when(ffmpegProvider.getVideo(url, duration)).thenReturn(videoFileHandle);
 
         BotResponse botResponse = webcam.parse(request).getFirst();
         FileResponse fileResponse = TestUtils.checkDefaultFileResponseParams(botResponse, FileType.VIDEO);
 
         assertEquals(expectedVideoFile, fileResponse.getFiles().getFirst().getDiskFile());
+        assertEquals(videoFileHandle, fileResponse.getFiles().getFirst().getFileHandle());
     }
 
     @Test
@@ -124,9 +128,11 @@ class WebcamTest {
         Message message = request.getMessage();
 
         File expectedVideoFile = TestUtils.getFileMock();
+        TemporaryFileManager.FileHandle videoFileHandle = mock(TemporaryFileManager.FileHandle.class);
+        when(videoFileHandle.getFile()).thenReturn(expectedVideoFile);
 
         when(commandWaitingService.getText(message)).thenReturn(message.getCommandArgument());
-        when(ytDlpProvider.getVideoFragment(MediaPlatform.YOUTUBE, url, 5)).thenReturn(expectedVideoFile);
+        when(ytDlpProvider.getVideoFragment(MediaPlatform.YOUTUBE, url, 5)).thenReturn(videoFileHandle);
 
         BotResponse botResponse = webcam.parse(request).getFirst();
 
@@ -22,7 +22,6 @@ import org.telegram.bot.exception.BotException;
 import org.telegram.bot.services.ChatService;
 import org.telegram.bot.services.SpeechService;
 import org.telegram.bot.services.UserStatsService;
-import org.telegram.bot.utils.ObjectCopier;
 
 import java.util.List;
 
@@ -40,8 +39,6 @@ class WriteTest {
     private ChatService chatService;
     @Mock
     private UserStatsService userStatsService;
-    @Mock
-    private ObjectCopier objectCopier;
 
     @InjectMocks
     private Write write;
@@ -138,7 +135,6 @@ class WriteTest {
         Chat chat = new Chat();
         when(chatService.get(chatId)).thenReturn(chat);
         when(userStatsService.getUsersOfChat(chat)).thenReturn(List.of(request.getMessage().getUser()));
-        when(objectCopier.copyObject(request, BotRequest.class)).thenReturn(new BotRequest().setMessage(new Message()));
 
         List<BotResponse> responses = write.parse(request);
 
@@ -45,6 +45,8 @@ class CitySetterTest {
     @Mock
     private UserCityService userCityService;
     @Mock
+    private ReminderService reminderService;
+    @Mock
     private SpeechService speechService;
     @Mock
     private CommandWaitingService commandWaitingService;
@@ -177,6 +179,8 @@ class CitySetterTest {
         assertEquals(chat, userCity.getChat());
         assertEquals(user, userCity.getUser());
         assertEquals(city, userCity.getCity());
+
+        verify(reminderService).reschedule(chat, user);
     }
 
     @Test
@@ -208,6 +212,8 @@ class CitySetterTest {
         assertEquals(chat, userCity.getChat());
         assertEquals(user, userCity.getUser());
         assertEquals(city, userCity.getCity());
+
+        verify(reminderService).reschedule(chat, user);
     }
 
     @Test
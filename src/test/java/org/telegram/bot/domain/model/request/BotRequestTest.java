@@ -0,0 +1,56 @@
+package org.telegram.bot.domain.model.request;
+
+import org.junit.jupiter.api.Test;
+import org.telegram.bot.TestUtils;
+import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.enums.RequestSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotRequestTest {
+
+    @Test
+    void copyTest() {
+        BotRequest request = TestUtils.getRequestWithRepliedMessage("reply");
+        request.setSource(RequestSource.TELEGRAM);
+        Message message = request.getMessage()
+                .setText("text")
+                .setAttachments(new ArrayList<>(List.of(new Attachment().setFileId("fileId").setFile(new byte[]{1}))))
+                .setReactions(new Reactions().setNewEmojis(new ArrayList<>(List.of("👍"))))
+                .setLeftChatMember(new User().setUserId(1L));
+
+        BotRequest copy = new BotRequest(request);
+
+        assertEquals(request, copy);
+        Message copiedMessage = copy.getMessage();
+        assertNotSame(message, copiedMessage);
+        assertNotSame(message.getReplyToMessage(), copiedMessage.getReplyToMessage());
+        assertNotSame(message.getAttachments().getFirst(), copiedMessage.getAttachments().getFirst());
+        assertNotSame(message.getReactions(), copiedMessage.getReactions());
+        assertSame(message.getChat(), copiedMessage.getChat());
+        assertSame(message.getUser(), copiedMessage.getUser());
+        assertSame(message.getLeftChatMember(), copiedMessage.getLeftChatMember());
+
+        copiedMessage.setText("changed");
+        copiedMessage.getReplyToMessage().setText("changed");
+        copiedMessage.getAttachments().add(new Attachment());
+        copiedMessage.getReactions().getNewEmojis().clear();
+
+        assertEquals("text", message.getText());
+        assertEquals("reply", message.getReplyToMessage().getText());
+        assertEquals(1, message.getAttachments().size());
+        assertEquals(List.of("👍"), message.getReactions().getNewEmojis());
+    }
+
+    @Test
+    void copyWithoutMessageTest() {
+        BotRequest copy = new BotRequest(new BotRequest().setSource(RequestSource.EMAIL));
+
+        assertNull(copy.getMessage());
+        assertEquals(RequestSource.EMAIL, copy.getSource());
+    }
+
+}
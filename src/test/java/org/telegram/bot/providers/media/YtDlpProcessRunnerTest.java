@@ -0,0 +1,63 @@
+package org.telegram.bot.providers.media;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.telegram.bot.enums.yt_dlp.MediaPlatform;
+import org.telegram.bot.exception.youtube.YtDlpCallException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledOnOs({OS.LINUX, OS.MAC})
+class YtDlpProcessRunnerTest {
+
+    private YtDlpProcessRunner ytDlpProcessRunner;
+
+    @BeforeEach
+    void init() {
+        ytDlpProcessRunner = new YtDlpProcessRunner();
+        ReflectionTestUtils.setField(ytDlpProcessRunner, "maxProcesses", 2);
+        ReflectionTestUtils.setField(ytDlpProcessRunner, "maxProcessesPerPlatform", 1);
+        ytDlpProcessRunner.postConstruct();
+    }
+
+    @AfterEach
+    void shutdown() {
+        ytDlpProcessRunner.shutdown();
+    }
+
+    @Test
+    void runTest() throws YtDlpCallException {
+        String output = ytDlpProcessRunner.run(
+                MediaPlatform.YOUTUBE,
+                new ProcessBuilder("echo", "test"),
+                Duration.ofSeconds(10),
+                process -> new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        assertEquals("test", output.trim());
+    }
+
+    @Test
+    void runWithTimeoutTest() {
+        long start = System.currentTimeMillis();
+
+        YtDlpCallException exception = assertThrows(YtDlpCallException.class,
+                () -> ytDlpProcessRunner.run(MediaPlatform.YOUTUBE, new ProcessBuilder("sleep", "30"), Duration.ofMillis(200)));
+
+        assertTrue(exception.getMessage().startsWith("Process has been killed"));
+        assertTrue(System.currentTimeMillis() - start < 10000);
+    }
+
+    @Test
+    void runNotExistingProcessTest() {
+        assertThrows(YtDlpCallException.class,
+                () -> ytDlpProcessRunner.run(MediaPlatform.YOUTUBE, new ProcessBuilder("not-existing-command-for-test"), Duration.ofSeconds(1)));
+    }
+
+}
@@ -0,0 +1,166 @@
+package org.telegram.bot.providers.media;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.telegram.bot.domain.model.response.File;
+import org.telegram.bot.domain.model.response.FileType;
+import org.telegram.bot.enums.yt_dlp.MediaPlatform;
+import org.telegram.bot.exception.youtube.YtDlpException;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.MediaFileIdCache;
+import org.telegram.bot.services.TemporaryFileManager;
+import org.telegram.bot.services.metrics.CacheMetricsRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class YtDlpProviderImplTest {
+
+    private static final String URL = "https://www.youtube.com/watch?v=abc";
+    private static final String PROBE_RESPONSE = """
+            {"id": "abc", "extractor_key": "Youtube", "title": "video", "duration": 10,
+             "formats": [{"format_id": "18", "ext": "mp4", "acodec": "aac", "vcodec": "h264", "filesize": 1000, "width": 640, "height": 360}]}
+            """;
+
+    @Mock
+    private TemporaryFileManager temporaryFileManager;
+    @Mock
+    private BotStats botStats;
+    @Mock
+    private YtDlpProcessRunner ytDlpProcessRunner;
+    @Mock
+    private CacheMetricsRegistry cacheMetricsRegistry;
+
+    @TempDir
+    private Path tempDir;
+
+    private MediaFileIdCache mediaFileIdCache;
+    private YtDlpProviderImpl ytDlpProvider;
+
+    @BeforeEach
+    void init() {
+        mediaFileIdCache = new MediaFileIdCache(cacheMetricsRegistry);
+        ytDlpProvider = new YtDlpProviderImpl(
+                new ObjectMapper(), temporaryFileManager, botStats, ytDlpProcessRunner, mediaFileIdCache, cacheMetricsRegistry);
+        ReflectionTestUtils.setField(ytDlpProvider, "probeTimeoutSeconds", 60);
+        ReflectionTestUtils.setField(ytDlpProvider, "downloadTimeoutSeconds", 600);
+    }
+
+    @Test
+    void getVideoTest() throws YtDlpException, IOException {
+        java.io.File videoFile = mockDownload();
+
+        File file = ytDlpProvider.getVideo(MediaPlatform.YOUTUBE, URL);
+
+        assertEquals(FileType.VIDEO, file.getFileType());
+        assertEquals(videoFile, file.getDiskFile());
+        assertNotNull(file.getFileHandle());
+        assertEquals(10, file.getFileSettings().getDuration());
+        assertEquals(640, file.getFileSettings().getWidth());
+        assertEquals(360, file.getFileSettings().getHeight());
+        verify(ytDlpProcessRunner).run(eq(MediaPlatform.YOUTUBE), any(ProcessBuilder.class), eq(Duration.ofSeconds(60)), any());
+        verify(ytDlpProcessRunner).run(eq(MediaPlatform.YOUTUBE), any(ProcessBuilder.class), eq(Duration.ofSeconds(600)));
+    }
+
+    @Test
+    void getVideoOfSentMediaTest() throws YtDlpException, IOException {
+        final String fileId = "fileId";
+        java.io.File videoFile = mockDownload();
+
+        ytDlpProvider.getVideo(MediaPlatform.YOUTUBE, URL);
+        mediaFileIdCache.sent(videoFile, fileId);
+
+        File file = ytDlpProvider.getVideo(MediaPlatform.YOUTUBE, URL);
+        assertEquals(FileType.VIDEO, file.getFileType());
+        assertEquals(fileId, file.getFileId());
+        assertNull(file.getDiskFile());
+
+        file = ytDlpProvider.getVideo(MediaPlatform.YOUTUBE, "https://youtu.be/abc");
+        assertEquals(fileId, file.getFileId());
+
+        verify(ytDlpProcessRunner, times(2)).run(eq(MediaPlatform.YOUTUBE), any(ProcessBuilder.class), any(Duration.class), any());
+        verify(ytDlpProcessRunner, times(1)).run(eq(MediaPlatform.YOUTUBE), any(ProcessBuilder.class), any(Duration.class));
+    }
+
+    @Test
+    void concurrentRequestsOfSameVideoTest() throws Exception {
+        java.io.File videoFile = Files.createFile(tempDir.resolve("video.mp4")).toFile();
+        when(temporaryFileManager.addFile("video", ".mp4")).thenReturn(videoFile.getPath());
+        when(temporaryFileManager.acquire(videoFile.getPath())).thenAnswer(invocation -> getFileHandle(videoFile));
+        when(ytDlpProcessRunner.run(eq(MediaPlatform.YOUTUBE), any(ProcessBuilder.class), any(Duration.class), any()))
+                .thenReturn(PROBE_RESPONSE.getBytes(StandardCharsets.UTF_8));
+
+        CountDownLatch downloadStarted = new CountDownLatch(1);
+        CountDownLatch downloadAllowed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            downloadStarted.countDown();
+            assertTrue(downloadAllowed.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(ytDlpProcessRunner).run(eq(MediaPlatform.YOUTUBE), any(ProcessBuilder.class), any(Duration.class));
+
+        CompletableFuture<File> first = new CompletableFuture<>();
+        Thread firstThread = new Thread(() -> completeWithVideo(first));
+        firstThread.start();
+        assertTrue(downloadStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<File> second = new CompletableFuture<>();
+        Thread secondThread = new Thread(() -> completeWithVideo(second));
+        secondThread.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (secondThread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, secondThread.getState());
+
+        downloadAllowed.countDown();
+
+        File firstFile = first.get(5, TimeUnit.SECONDS);
+        File secondFile = second.get(5, TimeUnit.SECONDS);
+        assertEquals(firstFile.getDiskFile(), secondFile.getDiskFile());
+        assertNotSame(firstFile.getFileHandle(), secondFile.getFileHandle());
+        verify(temporaryFileManager, times(2)).acquire(videoFile.getPath());
+        verify(ytDlpProcessRunner, times(1)).run(eq(MediaPlatform.YOUTUBE), any(ProcessBuilder.class), any(Duration.class), any());
+        verify(ytDlpProcessRunner, times(1)).run(eq(MediaPlatform.YOUTUBE), any(ProcessBuilder.class), any(Duration.class));
+    }
+
+    private void completeWithVideo(CompletableFuture<File> result) {
+        try {
+            result.complete(ytDlpProvider.getVideo(MediaPlatform.YOUTUBE, URL));
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static TemporaryFileManager.FileHandle getFileHandle(java.io.File file) {
+        TemporaryFileManager.FileHandle fileHandle = mock(TemporaryFileManager.FileHandle.class);
+        when(fileHandle.getFile()).thenReturn(file);
+        return fileHandle;
+    }
+
+    private java.io.File mockDownload() throws YtDlpException, IOException {
+        java.io.File videoFile = Files.createFile(tempDir.resolve("video.mp4")).toFile();
+        when(temporaryFileManager.addFile("video", ".mp4")).thenReturn(videoFile.getPath());
+        when(temporaryFileManager.acquire(videoFile.getPath())).thenAnswer(invocation -> getFileHandle(videoFile));
+        when(ytDlpProcessRunner.run(eq(MediaPlatform.YOUTUBE), any(ProcessBuilder.class), any(Duration.class), any()))
+                .thenReturn(PROBE_RESPONSE.getBytes(StandardCharsets.UTF_8));
+        return videoFile;
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.telegram.bot.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.telegram.bot.TestDatabase;
+import org.telegram.bot.enums.BackupTable;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DbBackuperTest {
+
+    private static JdbcTemplate jdbcTemplate;
+    private static DbBackuper dbBackuper;
+
+    @BeforeAll
+    static void init() {
+        jdbcTemplate = new JdbcTemplate(TestDatabase.create());
+        dbBackuper = new DbBackuper(jdbcTemplate);
+    }
+
+    @Test
+    void getWatermarkOfAllTablesTest() {
+        for (BackupTable table : BackupTable.values()) {
+            assertDoesNotThrow(() -> dbBackuper.getWatermark(table), table.getQualifiedName());
+        }
+    }
+
+    @Test
+    void exportAllTablesTest() {
+        for (BackupTable table : BackupTable.values()) {
+            StringWriter writer = new StringWriter();
+            assertDoesNotThrow(() -> dbBackuper.exportTable(table, null, writer), table.getQualifiedName());
+            assertFalse(writer.toString().isEmpty());
+        }
+    }
+
+    @Test
+    void exportTableFromWatermarkTest() {
+        jdbcTemplate.update("INSERT INTO talkerwordphrase (word_id, phrase_id) VALUES (1, 1), (2, 2), (3, 3)");
+        String firstWatermark = dbBackuper.getWatermark(BackupTable.TALKER_WORD_PHRASE);
+        jdbcTemplate.update("INSERT INTO talkerwordphrase (word_id, phrase_id) VALUES (4, 4)");
+
+        StringWriter writer = new StringWriter();
+        String watermark = dbBackuper.exportTable(BackupTable.TALKER_WORD_PHRASE, firstWatermark, writer);
+
+        assertEquals(dbBackuper.getWatermark(BackupTable.TALKER_WORD_PHRASE), watermark);
+        assertEquals("id,word_id,phrase_id\n" + watermark + ",4,4\n", writer.toString());
+    }
+
+    @Test
+    void exportTableWithNonUniqueOrderColumnTest() {
+        jdbcTemplate.update("INSERT INTO bot.message (messageid, chatid, userid, datetime) VALUES (1, -1, 1, '2000-01-01 00:00:00')");
+        String firstWatermark = dbBackuper.getWatermark(BackupTable.MESSAGE);
+        jdbcTemplate.update("INSERT INTO bot.message (messageid, chatid, userid, datetime) VALUES "
+                + "(2, -2, 1, '2000-01-01 00:00:00'), (3, -1, 1, '2000-01-01 00:01:00')");
+
+        StringWriter writer = new StringWriter();
+        String watermark = dbBackuper.exportTable(BackupTable.MESSAGE, firstWatermark, writer);
+
+        assertEquals("2000-01-01T00:00|1", firstWatermark);
+        assertEquals("2000-01-01T00:01|3", watermark);
+        assertEquals(List.of("2", "3"), getFirstColumn(writer.toString()));
+
+        jdbcTemplate.update("INSERT INTO bot.message (messageid, chatid, userid, datetime) VALUES (4, -2, 1, '2000-01-01 00:01:00')");
+        writer = new StringWriter();
+        watermark = dbBackuper.exportTable(BackupTable.MESSAGE, watermark, writer);
+
+        assertEquals("2000-01-01T00:01|3,4", watermark);
+        assertEquals(List.of("4"), getFirstColumn(writer.toString()));
+    }
+
+    @Test
+    void backupToTest(@TempDir Path tempDir) {
+        File file = tempDir.resolve("backup.zip").toFile();
+
+        dbBackuper.backupTo(file);
+
+        assertTrue(file.length() > 0);
+    }
+
+    private static List<String> getFirstColumn(String csv) {
+        return csv.lines().skip(1).map(line -> line.substring(0, line.indexOf(','))).toList();
+    }
+
+}
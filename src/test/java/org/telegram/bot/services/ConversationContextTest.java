@@ -0,0 +1,58 @@
+package org.telegram.bot.services;
+
+import org.junit.jupiter.api.Test;
+import org.telegram.bot.domain.entities.ChatGPTMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversationContextTest {
+
+    private final ConversationContext conversationContext = new ConversationContext();
+
+    @Test
+    void getTokensTest() {
+        ChatGPTMessage messageWithoutContent = new ChatGPTMessage();
+        ChatGPTMessage messageWithTokens = new ChatGPTMessage().setContent("hello").setTokens(100);
+        ChatGPTMessage message = new ChatGPTMessage().setContent("hello");
+
+        assertEquals(0, conversationContext.getTokens(messageWithoutContent));
+        assertEquals(100, conversationContext.getTokens(messageWithTokens));
+        assertEquals(conversationContext.countTokens("hello"), conversationContext.getTokens(message));
+        assertEquals(conversationContext.countTokens("hello"), message.getTokens());
+    }
+
+    @Test
+    void trimTest() {
+        List<ChatGPTMessage> history = new ArrayList<>(List.of(
+                new ChatGPTMessage().setId(3L).setContent("3").setTokens(10),
+                new ChatGPTMessage().setId(1L).setContent("1").setTokens(10),
+                new ChatGPTMessage().setId(4L).setContent("4").setTokens(10),
+                new ChatGPTMessage().setId(2L).setContent("2").setTokens(10)));
+        String newText = "text";
+        int newTextTokens = conversationContext.countTokens(newText);
+
+        ConversationContext.TrimResult<ChatGPTMessage> trimResult = conversationContext.trim(history, newText, 25 + newTextTokens);
+
+        assertEquals(List.of(1L, 2L), trimResult.removed().stream().map(ChatGPTMessage::getId).toList());
+        assertEquals(List.of(3L, 4L), history.stream().map(ChatGPTMessage::getId).toList());
+        assertEquals(20 + newTextTokens, trimResult.tokens());
+    }
+
+    @Test
+    void trimWithTooBigTextTest() {
+        List<ChatGPTMessage> history = new ArrayList<>(List.of(
+                new ChatGPTMessage().setId(1L).setContent("1").setTokens(10),
+                new ChatGPTMessage().setId(2L).setContent("2").setTokens(10)));
+        String newText = "too big text";
+
+        ConversationContext.TrimResult<ChatGPTMessage> trimResult = conversationContext.trim(history, newText, 1);
+
+        assertEquals(2, trimResult.removed().size());
+        assertTrue(history.isEmpty());
+        assertEquals(conversationContext.countTokens(newText), trimResult.tokens());
+    }
+
+}
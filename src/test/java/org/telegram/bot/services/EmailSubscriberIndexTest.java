@@ -0,0 +1,156 @@
+package org.telegram.bot.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.domain.entities.UserEmail;
+import org.telegram.bot.domain.entities.UserStats;
+import org.telegram.bot.repositories.UserEmailRepository;
+import org.telegram.bot.repositories.UserStatsRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailSubscriberIndexTest {
+
+    private static final Long CHAT_ID = -1L;
+    private static final Long ANOTHER_CHAT_ID = -2L;
+
+    @Mock
+    private UserEmailRepository userEmailRepository;
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @InjectMocks
+    private EmailSubscriberIndex emailSubscriberIndex;
+
+    @Test
+    void getSubscribersTest() {
+        UserEmail expectedUserEmail = getUserEmail(1L, "email@example.com");
+        when(userEmailRepository.findAll()).thenReturn(List.of(
+                new UserEmail().setUser(new User().setUserId(2L)),
+                getUserEmail(3L, "email@example.com").setShippingEnabled(false),
+                getUserEmail(4L, "email@example.com").setVerified(false),
+                getUserEmail(5L, "  "),
+                expectedUserEmail));
+        when(userStatsRepository.findByUserUserIdIn(Set.of(1L))).thenReturn(List.of(getUserStats(CHAT_ID, 1L)));
+
+        assertEquals(List.of(expectedUserEmail), emailSubscriberIndex.getSubscribers(CHAT_ID));
+        assertTrue(emailSubscriberIndex.getSubscribers(ANOTHER_CHAT_ID).isEmpty());
+
+        emailSubscriberIndex.getSubscribers(CHAT_ID);
+        verify(userEmailRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getSubscribersWithoutSubscribersTest() {
+        when(userEmailRepository.findAll()).thenReturn(List.of());
+
+        assertTrue(emailSubscriberIndex.getSubscribers(CHAT_ID).isEmpty());
+
+        verify(userStatsRepository, never()).findByUserUserIdIn(anyCollection());
+    }
+
+    @Test
+    void updateBeforeLoadingTest() {
+        emailSubscriberIndex.update(getUserEmail(1L, "email@example.com"));
+        emailSubscriberIndex.addMember(CHAT_ID, 1L);
+
+        verifyNoInteractions(userEmailRepository, userStatsRepository);
+    }
+
+    @Test
+    void updateTest() {
+        when(userEmailRepository.findAll()).thenReturn(List.of());
+        assertTrue(emailSubscriberIndex.getSubscribers(CHAT_ID).isEmpty());
+
+        UserEmail userEmail = getUserEmail(1L, "email@example.com");
+        when(userStatsRepository.findByUserUserIdIn(List.of(1L))).thenReturn(List.of(getUserStats(CHAT_ID, 1L)));
+        emailSubscriberIndex.update(userEmail);
+        assertEquals(List.of(userEmail), emailSubscriberIndex.getSubscribers(CHAT_ID));
+
+        UserEmail updatedUserEmail = getUserEmail(1L, "another@example.com");
+        emailSubscriberIndex.update(updatedUserEmail);
+        assertEquals(List.of(updatedUserEmail), emailSubscriberIndex.getSubscribers(CHAT_ID));
+        verify(userStatsRepository, times(1)).findByUserUserIdIn(anyCollection());
+
+        emailSubscriberIndex.addMember(ANOTHER_CHAT_ID, 1L);
+        emailSubscriberIndex.addMember(ANOTHER_CHAT_ID, 2L);
+        assertEquals(List.of(updatedUserEmail), emailSubscriberIndex.getSubscribers(ANOTHER_CHAT_ID));
+
+        emailSubscriberIndex.update(updatedUserEmail.setShippingEnabled(false));
+        assertTrue(emailSubscriberIndex.getSubscribers(CHAT_ID).isEmpty());
+        assertTrue(emailSubscriberIndex.getSubscribers(ANOTHER_CHAT_ID).isEmpty());
+    }
+
+    @Test
+    void removeTest() {
+        UserEmail userEmail = getUserEmail(1L, "email@example.com");
+        when(userEmailRepository.findAll()).thenReturn(List.of(userEmail));
+        when(userStatsRepository.findByUserUserIdIn(Set.of(1L))).thenReturn(List.of(getUserStats(CHAT_ID, 1L)));
+        assertEquals(List.of(userEmail), emailSubscriberIndex.getSubscribers(CHAT_ID));
+
+        emailSubscriberIndex.remove(userEmail);
+
+        assertTrue(emailSubscriberIndex.getSubscribers(CHAT_ID).isEmpty());
+    }
+
+    @Test
+    void removeMemberTest() {
+        UserEmail userEmail = getUserEmail(1L, "email@example.com");
+        when(userEmailRepository.findAll()).thenReturn(List.of(userEmail));
+        when(userStatsRepository.findByUserUserIdIn(Set.of(1L)))
+                .thenReturn(List.of(getUserStats(CHAT_ID, 1L), getUserStats(ANOTHER_CHAT_ID, 1L)));
+        assertEquals(List.of(userEmail), emailSubscriberIndex.getSubscribers(CHAT_ID));
+
+        emailSubscriberIndex.removeMember(CHAT_ID, 1L);
+
+        assertTrue(emailSubscriberIndex.getSubscribers(CHAT_ID).isEmpty());
+        assertEquals(List.of(userEmail), emailSubscriberIndex.getSubscribers(ANOTHER_CHAT_ID));
+    }
+
+    @Test
+    void updateInTransactionTest() {
+        when(userEmailRepository.findAll()).thenReturn(List.of());
+        assertTrue(emailSubscriberIndex.getSubscribers(CHAT_ID).isEmpty());
+        UserEmail userEmail = getUserEmail(1L, "email@example.com");
+        when(userStatsRepository.findByUserUserIdIn(List.of(1L))).thenReturn(List.of(getUserStats(CHAT_ID, 1L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            emailSubscriberIndex.update(userEmail);
+            assertTrue(emailSubscriberIndex.getSubscribers(CHAT_ID).isEmpty());
+            verify(userStatsRepository, never()).findByUserUserIdIn(anyCollection());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(userEmail), emailSubscriberIndex.getSubscribers(CHAT_ID));
+    }
+
+    private static UserEmail getUserEmail(Long userId, String email) {
+        return new UserEmail()
+                .setUser(new User().setUserId(userId))
+                .setEmail(email)
+                .setVerified(true)
+                .setShippingEnabled(true);
+    }
+
+    private static UserStats getUserStats(Long chatId, Long userId) {
+        return new UserStats().setChat(new Chat().setChatId(chatId)).setUser(new User().setUserId(userId));
+    }
+
+}
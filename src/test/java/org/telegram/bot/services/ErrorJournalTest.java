@@ -0,0 +1,211 @@
+package org.telegram.bot.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.telegram.bot.domain.entities.Error;
+import org.telegram.bot.repositories.ErrorRepository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ErrorJournalTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2000-01-01T00:00:00Z"), ZoneId.of("UTC"));
+    private static final LocalDateTime DATE_TIME = LocalDateTime.now(CLOCK);
+
+    @Mock
+    private ErrorRepository errorRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Error>> errorsCaptor;
+
+    private ObjectMapper objectMapper;
+    private ErrorJournal errorJournal;
+
+    @BeforeEach
+    void init() {
+        objectMapper = spy(new ObjectMapper());
+        errorJournal = new ErrorJournal(errorRepository, transactionTemplate, objectMapper, CLOCK);
+        ReflectionTestUtils.setField(errorJournal, "capacity", 10);
+    }
+
+    @Test
+    void flushEmptyTest() {
+        errorJournal.flush();
+        verifyNoInteractions(errorRepository);
+    }
+
+    @Test
+    void flushNewErrorsTest() {
+        mockTransactionTemplate();
+        RuntimeException exception = new RuntimeException("error");
+        errorJournal.capture("request", null, exception, "comment");
+        errorJournal.capture("another request", null, exception, "comment");
+        errorJournal.capture(null, null, null, "another comment");
+        when(errorRepository.findByFingerprintIn(anyCollection())).thenReturn(List.of());
+
+        errorJournal.flush();
+
+        verify(errorRepository).saveAll(errorsCaptor.capture());
+        List<Error> errors = errorsCaptor.getValue();
+        assertEquals(2, errors.size());
+
+        Error error = errors.getFirst();
+        assertNotNull(error.getFingerprint());
+        assertEquals(2, error.getOccurrences());
+        assertEquals(DATE_TIME, error.getFirstDateTime());
+        assertEquals(DATE_TIME, error.getDateTime());
+        assertEquals("\"request\"", error.getRequest());
+        assertEquals("", error.getResponse());
+        assertEquals("comment", error.getComment());
+        assertTrue(error.getStacktrace().startsWith("java.lang.RuntimeException: error"));
+
+        Error anotherError = errors.get(1);
+        assertNotEquals(error.getFingerprint(), anotherError.getFingerprint());
+        assertEquals(1, anotherError.getOccurrences());
+        assertEquals("", anotherError.getRequest());
+        assertEquals("", anotherError.getStacktrace());
+
+        errorJournal.flush();
+        verify(errorRepository).saveAll(anyCollection());
+    }
+
+    @Test
+    void flushExistingErrorTest() {
+        mockTransactionTemplate();
+        when(errorRepository.findByFingerprintIn(anyCollection())).thenReturn(List.of());
+        errorJournal.capture(null, null, null, "comment");
+        errorJournal.flush();
+        verify(errorRepository).saveAll(errorsCaptor.capture());
+        String fingerprint = errorsCaptor.getValue().getFirst().getFingerprint();
+
+        LocalDateTime firstDateTime = DATE_TIME.minusDays(1);
+        Error storedError = new Error()
+                .setId(1L)
+                .setFingerprint(fingerprint)
+                .setFirstDateTime(firstDateTime)
+                .setDateTime(firstDateTime)
+                .setOccurrences(5L)
+                .setRequest("request");
+        when(errorRepository.findByFingerprintIn(anyCollection())).thenReturn(List.of(storedError));
+
+        errorJournal.capture("new request", null, null, "comment");
+        errorJournal.flush();
+
+        verify(errorRepository, times(2)).saveAll(errorsCaptor.capture());
+        Error error = errorsCaptor.getValue().getFirst();
+        assertSame(storedError, error);
+        assertEquals(6, error.getOccurrences());
+        assertEquals(firstDateTime, error.getFirstDateTime());
+        assertEquals(DATE_TIME, error.getDateTime());
+        assertEquals("request", error.getRequest());
+    }
+
+    @Test
+    void captureSnapshotsPayloadTest() {
+        mockTransactionTemplate();
+        when(errorRepository.findByFingerprintIn(anyCollection())).thenReturn(List.of());
+        List<String> request = new ArrayList<>(List.of("request"));
+
+        errorJournal.capture(request, null, null, null);
+        request.add("changed after capturing");
+        errorJournal.flush();
+
+        verify(errorRepository).saveAll(errorsCaptor.capture());
+        Error error = errorsCaptor.getValue().getFirst();
+        assertEquals("[ \"request\" ]", error.getRequest());
+        assertNull(error.getComment());
+        assertNotNull(error.getFingerprint());
+    }
+
+    @Test
+    void captureOverCapacityTest() {
+        mockTransactionTemplate();
+        when(errorRepository.findByFingerprintIn(anyCollection())).thenReturn(List.of());
+        for (int i = 0; i < 15; i++) {
+            errorJournal.capture(null, null, null, "comment");
+        }
+
+        errorJournal.flush();
+
+        verify(errorRepository).saveAll(errorsCaptor.capture());
+        assertEquals(10, errorsCaptor.getValue().getFirst().getOccurrences());
+
+        errorJournal.capture(null, null, null, "comment");
+        errorJournal.flush();
+
+        verify(errorRepository, times(2)).saveAll(errorsCaptor.capture());
+        assertEquals(1, errorsCaptor.getValue().getFirst().getOccurrences());
+    }
+
+    @Test
+    void captureSerializesPayloadOncePerFlushTest() {
+        mockTransactionTemplate();
+        when(errorRepository.findByFingerprintIn(anyCollection())).thenReturn(List.of());
+
+        errorJournal.capture("request", null, null, "comment");
+        errorJournal.capture("another request", null, null, "comment");
+        errorJournal.capture("request", null, null, "another comment");
+        verify(objectMapper, times(2)).writerWithDefaultPrettyPrinter();
+
+        errorJournal.flush();
+        errorJournal.capture("request", null, null, "comment");
+        verify(objectMapper, times(3)).writerWithDefaultPrettyPrinter();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushWithFailedSaveTest() {
+        when(errorRepository.findByFingerprintIn(anyCollection())).thenReturn(List.of());
+        doThrow(new DataAccessResourceFailureException("error"))
+                .doAnswer(invocation -> {
+                    invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+                    return null;
+                })
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        errorJournal.capture("request", null, null, "comment");
+        errorJournal.flush();
+        verifyNoInteractions(errorRepository);
+
+        errorJournal.capture("another request", null, null, "comment");
+        errorJournal.flush();
+
+        verify(errorRepository).saveAll(errorsCaptor.capture());
+        Error error = errorsCaptor.getValue().getFirst();
+        assertEquals(2, error.getOccurrences());
+        assertEquals("\"request\"", error.getRequest());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockTransactionTemplate() {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+}
@@ -0,0 +1,100 @@
+package org.telegram.bot.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.telegram.bot.TestDatabase;
+import org.telegram.bot.domain.entities.TalkerPhrase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TalkerIndexTest {
+
+    private static final Long CHAT_ID = -1L;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void ratePhrasesTest() throws InterruptedException {
+        TalkerIndex talkerIndex = createTalkerIndex();
+        loadAndWait(talkerIndex);
+
+        talkerIndex.add(CHAT_ID, List.of("Привет", "дела"), List.of(getPhrase(1L, "норм"), getPhrase(2L, "как сам?")));
+        talkerIndex.add(CHAT_ID, List.of("дела"), List.of(getPhrase(3L, "отлично")));
+        talkerIndex.add(CHAT_ID, List.of("дела"), List.of(getPhrase(1L, "норм")));
+
+        assertEquals(Map.of("норм", 2, "как сам?", 2, "отлично", 1),
+                talkerIndex.ratePhrases(CHAT_ID, List.of("привет", "ДЕЛА", "дела"), phrase -> true));
+        assertEquals(Map.of("как сам?", 1),
+                talkerIndex.ratePhrases(CHAT_ID, List.of("привет"), phrase -> phrase.contains("?")));
+        assertTrue(talkerIndex.ratePhrases(CHAT_ID, List.of("пока"), phrase -> true).isEmpty());
+        assertTrue(talkerIndex.ratePhrases(-2L, List.of("привет"), phrase -> true).isEmpty());
+    }
+
+    @Test
+    void snapshotTest() throws InterruptedException {
+        TalkerIndex talkerIndex = createTalkerIndex();
+        loadAndWait(talkerIndex);
+        talkerIndex.add(CHAT_ID, List.of("привет"), List.of(getPhrase(1L, "норм"), getPhrase(2L, "как сам?")));
+        talkerIndex.shutdown();
+
+        assertTrue(Files.exists(tempDir.resolve("talker.idx")));
+
+        TalkerIndex loadedTalkerIndex = createTalkerIndex();
+        loadAndWait(loadedTalkerIndex);
+
+        assertEquals(Map.of("норм", 1, "как сам?", 1),
+                loadedTalkerIndex.ratePhrases(CHAT_ID, List.of("привет"), phrase -> true));
+    }
+
+    @Test
+    void loadFromDbTest() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(TestDatabase.create());
+        jdbcTemplate.update("INSERT INTO bot.talkerword (word_id, word) VALUES (1, 'Привет'), (2, 'дела')");
+        jdbcTemplate.update("INSERT INTO bot.talkerphrase (phrase_id, phrase, chatid) VALUES (1, 'норм', -1), (2, 'как сам?', -1), (3, 'чужая', -2)");
+        jdbcTemplate.update("INSERT INTO talkerwordphrase (word_id, phrase_id) VALUES (1, 1), (2, 1), (1, 2), (1, 3)");
+
+        TalkerIndex talkerIndex = new TalkerIndex(jdbcTemplate);
+        ReflectionTestUtils.setField(talkerIndex, "snapshotFile", tempDir.resolve("talker.idx").toString());
+        loadAndWait(talkerIndex);
+
+        assertEquals(Map.of("норм", 2, "как сам?", 1),
+                talkerIndex.ratePhrases(CHAT_ID, List.of("привет", "дела"), phrase -> true));
+    }
+
+    private TalkerIndex createTalkerIndex() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+
+        TalkerIndex talkerIndex = new TalkerIndex(jdbcTemplate);
+        ReflectionTestUtils.setField(talkerIndex, "snapshotFile", tempDir.resolve("talker.idx").toString());
+
+        return talkerIndex;
+    }
+
+    private void loadAndWait(TalkerIndex talkerIndex) throws InterruptedException {
+        talkerIndex.load();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!talkerIndex.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(talkerIndex.isReady());
+    }
+
+    private TalkerPhrase getPhrase(Long id, String phrase) {
+        return new TalkerPhrase().setId(id).setPhrase(phrase);
+    }
+
+}
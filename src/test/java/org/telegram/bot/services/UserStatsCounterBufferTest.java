@@ -0,0 +1,233 @@
+package org.telegram.bot.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.telegram.bot.TestUtils;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.LastMessage;
+import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.domain.entities.UserStats;
+import org.telegram.bot.domain.model.request.Message;
+import org.telegram.bot.enums.UserStatsCounter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsCounterBufferTest {
+
+    private static final String UPDATE_USER_STATS_QUERY_PREFIX = "UPDATE bot.userstats";
+    private static final String UPDATE_LAST_MESSAGE_QUERY_PREFIX = "UPDATE bot.lastmessage";
+    private static final int PARAMS_COUNT = UserStatsCounter.values().length * 3 + 2;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> paramsCaptor;
+
+    @InjectMocks
+    private UserStatsCounterBuffer userStatsCounterBuffer;
+
+    @Test
+    void flushEmptyTest() {
+        userStatsCounterBuffer.flush();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flushMergesIncrementsTest() {
+        Chat chat = TestUtils.getChat();
+        User user = TestUtils.getUser();
+        User anotherUser = TestUtils.getUser(TestUtils.ANOTHER_USER_ID);
+        when(jdbcTemplate.batchUpdate(startsWith(UPDATE_USER_STATS_QUERY_PREFIX), anyList())).thenReturn(new int[]{1, 1});
+
+        userStatsCounterBuffer.increment(chat, user, UserStatsCounter.MESSAGES);
+        userStatsCounterBuffer.increment(chat, user, UserStatsCounter.MESSAGES);
+        userStatsCounterBuffer.increment(chat, user, UserStatsCounter.COMMANDS);
+        userStatsCounterBuffer.add(chat, user, UserStatsCounter.KARMA, -1);
+        userStatsCounterBuffer.increment(chat, anotherUser, UserStatsCounter.STICKERS);
+        userStatsCounterBuffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(startsWith(UPDATE_USER_STATS_QUERY_PREFIX), paramsCaptor.capture());
+        List<Object[]> params = paramsCaptor.getValue()
+                .stream()
+                .sorted(Comparator.comparing(userParams -> (Long) userParams[PARAMS_COUNT - 1]))
+                .toList();
+        assertEquals(2, params.size());
+
+        Object[] userParams = params.getFirst();
+        assertEquals(PARAMS_COUNT, userParams.length);
+        assertCounter(2L, userParams, UserStatsCounter.MESSAGES);
+        assertCounter(1L, userParams, UserStatsCounter.COMMANDS);
+        assertCounter(-1L, userParams, UserStatsCounter.KARMA);
+        assertCounter(0L, userParams, UserStatsCounter.STICKERS);
+        assertEquals(chat.getChatId(), userParams[PARAMS_COUNT - 2]);
+        assertEquals(user.getUserId(), userParams[PARAMS_COUNT - 1]);
+
+        Object[] anotherUserParams = params.get(1);
+        assertCounter(1L, anotherUserParams, UserStatsCounter.STICKERS);
+        assertCounter(0L, anotherUserParams, UserStatsCounter.MESSAGES);
+        assertEquals(anotherUser.getUserId(), anotherUserParams[PARAMS_COUNT - 1]);
+
+        userStatsCounterBuffer.flush();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void mergeTest() {
+        Chat chat = TestUtils.getChat();
+        User user = TestUtils.getUser();
+        LocalDateTime dateTime = LocalDateTime.of(2000, 1, 1, 0, 0);
+        UserStats userStats = new UserStats()
+                .setChat(chat)
+                .setUser(user)
+                .setNumberOfMessages(1)
+                .setNumberOfMessagesPerDay(1)
+                .setNumberOfAllMessages(10L)
+                .setNumberOfKarma(0)
+                .setNumberOfKarmaPerDay(0)
+                .setNumberOfAllKarma(5L)
+                .setLastMessage(new LastMessage().setId(1L).setMessageId(1).setText("first"));
+
+        userStatsCounterBuffer.increment(chat, user, UserStatsCounter.MESSAGES);
+        userStatsCounterBuffer.add(chat, user, UserStatsCounter.KARMA, -2);
+        userStatsCounterBuffer.increment(TestUtils.getChat(-2L), user, UserStatsCounter.MESSAGES);
+        userStatsCounterBuffer.updateLastMessage(1L, new Message().setMessageId(2).setText("second").setDateTime(dateTime));
+
+        assertSame(userStats, userStatsCounterBuffer.merge(userStats));
+        assertNull(userStatsCounterBuffer.merge(null));
+
+        assertEquals(2, userStats.getNumberOfMessages());
+        assertEquals(2, userStats.getNumberOfMessagesPerDay());
+        assertEquals(11L, userStats.getNumberOfAllMessages());
+        assertEquals(-2, userStats.getNumberOfKarma());
+        assertEquals(-2, userStats.getNumberOfKarmaPerDay());
+        assertEquals(3L, userStats.getNumberOfAllKarma());
+        assertNull(userStats.getNumberOfStickers());
+        assertEquals(2, userStats.getLastMessage().getMessageId());
+        assertEquals("second", userStats.getLastMessage().getText());
+        assertEquals(dateTime, userStats.getLastMessage().getDate());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void clearDailyTest() {
+        Chat chat = TestUtils.getChat(-2L);
+        Chat notClearedChat = TestUtils.getChat();
+        User user = TestUtils.getUser();
+        when(jdbcTemplate.batchUpdate(startsWith(UPDATE_USER_STATS_QUERY_PREFIX), anyList())).thenReturn(new int[]{1, 1});
+
+        userStatsCounterBuffer.increment(chat, user, UserStatsCounter.MESSAGES);
+        userStatsCounterBuffer.increment(notClearedChat, user, UserStatsCounter.MESSAGES);
+        userStatsCounterBuffer.clearDaily(-1L);
+        userStatsCounterBuffer.increment(chat, user, UserStatsCounter.MESSAGES);
+        userStatsCounterBuffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(startsWith(UPDATE_USER_STATS_QUERY_PREFIX), paramsCaptor.capture());
+        Map<Long, Object[]> params = paramsCaptor.getValue()
+                .stream()
+                .collect(Collectors.toMap(chatParams -> (Long) chatParams[PARAMS_COUNT - 2], chatParams -> chatParams));
+
+        Object[] chatParams = params.get(chat.getChatId());
+        int index = UserStatsCounter.MESSAGES.ordinal() * 3;
+        assertEquals(2L, chatParams[index]);
+        assertEquals(1L, chatParams[index + 1]);
+        assertEquals(2L, chatParams[index + 2]);
+        assertCounter(1L, params.get(notClearedChat.getChatId()), UserStatsCounter.MESSAGES);
+    }
+
+    @Test
+    void flushFailedTest() {
+        Chat chat = TestUtils.getChat();
+        User user = TestUtils.getUser();
+        when(jdbcTemplate.batchUpdate(startsWith(UPDATE_USER_STATS_QUERY_PREFIX), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("error"))
+                .thenReturn(new int[]{1});
+
+        userStatsCounterBuffer.increment(chat, user, UserStatsCounter.MESSAGES);
+        userStatsCounterBuffer.flush();
+        userStatsCounterBuffer.increment(chat, user, UserStatsCounter.MESSAGES);
+        userStatsCounterBuffer.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith(UPDATE_USER_STATS_QUERY_PREFIX), paramsCaptor.capture());
+        assertCounter(2L, paramsCaptor.getValue().getFirst(), UserStatsCounter.MESSAGES);
+    }
+
+    @Test
+    void flushLastMessagesTest() {
+        LocalDateTime dateTime = LocalDateTime.of(2000, 1, 1, 0, 0);
+        userStatsCounterBuffer.updateLastMessage(1L, new Message().setMessageId(1).setText("first"));
+        userStatsCounterBuffer.updateLastMessage(1L, new Message().setMessageId(2).setText("second").setDateTime(dateTime));
+
+        userStatsCounterBuffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(startsWith(UPDATE_LAST_MESSAGE_QUERY_PREFIX), paramsCaptor.capture());
+        List<Object[]> params = paramsCaptor.getValue();
+        assertEquals(1, params.size());
+        assertArrayEquals(new Object[]{2, "second", Timestamp.valueOf(dateTime), 1L}, params.getFirst());
+    }
+
+    @Test
+    void concurrentIncrementsTest() throws InterruptedException {
+        final int threads = 8;
+        final int increments = 1000;
+        Chat chat = TestUtils.getChat();
+        User user = TestUtils.getUser();
+        AtomicLong flushedMessages = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(startsWith(UPDATE_USER_STATS_QUERY_PREFIX), anyList())).thenAnswer(invocation -> {
+            List<Object[]> params = invocation.getArgument(1);
+            params.forEach(userParams -> flushedMessages.addAndGet((Long) userParams[UserStatsCounter.MESSAGES.ordinal() * 3]));
+            return new int[params.size()];
+        });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < increments; j++) {
+                    userStatsCounterBuffer.increment(chat, user, UserStatsCounter.MESSAGES);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        while (futures.stream().anyMatch(future -> !future.isDone())) {
+            userStatsCounterBuffer.flush();
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+        userStatsCounterBuffer.flush();
+
+        assertEquals((long) threads * increments, flushedMessages.get());
+    }
+
+    private static void assertCounter(long expected, Object[] params, UserStatsCounter counter) {
+        int index = counter.ordinal() * 3;
+        assertEquals(expected, params[index]);
+        assertEquals(expected, params[index + 1]);
+        assertEquals(expected, params[index + 2]);
+    }
+
+}
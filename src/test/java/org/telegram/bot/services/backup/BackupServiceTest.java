@@ -0,0 +1,191 @@
+package org.telegram.bot.services.backup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.bot.config.PropertiesConfig;
+import org.telegram.bot.domain.entities.WorkParam;
+import org.telegram.bot.enums.BackupTable;
+import org.telegram.bot.enums.BackupType;
+import org.telegram.bot.exception.backup.BackupException;
+import org.telegram.bot.repositories.DbBackuper;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.TemporaryFileManager;
+import org.telegram.bot.services.WorkParamService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BackupServiceTest {
+
+    private static final String BOT_TOKEN = "token";
+
+    @Mock
+    private DbBackuper dbBackuper;
+    @Mock
+    private TemporaryFileManager temporaryFileManager;
+    @Mock
+    private TemporaryFileManager.FileHandle fileHandle;
+    @Mock
+    private WorkParamService workParamService;
+    @Mock
+    private PropertiesConfig propertiesConfig;
+    @Mock
+    private BackupSink firstSink;
+    @Mock
+    private BackupSink secondSink;
+    @Mock
+    private BotStats botStats;
+
+    @Captor
+    private ArgumentCaptor<List<WorkParam>> workParamsCaptor;
+
+    @TempDir
+    private Path tempDir;
+
+    private BackupService backupService;
+
+    @BeforeEach
+    void init() {
+        Clock clock = Clock.fixed(Instant.parse("2000-01-01T02:00:00Z"), ZoneId.of("UTC"));
+        backupService = new BackupService(
+                dbBackuper, temporaryFileManager, workParamService, propertiesConfig, List.of(firstSink, secondSink), botStats, clock);
+    }
+
+    @Test
+    void createIncrementalBackupTest() throws BackupException, IOException, NoSuchAlgorithmException {
+        Path file = tempDir.resolve("backup.zip");
+        when(temporaryFileManager.addFile("backup_20000101_incremental_", ".zip")).thenReturn(file.toString());
+        when(propertiesConfig.getTelegramBotApiToken()).thenReturn(BOT_TOKEN);
+        when(workParamService.get(eq(BOT_TOKEN), anyList()))
+                .thenReturn(List.of(
+                        new WorkParam(BOT_TOKEN, "backupWatermark.message").setValue("2000-01-01T00:00"),
+                        new WorkParam(BOT_TOKEN, "backupWatermark.error").setValue("10")));
+        when(dbBackuper.exportTable(any(BackupTable.class), any(), any(Writer.class))).thenAnswer(invocation -> {
+            BackupTable table = invocation.getArgument(0);
+            invocation.getArgument(2, Writer.class).write("id\n");
+            return BackupTable.MESSAGE.equals(table) || BackupTable.ERROR.equals(table) ? "2000-01-01T01:00" : null;
+        });
+
+        BackupSnapshot backupSnapshot = backupService.createIncrementalBackup();
+
+        verify(dbBackuper).exportTable(eq(BackupTable.MESSAGE), eq("2000-01-01T00:00"), any(Writer.class));
+        verify(dbBackuper).exportTable(eq(BackupTable.ERROR), isNull(), any(Writer.class));
+
+        assertEquals(BackupType.INCREMENTAL, backupSnapshot.type());
+        assertEquals(file.toFile(), backupSnapshot.file());
+        assertEquals(Files.size(file), backupSnapshot.size());
+        assertEquals(Map.of(BackupTable.MESSAGE, "2000-01-01T01:00"), backupSnapshot.watermarks());
+        assertEquals(
+                HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file))),
+                backupSnapshot.sha256());
+
+        int entries = 0;
+        try (ZipInputStream zipInputStream = new ZipInputStream(Files.newInputStream(file))) {
+            while (zipInputStream.getNextEntry() != null) {
+                entries++;
+            }
+        }
+        assertEquals(BackupTable.values().length, entries);
+    }
+
+    @Test
+    void backupWithDeletedFileTest() {
+        Path file = mockFullBackup();
+        when(temporaryFileManager.acquire(file.toString())).thenReturn(null);
+
+        backupService.backup(BackupType.FULL);
+
+        verify(botStats).incrementErrors(anyString(), anyString());
+        verify(firstSink, never()).isEnabled();
+        verify(workParamService, never()).save(anyList());
+    }
+
+    @Test
+    void backupWithoutEnabledSinksTest() {
+        mockFullBackupWithHandle();
+
+        backupService.backup(BackupType.FULL);
+
+        verify(firstSink, never()).put(any());
+        verify(secondSink, never()).put(any());
+        verify(workParamService, never()).save(anyList());
+    }
+
+    @Test
+    void backupWithFailedSinksTest() {
+        mockFullBackupWithHandle();
+        when(firstSink.isEnabled()).thenReturn(true);
+        when(firstSink.put(any(BackupSnapshot.class))).thenReturn(false);
+        when(secondSink.isEnabled()).thenReturn(true);
+        when(secondSink.getName()).thenReturn("second");
+        when(secondSink.put(any(BackupSnapshot.class))).thenThrow(new RuntimeException("error"));
+
+        backupService.backup(BackupType.FULL);
+
+        verify(botStats).incrementErrors(anyString(), anyString());
+        verify(workParamService, never()).save(anyList());
+    }
+
+    @Test
+    void backupTest() {
+        mockFullBackupWithHandle();
+        when(propertiesConfig.getTelegramBotApiToken()).thenReturn(BOT_TOKEN);
+        when(firstSink.isEnabled()).thenReturn(true);
+        when(firstSink.put(any(BackupSnapshot.class))).thenReturn(true);
+
+        backupService.backup(BackupType.FULL);
+
+        ArgumentCaptor<BackupSnapshot> backupSnapshotArgumentCaptor = ArgumentCaptor.forClass(BackupSnapshot.class);
+        verify(firstSink).put(backupSnapshotArgumentCaptor.capture());
+        BackupSnapshot backupSnapshot = backupSnapshotArgumentCaptor.getValue();
+        assertEquals(BackupType.FULL, backupSnapshot.type());
+        assertEquals(4, backupSnapshot.size());
+        assertNotNull(backupSnapshot.sha256());
+
+        verify(workParamService).save(workParamsCaptor.capture());
+        List<WorkParam> workParams = workParamsCaptor.getValue();
+        assertEquals(1, workParams.size());
+        assertEquals("backupWatermark.message", workParams.getFirst().getName());
+        assertEquals("10", workParams.getFirst().getValue());
+        verify(secondSink, never()).put(any());
+        verify(fileHandle).close();
+        verify(dbBackuper, never()).getWatermark(BackupTable.ERROR);
+    }
+
+    private Path mockFullBackup() {
+        Path file = tempDir.resolve("backup.zip");
+        when(temporaryFileManager.addFile("backup_20000101_", ".zip")).thenReturn(file.toString());
+        when(dbBackuper.getWatermark(any(BackupTable.class)))
+                .thenAnswer(invocation -> BackupTable.MESSAGE.equals(invocation.getArgument(0)) ? "10" : null);
+        doAnswer(invocation -> Files.writeString(file, "data")).when(dbBackuper).backupTo(file.toFile());
+        return file;
+    }
+
+    private void mockFullBackupWithHandle() {
+        Path file = mockFullBackup();
+        when(temporaryFileManager.acquire(file.toString())).thenReturn(fileHandle);
+    }
+
+}
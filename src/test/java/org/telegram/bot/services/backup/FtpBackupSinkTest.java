@@ -0,0 +1,96 @@
+package org.telegram.bot.services.backup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.bot.config.PropertiesConfig;
+import org.telegram.bot.enums.BackupType;
+import org.telegram.bot.exception.BotException;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.utils.FtpBackupClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FtpBackupSinkTest {
+
+    @Mock
+    private PropertiesConfig propertiesConfig;
+    @Mock
+    private FtpBackupClient ftpBackupClient;
+    @Mock
+    private BotStats botStats;
+
+    @InjectMocks
+    private FtpBackupSink ftpBackupSink;
+
+    @Test
+    void isEnabledTest() {
+        assertFalse(ftpBackupSink.isEnabled());
+
+        when(propertiesConfig.getFtpBackupUrl()).thenReturn(" ");
+        assertFalse(ftpBackupSink.isEnabled());
+
+        when(propertiesConfig.getFtpBackupUrl()).thenReturn("url");
+        assertTrue(ftpBackupSink.isEnabled());
+    }
+
+    @Test
+    void putWithExceptionsTest() throws IOException {
+        final String error = "error";
+        final String expectedErrorMessage = "Failed to backup db: " + error;
+        BackupSnapshot backupSnapshot = getBackupSnapshot(BackupType.FULL);
+
+        when(propertiesConfig.getFtpBackupUrl()).thenReturn("url");
+        when(propertiesConfig.getFtpRetryCount()).thenReturn(2);
+        when(propertiesConfig.getFtpRetryTimeoutMillis()).thenReturn(100L);
+        doThrow(BotException.class)
+                .doThrow(new RuntimeException(error))
+                .doThrow(new RuntimeException(error))
+                .when(ftpBackupClient).process(anyString(), any(InputStream.class), anyString(), any(), any());
+
+        assertFalse(ftpBackupSink.put(backupSnapshot));
+
+        verify(ftpBackupClient, times(3)).process(anyString(), any(InputStream.class), anyString(), any(), any());
+        verify(botStats, times(2)).incrementErrors(expectedErrorMessage, expectedErrorMessage);
+    }
+
+    @Test
+    void putTest() throws IOException {
+        final String url = "url";
+        final int daysBeforeExpirationBackup = 2;
+        final long maxBackupsSizeBytes = 30;
+        BackupSnapshot backupSnapshot = getBackupSnapshot(BackupType.INCREMENTAL);
+
+        when(propertiesConfig.getFtpBackupUrl()).thenReturn(url);
+        when(propertiesConfig.getFtpRetryCount()).thenReturn(5);
+        when(propertiesConfig.getDaysBeforeExpirationBackup()).thenReturn(daysBeforeExpirationBackup);
+        when(propertiesConfig.getMaxBackupsSizeBytes()).thenReturn(maxBackupsSizeBytes);
+
+        assertTrue(ftpBackupSink.put(backupSnapshot));
+
+        verify(ftpBackupClient).process(
+                eq(url),
+                any(InputStream.class),
+                eq(BackupType.INCREMENTAL.getFileNameSuffix()),
+                eq(daysBeforeExpirationBackup),
+                eq(maxBackupsSizeBytes));
+        verify(botStats, never()).incrementErrors(anyString(), anyString());
+    }
+
+    private BackupSnapshot getBackupSnapshot(BackupType backupType) throws IOException {
+        File backup = File.createTempFile("test", ".zip");
+        backup.deleteOnExit();
+        return new BackupSnapshot(backup, backupType, 0, "checksum", Map.of());
+    }
+
+}
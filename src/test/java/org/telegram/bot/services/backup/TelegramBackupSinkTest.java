@@ -0,0 +1,94 @@
+package org.telegram.bot.services.backup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.bot.TestUtils;
+import org.telegram.bot.config.PropertiesConfig;
+import org.telegram.bot.domain.model.response.BotResponse;
+import org.telegram.bot.domain.model.response.FileResponse;
+import org.telegram.bot.domain.model.response.FileType;
+import org.telegram.bot.domain.model.response.ResponseSettings;
+import org.telegram.bot.enums.BackupType;
+import org.telegram.bot.mapper.telegram.response.ResponseTelegramMapper;
+import org.telegram.bot.services.executors.telegram.SendDocumentExecutor;
+import org.telegram.telegrambots.meta.api.methods.send.SendDocument;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramBackupSinkTest {
+
+    @Mock
+    private ResponseTelegramMapper responseTelegramMapper;
+    @Mock
+    private SendDocumentExecutor sendDocumentExecutor;
+    @Mock
+    private PropertiesConfig propertiesConfig;
+
+    @InjectMocks
+    private TelegramBackupSink telegramBackupSink;
+
+    @Test
+    void isEnabledTest() {
+        assertFalse(telegramBackupSink.isEnabled());
+
+        when(propertiesConfig.getAdminId()).thenReturn(12345L);
+        assertTrue(telegramBackupSink.isEnabled());
+    }
+
+    @Test
+    void putWithFailedSendingTest() throws TelegramApiException {
+        File backup = TestUtils.getFileMock();
+        BackupSnapshot backupSnapshot = new BackupSnapshot(backup, BackupType.FULL, 1L, "checksum", Map.of());
+        SendDocument sendDocument = mock(SendDocument.class);
+        when(propertiesConfig.getAdminId()).thenReturn(12345L);
+        when(responseTelegramMapper.toTelegramMethod(any(BotResponse.class))).thenAnswer(invocation -> sendDocument);
+        doThrow(new TelegramApiException("error")).when(sendDocumentExecutor).sendAndWait(sendDocument);
+
+        assertFalse(telegramBackupSink.put(backupSnapshot));
+    }
+
+    @Test
+    void putTest() throws TelegramApiException {
+        final Long adminId = 12345L;
+        File backup = TestUtils.getFileMock();
+        BackupSnapshot backupSnapshot = new BackupSnapshot(backup, BackupType.FULL, 1L, "checksum", Map.of());
+        SendDocument sendDocument = mock(SendDocument.class);
+        when(propertiesConfig.getAdminId()).thenReturn(adminId);
+        when(responseTelegramMapper.toTelegramMethod(any(BotResponse.class))).thenAnswer(invocation -> sendDocument);
+
+        assertTrue(telegramBackupSink.put(backupSnapshot));
+
+        verify(sendDocumentExecutor).sendAndWait(sendDocument);
+        ArgumentCaptor<BotResponse> botResponseArgumentCaptor = ArgumentCaptor.forClass(BotResponse.class);
+        verify(responseTelegramMapper).toTelegramMethod(botResponseArgumentCaptor.capture());
+
+        FileResponse response = (FileResponse) botResponseArgumentCaptor.getValue();
+        assertNotNull(response);
+        assertEquals(adminId, response.getChatId());
+        assertEquals(backupSnapshot.getDescription(), response.getText());
+
+        List<org.telegram.bot.domain.model.response.File> files = response.getFiles();
+        assertEquals(1, files.size());
+        org.telegram.bot.domain.model.response.File file = files.getFirst();
+        assertNotNull(file);
+        assertEquals(FileType.FILE, file.getFileType());
+        assertEquals(backup, file.getDiskFile());
+
+        ResponseSettings responseSettings = response.getResponseSettings();
+        assertNotNull(responseSettings);
+        assertFalse(responseSettings.getNotification());
+    }
+
+}
@@ -0,0 +1,175 @@
+package org.telegram.bot.services.email;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.bot.domain.model.response.EmailResponse;
+import org.telegram.bot.domain.model.response.File;
+import org.telegram.bot.domain.model.response.FileType;
+import org.telegram.bot.mapper.email.request.EmailMessageMapper;
+import org.telegram.bot.TestUtils;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.TemporaryFileManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailSenderTest {
+
+    private static final String SUBJECT = "subject";
+
+    @Mock
+    private EmailMessageMapper emailMessageMapper;
+    @Mock
+    private BotStats botStats;
+    @Mock
+    private Session smtpSession;
+    @Mock
+    private Transport transport;
+    @Mock
+    private Message message;
+    @Mock
+    private TemporaryFileManager temporaryFileManager;
+
+    @Captor
+    private ArgumentCaptor<EmailResponse> emailResponseCaptor;
+
+    @InjectMocks
+    private EmailSender emailSender;
+
+    @Test
+    void sendMailTest() throws Exception {
+        EmailResponse emailResponse = new EmailResponse();
+        Address[] addresses = {new InternetAddress("email@example.com")};
+        when(emailMessageMapper.toEmailMessage(emailResponse)).thenReturn(message);
+        when(message.getAllRecipients()).thenReturn(addresses);
+        when(smtpSession.getTransport()).thenReturn(transport);
+        when(transport.isConnected()).thenReturn(true);
+
+        emailSender.sendMail(emailResponse);
+        emailSender.sendMail(emailResponse);
+
+        verify(smtpSession, times(1)).getTransport();
+        verify(transport, times(1)).connect();
+        verify(message, times(2)).saveChanges();
+        verify(transport, times(2)).sendMessage(message, addresses);
+    }
+
+    @Test
+    void sendMailWithErrorTest() throws Exception {
+        EmailResponse emailResponse = new EmailResponse();
+        MessagingException exception = new MessagingException("error");
+        when(emailMessageMapper.toEmailMessage(emailResponse)).thenReturn(message);
+        when(smtpSession.getTransport()).thenReturn(transport);
+        doThrow(exception).when(transport).sendMessage(any(), any());
+
+        emailSender.sendMail(emailResponse);
+
+        verify(transport).close();
+        verify(botStats).incrementErrors(eq(emailResponse), eq(exception), anyString());
+
+        emailSender.sendMail(emailResponse);
+        verify(smtpSession, times(2)).getTransport();
+    }
+
+    @Test
+    void sendDigestsTest() throws Exception {
+        File attachment = new File(FileType.FILE, "url");
+        emailSender.addToDigest(getEmailResponse(Set.of("first@example.com", "second@example.com"), "text1", null));
+        emailSender.addToDigest(getEmailResponse(Set.of("first@example.com", "second@example.com"), "text2", List.of(attachment)));
+        emailSender.addToDigest(getEmailResponse(Set.of("second@example.com"), "text3", null));
+        emailSender.addToDigest(getEmailResponse(Set.of("first@example.com"), "text4", null).setSubject("another"));
+        when(emailMessageMapper.toEmailMessage(any(EmailResponse.class))).thenReturn(message);
+        when(smtpSession.getTransport()).thenReturn(transport);
+        when(transport.isConnected()).thenReturn(true);
+
+        emailSender.sendDigests();
+
+        verify(emailMessageMapper, times(3)).toEmailMessage(emailResponseCaptor.capture());
+        List<EmailResponse> emailResponses = emailResponseCaptor.getAllValues();
+
+        EmailResponse firstDigest = getDigest(emailResponses, SUBJECT, "first@example.com");
+        assertEquals(Set.of("first@example.com"), firstDigest.getEmailAddresses());
+        assertEquals("text1<br><hr><br>text2", firstDigest.getText());
+        assertEquals(List.of(attachment), firstDigest.getAttachments());
+
+        EmailResponse secondDigest = getDigest(emailResponses, SUBJECT, "second@example.com");
+        assertEquals(Set.of("second@example.com"), secondDigest.getEmailAddresses());
+        assertEquals("text1<br><hr><br>text2<br><hr><br>text3", secondDigest.getText());
+
+        EmailResponse thirdDigest = getDigest(emailResponses, "another", "first@example.com");
+        assertEquals("text4", thirdDigest.getText());
+
+        emailSender.sendDigests();
+        verify(emailMessageMapper, times(3)).toEmailMessage(any(EmailResponse.class));
+    }
+
+    @Test
+    void sendDigestsToGroupOfRecipientsTest() throws Exception {
+        emailSender.addToDigest(getEmailResponse(Set.of("first@example.com", "second@example.com"), "text1", null));
+        emailSender.addToDigest(getEmailResponse(Set.of("first@example.com", "second@example.com"), "text2", null));
+        when(emailMessageMapper.toEmailMessage(any(EmailResponse.class))).thenReturn(message);
+        when(smtpSession.getTransport()).thenReturn(transport);
+
+        emailSender.shutdown();
+
+        verify(emailMessageMapper).toEmailMessage(emailResponseCaptor.capture());
+        EmailResponse digest = emailResponseCaptor.getValue();
+        assertEquals(Set.of("first@example.com", "second@example.com"), digest.getEmailAddresses());
+        assertEquals("text1<br><hr><br>text2", digest.getText());
+        verify(transport).close();
+    }
+
+    @Test
+    void sendDigestsWithTemporaryFileTest() throws Exception {
+        java.io.File diskFile = TestUtils.getFileMock();
+        when(diskFile.getPath()).thenReturn("video.mp4");
+        TemporaryFileManager.FileHandle responseFileHandle = mock(TemporaryFileManager.FileHandle.class);
+        when(responseFileHandle.getFile()).thenReturn(diskFile);
+        TemporaryFileManager.FileHandle digestFileHandle = mock(TemporaryFileManager.FileHandle.class);
+        when(digestFileHandle.getFile()).thenReturn(diskFile);
+        when(temporaryFileManager.acquire("video.mp4")).thenReturn(digestFileHandle);
+        File attachment = new File(FileType.VIDEO, responseFileHandle);
+
+        emailSender.addToDigest(getEmailResponse(Set.of("first@example.com"), "text", List.of(attachment)));
+        responseFileHandle.close();
+        verify(digestFileHandle, never()).close();
+
+        when(emailMessageMapper.toEmailMessage(any(EmailResponse.class))).thenReturn(message);
+        when(smtpSession.getTransport()).thenReturn(transport);
+        emailSender.sendDigests();
+
+        verify(emailMessageMapper).toEmailMessage(emailResponseCaptor.capture());
+        assertSame(digestFileHandle, emailResponseCaptor.getValue().getAttachments().getFirst().getFileHandle());
+        verify(digestFileHandle).close();
+    }
+
+    private static EmailResponse getDigest(List<EmailResponse> emailResponses, String subject, String emailAddress) {
+        return emailResponses
+                .stream()
+                .filter(emailResponse -> subject.equals(emailResponse.getSubject()) && emailResponse.getEmailAddresses().contains(emailAddress))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static EmailResponse getEmailResponse(Set<String> emailAddresses, String text, List<File> attachments) {
+        return new EmailResponse()
+                .setEmailAddresses(emailAddresses)
+                .setSubject(SUBJECT)
+                .setText(text)
+                .setAttachments(attachments);
+    }
+
+}
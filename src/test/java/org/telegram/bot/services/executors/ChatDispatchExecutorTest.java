@@ -0,0 +1,113 @@
+package org.telegram.bot.services.executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.telegram.bot.config.dispatch.DispatchProperties;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatDispatchExecutorTest {
+
+    private final ChatDispatchExecutor chatDispatchExecutor = new ChatDispatchExecutor(getDispatchProperties(2));
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        chatDispatchExecutor.shutdown();
+    }
+
+    @Test
+    void executeInOrderOfChatTest() throws InterruptedException {
+        final int count = 50;
+        ChatDispatchExecutor executor = new ChatDispatchExecutor(getDispatchProperties(count));
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(count);
+
+        for (int i = 0; i < count; i++) {
+            int number = i;
+            assertTrue(executor.execute(1L, () -> {
+                executed.add(number);
+                latch.countDown();
+            }));
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, executed.get(i));
+        }
+
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectWhenChatQueueIsFullTest() throws InterruptedException {
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        assertTrue(chatDispatchExecutor.execute(1L, () -> {
+            started.countDown();
+            await(blocker);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(chatDispatchExecutor.execute(1L, () -> {}));
+        assertTrue(chatDispatchExecutor.execute(1L, () -> {}));
+        assertFalse(chatDispatchExecutor.execute(1L, () -> {}));
+        assertTrue(chatDispatchExecutor.execute(2L, () -> {}));
+
+        blocker.countDown();
+
+        assertEquals(1, chatDispatchExecutor.getRejectedTasks());
+        assertEquals(4, chatDispatchExecutor.getSubmittedTasks());
+    }
+
+    @Test
+    void releasePermitWhileWaitingTest() throws InterruptedException {
+        DispatchProperties dispatchProperties = getDispatchProperties(2);
+        dispatchProperties.setMaxInFlight(1);
+        ChatDispatchExecutor executor = new ChatDispatchExecutor(dispatchProperties);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch otherChatExecuted = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        assertFalse(executor.releasePermit());
+        assertTrue(executor.execute(1L, () -> {
+            assertTrue(executor.releasePermit());
+            await(blocker);
+            executor.reacquirePermit();
+            finished.countDown();
+        }));
+        assertTrue(executor.execute(2L, otherChatExecuted::countDown));
+
+        assertTrue(otherChatExecuted.await(5, TimeUnit.SECONDS));
+        blocker.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch nextExecuted = new CountDownLatch(1);
+        assertTrue(executor.execute(3L, nextExecuted::countDown));
+        assertTrue(nextExecuted.await(5, TimeUnit.SECONDS));
+
+        executor.shutdown();
+    }
+
+    private static DispatchProperties getDispatchProperties(int maxQueuedPerChat) {
+        DispatchProperties dispatchProperties = new DispatchProperties();
+        dispatchProperties.setMaxInFlight(4);
+        dispatchProperties.setMaxQueued(100);
+        dispatchProperties.setMaxQueuedPerChat(maxQueuedPerChat);
+        return dispatchProperties;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+package org.telegram.bot.services.executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.telegram.bot.config.telegram.TelegramSendProperties;
+import org.telegram.bot.domain.model.request.BotRequest;
+import org.telegram.bot.domain.model.response.BotResponse;
+import org.telegram.bot.domain.model.response.EditResponse;
+import org.telegram.bot.domain.model.response.TextResponse;
+import org.telegram.bot.enums.FormattingStyle;
+import org.telegram.bot.exception.BotException;
+import org.telegram.bot.mapper.telegram.response.ResponseTelegramMapper;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.SpeechService;
+import org.telegram.bot.services.executors.telegram.EditMessageTextExecutor;
+import org.telegram.bot.services.executors.telegram.SendMessageExecutor;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.telegram.bot.TestUtils.DEFAULT_MESSAGE_ID;
+import static org.telegram.bot.TestUtils.getRequestFromGroup;
+import static org.telegram.bot.TestUtils.getRequestFromPrivate;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingResponseExecutorTest {
+
+    private static final Integer SENT_MESSAGE_ID = 123;
+
+    @Mock
+    private ResponseTelegramMapper responseTelegramMapper;
+    @Mock
+    private SendMessageExecutor sendMessageExecutor;
+    @Mock
+    private EditMessageTextExecutor editMessageTextExecutor;
+    @Mock
+    private SpeechService speechService;
+    @Mock
+    private BotStats botStats;
+    @Mock
+    private Clock clock;
+    @Spy
+    private TelegramSendProperties telegramSendProperties = new TelegramSendProperties();
+
+    @Captor
+    private ArgumentCaptor<BotResponse> responseCaptor;
+
+    @InjectMocks
+    private StreamingResponseExecutor streamingResponseExecutor;
+
+    private final SendMessage sendMessage = new SendMessage("-1", "text");
+    private final EditMessageText editMessageText = new EditMessageText("text");
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(streamingResponseExecutor, "editIntervalMillis", 1000L);
+        ReflectionTestUtils.setField(streamingResponseExecutor, "maxGenerations", 2);
+        ReflectionTestUtils.setField(streamingResponseExecutor, "maxConnectionsPerHost", 10);
+    }
+
+    @AfterEach
+    void close() {
+        streamingResponseExecutor.shutdown();
+    }
+
+    @Test
+    void executeWithThrottledEditsTest() {
+        BotRequest request = getRequestFromGroup();
+        mockMapping();
+        when(sendMessageExecutor.executeMethodAndGetMessageId(sendMessage, request)).thenReturn(SENT_MESSAGE_ID);
+        when(editMessageTextExecutor.getMethod()).thenReturn(EditMessageText.PATH);
+        when(clock.millis()).thenReturn(0L, 2000L, 3000L);
+
+        streamingResponseExecutor.execute(request, responseStream -> {
+            responseStream.update("a");
+            responseStream.update("ab");
+            responseStream.update("abc");
+            responseStream.complete("*abcd*", FormattingStyle.MARKDOWN);
+            responseStream.update("abcde");
+        });
+
+        verify(editMessageTextExecutor, timeout(5000).times(2)).executeMethod(editMessageText, request);
+        verify(responseTelegramMapper, times(3)).toTelegramMethod(responseCaptor.capture());
+        List<BotResponse> responses = responseCaptor.getAllValues();
+
+        TextResponse firstPart = (TextResponse) responses.getFirst();
+        assertEquals("a", firstPart.getText());
+        assertEquals(DEFAULT_MESSAGE_ID, firstPart.getReplyToMessageId());
+        assertNull(firstPart.getResponseSettings());
+
+        EditResponse nextPart = (EditResponse) responses.get(1);
+        assertEquals("abc", nextPart.getText());
+        assertEquals(SENT_MESSAGE_ID, nextPart.getEditableMessageId());
+        assertNull(nextPart.getResponseSettings());
+
+        EditResponse finalText = (EditResponse) responses.get(2);
+        assertEquals("*abcd*", finalText.getText());
+        assertEquals(SENT_MESSAGE_ID, finalText.getEditableMessageId());
+        assertEquals(FormattingStyle.MARKDOWN, finalText.getResponseSettings().getFormattingStyle());
+    }
+
+    @Test
+    void executeWithLongFinalTextTest() {
+        BotRequest request = getRequestFromGroup();
+        mockMapping();
+        when(sendMessageExecutor.executeMethodAndGetMessageId(sendMessage, request)).thenReturn(SENT_MESSAGE_ID);
+        when(editMessageTextExecutor.getMethod()).thenReturn(EditMessageText.PATH);
+        when(clock.millis()).thenReturn(0L);
+        String longText = "a".repeat(5000);
+
+        streamingResponseExecutor.execute(request, responseStream -> {
+            responseStream.update("a");
+            responseStream.complete(longText, FormattingStyle.MARKDOWN);
+        });
+
+        verify(sendMessageExecutor, timeout(5000)).executeMethod(sendMessage, request);
+        verify(editMessageTextExecutor).executeMethod(editMessageText, request);
+        verify(responseTelegramMapper, times(3)).toTelegramMethod(responseCaptor.capture());
+        List<BotResponse> responses = responseCaptor.getAllValues();
+
+        assertEquals(4096, ((EditResponse) responses.get(1)).getText().length());
+        TextResponse continuation = (TextResponse) responses.get(2);
+        assertEquals(904, continuation.getText().length());
+        assertNull(continuation.getReplyToMessageId());
+    }
+
+    @Test
+    void executeWithErrorTest() {
+        final String errorText = "error";
+        BotRequest request = getRequestFromGroup();
+        mockMapping();
+
+        streamingResponseExecutor.execute(request, responseStream -> {
+            throw new BotException(errorText);
+        });
+
+        verify(sendMessageExecutor, timeout(5000)).executeMethod(sendMessage, request);
+        verify(responseTelegramMapper).toTelegramMethod(responseCaptor.capture());
+        TextResponse textResponse = (TextResponse) responseCaptor.getValue();
+        assertEquals(errorText, textResponse.getText());
+        assertEquals(DEFAULT_MESSAGE_ID, textResponse.getReplyToMessageId());
+        verify(sendMessageExecutor, never()).executeMethodAndGetMessageId(any(), any());
+    }
+
+    @Test
+    void executeInPrivateChatTest() {
+        BotRequest request = getRequestFromPrivate("text");
+        mockMapping();
+        when(sendMessageExecutor.executeMethodAndGetMessageId(sendMessage, request)).thenReturn(SENT_MESSAGE_ID);
+        when(editMessageTextExecutor.getMethod()).thenReturn(EditMessageText.PATH);
+        when(clock.millis()).thenReturn(0L, 1000L);
+
+        streamingResponseExecutor.execute(request, responseStream -> {
+            responseStream.update("a");
+            responseStream.update("ab");
+            responseStream.complete("abc", null);
+        });
+
+        verify(editMessageTextExecutor, timeout(5000).times(2)).executeMethod(editMessageText, request);
+        verify(telegramSendProperties, never()).getGroupChatEditsPerMinute();
+    }
+
+    @Test
+    void executeInOneChatSequentiallyTest() throws InterruptedException {
+        BotRequest request = getRequestFromGroup();
+        mockMapping();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch firstReleased = new CountDownLatch(1);
+        AtomicBoolean secondStartedEarly = new AtomicBoolean();
+
+        streamingResponseExecutor.execute(request, responseStream -> {
+            firstStarted.countDown();
+            try {
+                assertTrue(firstReleased.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            responseStream.complete("first", null);
+        });
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        streamingResponseExecutor.execute(request, responseStream -> {
+            secondStartedEarly.set(firstReleased.getCount() > 0);
+            responseStream.complete("second", null);
+        });
+        Thread.sleep(100);
+        firstReleased.countDown();
+
+        verify(sendMessageExecutor, timeout(5000).times(2)).executeMethod(sendMessage, request);
+        assertFalse(secondStartedEarly.get());
+        verify(responseTelegramMapper, times(2)).toTelegramMethod(responseCaptor.capture());
+        assertEquals("first", ((TextResponse) responseCaptor.getAllValues().getFirst()).getText());
+        assertEquals("second", ((TextResponse) responseCaptor.getAllValues().get(1)).getText());
+    }
+
+    private void mockMapping() {
+        when(responseTelegramMapper.toTelegramMethod(any(BotResponse.class))).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) instanceof EditResponse) {
+                return editMessageText;
+            }
+            return sendMessage;
+        });
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.telegram.bot.services.executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.telegram.bot.config.telegram.TelegramSendProperties;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Operation;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
+import org.telegram.telegrambots.meta.api.objects.ResponseParameters;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TelegramSendSchedulerTest {
+
+    private TelegramSendScheduler telegramSendScheduler;
+
+    @AfterEach
+    void shutdown() {
+        telegramSendScheduler.shutdown();
+    }
+
+    @Test
+    void interactiveBeforeBackgroundTest() throws Exception {
+        telegramSendScheduler = new TelegramSendScheduler(getTelegramSendProperties(1, 3), mock(ChatDispatchExecutor.class));
+        telegramSendScheduler.execute("1", Priority.INTERACTIVE, () -> true);
+
+        List<String> sent = new CopyOnWriteArrayList<>();
+        Thread background = Thread.ofVirtual().start(() -> send("2", Priority.BACKGROUND, sent));
+        awaitPending(1);
+        Thread interactive = Thread.ofVirtual().start(() -> send("3", Priority.INTERACTIVE, sent));
+        awaitPending(2);
+
+        background.join(TimeUnit.SECONDS.toMillis(5));
+        interactive.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(List.of("3", "2"), sent);
+    }
+
+    @Test
+    void retryAfterTooManyRequestsTest() throws TelegramApiException {
+        telegramSendScheduler = new TelegramSendScheduler(getTelegramSendProperties(30, 1), mock(ChatDispatchExecutor.class));
+        ResponseParameters responseParameters = mock(ResponseParameters.class);
+        when(responseParameters.getRetryAfter()).thenReturn(1);
+        TelegramApiRequestException tooManyRequests = mock(TelegramApiRequestException.class);
+        when(tooManyRequests.getParameters()).thenReturn(responseParameters);
+        AtomicInteger attempts = new AtomicInteger();
+
+        long start = System.nanoTime();
+        String result = telegramSendScheduler.execute("-1", Priority.INTERACTIVE, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw tooManyRequests;
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, attempts.get());
+        assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
+
+        assertThrows(TelegramApiRequestException.class, () -> telegramSendScheduler.execute("-1", Priority.INTERACTIVE, () -> {
+            throw tooManyRequests;
+        }));
+    }
+
+    @Test
+    void limitedChatDoesNotBlockOthersTest() throws Exception {
+        TelegramSendProperties telegramSendProperties = getTelegramSendProperties(30, 1);
+        telegramSendProperties.setGroupChatPerMinute(1);
+        telegramSendScheduler = new TelegramSendScheduler(telegramSendProperties, mock(ChatDispatchExecutor.class));
+        telegramSendScheduler.execute("-1", Priority.INTERACTIVE, () -> true);
+
+        Thread limited = Thread.ofVirtual().start(() -> {
+            try {
+                telegramSendScheduler.execute("-1", Priority.INTERACTIVE, () -> true);
+            } catch (TelegramApiException ignored) {
+                // cancelled on shutdown
+            }
+        });
+        awaitPending(1);
+
+        long start = System.nanoTime();
+        assertEquals("edited", telegramSendScheduler.execute("-1", Priority.INTERACTIVE, Operation.EDITING, () -> "edited"));
+        assertEquals("sent", telegramSendScheduler.execute("-2", Priority.BACKGROUND, () -> "sent"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1, telegramSendScheduler.getPendingCount());
+
+        telegramSendScheduler.shutdown();
+        limited.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void send(String chatId, Priority priority, List<String> sent) {
+        try {
+            telegramSendScheduler.execute(chatId, priority, () -> sent.add(chatId));
+        } catch (TelegramApiException e) {
+            fail(e);
+        }
+    }
+
+    private void awaitPending(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (telegramSendScheduler.getPendingCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private TelegramSendProperties getTelegramSendProperties(int globalPerSecond, int maxRetries) {
+        TelegramSendProperties telegramSendProperties = new TelegramSendProperties();
+        telegramSendProperties.setGlobalPerSecond(globalPerSecond);
+        telegramSendProperties.setMaxRetries(maxRetries);
+        return telegramSendProperties;
+    }
+
+}
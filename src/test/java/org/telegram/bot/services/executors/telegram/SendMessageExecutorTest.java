@@ -0,0 +1,111 @@
+package org.telegram.bot.services.executors.telegram;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.bot.TestUtils;
+import org.telegram.bot.domain.model.request.BotRequest;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.InternationalizationService;
+import org.telegram.bot.services.LanguageResolver;
+import org.telegram.bot.services.executors.TelegramSendScheduler.Priority;
+import org.telegram.telegrambots.meta.api.methods.ParseMode;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.ResponseParameters;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SendMessageExecutorTest {
+
+    @Mock
+    private BotStats botStats;
+    @Mock
+    private LanguageResolver languageResolver;
+    @Mock
+    private InternationalizationService internationalizationService;
+    @Mock
+    private TelegramSender telegramSender;
+
+    @Captor
+    private ArgumentCaptor<SendMessage> sendMessageCaptor;
+
+    @InjectMocks
+    private SendMessageExecutor sendMessageExecutor;
+
+    @Test
+    void executeMethodWithLongTextTest() throws TelegramApiException {
+        BotRequest request = TestUtils.getRequestFromGroup();
+        SendMessage sendMessage = new SendMessage(TestUtils.DEFAULT_CHAT_ID.toString(), "a".repeat(5000));
+        sendMessage.setParseMode(ParseMode.HTML);
+        sendMessage.setReplyToMessageId(TestUtils.DEFAULT_MESSAGE_ID);
+        sendMessage.setBusinessConnectionId("businessConnectionId");
+        sendMessage.setMessageEffectId("messageEffectId");
+        sendMessage.setAllowPaidBroadcast(true);
+        when(internationalizationService.internationalize(eq(sendMessage), any())).thenReturn(sendMessage);
+
+        sendMessageExecutor.executeMethod(sendMessage, request);
+
+        verify(telegramSender, times(2)).send(sendMessageCaptor.capture(), eq(Priority.INTERACTIVE));
+        List<SendMessage> parts = sendMessageCaptor.getAllValues();
+        assertEquals(4096, parts.getFirst().getText().length());
+        assertEquals(904, parts.get(1).getText().length());
+        parts.forEach(part -> {
+            assertEquals(sendMessage.getChatId(), part.getChatId());
+            assertEquals(ParseMode.HTML, part.getParseMode());
+            assertEquals(TestUtils.DEFAULT_MESSAGE_ID, part.getReplyToMessageId());
+            assertEquals("businessConnectionId", part.getBusinessConnectionId());
+            assertEquals("messageEffectId", part.getMessageEffectId());
+            assertEquals(true, part.getAllowPaidBroadcast());
+        });
+        assertEquals(5000, sendMessage.getText().length());
+    }
+
+    @Test
+    void executeMethodWithTooManyRequestsTest() throws TelegramApiException {
+        BotRequest request = TestUtils.getRequestFromGroup();
+        SendMessage sendMessage = new SendMessage(TestUtils.DEFAULT_CHAT_ID.toString(), "text");
+        sendMessage.setReplyToMessageId(TestUtils.DEFAULT_MESSAGE_ID);
+        when(internationalizationService.internationalize(eq(sendMessage), any())).thenReturn(sendMessage);
+        ResponseParameters responseParameters = mock(ResponseParameters.class);
+        when(responseParameters.getRetryAfter()).thenReturn(5);
+        TelegramApiRequestException exception = mock(TelegramApiRequestException.class);
+        when(exception.getMessage()).thenReturn("Too Many Requests: retry after 5");
+        when(exception.getParameters()).thenReturn(responseParameters);
+        when(telegramSender.send(sendMessage, Priority.INTERACTIVE)).thenThrow(exception);
+
+        sendMessageExecutor.executeMethod(sendMessage, request);
+
+        verify(telegramSender, times(1)).send(any(SendMessage.class), any(Priority.class));
+        assertEquals(TestUtils.DEFAULT_MESSAGE_ID, sendMessage.getReplyToMessageId());
+    }
+
+    @Test
+    void executeMethodWithFailedReplyTest() throws TelegramApiException {
+        BotRequest request = TestUtils.getRequestFromGroup();
+        SendMessage sendMessage = new SendMessage(TestUtils.DEFAULT_CHAT_ID.toString(), "text");
+        sendMessage.setReplyToMessageId(TestUtils.DEFAULT_MESSAGE_ID);
+        when(internationalizationService.internationalize(eq(sendMessage), any())).thenReturn(sendMessage);
+        when(telegramSender.send(sendMessage, Priority.INTERACTIVE))
+                .thenThrow(new TelegramApiException("Bad Request: message to be replied not found"))
+                .thenReturn(null);
+
+        sendMessageExecutor.executeMethod(sendMessage, request);
+
+        verify(telegramSender, times(2)).send(sendMessageCaptor.capture(), eq(Priority.INTERACTIVE));
+        assertNull(sendMessageCaptor.getValue().getReplyToMessageId());
+    }
+
+}
@@ -37,7 +37,7 @@ class ChatGPTMessageServiceImplTest {
 
         chatGPTMessageService.update(chatGPTMessages);
 
-        Mockito.verify(chatGPTMessageRepository).deleteAll(captor.capture());
+        Mockito.verify(chatGPTMessageRepository).deleteAllInBatch(captor.capture());
         List<ChatGPTMessage> deletingChatGPTMessages = captor.getValue();
         assertEquals(2, deletingChatGPTMessages.size());
         assertFalse(deletingChatGPTMessages.stream().anyMatch(chatGPTMessage -> chatGPTMessage.getId() > 2));
@@ -0,0 +1,155 @@
+package org.telegram.bot.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.telegram.bot.TestUtils;
+import org.telegram.bot.commands.Command;
+import org.telegram.bot.commands.Echo;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.CommandProperties;
+import org.telegram.bot.domain.entities.CommandWaiting;
+import org.telegram.bot.domain.entities.DisableCommand;
+import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.repositories.CommandPropertiesRepository;
+import org.telegram.bot.repositories.CommandWaitingRepository;
+import org.telegram.bot.repositories.DisableCommandRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommandRoutingServiceImplTest {
+
+    private static final CommandProperties ECHO = new CommandProperties()
+            .setId(1L)
+            .setCommandName("echo")
+            .setRussifiedName("эхо")
+            .setEnRuName("tsch")
+            .setClassName("echo");
+    private static final CommandProperties HELP = new CommandProperties()
+            .setId(2L)
+            .setCommandName("help")
+            .setClassName("help");
+
+    @Mock
+    private CommandPropertiesRepository commandPropertiesRepository;
+    @Mock
+    private DisableCommandRepository disableCommandRepository;
+    @Mock
+    private CommandWaitingRepository commandWaitingRepository;
+    @Mock
+    private ApplicationContext context;
+
+    @InjectMocks
+    private CommandRoutingServiceImpl commandRoutingService;
+
+    @Test
+    void getCommandTest() {
+        when(commandPropertiesRepository.findAll()).thenReturn(List.of(ECHO, HELP));
+
+        assertSame(ECHO, commandRoutingService.getCommand("echo"));
+        assertSame(ECHO, commandRoutingService.getCommand("ЭХО"));
+        assertSame(ECHO, commandRoutingService.getCommand("tsch"));
+        assertSame(ECHO, commandRoutingService.getCommand(Echo.class));
+        assertSame(HELP, commandRoutingService.getCommand("help"));
+        assertNull(commandRoutingService.getCommand("unknown"));
+
+        verify(commandPropertiesRepository).findAll();
+        verify(disableCommandRepository).findAll();
+    }
+
+    @Test
+    void getCommandBeanTest() {
+        Command command = mock(Command.class);
+        when(commandPropertiesRepository.findAll()).thenReturn(List.of(ECHO));
+        when(context.containsBean(ECHO.getClassName())).thenReturn(true);
+        when(context.getBean(ECHO.getClassName())).thenReturn(command);
+
+        commandRoutingService.onApplicationReady();
+
+        assertSame(command, commandRoutingService.getCommandBean(ECHO));
+        assertSame(command, commandRoutingService.getCommandBean(ECHO));
+        verify(context).getBean(ECHO.getClassName());
+    }
+
+    @Test
+    void isDisabledTest() {
+        Chat chat = TestUtils.getChat();
+        Chat anotherChat = TestUtils.getChat(-2L);
+        when(commandPropertiesRepository.findAll()).thenReturn(List.of(ECHO, HELP));
+        when(disableCommandRepository.findAll()).thenReturn(List.of(new DisableCommand().setChat(chat).setCommandProperties(ECHO)));
+
+        assertTrue(commandRoutingService.isDisabled(chat, ECHO));
+        assertFalse(commandRoutingService.isDisabled(chat, HELP));
+        assertFalse(commandRoutingService.isDisabled(anotherChat, ECHO));
+        assertFalse(commandRoutingService.isDisabled(chat, new CommandProperties()));
+    }
+
+    @Test
+    void setDisabledTest() {
+        Chat chat = TestUtils.getChat();
+        when(commandPropertiesRepository.findAll()).thenReturn(List.of(ECHO, HELP));
+
+        assertFalse(commandRoutingService.isDisabled(chat, HELP));
+
+        commandRoutingService.setDisabled(chat, HELP, true);
+        assertTrue(commandRoutingService.isDisabled(chat, HELP));
+        assertFalse(commandRoutingService.isDisabled(chat, ECHO));
+
+        commandRoutingService.setDisabled(chat, HELP, false);
+        assertFalse(commandRoutingService.isDisabled(chat, HELP));
+
+        verify(disableCommandRepository).findAll();
+    }
+
+    @Test
+    void reloadCommandsTest() {
+        Chat chat = TestUtils.getChat();
+        CommandProperties renamedHelp = new CommandProperties().setId(2L).setCommandName("manual").setClassName("help");
+        when(commandPropertiesRepository.findAll())
+                .thenReturn(List.of(ECHO, HELP))
+                .thenReturn(List.of(ECHO, renamedHelp));
+        when(disableCommandRepository.findAll())
+                .thenReturn(List.of())
+                .thenReturn(List.of(new DisableCommand().setChat(chat).setCommandProperties(ECHO)));
+
+        assertSame(HELP, commandRoutingService.getCommand("help"));
+        assertFalse(commandRoutingService.isDisabled(chat, ECHO));
+
+        commandRoutingService.reloadCommands();
+
+        assertNull(commandRoutingService.getCommand("help"));
+        assertSame(renamedHelp, commandRoutingService.getCommand("manual"));
+        assertTrue(commandRoutingService.isDisabled(chat, ECHO));
+        verify(commandPropertiesRepository, times(2)).findAll();
+    }
+
+    @Test
+    void getWaitingCommandNameTest() {
+        Chat chat = TestUtils.getChat();
+        User user = TestUtils.getUser();
+        User anotherUser = TestUtils.getUser(TestUtils.ANOTHER_USER_ID);
+        when(commandWaitingRepository.findAll()).thenReturn(List.of(new CommandWaiting()
+                .setChat(chat)
+                .setUser(user)
+                .setCommandName("echo")));
+
+        assertEquals("echo", commandRoutingService.getWaitingCommandName(chat, user));
+        assertNull(commandRoutingService.getWaitingCommandName(chat, anotherUser));
+
+        commandRoutingService.putCommandWaiting(new CommandWaiting().setChat(chat).setUser(anotherUser).setCommandName("help"));
+        assertEquals("help", commandRoutingService.getWaitingCommandName(chat, anotherUser));
+
+        commandRoutingService.removeCommandWaiting(chat, user);
+        assertNull(commandRoutingService.getWaitingCommandName(chat, user));
+
+        verify(commandWaitingRepository).findAll();
+    }
+
+}
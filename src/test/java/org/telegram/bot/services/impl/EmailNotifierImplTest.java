@@ -8,7 +8,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.telegram.bot.domain.entities.Chat;
-import org.telegram.bot.domain.entities.User;
 import org.telegram.bot.domain.entities.UserEmail;
 import org.telegram.bot.domain.model.request.BotRequest;
 import org.telegram.bot.domain.model.request.Message;
@@ -16,10 +15,8 @@ import org.telegram.bot.domain.model.response.EmailResponse;
 import org.telegram.bot.enums.RequestSource;
 import org.telegram.bot.mapper.email.response.ResponseEmailMapper;
 import org.telegram.bot.services.UserEmailService;
-import org.telegram.bot.services.UserStatsService;
 import org.telegram.bot.services.email.EmailSender;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -29,8 +26,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class EmailNotifierImplTest {
 
-    @Mock
-    private UserStatsService userStatsService;
     @Mock
     private EmailSender emailSender;
     @Mock
@@ -48,7 +43,7 @@ class EmailNotifierImplTest {
     void notifyBotRequestFromEmailTest() {
         BotRequest request = new BotRequest().setSource(RequestSource.EMAIL);
         emailNotifier.notify(request);
-        verify(emailSender, never()).sendMail(any(EmailResponse.class));
+        verify(emailSender, never()).addToDigest(any(EmailResponse.class));
     }
 
     @Test
@@ -57,7 +52,7 @@ class EmailNotifierImplTest {
                 .setSource(RequestSource.TELEGRAM)
                 .setMessage(new Message().setChat(new Chat().setChatId(1L)));
         emailNotifier.notify(request);
-        verify(emailSender, never()).sendMail(any(EmailResponse.class));
+        verify(emailSender, never()).addToDigest(any(EmailResponse.class));
     }
 
     @Test
@@ -67,21 +62,11 @@ class EmailNotifierImplTest {
                 .setSource(RequestSource.TELEGRAM)
                 .setMessage(new Message().setChat(chat));
 
-        List<User> usersOfChat = new ArrayList<>();
-        when(userStatsService.getUsersOfChat(chat)).thenReturn(usersOfChat);
-        List<UserEmail> userEmails = List.of(
-                new UserEmail(),
-                new UserEmail().setShippingEnabled(false),
-                new UserEmail().setShippingEnabled(true),
-                new UserEmail().setShippingEnabled(true).setVerified(false),
-                new UserEmail().setShippingEnabled(true).setVerified(true),
-                new UserEmail().setShippingEnabled(true).setVerified(true).setEmail(""),
-                new UserEmail().setShippingEnabled(true).setVerified(true).setEmail("  "));
-        when(userEmailService.getByUsers(usersOfChat)).thenReturn(userEmails);
+        when(userEmailService.getShippingEnabled(chat)).thenReturn(List.of());
 
         emailNotifier.notify(request);
 
-        verify(emailSender, never()).sendMail(any(EmailResponse.class));
+        verify(emailSender, never()).addToDigest(any(EmailResponse.class));
     }
 
     @Test
@@ -96,28 +81,17 @@ class EmailNotifierImplTest {
                 .setSource(RequestSource.TELEGRAM)
                 .setMessage(new Message().setChat(chat));
 
-        List<User> usersOfChat = new ArrayList<>();
-        when(userStatsService.getUsersOfChat(chat)).thenReturn(usersOfChat);
-        List<UserEmail> userEmails = List.of(
-                new UserEmail(),
-                new UserEmail().setShippingEnabled(false),
-                new UserEmail().setShippingEnabled(true),
-                new UserEmail().setShippingEnabled(true).setVerified(false),
-                new UserEmail().setShippingEnabled(true).setVerified(true),
-                new UserEmail().setShippingEnabled(true).setVerified(true).setEmail(""),
-                new UserEmail().setShippingEnabled(true).setVerified(true).setEmail("  "),
-                expectedUserEmail);
-        when(userEmailService.getByUsers(usersOfChat)).thenReturn(userEmails);
+        when(userEmailService.getShippingEnabled(chat)).thenReturn(List.of(expectedUserEmail));
         EmailResponse emailResponse = new EmailResponse();
         when(responseEmailMapper.toEmailResponse(eq(request), anyList())).thenReturn(emailResponse);
 
         emailNotifier.notify(request);
 
         verify(responseEmailMapper).toEmailResponse(eq(request), userEmailsCaptor.capture());
-        List<UserEmail> filteredUserEmails = userEmailsCaptor.getValue();
-        assertTrue(filteredUserEmails.contains(expectedUserEmail));
+        List<UserEmail> userEmails = userEmailsCaptor.getValue();
+        assertTrue(userEmails.contains(expectedUserEmail));
 
-        verify(emailSender).sendMail(emailResponse);
+        verify(emailSender).addToDigest(emailResponse);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package org.telegram.bot.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.File;
+import org.telegram.bot.domain.model.FilesUsage;
+import org.telegram.bot.repositories.FileRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FileServiceImplTest {
+
+    @Mock
+    private FileRepository fileRepository;
+
+    @InjectMocks
+    private FileServiceImpl fileService;
+
+    @Test
+    void saveTest() {
+        File parent = new File().setId(12L).setPath("/0/");
+        File file = new File().setName("name").setParentId(12L);
+        when(fileRepository.findById(12L)).thenReturn(Optional.of(parent));
+
+        fileService.save(file);
+
+        assertEquals("/0/12/", file.getPath());
+        verify(fileRepository).save(file);
+    }
+
+    @Test
+    void saveWithPathTest() {
+        File file = new File().setName("name").setParentId(12L).setPath("/0/12/");
+
+        fileService.save(file);
+
+        verify(fileRepository, never()).findById(anyLong());
+        verify(fileRepository).save(file);
+    }
+
+    @Test
+    void removeTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        File dir = new File().setId(12L).setPath("/0/");
+
+        fileService.remove(chat, dir);
+
+        verify(fileRepository).deleteSubtree(chat, 12L, "/0/12/");
+    }
+
+    @Test
+    void getUsageTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        ReflectionTestUtils.setField(fileService, "chatQuotaBytes", 1024L);
+        when(fileRepository.countByChat(chat)).thenReturn(3L);
+        when(fileRepository.sumSizeByChat(chat)).thenReturn(1000L);
+
+        FilesUsage filesUsage = fileService.getUsage(chat);
+
+        assertEquals(3, filesUsage.count());
+        assertEquals(1000, filesUsage.size());
+        assertEquals(1024, filesUsage.quota());
+        assertFalse(filesUsage.isExceededWith(24));
+        assertTrue(filesUsage.isExceededWith(25));
+    }
+
+}
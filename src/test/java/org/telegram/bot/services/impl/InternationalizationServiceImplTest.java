@@ -0,0 +1,89 @@
+package org.telegram.bot.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InternationalizationServiceImplTest {
+
+    @Test
+    void internationalizeWithoutPlaceholdersTest() {
+        MessageSource messageSource = mock(MessageSource.class);
+        InternationalizationServiceImpl internationalizationService = new InternationalizationServiceImpl(messageSource);
+
+        assertNull(internationalizationService.internationalize(null, "en"));
+        assertEquals("text $ {} ${}", internationalizationService.internationalize("text $ {} ${}", "en"));
+        assertEquals("${not a code}", internationalizationService.internationalize("${not a code}", "en"));
+
+        verify(messageSource, never()).getMessage(anyString(), any(), any(Locale.class));
+    }
+
+    @Test
+    void internationalizeTest() {
+        final String expected = "[ru] [ru] ${unknown.code} ${text";
+        InternationalizationServiceImpl internationalizationService = new InternationalizationServiceImpl(getMessageSource());
+
+        String actual = internationalizationService.internationalize("[${language}] [${language}] ${unknown.code} ${text", "ru");
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void internationalizeUsesCachedMessagesTest() {
+        MessageSource messageSource = mock(MessageSource.class);
+        Locale locale = Locale.forLanguageTag("ru");
+        when(messageSource.getMessage("code", null, locale)).thenReturn("значение");
+        when(messageSource.getMessage("missing", null, locale)).thenThrow(new NoSuchMessageException("missing"));
+        InternationalizationServiceImpl internationalizationService = new InternationalizationServiceImpl(messageSource);
+
+        assertEquals("a значение b ${missing}", internationalizationService.internationalize("a ${code} b ${missing}", "ru"));
+        assertEquals("значение", internationalizationService.internationalize("${code}", "ru"));
+
+        verify(messageSource, times(1)).getMessage("code", null, locale);
+        verify(messageSource, times(2)).getMessage("missing", null, locale);
+    }
+
+    @Test
+    void internationalizeRandomVariantTest() {
+        MessageSource messageSource = mock(MessageSource.class);
+        when(messageSource.getMessage("code", null, Locale.ENGLISH)).thenReturn("first|second");
+        InternationalizationServiceImpl internationalizationService = new InternationalizationServiceImpl(messageSource);
+
+        String actual = internationalizationService.internationalize("${code}", "en");
+
+        assertTrue(Set.of("first", "second").contains(actual));
+    }
+
+    @Test
+    void getAvailableLocalesTest() {
+        InternationalizationServiceImpl internationalizationService = new InternationalizationServiceImpl(getMessageSource());
+
+        Set<String> availableLocales = internationalizationService.getAvailableLocales();
+
+        assertEquals(Set.of("en", "ru"), availableLocales);
+        assertSame(availableLocales, internationalizationService.getAvailableLocales());
+    }
+
+    @Test
+    void internationalizeIntoAllLanguagesTest() {
+        InternationalizationServiceImpl internationalizationService = new InternationalizationServiceImpl(getMessageSource());
+
+        assertEquals(Set.of("en", "ru"), internationalizationService.internationalize("${language}"));
+    }
+
+    private static MessageSource getMessageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.displayName());
+        return messageSource;
+    }
+
+}
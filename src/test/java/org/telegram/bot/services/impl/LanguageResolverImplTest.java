@@ -0,0 +1,105 @@
+package org.telegram.bot.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.bot.config.PropertiesConfig;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.ChatLanguage;
+import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.domain.entities.UserLanguage;
+import org.telegram.bot.domain.model.request.Message;
+import org.telegram.bot.services.ChatLanguageService;
+import org.telegram.bot.services.UserLanguageService;
+import org.telegram.bot.services.metrics.CacheMetricsRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LanguageResolverImplTest {
+
+    @Mock
+    private ChatLanguageService chatLanguageService;
+    @Mock
+    private UserLanguageService userLanguageService;
+    @Mock
+    private PropertiesConfig propertiesConfig;
+    @Mock
+    private CacheMetricsRegistry cacheMetricsRegistry;
+
+    @InjectMocks
+    private LanguageResolverImpl languageResolver;
+
+    @Test
+    void getChatLanguageCodeIsCachedUntilEvictionTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        when(chatLanguageService.get(chat))
+                .thenReturn(new ChatLanguage().setChat(chat).setLang("ru"))
+                .thenReturn(new ChatLanguage().setChat(chat).setLang("en"));
+
+        assertEquals("ru", languageResolver.getChatLanguageCode(chat));
+        assertEquals("ru", languageResolver.getChatLanguageCode(-1L));
+        verify(chatLanguageService, times(1)).get(any(Chat.class));
+
+        languageResolver.evictChatLanguage(chat);
+
+        assertEquals("en", languageResolver.getChatLanguageCode(chat));
+        verify(chatLanguageService, times(2)).get(any(Chat.class));
+    }
+
+    @Test
+    void getChatLanguageCodeWithoutLanguageIsCachedTest() {
+        Chat chat = new Chat().setChatId(-1L);
+
+        assertNull(languageResolver.getChatLanguageCode(chat));
+        assertNull(languageResolver.getChatLanguageCode(chat));
+
+        verify(chatLanguageService, times(1)).get(chat);
+    }
+
+    @Test
+    void getChatLanguageCodeByUserTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        User user = new User().setUserId(1L).setLang("de");
+        Message message = new Message().setChat(chat).setUser(user);
+        when(userLanguageService.get(chat, user))
+                .thenReturn(null)
+                .thenReturn(new UserLanguage().setChat(chat).setUser(user).setLang("en"));
+
+        assertEquals("de", languageResolver.getChatLanguageCode(message, user));
+        assertEquals("de", languageResolver.getChatLanguageCode(message, user));
+        verify(userLanguageService, times(1)).get(chat, user);
+        verify(chatLanguageService, times(1)).get(chat);
+
+        languageResolver.evictUserLanguage(chat, user);
+
+        assertEquals("en", languageResolver.getChatLanguageCode(message, user));
+        verify(userLanguageService, times(2)).get(chat, user);
+    }
+
+    @Test
+    void getChatLanguageCodesLoadsOnlyMissingChatsTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        when(chatLanguageService.get(chat)).thenReturn(new ChatLanguage().setChat(chat).setLang("ru"));
+        when(chatLanguageService.get(List.of(-2L, -3L)))
+                .thenReturn(List.of(new ChatLanguage().setChat(new Chat().setChatId(-2L)).setLang("en")));
+
+        languageResolver.getChatLanguageCode(chat);
+        Map<Long, String> chatLanguageCodes = languageResolver.getChatLanguageCodes(List.of(-1L, -2L, -3L));
+        assertEquals(Map.of(-1L, "ru", -2L, "en"), chatLanguageCodes);
+
+        chatLanguageCodes = languageResolver.getChatLanguageCodes(Set.of(-1L, -2L, -3L));
+        assertEquals(Map.of(-1L, "ru", -2L, "en"), chatLanguageCodes);
+
+        verify(chatLanguageService, times(1)).get(List.of(-2L, -3L));
+    }
+
+}
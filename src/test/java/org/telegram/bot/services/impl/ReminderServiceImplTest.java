@@ -0,0 +1,143 @@
+package org.telegram.bot.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.Reminder;
+import org.telegram.bot.domain.entities.User;
+import org.telegram.bot.repositories.ReminderRepository;
+import org.telegram.bot.services.UserCityService;
+
+import java.time.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderServiceImplTest {
+
+    private static final ZoneId ZONE_ID = ZoneId.of("Europe/Moscow");
+    private static final LocalDateTime DATE_TIME = LocalDateTime.of(2000, 1, 1, 12, 0);
+    private static final Instant NOW = DATE_TIME.atZone(ZONE_ID).toInstant();
+
+    @Mock
+    private ReminderRepository reminderRepository;
+    @Mock
+    private UserCityService userCityService;
+
+    @InjectMocks
+    private ReminderServiceImpl reminderService;
+
+    @Test
+    void getAllDueTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        User user = new User().setUserId(1L);
+        Reminder dueReminder = getReminder(1L, chat, user, DATE_TIME.minusSeconds(1));
+        Reminder notDueReminder = getReminder(2L, chat, user, DATE_TIME.plusSeconds(1));
+        when(reminderRepository.findAllByNotified(false)).thenReturn(List.of(dueReminder, notDueReminder));
+        when(userCityService.getZoneIdOfUserOrDefault(chat, user)).thenReturn(ZONE_ID);
+        when(reminderRepository.findAllById(List.of(1L))).thenReturn(List.of(dueReminder));
+
+        assertEquals(List.of(dueReminder), reminderService.getAllDue(NOW));
+        assertTrue(reminderService.getAllDue(NOW).isEmpty());
+
+        when(reminderRepository.findAllById(List.of(2L))).thenReturn(List.of(notDueReminder));
+        assertEquals(List.of(notDueReminder), reminderService.getAllDue(NOW.plusSeconds(1)));
+
+        verify(reminderRepository, times(1)).findAllByNotified(false);
+    }
+
+    @Test
+    void retryTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        User user = new User().setUserId(1L);
+        Reminder dueReminder = getReminder(1L, chat, user, DATE_TIME.minusSeconds(1));
+        when(reminderRepository.findAllByNotified(false)).thenReturn(List.of(dueReminder));
+        when(userCityService.getZoneIdOfUserOrDefault(chat, user)).thenReturn(ZONE_ID);
+        when(reminderRepository.findAllById(List.of(1L)))
+                .thenThrow(new IllegalStateException("error"))
+                .thenReturn(List.of(dueReminder));
+
+        assertThrows(IllegalStateException.class, () -> reminderService.getAllDue(NOW));
+        assertTrue(reminderService.getAllDue(NOW.plusSeconds(59)).isEmpty());
+        assertEquals(List.of(dueReminder), reminderService.getAllDue(NOW.plusSeconds(60)));
+
+        reminderService.retry(dueReminder, NOW.plusSeconds(120));
+        assertTrue(reminderService.getAllDue(NOW.plusSeconds(119)).isEmpty());
+        assertEquals(List.of(dueReminder), reminderService.getAllDue(NOW.plusSeconds(120)));
+    }
+
+    @Test
+    void saveTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        User user = new User().setUserId(1L);
+        when(reminderRepository.findAllByNotified(false)).thenReturn(List.of());
+        assertTrue(reminderService.getAllDue(NOW).isEmpty());
+
+        Reminder reminder = getReminder(1L, chat, user, DATE_TIME.plusMinutes(1));
+        when(reminderRepository.save(reminder)).thenReturn(reminder);
+        when(userCityService.getZoneIdOfUserOrDefault(chat, user)).thenReturn(ZONE_ID);
+        reminderService.save(reminder);
+
+        assertTrue(reminderService.getAllDue(NOW).isEmpty());
+        when(reminderRepository.findAllById(List.of(1L))).thenReturn(List.of(reminder));
+        assertEquals(List.of(reminder), reminderService.getAllDue(NOW.plusSeconds(60)));
+
+        reminderService.save(reminder.setNotified(true));
+        assertTrue(reminderService.getAllDue(NOW.plusSeconds(60)).isEmpty());
+    }
+
+    @Test
+    void removeTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        User user = new User().setUserId(1L);
+        Reminder reminder = getReminder(1L, chat, user, DATE_TIME);
+        when(reminderRepository.findAllByNotified(false)).thenReturn(List.of(reminder));
+        when(userCityService.getZoneIdOfUserOrDefault(chat, user)).thenReturn(ZONE_ID);
+        assertTrue(reminderService.getAllDue(NOW.minusSeconds(1)).isEmpty());
+
+        reminderService.remove(reminder);
+
+        assertTrue(reminderService.getAllDue(NOW).isEmpty());
+        verify(reminderRepository).delete(reminder);
+        verify(reminderRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    void rescheduleTest() {
+        Chat chat = new Chat().setChatId(-1L);
+        User user = new User().setUserId(1L);
+        Reminder reminder = getReminder(1L, chat, user, DATE_TIME);
+        when(reminderRepository.findAllByNotified(false)).thenReturn(List.of(reminder));
+        when(userCityService.getZoneIdOfUserOrDefault(chat, user)).thenReturn(ZoneId.of("UTC"), ZONE_ID);
+        assertTrue(reminderService.getAllDue(NOW).isEmpty());
+
+        when(reminderRepository.findAllByChatAndUserAndNotified(chat, user, false)).thenReturn(List.of(reminder));
+        reminderService.reschedule(chat, user);
+
+        when(reminderRepository.findAllById(List.of(1L))).thenReturn(List.of(reminder));
+        assertEquals(List.of(reminder), reminderService.getAllDue(NOW));
+    }
+
+    @Test
+    void rescheduleBeforeLoadingTest() {
+        reminderService.reschedule(new Chat().setChatId(-1L), new User().setUserId(1L));
+        verifyNoInteractions(reminderRepository, userCityService);
+    }
+
+    private static Reminder getReminder(Long id, Chat chat, User user, LocalDateTime dateTime) {
+        return new Reminder()
+                .setId(id)
+                .setChat(chat)
+                .setUser(user)
+                .setDate(dateTime.toLocalDate())
+                .setTime(dateTime.toLocalTime())
+                .setNotified(false);
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.telegram.bot.services.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.telegram.bot.TestDatabase;
+import org.telegram.bot.domain.entities.TalkerPhrase;
+import org.telegram.bot.repositories.TalkerWordRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TalkerWordServiceImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TalkerWordRepository talkerWordRepository;
+    private TalkerWordServiceImpl talkerWordService;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate = new JdbcTemplate(TestDatabase.create());
+        talkerWordRepository = mock(TalkerWordRepository.class);
+        talkerWordService = new TalkerWordServiceImpl(talkerWordRepository, new NamedParameterJdbcTemplate(jdbcTemplate));
+    }
+
+    @Test
+    void saveLinksTest() {
+        when(talkerWordRepository.findIdsByWordIn(anyCollection()))
+                .thenReturn(List.of(new WordId(1L, "как"), new WordId(2L, "дела")));
+        List<TalkerPhrase> talkerPhrases = List.of(new TalkerPhrase().setId(10L), new TalkerPhrase().setId(11L));
+
+        talkerWordService.save(List.of("как", "Дела", "дела"), talkerPhrases);
+        talkerWordService.save(List.of("как", "дела"), talkerPhrases);
+
+        assertEquals(List.of(List.of(1L, 10L), List.of(1L, 11L), List.of(2L, 10L), List.of(2L, 11L)),
+                jdbcTemplate.query("SELECT word_id, phrase_id FROM talkerwordphrase ORDER BY word_id, phrase_id",
+                        (rs, rowNum) -> List.of(rs.getLong(1), rs.getLong(2))));
+    }
+
+    private record WordId(Long id, String word) implements TalkerWordRepository.TalkerWordId {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getWord() {
+            return word;
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package org.telegram.bot.services.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.TemporaryFileManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemporaryFileManagerImplTest {
+
+    private static final int LIFETIME_SECONDS = 900;
+
+    @Mock
+    private BotStats botStats;
+
+    @TempDir
+    private Path tempDir;
+
+    private final AtomicLong now = new AtomicLong(1000000L);
+    private Path directory;
+    private TemporaryFileManagerImpl temporaryFileManager;
+
+    @BeforeEach
+    void init() {
+        directory = tempDir.resolve("tmp");
+        temporaryFileManager = new TemporaryFileManagerImpl(botStats, new TestClock());
+        ReflectionTestUtils.setField(temporaryFileManager, "temporaryFileLifetimeSeconds", LIFETIME_SECONDS);
+        ReflectionTestUtils.setField(temporaryFileManager, "temporaryFilesDirectory", directory.toString());
+        ReflectionTestUtils.setField(temporaryFileManager, "temporaryFilesMaxSizeBytes", 10L);
+    }
+
+    @Test
+    void initDeletesOrphansTest() throws IOException {
+        Files.createDirectories(directory);
+        Path orphan = Files.writeString(directory.resolve("orphan_tmp1.mp4"), "data");
+        Path orphanWithoutPostfix = Files.writeString(directory.resolve("orphan_tmp2"), "data");
+        Path foreignFile = Files.writeString(directory.resolve("foreign.mp4"), "data");
+
+        temporaryFileManager.init();
+
+        assertTrue(Files.isDirectory(directory));
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(orphanWithoutPostfix));
+        assertTrue(Files.exists(foreignFile));
+    }
+
+    @Test
+    void cleanupOfExpiredFileTest() throws IOException {
+        temporaryFileManager.init();
+        String fileName = temporaryFileManager.addFile("video", ".mp4");
+        Path file = Path.of(fileName);
+        assertEquals(directory, file.getParent());
+        Files.writeString(file, "data");
+
+        now.addAndGet(LIFETIME_SECONDS * 1000L - 1);
+        temporaryFileManager.cleanup();
+        assertEquals(file.toFile(), temporaryFileManager.get(fileName));
+
+        now.incrementAndGet();
+        temporaryFileManager.cleanup();
+        assertFalse(Files.exists(file));
+        assertNull(temporaryFileManager.get(fileName));
+    }
+
+    @Test
+    void acquiredFileIsNotDeletedTest() throws IOException {
+        temporaryFileManager.init();
+        String fileName = temporaryFileManager.addFile("backup", ".zip");
+        Path file = Files.writeString(Path.of(fileName), "data");
+
+        TemporaryFileManager.FileHandle fileHandle = temporaryFileManager.acquire(fileName);
+        assertNotNull(fileHandle);
+        assertEquals(file.toFile(), fileHandle.getFile());
+
+        now.addAndGet(LIFETIME_SECONDS * 1000L);
+        temporaryFileManager.cleanup();
+        temporaryFileManager.deleteAllFiles();
+        assertTrue(Files.exists(file));
+
+        fileHandle.close();
+        assertFalse(Files.exists(file));
+
+        assertNull(temporaryFileManager.acquire(fileName));
+    }
+
+    @Test
+    void leastRecentlyUsedFileIsDeletedOverQuotaTest() throws IOException {
+        temporaryFileManager.init();
+        String firstFileName = temporaryFileManager.addFile("first", ".mp4");
+        String secondFileName = temporaryFileManager.addFile("second", ".mp4");
+        String notCompletedFileName = temporaryFileManager.addFile("third", ".mp4");
+        Path firstFile = Files.writeString(Path.of(firstFileName), "12345678");
+        Path secondFile = Files.writeString(Path.of(secondFileName), "12345678");
+        Path notCompletedFile = Files.writeString(Path.of(notCompletedFileName), "12");
+
+        temporaryFileManager.get(firstFileName);
+        temporaryFileManager.get(secondFileName);
+
+        temporaryFileManager.cleanup();
+        assertTrue(Files.exists(firstFile));
+
+        now.addAndGet(60000L);
+        temporaryFileManager.cleanup();
+        assertFalse(Files.exists(firstFile));
+        assertTrue(Files.exists(secondFile));
+        assertTrue(Files.exists(notCompletedFile));
+    }
+
+    @Test
+    void fileWrittenWithoutGetIsCountedInQuotaTest() throws IOException {
+        temporaryFileManager.init();
+        String completedFileName = temporaryFileManager.addFile("first", ".mp4");
+        String writtenFileName = temporaryFileManager.addFile("second", ".mp4");
+        Path completedFile = Files.writeString(Path.of(completedFileName), "12345678");
+        temporaryFileManager.get(completedFileName);
+        Path writtenFile = Files.writeString(Path.of(writtenFileName), "12345678");
+
+        now.addAndGet(60000L);
+        temporaryFileManager.cleanup();
+
+        assertFalse(Files.exists(completedFile));
+        assertTrue(Files.exists(writtenFile));
+    }
+
+    @Test
+    void concurrentAddFileTest() {
+        temporaryFileManager.init();
+        Set<String> fileNames = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 1000).forEach(i -> executorService.submit(() -> {
+                String fileName = temporaryFileManager.addFile("file", ".txt");
+                fileNames.add(fileName);
+                try {
+                    Files.createFile(Path.of(fileName));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                temporaryFileManager.get(fileName);
+            }));
+        }
+        assertEquals(1000, fileNames.size());
+
+        temporaryFileManager.deleteAllFiles();
+
+        File[] remainingFiles = directory.toFile().listFiles();
+        assertNotNull(remainingFiles);
+        assertEquals(List.of(), List.of(remainingFiles));
+    }
+
+    private class TestClock extends Clock {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    }
+
+}
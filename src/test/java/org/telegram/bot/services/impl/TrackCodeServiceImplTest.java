@@ -0,0 +1,149 @@
+package org.telegram.bot.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.telegram.bot.domain.entities.TrackCode;
+import org.telegram.bot.domain.entities.TrackCodeEvent;
+import org.telegram.bot.exception.BotException;
+import org.telegram.bot.repositories.TrackCodeEventRepository;
+import org.telegram.bot.repositories.TrackCodeRepository;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.PostTrackingService;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.telegram.bot.commands.Parcel.DELIVERED_OPERATION_TYPE;
+
+@ExtendWith(MockitoExtension.class)
+class TrackCodeServiceImplTest {
+
+    private static final LocalDateTime DATE_TIME = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Mock
+    private PostTrackingService postTrackingService;
+    @Mock
+    private TrackCodeRepository trackCodeRepository;
+    @Mock
+    private TrackCodeEventRepository trackCodeEventRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private BotStats botStats;
+
+    @Captor
+    private ArgumentCaptor<List<TrackCodeEvent>> eventsCaptor;
+
+    @InjectMocks
+    private TrackCodeServiceImpl trackCodeService;
+
+    @Test
+    void updateFromApiWithoutAvailableRequestsTest() {
+        when(botStats.getRussianPostRequests()).thenReturn(0);
+
+        trackCodeService.updateFromApi();
+
+        verifyNoInteractions(trackCodeRepository, postTrackingService);
+    }
+
+    @Test
+    void updateFromApiTest() {
+        ReflectionTestUtils.setField(trackCodeService, "parallelism", 2);
+        TrackCodeEvent storedEvent = getEvent(DATE_TIME, "Приём");
+        TrackCode oldestTrackCode = getTrackCode(1L, "old", DATE_TIME.minusDays(10), storedEvent);
+        TrackCode trackCodeWithoutEvents = getTrackCode(2L, "new", DATE_TIME.plusDays(1));
+        TrackCode recentTrackCode = getTrackCode(3L, "recent", DATE_TIME, getEvent(DATE_TIME.plusDays(2), "Приём"));
+        TrackCode deliveredTrackCode = getTrackCode(4L, "delivered", DATE_TIME, getEvent(DATE_TIME.minusDays(1), DELIVERED_OPERATION_TYPE));
+        TrackCode invalidTrackCode = getTrackCode(5L, "invalid", DATE_TIME.minusDays(1)).setInvalid(true);
+        when(botStats.getRussianPostRequests()).thenReturn(2);
+        when(trackCodeRepository.findAll())
+                .thenReturn(List.of(recentTrackCode, deliveredTrackCode, trackCodeWithoutEvents, invalidTrackCode, oldestTrackCode));
+        mockTransactionTemplate();
+        TrackCodeEvent newEvent = getEvent(DATE_TIME.plusHours(1), "Обработка");
+        when(postTrackingService.getData("old")).thenReturn(List.of(getEvent(DATE_TIME, "Приём"), newEvent));
+        when(postTrackingService.getData("new")).thenThrow(new BotException("error"));
+        when(trackCodeEventRepository.saveAll(anyList())).then(returnsFirstArg());
+
+        trackCodeService.updateFromApi();
+
+        verify(postTrackingService, never()).getData("recent");
+        verify(postTrackingService, never()).getData("delivered");
+        verify(postTrackingService, never()).getData("invalid");
+
+        verify(trackCodeEventRepository).saveAll(eventsCaptor.capture());
+        assertEquals(List.of(newEvent), eventsCaptor.getValue());
+        assertSame(oldestTrackCode, newEvent.getTrackCode());
+        assertEquals(Set.of(storedEvent, newEvent), oldestTrackCode.getEvents());
+
+        verify(trackCodeRepository).save(trackCodeWithoutEvents);
+        assertTrue(trackCodeWithoutEvents.getInvalid());
+        verify(trackCodeEventRepository, never()).deleteAllByTrackCode(any(TrackCode.class));
+    }
+
+    @Test
+    void updateFromApiTrackCodeWithoutNewEventsTest() {
+        TrackCode trackCode = getTrackCode(1L, "barcode", DATE_TIME, getEvent(DATE_TIME, "Приём"));
+        when(postTrackingService.getData("barcode")).thenReturn(List.of(getEvent(DATE_TIME, "Приём")));
+
+        trackCodeService.updateFromApi(trackCode);
+
+        verifyNoInteractions(trackCodeEventRepository);
+        assertEquals(1, trackCode.getEvents().size());
+    }
+
+    @Test
+    void updateFromApiTrackCodeTest() {
+        TrackCode trackCode = getTrackCode(1L, "barcode", DATE_TIME);
+        TrackCodeEvent event = getEvent(DATE_TIME, "Приём");
+        when(postTrackingService.getData("barcode")).thenReturn(List.of(event));
+        when(trackCodeEventRepository.saveAll(anyList())).then(returnsFirstArg());
+
+        trackCodeService.updateFromApi(trackCode);
+
+        verify(trackCodeEventRepository).saveAll(List.of(event));
+        assertEquals(Set.of(event), trackCode.getEvents());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockTransactionTemplate() {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private TrackCode getTrackCode(Long id, String barcode, LocalDateTime createDateTime, TrackCodeEvent... events) {
+        TrackCode trackCode = new TrackCode()
+                .setId(id)
+                .setBarcode(barcode)
+                .setCreateDateTime(createDateTime)
+                .setEvents(new HashSet<>(List.of(events)));
+        trackCode.getEvents().forEach(event -> event.setTrackCode(trackCode));
+
+        return trackCode;
+    }
+
+    private TrackCodeEvent getEvent(LocalDateTime dateTime, String operationType) {
+        return new TrackCodeEvent()
+                .setEventDateTime(dateTime)
+                .setOperationType(operationType)
+                .setOperationDescription("description")
+                .setIndex("123456");
+    }
+
+}
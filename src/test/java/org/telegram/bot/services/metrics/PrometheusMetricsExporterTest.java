@@ -0,0 +1,74 @@
+package org.telegram.bot.services.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.executors.ChatDispatchExecutor;
+import org.telegram.bot.utils.LruCache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrometheusMetricsExporterTest {
+
+    @Mock
+    private BotStats botStats;
+    @Mock
+    private ChatDispatchExecutor chatDispatchExecutor;
+    @Mock
+    private CacheMetricsRegistry cacheMetricsRegistry;
+    @Mock
+    private HttpClientMetrics httpClientMetrics;
+
+    @InjectMocks
+    private PrometheusMetricsExporter prometheusMetricsExporter;
+
+    @Test
+    void exportTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(70));
+        histogram.record(TimeUnit.MINUTES.toNanos(2));
+
+        when(botStats.getReceivedMessages()).thenReturn(10);
+        when(botStats.getTotalReceivedMessages()).thenReturn(100L);
+        when(botStats.getErrors()).thenReturn(1);
+        when(botStats.getSentMethods()).thenReturn(Map.of("sendmessage", 7L));
+        when(botStats.getCommandLatencies()).thenReturn(Map.of("Echo", histogram));
+        when(chatDispatchExecutor.getRejectedTasks()).thenReturn(2L);
+        LruCache<Long, String> cache = new LruCache<>("test", 10);
+        cache.get(1L, key -> "value");
+        cache.get(1L, key -> "value");
+        when(cacheMetricsRegistry.getCaches()).thenReturn(List.of(cache));
+        when(httpClientMetrics.getLatencies()).thenReturn(Map.of("example.com", histogram));
+        when(httpClientMetrics.getErrors()).thenReturn(Map.of("example.com", 4L));
+
+        String metrics = prometheusMetricsExporter.export();
+
+        assertTrue(metrics.contains("# TYPE bot_received_messages_total counter\nbot_received_messages_total 10\n"));
+        assertTrue(metrics.contains("bot_all_received_messages 100\n"));
+        assertTrue(metrics.contains("bot_errors_total 1\n"));
+        assertTrue(metrics.contains("bot_dispatch_rejected_tasks_total 2\n"));
+        assertTrue(metrics.contains("bot_sent_methods_total{method=\"sendmessage\"} 7\n"));
+        assertTrue(metrics.contains("bot_command_duration_seconds_bucket{command=\"Echo\",le=\"0.005\"} 1\n"));
+        assertTrue(metrics.contains("bot_command_duration_seconds_bucket{command=\"Echo\",le=\"0.100\"} 2\n"));
+        assertTrue(metrics.contains("bot_command_duration_seconds_bucket{command=\"Echo\",le=\"60.000\"} 2\n"));
+        assertTrue(metrics.contains("bot_command_duration_seconds_bucket{command=\"Echo\",le=\"+Inf\"} 3\n"));
+        assertTrue(metrics.contains("bot_command_duration_seconds_count{command=\"Echo\"} 3\n"));
+        assertTrue(metrics.contains("bot_cache_hits_total{cache=\"test\"} 1\n"));
+        assertTrue(metrics.contains("bot_cache_misses_total{cache=\"test\"} 1\n"));
+        assertTrue(metrics.contains("bot_cache_size{cache=\"test\"} 1\n"));
+        assertTrue(metrics.contains("bot_http_client_request_duration_seconds_bucket{host=\"example.com\",le=\"0.100\"} 2\n"));
+        assertTrue(metrics.contains("bot_http_client_request_duration_seconds_count{host=\"example.com\"} 3\n"));
+        assertTrue(metrics.contains("bot_http_client_errors_total{host=\"example.com\"} 4\n"));
+    }
+
+}
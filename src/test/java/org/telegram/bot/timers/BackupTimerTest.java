@@ -2,115 +2,67 @@ package org.telegram.bot.timers;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.telegram.bot.Bot;
-import org.telegram.bot.TestUtils;
 import org.telegram.bot.config.PropertiesConfig;
-import org.telegram.bot.domain.model.response.FileResponse;
-import org.telegram.bot.domain.model.response.FileType;
-import org.telegram.bot.domain.model.response.ResponseSettings;
-import org.telegram.bot.exception.BotException;
-import org.telegram.bot.repositories.DbBackuper;
-import org.telegram.bot.services.BotStats;
-import org.telegram.bot.utils.FtpBackupClient;
-
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.List;
-
-import static org.junit.jupiter.api.Assertions.*;
+import org.telegram.bot.enums.BackupType;
+import org.telegram.bot.services.backup.BackupService;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class BackupTimerTest {
 
+    private static final Instant MONDAY = Instant.parse("2000-01-03T02:00:00Z");
+
     @Mock
-    private Bot bot;
+    private BackupService backupService;
     @Mock
     private PropertiesConfig propertiesConfig;
     @Mock
-    private DbBackuper dbBackuper;
-    @Mock
-    private BotStats botStats;
-    @Mock
-    private FtpBackupClient ftpBackupClient;
+    private Clock clock;
 
     @InjectMocks
     private BackupTimer backupTimer;
 
     @Test
-    void executeWithoutFtpUrlTest() {
-        final Long adminId = 12345L;
-        File backup = TestUtils.getFileMock();
-        when(dbBackuper.getDbBackup()).thenReturn(backup);
-        when(propertiesConfig.getAdminId()).thenReturn(adminId);
-
+    void executeWithoutFullBackupDayTest() {
         backupTimer.execute();
-
-        ArgumentCaptor<FileResponse> fileResponseArgumentCaptor = ArgumentCaptor.forClass(FileResponse.class);
-        verify(bot).sendDocument(fileResponseArgumentCaptor.capture());
-
-        FileResponse response = fileResponseArgumentCaptor.getValue();
-        assertNotNull(response);
-        assertEquals(adminId, response.getChatId());
-
-        List<org.telegram.bot.domain.model.response.File> files = response.getFiles();
-        assertEquals(1, files.size());
-        org.telegram.bot.domain.model.response.File file = files.getFirst();
-        assertNotNull(file);
-        assertEquals(FileType.FILE, file.getFileType());
-        assertEquals(backup, file.getDiskFile());
-
-        ResponseSettings responseSettings = response.getResponseSettings();
-        assertNotNull(responseSettings);
-        assertFalse(responseSettings.getNotification());
+        verify(backupService).backup(BackupType.FULL);
+        verify(backupService, never()).backup(BackupType.INCREMENTAL);
     }
 
     @Test
-    void executeWithFtpUrlAndExceptionsTest() throws IOException {
-        final String error = "error";
-        final String expectedErrorMessage = "Failed to backup db: " + error;
-        File backup = File.createTempFile("test", ".txt");
-        backup.deleteOnExit();
-
-        when(dbBackuper.getDbBackup()).thenReturn(backup);
-        when(propertiesConfig.getFtpBackupUrl()).thenReturn("url");
-        when(propertiesConfig.getFtpRetryCount()).thenReturn(2);
-        when(propertiesConfig.getFtpRetryTimeoutMillis()).thenReturn(100L);
-        doThrow(BotException.class)
-                .doThrow(new RuntimeException(error))
-                .when(ftpBackupClient).process(anyString(), any(FileInputStream.class), any(), any());
+    void executeAtFullBackupDayTest() {
+        when(propertiesConfig.getFullBackupDayOfWeek()).thenReturn(DayOfWeek.MONDAY);
+        mockClock();
 
         backupTimer.execute();
 
-        verify(bot).sendDocument(any(FileResponse.class));
-
-        verify(botStats, times(2)).incrementErrors(expectedErrorMessage, expectedErrorMessage);
+        verify(backupService).backup(BackupType.FULL);
+        verify(backupService, never()).backup(BackupType.INCREMENTAL);
     }
 
     @Test
-    void executeWithFtpUrlTest() throws IOException {
-        final String url = "url";
-        final int daysBeforeExpirationBackup = 2;
-        final long maxBackupsSizeBytes = 30;
-
-        File backup = File.createTempFile("test", ".txt");
-        backup.deleteOnExit();
-
-        when(dbBackuper.getDbBackup()).thenReturn(backup);
-        when(propertiesConfig.getFtpBackupUrl()).thenReturn(url);
-        when(propertiesConfig.getDaysBeforeExpirationBackup()).thenReturn(daysBeforeExpirationBackup);
-        when(propertiesConfig.getMaxBackupsSizeBytes()).thenReturn(maxBackupsSizeBytes);
+    void executeAtAnotherDayTest() {
+        when(propertiesConfig.getFullBackupDayOfWeek()).thenReturn(DayOfWeek.SUNDAY);
+        mockClock();
 
         backupTimer.execute();
 
-        verify(bot).sendDocument(any(FileResponse.class));
+        verify(backupService).backup(BackupType.INCREMENTAL);
+        verify(backupService, never()).backup(BackupType.FULL);
+    }
 
-        verify(ftpBackupClient).process(eq(url), any(FileInputStream.class), eq(daysBeforeExpirationBackup), eq(maxBackupsSizeBytes));
+    private void mockClock() {
+        when(clock.instant()).thenReturn(MONDAY);
+        when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
     }
 
-}
\ No newline at end of file
+}
@@ -17,6 +17,8 @@ import org.telegram.bot.services.DelayCommandService;
 import org.telegram.bot.services.UserStatsService;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
@@ -46,13 +48,13 @@ class DelayCommandTimerTest {
 
     @Test
     void executeWithoutDelayedCommandsTest() {
-        when(clock.instant()).thenReturn(CURRENT_DATE_TIME.atZone(ZoneId.systemDefault()).toInstant());
-        when(clock.getZone()).thenReturn(ZoneId.systemDefault());
-        when(delayCommandService.getAllBeforeDateTime(any(LocalDateTime.class))).thenReturn(List.of());
+        Instant now = CURRENT_DATE_TIME.atZone(ZoneId.systemDefault()).toInstant();
+        when(clock.instant()).thenReturn(now);
+        when(delayCommandService.getAllDue(now)).thenReturn(List.of());
 
         delayCommandTimer.execute();
 
-        verify(delayCommandService).getAllBeforeDateTime(any(LocalDateTime.class));
+        verify(delayCommandService).getAllDue(now);
         verify(bot, never()).processRequest(any(BotRequest.class));
         verify(delayCommandService, never()).remove(any(DelayCommand.class));
     }
@@ -64,16 +66,14 @@ class DelayCommandTimerTest {
         final String jsonProcessingExceptionErrorMessage = "error";
 
         BotRequest request = TestUtils.getRequestFromGroup();
-        LocalDateTime now = LocalDateTime.of(2000, 1, 1, 0, 0);
-        LocalDateTime afterNow = now.minusDays(1);
+        LocalDateTime beforeNow = CURRENT_DATE_TIME.minusDays(1);
+        Instant now = CURRENT_DATE_TIME.atZone(ZoneId.systemDefault()).toInstant();
 
-        when(clock.instant()).thenReturn(now.atZone(ZoneId.systemDefault()).toInstant());
-        when(clock.getZone()).thenReturn(ZoneId.systemDefault());
-        DelayCommand notTimeDelayedCommand = new DelayCommand().setDateTime(now.plusDays(1));
-        DelayCommand corruptedJsonDelayCommand = new DelayCommand().setDateTime(afterNow).setRequestJson(corruptedJson);
-        DelayCommand validJsonDelayCommand = new DelayCommand().setDateTime(afterNow).setRequestJson(validJson);
-        List<DelayCommand> delayCommandList = List.of(notTimeDelayedCommand, corruptedJsonDelayCommand, validJsonDelayCommand);
-        when(delayCommandService.getAllBeforeDateTime(any(LocalDateTime.class))).thenReturn(delayCommandList);
+        when(clock.instant()).thenReturn(now);
+        DelayCommand corruptedJsonDelayCommand = new DelayCommand().setDateTime(beforeNow).setRequestJson(corruptedJson);
+        DelayCommand validJsonDelayCommand = new DelayCommand().setDateTime(beforeNow).setRequestJson(validJson);
+        List<DelayCommand> delayCommandList = List.of(corruptedJsonDelayCommand, validJsonDelayCommand);
+        when(delayCommandService.getAllDue(now)).thenReturn(delayCommandList);
 
         JsonProcessingException jsonProcessingException = mock(JsonProcessingException.class);
         when(jsonProcessingException.getMessage()).thenReturn(jsonProcessingExceptionErrorMessage);
@@ -87,7 +87,34 @@ class DelayCommandTimerTest {
         verify(botStats, times(1)).incrementErrors(corruptedJson, jsonProcessingException, "Failed to deserialize BotRequest: " + jsonProcessingExceptionErrorMessage);
         verify(delayCommandService).remove(corruptedJsonDelayCommand);
         verify(delayCommandService).remove(validJsonDelayCommand);
-        verify(delayCommandService, never()).remove(notTimeDelayedCommand);
+    }
+
+    @Test
+    void executeWithFailedDelayedCommandTest() throws JsonProcessingException {
+        final String failingJson = "failingJson";
+        final String validJson = "validJson";
+
+        BotRequest failingRequest = TestUtils.getRequestFromGroup("failing");
+        BotRequest request = TestUtils.getRequestFromGroup();
+        LocalDateTime beforeNow = CURRENT_DATE_TIME.minusDays(1);
+        Instant now = CURRENT_DATE_TIME.atZone(ZoneId.systemDefault()).toInstant();
+
+        when(clock.instant()).thenReturn(now);
+        DelayCommand failingDelayCommand = new DelayCommand().setId(1L).setDateTime(beforeNow).setRequestJson(failingJson);
+        DelayCommand validDelayCommand = new DelayCommand().setId(2L).setDateTime(beforeNow).setRequestJson(validJson);
+        when(delayCommandService.getAllDue(now)).thenReturn(List.of(failingDelayCommand, validDelayCommand));
+        when(objectMapper.readValue(failingJson, BotRequest.class)).thenReturn(failingRequest);
+        when(objectMapper.readValue(validJson, BotRequest.class)).thenReturn(request);
+        RuntimeException exception = new RuntimeException("error");
+        doThrow(exception).when(bot).processRequest(failingRequest);
+
+        delayCommandTimer.execute();
+
+        verify(bot).processRequest(request);
+        verify(delayCommandService).remove(validDelayCommand);
+        verify(delayCommandService, never()).remove(failingDelayCommand);
+        verify(delayCommandService).retry(failingDelayCommand, now.plus(Duration.ofMinutes(1)));
+        verify(botStats).incrementErrors(failingJson, exception, "Failed to execute delayed command");
     }
 
 }
\ No newline at end of file
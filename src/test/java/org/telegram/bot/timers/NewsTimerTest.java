@@ -0,0 +1,199 @@
+package org.telegram.bot.timers;
+
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndEntryImpl;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.feed.synd.SyndFeedImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.telegram.bot.Bot;
+import org.telegram.bot.domain.entities.Chat;
+import org.telegram.bot.domain.entities.News;
+import org.telegram.bot.domain.entities.NewsMessage;
+import org.telegram.bot.domain.entities.NewsSource;
+import org.telegram.bot.domain.model.response.TextResponse;
+import org.telegram.bot.services.NewsMessageService;
+import org.telegram.bot.services.NewsService;
+import org.telegram.bot.services.NewsSourceService;
+import org.telegram.bot.utils.NetworkUtils;
+import org.telegram.bot.utils.RssMapper;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NewsTimerTest {
+
+    private static final Instant NOW = Instant.parse("2000-01-01T00:00:00Z");
+    private static final String FIRST_URL = "http://example.com/first";
+    private static final String SECOND_URL = "http://example.com/second";
+    private static final String ETAG = "\"1\"";
+    private static final String LAST_MODIFIED = "Sat, 01 Jan 2000 00:00:00 GMT";
+
+    @Mock
+    private Bot bot;
+    @Mock
+    private NewsService newsService;
+    @Mock
+    private NewsMessageService newsMessageService;
+    @Mock
+    private NewsSourceService newsSourceService;
+    @Spy
+    private RssMapper rssMapper;
+    @Mock
+    private NetworkUtils networkUtils;
+    @Mock
+    private Clock clock;
+
+    @Captor
+    private ArgumentCaptor<List<NewsMessage>> newsMessagesCaptor;
+    @Captor
+    private ArgumentCaptor<List<NewsSource>> newsSourcesCaptor;
+    @Captor
+    private ArgumentCaptor<List<TextResponse>> responsesCaptor;
+
+    @InjectMocks
+    private NewsTimer newsTimer;
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(newsTimer, "parallelism", 2);
+    }
+
+    @Test
+    void executeTest() throws Exception {
+        NewsSource firstNewsSource = new NewsSource().setId(1L).setName("first").setUrl(FIRST_URL)
+                .setNewsMessage(new NewsMessage().setPubDate(Date.from(NOW.minusSeconds(60))));
+        NewsSource secondNewsSource = new NewsSource().setId(2L).setName("second").setUrl(SECOND_URL);
+        when(clock.instant()).thenReturn(NOW);
+        when(newsService.getAll()).thenReturn(List.of(
+                new News().setNewsSource(firstNewsSource).setChat(new Chat().setChatId(-1L)),
+                new News().setNewsSource(firstNewsSource).setChat(new Chat().setChatId(-2L)),
+                new News().setNewsSource(secondNewsSource).setChat(new Chat().setChatId(-3L))));
+        when(networkUtils.getRssFeedFromUrl(FIRST_URL, null, null)).thenReturn(new NetworkUtils.RssFeedResponse(
+                getSyndFeed(getSyndEntry("newest", NOW), getSyndEntry("old", NOW.minusSeconds(120)), getSyndEntry("new", NOW.minusSeconds(30))),
+                ETAG,
+                LAST_MODIFIED));
+        when(networkUtils.getRssFeedFromUrl(SECOND_URL, null, null)).thenThrow(new IOException("error"));
+        when(newsMessageService.save(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        newsTimer.execute();
+
+        verify(newsMessageService).save(newsMessagesCaptor.capture());
+        List<NewsMessage> newsMessages = newsMessagesCaptor.getValue();
+        assertEquals(2, newsMessages.size());
+        assertEquals("new", newsMessages.getFirst().getTitle());
+        assertEquals("newest", newsMessages.get(1).getTitle());
+
+        verify(newsSourceService).save(newsSourcesCaptor.capture());
+        List<NewsSource> newsSources = newsSourcesCaptor.getValue();
+        assertEquals(1, newsSources.size());
+        assertEquals(newsMessages.get(1), newsSources.getFirst().getNewsMessage());
+
+        verify(bot).broadcast(eq("news"), responsesCaptor.capture());
+        List<TextResponse> responses = responsesCaptor.getValue();
+        assertEquals(4, responses.size());
+        assertEquals(-1L, responses.getFirst().getChatId());
+        assertTrue(responses.getFirst().getText().contains("new"));
+        assertEquals(-2L, responses.get(1).getChatId());
+        assertTrue(responses.get(3).getText().contains("newest"));
+    }
+
+    @Test
+    void executeWithAdaptiveIntervalTest() throws Exception {
+        NewsSource newsSource = new NewsSource().setId(1L).setName("first").setUrl(FIRST_URL);
+        when(newsService.getAll()).thenReturn(List.of(new News().setNewsSource(newsSource).setChat(new Chat().setChatId(-1L))));
+        when(networkUtils.getRssFeedFromUrl(FIRST_URL, null, null)).thenReturn(new NetworkUtils.RssFeedResponse(
+                getSyndFeed(getSyndEntry("old", NOW.minusSeconds(60)), getSyndEntry("new", NOW)),
+                ETAG,
+                LAST_MODIFIED));
+        when(networkUtils.getRssFeedFromUrl(FIRST_URL, ETAG, LAST_MODIFIED)).thenReturn(new NetworkUtils.RssFeedResponse(null, ETAG, LAST_MODIFIED));
+        when(newsMessageService.save(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        when(clock.instant()).thenReturn(NOW);
+        newsTimer.execute();
+
+        verify(newsMessageService).save(newsMessagesCaptor.capture());
+        assertEquals(1, newsMessagesCaptor.getValue().size());
+        assertEquals("new", newsMessagesCaptor.getValue().getFirst().getTitle());
+        verify(bot).broadcast(eq("news"), anyList());
+
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(4)));
+        newsTimer.execute();
+        verify(networkUtils, times(1)).getRssFeedFromUrl(any(), any(), any());
+
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(5)));
+        newsTimer.execute();
+        verify(networkUtils).getRssFeedFromUrl(FIRST_URL, ETAG, LAST_MODIFIED);
+
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(14)));
+        newsTimer.execute();
+        verify(networkUtils, times(2)).getRssFeedFromUrl(any(), any(), any());
+
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(15)));
+        newsTimer.execute();
+        verify(networkUtils, times(3)).getRssFeedFromUrl(any(), any(), any());
+
+        verify(newsMessageService, times(1)).save(anyList());
+        verify(bot, times(1)).broadcast(any(), anyList());
+    }
+
+    @Test
+    void executeWithFailedSaveTest() throws Exception {
+        NewsSource newsSource = new NewsSource().setId(1L).setName("first").setUrl(FIRST_URL);
+        when(newsService.getAll()).thenReturn(List.of(new News().setNewsSource(newsSource).setChat(new Chat().setChatId(-1L))));
+        when(networkUtils.getRssFeedFromUrl(FIRST_URL, null, null)).thenReturn(new NetworkUtils.RssFeedResponse(
+                getSyndFeed(getSyndEntry("new", NOW)),
+                ETAG,
+                LAST_MODIFIED));
+        when(newsMessageService.save(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("error"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(networkUtils.getRssFeedFromUrl(FIRST_URL, ETAG, LAST_MODIFIED)).thenReturn(new NetworkUtils.RssFeedResponse(null, ETAG, LAST_MODIFIED));
+
+        when(clock.instant()).thenReturn(NOW);
+        assertThrows(DataAccessResourceFailureException.class, () -> newsTimer.execute());
+        verifyNoInteractions(newsSourceService, bot);
+
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(5)));
+        newsTimer.execute();
+
+        verify(networkUtils, times(2)).getRssFeedFromUrl(FIRST_URL, null, null);
+        verify(newsMessageService, times(2)).save(newsMessagesCaptor.capture());
+        assertEquals("new", newsMessagesCaptor.getValue().getFirst().getTitle());
+        verify(bot).broadcast(eq("news"), anyList());
+
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(10)));
+        newsTimer.execute();
+        verify(networkUtils).getRssFeedFromUrl(FIRST_URL, ETAG, LAST_MODIFIED);
+    }
+
+    private static SyndFeed getSyndFeed(SyndEntry... syndEntries) {
+        SyndFeed syndFeed = new SyndFeedImpl();
+        syndFeed.setEntries(List.of(syndEntries));
+        return syndFeed;
+    }
+
+    private static SyndEntry getSyndEntry(String title, Instant publishedDate) {
+        SyndEntry syndEntry = new SyndEntryImpl();
+        syndEntry.setTitle(title);
+        syndEntry.setLink("http://example.com/" + title);
+        syndEntry.setPublishedDate(Date.from(publishedDate));
+        return syndEntry;
+    }
+
+}
@@ -0,0 +1,218 @@
+package org.telegram.bot.timers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+import org.telegram.bot.config.PropertiesConfig;
+import org.telegram.bot.domain.entities.Timer;
+import org.telegram.bot.domain.entities.TvChannel;
+import org.telegram.bot.domain.entities.TvProgram;
+import org.telegram.bot.domain.entities.WorkParam;
+import org.telegram.bot.repositories.TvDataLoader;
+import org.telegram.bot.services.BotStats;
+import org.telegram.bot.services.TimerService;
+import org.telegram.bot.services.WorkParamService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TvProgramDownloaderTimerTest {
+
+    private static final String BOT_TOKEN = "token";
+    private static final String XML_TV_FILE_URL = "http://example.com/tvguide.xml.gz";
+    private static final String OLD_ETAG = "\"old\"";
+    private static final String NEW_ETAG = "\"new\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+    private static final String TV_DATA = """
+            <?xml version="1.0" encoding="utf-8"?>
+            <tv>
+              <channel id="1">
+                <display-name>First</display-name>
+              </channel>
+              <channel id="2">
+                <display-name>Second</display-name>
+              </channel>
+              <programme start="20000101100000 +0300" stop="20000101110000 +0300" channel="1">
+                <title>News</title>
+                <category>Info</category>
+                <desc>Daily news</desc>
+              </programme>
+              <programme start="20000101110000 +0300" stop="20000101120000 +0300" channel="2">
+                <title>Movie</title>
+              </programme>
+              <programme start="20000101110000 +0300" stop="20000101120000 +0300" channel="3">
+                <title>Unknown</title>
+              </programme>
+            </tv>
+            """;
+
+    @Mock
+    private TimerService timerService;
+    @Mock
+    private TvDataLoader tvDataLoader;
+    @Mock
+    private WorkParamService workParamService;
+    @Mock
+    private PropertiesConfig propertiesConfig;
+    @Mock
+    private RestTemplate defaultRestTemplate;
+    @Mock
+    private BotStats botStats;
+    @Mock
+    private ClientHttpRequest clientHttpRequest;
+    @Mock
+    private ClientHttpResponse clientHttpResponse;
+
+    @Captor
+    private ArgumentCaptor<Collection<TvChannel>> tvChannelsCaptor;
+    @Captor
+    private ArgumentCaptor<List<WorkParam>> workParamsCaptor;
+
+    @InjectMocks
+    private TvProgramDownloaderTimer tvProgramDownloaderTimer;
+
+    @Test
+    void executeWithNotElapsedDayTest() {
+        when(timerService.get("tvProgramDownloader")).thenReturn(new Timer().setLastAlarmDt(LocalDateTime.now()));
+        when(propertiesConfig.getXmlTvFileUrl()).thenReturn(XML_TV_FILE_URL);
+
+        tvProgramDownloaderTimer.execute();
+
+        verifyNoInteractions(defaultRestTemplate);
+        verifyNoInteractions(tvDataLoader);
+    }
+
+    @Test
+    void executeTest() throws IOException {
+        Timer timer = new Timer().setLastAlarmDt(LocalDateTime.now().minusDays(2));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag(NEW_ETAG);
+        responseHeaders.set(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED);
+        mockCommon(timer);
+        when(workParamService.get(BOT_TOKEN, List.of("tvProgramETag", "tvProgramLastModified")))
+                .thenReturn(List.of(new WorkParam(BOT_TOKEN, "tvProgramETag").setValue(OLD_ETAG)));
+        when(clientHttpRequest.getHeaders()).thenReturn(requestHeaders);
+        when(clientHttpResponse.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(clientHttpResponse.getBody()).thenReturn(new ByteArrayInputStream(gzip(TV_DATA)));
+        when(clientHttpResponse.getHeaders()).thenReturn(responseHeaders);
+        List<List<TvProgram>> insertedPrograms = new ArrayList<>();
+        doAnswer(invocation -> insertedPrograms.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(tvDataLoader).insertPrograms(anyList());
+
+        tvProgramDownloaderTimer.execute();
+
+        assertEquals(OLD_ETAG, requestHeaders.getIfNoneMatch().getFirst());
+        assertNull(requestHeaders.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+
+        verify(tvDataLoader).clearStaging();
+        assertEquals(1, insertedPrograms.size());
+        List<TvProgram> tvPrograms = insertedPrograms.getFirst();
+        assertEquals(2, tvPrograms.size());
+
+        TvProgram news = tvPrograms.getFirst();
+        assertEquals(1, news.getChannel().getId());
+        assertEquals("News", news.getTitle());
+        assertEquals("Info", news.getCategory());
+        assertEquals("Daily news", news.getDesc());
+        assertEquals(LocalDateTime.of(2000, 1, 1, 10, 0), news.getStart());
+        assertEquals(LocalDateTime.of(2000, 1, 1, 11, 0), news.getStop());
+
+        TvProgram movie = tvPrograms.get(1);
+        assertEquals(2, movie.getChannel().getId());
+        assertEquals("Movie", movie.getTitle());
+        assertNull(movie.getDesc());
+
+        verify(tvDataLoader).insertChannels(tvChannelsCaptor.capture());
+        List<TvChannel> tvChannels = new ArrayList<>(tvChannelsCaptor.getValue());
+        assertEquals(2, tvChannels.size());
+        assertEquals(1, tvChannels.getFirst().getId());
+        assertEquals("First", tvChannels.getFirst().getName());
+        assertEquals(2, tvChannels.get(1).getId());
+        assertEquals("Second", tvChannels.get(1).getName());
+
+        verify(tvDataLoader).swap();
+
+        verify(workParamService).save(workParamsCaptor.capture());
+        List<WorkParam> workParams = workParamsCaptor.getValue();
+        assertEquals(NEW_ETAG, workParams.getFirst().getValue());
+        assertEquals(LAST_MODIFIED, workParams.get(1).getValue());
+        assertEquals(BOT_TOKEN, workParams.get(1).getBotToken());
+
+        verify(botStats).setLastTvUpdate(any());
+        verify(timerService).save(timer);
+    }
+
+    @Test
+    void executeWithNotModifiedDataTest() throws IOException {
+        Timer timer = new Timer().setLastAlarmDt(LocalDateTime.now().minusDays(2));
+        HttpHeaders requestHeaders = new HttpHeaders();
+        mockCommon(timer);
+        when(workParamService.get(BOT_TOKEN, List.of("tvProgramETag", "tvProgramLastModified"))).thenReturn(List.of(
+                new WorkParam(BOT_TOKEN, "tvProgramETag").setValue(OLD_ETAG),
+                new WorkParam(BOT_TOKEN, "tvProgramLastModified").setValue(LAST_MODIFIED)));
+        when(clientHttpRequest.getHeaders()).thenReturn(requestHeaders);
+        when(clientHttpResponse.getStatusCode()).thenReturn(HttpStatus.NOT_MODIFIED);
+
+        tvProgramDownloaderTimer.execute();
+
+        assertEquals(OLD_ETAG, requestHeaders.getIfNoneMatch().getFirst());
+        assertEquals(LAST_MODIFIED, requestHeaders.getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+        verify(tvDataLoader, never()).clearStaging();
+        verify(tvDataLoader, never()).swap();
+        verify(workParamService, never()).save(anyList());
+        verify(botStats, never()).setLastTvUpdate(any());
+        verify(timerService).save(timer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockCommon(Timer timer) {
+        when(timerService.get("tvProgramDownloader")).thenReturn(timer);
+        when(propertiesConfig.getXmlTvFileUrl()).thenReturn(XML_TV_FILE_URL);
+        when(propertiesConfig.getTelegramBotApiToken()).thenReturn(BOT_TOKEN);
+        when(defaultRestTemplate.execute(
+                eq(URI.create(XML_TV_FILE_URL)),
+                eq(HttpMethod.GET),
+                any(RequestCallback.class),
+                any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(2, RequestCallback.class).doWithRequest(clientHttpRequest);
+                    return invocation.getArgument(3, ResponseExtractor.class).extractData(clientHttpResponse);
+                });
+    }
+
+    private static byte[] gzip(String data) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(data.getBytes(StandardCharsets.UTF_8));
+        }
+        return outputStream.toByteArray();
+    }
+
+}
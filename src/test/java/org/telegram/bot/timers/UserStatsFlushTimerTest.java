@@ -0,0 +1,27 @@
+package org.telegram.bot.timers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.bot.services.UserStatsCounterBuffer;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsFlushTimerTest {
+
+    @Mock
+    private UserStatsCounterBuffer userStatsCounterBuffer;
+
+    @InjectMocks
+    private UserStatsFlushTimer userStatsFlushTimer;
+
+    @Test
+    void executeTest() {
+        userStatsFlushTimer.execute();
+        verify(userStatsCounterBuffer).flush();
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.telegram.bot.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DueTimeQueueTest {
+
+    private static final Instant NOW = Instant.parse("2000-01-01T00:00:00Z");
+
+    @Test
+    void pollDueTest() {
+        DueTimeQueue<Long> dueTimeQueue = new DueTimeQueue<>();
+        dueTimeQueue.schedule(1L, NOW.plusSeconds(1));
+        dueTimeQueue.schedule(2L, NOW.minusSeconds(10));
+        dueTimeQueue.schedule(3L, NOW);
+
+        assertEquals(List.of(2L, 3L), dueTimeQueue.pollDue(NOW));
+        assertTrue(dueTimeQueue.pollDue(NOW).isEmpty());
+        assertEquals(1, dueTimeQueue.size());
+        assertEquals(NOW.plusSeconds(1), dueTimeQueue.getNextDueTime());
+
+        assertEquals(List.of(1L), dueTimeQueue.pollDue(NOW.plusSeconds(1)));
+        assertEquals(0, dueTimeQueue.size());
+        assertNull(dueTimeQueue.getNextDueTime());
+    }
+
+    @Test
+    void rescheduleTest() {
+        DueTimeQueue<Long> dueTimeQueue = new DueTimeQueue<>();
+        dueTimeQueue.schedule(1L, NOW);
+        dueTimeQueue.schedule(1L, NOW.plusSeconds(60));
+        dueTimeQueue.schedule(2L, NOW.plusSeconds(60));
+        dueTimeQueue.schedule(2L, NOW);
+
+        assertEquals(List.of(2L), dueTimeQueue.pollDue(NOW));
+        assertEquals(List.of(1L), dueTimeQueue.pollDue(NOW.plusSeconds(60)));
+
+        dueTimeQueue.schedule(3L, NOW);
+        dueTimeQueue.schedule(3L, NOW.plusSeconds(1));
+        dueTimeQueue.schedule(3L, NOW);
+        assertEquals(List.of(3L), dueTimeQueue.pollDue(NOW.plusSeconds(1)));
+        assertEquals(0, dueTimeQueue.size());
+    }
+
+    @Test
+    void cancelTest() {
+        DueTimeQueue<Long> dueTimeQueue = new DueTimeQueue<>();
+        dueTimeQueue.schedule(1L, NOW);
+        dueTimeQueue.schedule(2L, NOW.plusSeconds(1));
+        dueTimeQueue.cancel(1L);
+        dueTimeQueue.cancel(3L);
+
+        assertEquals(NOW.plusSeconds(1), dueTimeQueue.getNextDueTime());
+        assertTrue(dueTimeQueue.pollDue(NOW).isEmpty());
+
+        dueTimeQueue.schedule(1L, NOW);
+        assertEquals(List.of(1L), dueTimeQueue.pollDue(NOW));
+    }
+
+    @Test
+    void compactTest() {
+        DueTimeQueue<Long> dueTimeQueue = new DueTimeQueue<>();
+        for (int i = 0; i < 10000; i++) {
+            dueTimeQueue.schedule(1L, NOW.plusSeconds(i));
+        }
+
+        assertEquals(1, dueTimeQueue.size());
+        assertTrue(dueTimeQueue.pollDue(NOW.plusSeconds(9998)).isEmpty());
+        assertEquals(List.of(1L), dueTimeQueue.pollDue(NOW.plusSeconds(9999)));
+    }
+
+}
@@ -65,7 +65,7 @@ class FtpBackupClientTest {
         final String url = "url";
         final String expectedErrorText = "Failed to parse ftp-url: no protocol: " + url;
 
-        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(url, backup, null, null));
+        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(url, backup, "", null, null));
         assertEquals(expectedErrorText, botException.getMessage());
 
         verify(botStats).incrementErrors(url, expectedErrorText);
@@ -78,7 +78,7 @@ class FtpBackupClientTest {
         when(ftpClientProvider.getFTPClient()).thenReturn(ftpClient);
         doThrow(new IOException(error)).when(ftpClient).connect(HOST, PORT);
 
-        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, null, null));
+        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, "", null, null));
         assertEquals(expectedErrorText, botException.getMessage());
 
         verify(botStats).incrementErrors(any(FtpBackupClient.FtpConnectionConfig.class), eq(expectedErrorText));
@@ -91,7 +91,7 @@ class FtpBackupClientTest {
         when(ftpClientProvider.getFTPClient()).thenReturn(ftpClient);
         doThrow(new IOException(error)).when(ftpClient).login(USER, PASSWORD);
 
-        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, null, null));
+        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, "", null, null));
         assertEquals(expectedErrorText, botException.getMessage());
 
         verify(botStats).incrementErrors(any(FtpBackupClient.FtpConnectionConfig.class), eq(expectedErrorText));
@@ -104,7 +104,7 @@ class FtpBackupClientTest {
         when(ftpClientProvider.getFTPClient()).thenReturn(ftpClient);
         doThrow(new IOException(error)).when(ftpClient).listFiles(PATH);
 
-        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, 1, null));
+        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, "", 1, null));
         assertEquals(expectedErrorText, botException.getMessage());
 
         verify(botStats).incrementErrors(PATH, expectedErrorText);
@@ -133,7 +133,7 @@ class FtpBackupClientTest {
         when(ftpFile4.getName()).thenReturn("somefilename");
         when(ftpClient.deleteFile(PATH + "/" + expectedDeletingFileName)).thenThrow(new IOException(error));
 
-        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, 1, null));
+        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, "", 1, null));
         assertEquals(expectedErrorText, botException.getMessage());
 
         verify(botStats).incrementErrors(PATH + "/" + expectedDeletingFileName, expectedErrorText);
@@ -162,7 +162,7 @@ class FtpBackupClientTest {
         when(ftpFile3.getName()).thenReturn(file3Name);
         when(ftpFile4.getName()).thenReturn(file4Name);
 
-        ftpBackupClient.process(URL, backup, 1, null);
+        ftpBackupClient.process(URL, backup, "", 1, null);
 
         verify(ftpClient).deleteFile(PATH + "/" + file3Name);
         verify(ftpClient, never()).deleteFile(PATH + "/" + file1Name);
@@ -200,7 +200,7 @@ class FtpBackupClientTest {
         when(ftpFile4.getName()).thenReturn(file4Name);
         when(ftpClient.deleteFile(PATH + "/" + expectedDeletingFileName)).thenThrow(new IOException(error));
 
-        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, null, 1000L));
+        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, "", null, 1000L));
         assertEquals(expectedErrorText, botException.getMessage());
 
         verify(botStats).incrementErrors(PATH + "/" + expectedDeletingFileName, expectedErrorText);
@@ -232,7 +232,7 @@ class FtpBackupClientTest {
         when(ftpFile3.getName()).thenReturn(file3Name);
         when(ftpFile4.getName()).thenReturn(file4Name);
 
-        ftpBackupClient.process(URL, backup, null, 1000L);
+        ftpBackupClient.process(URL, backup, "", null, 1000L);
 
         verify(ftpClient).deleteFile(PATH + "/" + file3Name);
         verify(ftpClient, never()).deleteFile(PATH + "/" + file1Name);
@@ -254,7 +254,7 @@ class FtpBackupClientTest {
         when(clock.getZone()).thenReturn(ZoneId.systemDefault());
         when(ftpClient.storeFile(expectedBackupFilePath, backup)).thenThrow(new IOException(error));
 
-        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, 5, 1000L));
+        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, "", 5, 1000L));
         assertEquals(expectedErrorText, botException.getMessage());
 
         verify(botStats).incrementErrors(expectedBackupFilePath, expectedErrorText);
@@ -275,7 +275,7 @@ class FtpBackupClientTest {
         InetAddress inetAddress = mock(InetAddress.class);
         when(ftpClient.getRemoteAddress()).thenReturn(inetAddress);
 
-        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, 5, 1000L));
+        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, "", 5, 1000L));
         assertEquals(expectedErrorText, botException.getMessage());
 
         verify(ftpClient).storeFile(expectedBackupFilePath, backup);
@@ -298,7 +298,7 @@ class FtpBackupClientTest {
         InetAddress inetAddress = mock(InetAddress.class);
         when(ftpClient.getRemoteAddress()).thenReturn(inetAddress);
 
-        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, 5, 1000L));
+        BotException botException = assertThrows((BotException.class), () -> ftpBackupClient.process(URL, backup, "", 5, 1000L));
         assertEquals(expectedErrorText, botException.getMessage());
 
         verify(ftpClient).storeFile(expectedBackupFilePath, backup);
@@ -340,7 +340,7 @@ class FtpBackupClientTest {
         when(ftpFile3.getName()).thenReturn(file3Name);
         when(ftpFile4.getName()).thenReturn(file4Name);
 
-        ftpBackupClient.process(URL, backup, 1, 1000L);
+        ftpBackupClient.process(URL, backup, "", 1, 1000L);
 
         verify(ftpClient).deleteFile(PATH + "/" + file3Name);
         verify(ftpClient).deleteFile(PATH + "/" + file1Name);
@@ -351,6 +351,74 @@ class FtpBackupClientTest {
         verify(ftpClient).storeFile(expectedBackupFilePath, backup);
     }
 
+    @Test
+    void processDeleteExpiredBackupChainsTest() throws IOException {
+        final String file1Name = "backup_19991225";
+        final String file2Name = "backup_19991226_incremental";
+        final String file3Name = "backup_19991228";
+        final String file4Name = "backup_19991229_incremental";
+        final String file5Name = "backup_19991231";
+
+        when(ftpClientProvider.getFTPClient()).thenReturn(ftpClient);
+        when(ftpClient.listFiles(PATH)).thenReturn(ftpFiles);
+        when(clock.instant()).thenReturn(DATE_TIME.atZone(ZoneId.systemDefault()).toInstant());
+        when(clock.getZone()).thenReturn(ZoneId.systemDefault());
+        mockFtpFile(ftpFile1, file1Name, DATE_TIME.minusDays(7), 0);
+        mockFtpFile(ftpFile2, file2Name, DATE_TIME.minusDays(6), 0);
+        mockFtpFile(ftpFile3, file3Name, DATE_TIME.minusDays(4), 0);
+        mockFtpFile(ftpFile4, file4Name, DATE_TIME.minusDays(2), 0);
+        mockFtpFile(ftpFile5, file5Name, DATE_TIME.minusDays(1), 0);
+
+        ftpBackupClient.process(URL, backup, "_incremental", 3, null);
+
+        verify(ftpClient).deleteFile(PATH + "/" + file1Name);
+        verify(ftpClient).deleteFile(PATH + "/" + file2Name);
+        verify(ftpClient, never()).deleteFile(PATH + "/" + file3Name);
+        verify(ftpClient, never()).deleteFile(PATH + "/" + file4Name);
+        verify(ftpClient, never()).deleteFile(PATH + "/" + file5Name);
+        verify(ftpClient).storeFile(PATH + "/backup_20000101_incremental", backup);
+    }
+
+    @Test
+    void processDeleteOldBackupChainsTest() throws IOException {
+        final String file1Name = "backup_19991226_incremental";
+        final String file2Name = "backup_19991228";
+        final String file3Name = "backup_19991229_incremental";
+        final String file4Name = "backup_19991230";
+        final String file5Name = "backup_19991231_incremental";
+
+        when(ftpClientProvider.getFTPClient()).thenReturn(ftpClient);
+        when(ftpClient.listFiles(PATH))
+                .thenReturn(ftpFiles)
+                .thenReturn(new FTPFile[]{ftpFile2, ftpFile3, ftpFile4, ftpFile5})
+                .thenReturn(new FTPFile[]{ftpFile4, ftpFile5});
+        when(clock.instant()).thenReturn(DATE_TIME.atZone(ZoneId.systemDefault()).toInstant());
+        when(clock.getZone()).thenReturn(ZoneId.systemDefault());
+        mockFtpFile(ftpFile1, file1Name, DATE_TIME.minusDays(6), 100);
+        mockFtpFile(ftpFile2, file2Name, DATE_TIME.minusDays(4), 400);
+        mockFtpFile(ftpFile3, file3Name, DATE_TIME.minusDays(3), 100);
+        mockFtpFile(ftpFile4, file4Name, DATE_TIME.minusDays(2), 400);
+        mockFtpFile(ftpFile5, file5Name, DATE_TIME.minusDays(1), 100);
+
+        ftpBackupClient.process(URL, backup, "", null, 400L);
+
+        verify(ftpClient).deleteFile(PATH + "/" + file1Name);
+        verify(ftpClient).deleteFile(PATH + "/" + file2Name);
+        verify(ftpClient).deleteFile(PATH + "/" + file3Name);
+        verify(ftpClient, never()).deleteFile(PATH + "/" + file4Name);
+        verify(ftpClient, never()).deleteFile(PATH + "/" + file5Name);
+        verify(ftpClient).storeFile(PATH + "/backup_20000101", backup);
+    }
+
+    private void mockFtpFile(FTPFile ftpFile, String name, LocalDateTime dateTime, long size) {
+        when(ftpFile.isFile()).thenReturn(true);
+        when(ftpFile.getName()).thenReturn(name);
+        when(ftpFile.getTimestamp()).thenReturn(toCalendar(dateTime));
+        if (size > 0) {
+            when(ftpFile.getSize()).thenReturn(size);
+        }
+    }
+
     private Calendar toCalendar(LocalDateTime dateTime) {
         ZoneId zoneId = ZoneId.systemDefault();
 
@@ -0,0 +1,172 @@
+package org.telegram.bot.utils;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkUtilsTest {
+
+    private static final String RSS = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <rss version="2.0">
+              <channel>
+                <title>News</title>
+                <link>http://example.com</link>
+                <description>News</description>
+                <item>
+                  <title>Title</title>
+                  <link>http://example.com/1</link>
+                </item>
+              </channel>
+            </rss>
+            """;
+
+    private static final String ETAG = "\"1\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+    private HttpServer httpServer;
+    private CloseableHttpClient httpClient;
+    private NetworkUtils networkUtils;
+    private String baseUrl;
+
+    @BeforeEach
+    void init() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        httpServer.createContext("/text", exchange -> {
+            byte[] body = "текст".getBytes(Charset.forName("windows-1251"));
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        httpServer.createContext("/gzip", exchange -> {
+            byte[] body = gzip("compressed text");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        httpServer.createContext("/rss", exchange -> {
+            byte[] body = RSS.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/rss+xml; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        httpServer.createContext("/conditional-rss", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = RSS.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        httpServer.createContext("/big", exchange -> {
+            byte[] body = new byte[1024];
+            exchange.sendResponseHeaders(200, body.length * 1024L);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                for (int i = 0; i < 1024; i++) {
+                    outputStream.write(body);
+                }
+            } catch (IOException ignored) {
+                // client dropped the connection
+            }
+        });
+        httpServer.createContext("/error", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        httpServer.start();
+
+        baseUrl = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+        httpClient = HttpClients.createDefault();
+        networkUtils = new NetworkUtils(httpClient);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        httpClient.close();
+        httpServer.stop(0);
+    }
+
+    @Test
+    void readStringFromUrlTest() throws IOException {
+        assertEquals("текст", networkUtils.readStringFromURL(baseUrl + "/text", Charset.forName("windows-1251")));
+    }
+
+    @Test
+    void readCompressedStringFromUrlTest() throws IOException {
+        assertEquals("compressed text", networkUtils.readStringFromURL(baseUrl + "/gzip"));
+    }
+
+    @Test
+    void readStringFromUrlWithErrorTest() {
+        IOException exception = assertThrows(IOException.class, () -> networkUtils.readStringFromURL(baseUrl + "/error"));
+        assertTrue(exception.getMessage().contains("500"));
+    }
+
+    @Test
+    void getFileFromUrlWithLimitTest() throws IOException {
+        byte[] file = networkUtils.getFileFromUrlWithLimit(baseUrl + "/big", 2048);
+        assertEquals(2048, file.length);
+
+        assertEquals(1024 * 1024, networkUtils.getFileFromUrl(baseUrl + "/big").length);
+    }
+
+    @Test
+    void getRssFeedFromUrlTest() throws Exception {
+        SyndFeed syndFeed = networkUtils.getRssFeedFromUrl(baseUrl + "/rss");
+
+        assertEquals("News", syndFeed.getTitle());
+        assertEquals(1, syndFeed.getEntries().size());
+        assertEquals("Title", syndFeed.getEntries().getFirst().getTitle());
+    }
+
+    @Test
+    void getRssFeedFromUrlConditionallyTest() throws Exception {
+        NetworkUtils.RssFeedResponse rssFeedResponse = networkUtils.getRssFeedFromUrl(baseUrl + "/conditional-rss", null, null);
+
+        assertFalse(rssFeedResponse.isNotModified());
+        assertEquals("News", rssFeedResponse.syndFeed().getTitle());
+        assertEquals(ETAG, rssFeedResponse.eTag());
+        assertEquals(LAST_MODIFIED, rssFeedResponse.lastModified());
+
+        rssFeedResponse = networkUtils.getRssFeedFromUrl(baseUrl + "/conditional-rss", ETAG, LAST_MODIFIED);
+
+        assertTrue(rssFeedResponse.isNotModified());
+        assertNull(rssFeedResponse.syndFeed());
+        assertEquals(ETAG, rssFeedResponse.eTag());
+        assertEquals(LAST_MODIFIED, rssFeedResponse.lastModified());
+    }
+
+    private static byte[] gzip(String data) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(data.getBytes(StandardCharsets.UTF_8));
+        }
+        return outputStream.toByteArray();
+    }
+
+}
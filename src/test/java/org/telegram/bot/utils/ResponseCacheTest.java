@@ -0,0 +1,189 @@
+package org.telegram.bot.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private static final Instant NOW = Instant.parse("2000-01-01T00:00:00Z");
+
+    @Test
+    void getTest() {
+        AtomicInteger loadings = new AtomicInteger();
+        ResponseCache<String, String> cache = new ResponseCache<>("test", 10, Duration.ofMinutes(1), Duration.ZERO);
+
+        assertEquals("value1", cache.get("key", key -> "value" + loadings.incrementAndGet()));
+        assertEquals("value1", cache.get("key", key -> "value" + loadings.incrementAndGet()));
+
+        assertEquals(1, loadings.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void getNotCacheableValueTest() {
+        AtomicInteger loadings = new AtomicInteger();
+        ResponseCache<String, String> cache = new ResponseCache<>("test", 10, Duration.ofMinutes(1), Duration.ZERO);
+
+        cache.get("key", key -> "value" + loadings.incrementAndGet(), value -> false);
+        cache.get("key", key -> null);
+
+        assertEquals(1, loadings.get());
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void getExpiredValueTest() {
+        MutableClock clock = new MutableClock();
+        List<Runnable> refreshes = new ArrayList<>();
+        ResponseCache<String, String> cache = new ResponseCache<>("test", 10, Duration.ofMinutes(1), Duration.ofMinutes(1), clock, refreshes::add);
+
+        cache.get("key", key -> "old");
+
+        clock.plus(Duration.ofSeconds(90));
+        assertEquals("old", cache.get("key", key -> "new"));
+        assertEquals("old", cache.get("key", key -> "new"));
+        assertEquals(1, refreshes.size());
+
+        refreshes.getFirst().run();
+        assertEquals("new", cache.get("key", key -> "newest"));
+
+        clock.plus(Duration.ofMinutes(3));
+        assertEquals("newest", cache.get("key", key -> "newest"));
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    void getWithFailedRefreshTest() {
+        MutableClock clock = new MutableClock();
+        List<Runnable> refreshes = new ArrayList<>();
+        ResponseCache<String, String> cache = new ResponseCache<>("test", 10, Duration.ofMinutes(1), Duration.ofMinutes(1), clock, refreshes::add);
+
+        cache.get("key", key -> "old");
+        clock.plus(Duration.ofSeconds(90));
+        cache.get("key", key -> {
+            throw new IllegalStateException("error");
+        });
+        refreshes.getFirst().run();
+
+        assertEquals("old", cache.get("key", key -> "new"));
+        assertEquals(2, refreshes.size());
+    }
+
+    @Test
+    void getConcurrentlyTest() throws Exception {
+        AtomicInteger loadings = new AtomicInteger();
+        CountDownLatch loadingStarted = new CountDownLatch(1);
+        CountDownLatch loadingAllowed = new CountDownLatch(1);
+        ResponseCache<String, String> cache = new ResponseCache<>("test", 10, Duration.ofMinutes(1), Duration.ZERO);
+
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executorService.submit(() -> cache.get("key", key -> {
+                loadingStarted.countDown();
+                await(loadingAllowed);
+                return "value" + loadings.incrementAndGet();
+            }));
+            loadingStarted.await();
+            Future<String> second = executorService.submit(() -> cache.get("key", key -> "value" + loadings.incrementAndGet()));
+            while (cache.getMisses() < 2) {
+                Thread.onSpinWait();
+            }
+            loadingAllowed.countDown();
+
+            assertEquals("value1", first.get());
+            assertEquals("value1", second.get());
+        }
+
+        assertEquals(1, loadings.get());
+    }
+
+    @Test
+    void getConcurrentlyWithErrorTest() throws Exception {
+        CountDownLatch loadingStarted = new CountDownLatch(1);
+        CountDownLatch loadingAllowed = new CountDownLatch(1);
+        ResponseCache<String, String> cache = new ResponseCache<>("test", 10, Duration.ofMinutes(1), Duration.ZERO);
+
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executorService.submit(() -> cache.get("key", key -> {
+                loadingStarted.countDown();
+                await(loadingAllowed);
+                throw new IllegalStateException("error");
+            }));
+            loadingStarted.await();
+            Future<String> second = executorService.submit(() -> cache.get("key", key -> "value"));
+            while (cache.getMisses() < 2) {
+                Thread.onSpinWait();
+            }
+            loadingAllowed.countDown();
+
+            ExecutionException firstException = assertThrows(ExecutionException.class, first::get);
+            assertInstanceOf(IllegalStateException.class, firstException.getCause());
+            ExecutionException secondException = assertThrows(ExecutionException.class, second::get);
+            assertInstanceOf(IllegalStateException.class, secondException.getCause());
+        }
+
+        assertEquals("value", cache.get("key", key -> "value"));
+    }
+
+    @Test
+    void getWithEvictionTest() {
+        ResponseCache<Integer, String> cache = new ResponseCache<>("test", 2, Duration.ofMinutes(1), Duration.ZERO);
+
+        cache.get(1, key -> "value" + key);
+        cache.get(2, key -> "value" + key);
+        cache.get(1, key -> "value" + key);
+        cache.get(3, key -> "value" + key);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.getIfPresent(1));
+        assertNull(cache.getIfPresent(2));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = NOW;
+
+        void plus(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}